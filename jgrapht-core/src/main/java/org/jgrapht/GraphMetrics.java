@@ -17,6 +17,7 @@
  */
 package org.jgrapht;
 
+import org.jgrapht.alg.scoring.*;
 import org.jgrapht.alg.shortestpath.*;
 import org.jgrapht.alg.util.*;
 import org.jgrapht.util.*;
@@ -279,6 +280,10 @@ public abstract class GraphMetrics
      * For more details of this algorithm see Ullman, Jeffrey: "Mining of Massive Datasets",
      * Cambridge University Press, Chapter 10
      *
+     * <p>
+     * Graphs without multiple edges are delegated to {@link ParallelTriangleCount}, which counts
+     * the triangles in parallel on the common {@link java.util.concurrent.ForkJoinPool}.
+     *
      * @param graph the input graph
      * @param <V> the graph vertex type
      * @param <E> the graph edge type
@@ -290,6 +295,10 @@ public abstract class GraphMetrics
     {
         GraphTests.requireUndirected(graph);
 
+        if (!graph.getType().isAllowingMultipleEdges()) {
+            return new ParallelTriangleCount<>(graph).getNumberOfTriangles();
+        }
+
         final int sqrtV = (int) Math.sqrt(graph.vertexSet().size());
 
         List<V> vertexList = new ArrayList<>(graph.vertexSet());
@@ -0,0 +1,584 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Branch-and-bound maximum clique solver on a graph given as an adjacency matrix of bitsets.
+ *
+ * <p>
+ * The solver combines the ordering and coloring bounds of MCS with the bit-parallel
+ * representation of BBMC:
+ * <ul>
+ * <li>Etsuji Tomita, Yoichi Sutani, Takanori Higashi, Shinya Takahashi, and Mitsuo Wakatsuki. A
+ * simple and faster branch-and-bound algorithm for finding a maximum clique. WALCOM: Algorithms and
+ * Computation, 191--203, 2010.</li>
+ * <li>Pablo San Segundo, Diego Rodríguez-Losada, and Agustín Jiménez. An exact bit-parallel
+ * algorithm for the maximum clique problem. Computers &amp; Operations Research, 38(2):571--581,
+ * 2011.</li>
+ * </ul>
+ * The vertices are renumbered so that a degeneracy ordering is traversed from its end, putting the
+ * densest part of the graph first. Every node of the search tree greedily colors its candidate set
+ * $P$, building one color class at a time on the bitsets, and branches on the vertices of the
+ * largest colors first. A vertex of color $k$ can extend the current clique $C$ by at most $k$
+ * vertices, thus the remaining vertices are pruned as soon as $|C| + k$ does not exceed the size of
+ * the best clique found so far. The bound becomes tighter whenever a larger clique is found. Vertices
+ * whose color cannot lead to an improvement are not branched on at all, and a vertex which would
+ * open such a color class is first recolored into a lower class if possible (the Re-NUMBER
+ * procedure of MCS).
+ *
+ * <p>
+ * The adjacency matrix is given as an array of rows, where bit $j$ of row $i$, that is
+ * {@code (adjacency[i][j >>> 6] >>> j) & 1}, is set if and only if vertices $i$ and $j$ are
+ * adjacent. The matrix must be symmetric without bits on the diagonal. Since the complement of a
+ * graph is a matrix of the same size, the solver also computes maximum independent sets, see
+ * {@link org.jgrapht.alg.independentset.BranchAndBoundIndependentSetFinder}.
+ *
+ * <p>
+ * Optionally, the branches of the root of the search tree are explored in parallel on a
+ * {@link ForkJoinPool}, sharing the size of the best clique found so far. A timeout can be set, in
+ * which case the best clique found until the time limit is returned.
+ *
+ * @see BranchAndBoundMaxCliqueFinder
+ */
+public class BitsetMaxCliqueSolver
+{
+    private final int n;
+    private final int words;
+    // rows of the renumbered vertices
+    private final long[][] rows;
+    // renumbered vertex to original vertex
+    private final int[] original;
+    private final long nanos;
+    private final ForkJoinPool pool;
+    private boolean timeLimitReached;
+
+    /**
+     * Constructs a new sequential solver without a timeout.
+     *
+     * @param adjacency the adjacency matrix
+     */
+    public BitsetMaxCliqueSolver(long[][] adjacency)
+    {
+        this(adjacency, 0L, TimeUnit.SECONDS, null);
+    }
+
+    /**
+     * Constructs a new solver.
+     *
+     * @param adjacency the adjacency matrix
+     * @param timeout the maximum time to wait, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     * @param pool the pool to use for a parallel search, or null for a sequential search
+     * @throws IllegalArgumentException if a row of the matrix is too short, or if the timeout is
+     *         negative
+     */
+    public BitsetMaxCliqueSolver(
+        long[][] adjacency, long timeout, TimeUnit unit, ForkJoinPool pool)
+    {
+        Objects.requireNonNull(adjacency, "Adjacency cannot be null");
+        if (timeout < 0L) {
+            throw new IllegalArgumentException("Invalid timeout, must be non-negative");
+        }
+        this.nanos = timeout == 0L ? Long.MAX_VALUE
+            : Objects.requireNonNull(unit, "Unit cannot be null").toNanos(timeout);
+        this.pool = pool;
+        this.n = adjacency.length;
+        this.words = (n + 63) >>> 6;
+        for (long[] row : adjacency) {
+            if (row.length < words) {
+                throw new IllegalArgumentException("Row of adjacency matrix is too short");
+            }
+        }
+
+        int[] order = degeneracyOrdering(adjacency);
+        this.original = new int[n];
+        int[] renumbered = new int[n];
+        for (int i = 0; i < n; i++) {
+            original[i] = order[n - 1 - i];
+            renumbered[original[i]] = i;
+        }
+        this.rows = new long[n][words];
+        for (int i = 0; i < n; i++) {
+            long[] row = adjacency[original[i]];
+            for (int w = 0; w < words; w++) {
+                long bits = row[w];
+                while (bits != 0) {
+                    int j = renumbered[(w << 6) + Long.numberOfTrailingZeros(bits)];
+                    bits &= bits - 1;
+                    rows[i][j >>> 6] |= 1L << j;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute a maximum clique.
+     *
+     * @return the vertices of a maximum clique in increasing order
+     */
+    public int[] solve()
+    {
+        return solve(0);
+    }
+
+    /**
+     * Compute a maximum clique, if it is larger than a given lower bound. Knowing the size of some
+     * clique in advance allows the solver to prune more of the search tree.
+     *
+     * @param lowerBound the lower bound
+     * @return the vertices of a maximum clique in increasing order, or an empty array if no clique
+     *         is larger than the lower bound
+     */
+    public int[] solve(int lowerBound)
+    {
+        long nanosTimeLimit;
+        try {
+            nanosTimeLimit = Math.addExact(System.nanoTime(), nanos);
+        } catch (ArithmeticException ignore) {
+            nanosTimeLimit = Long.MAX_VALUE;
+        }
+        AtomicBoolean stop = new AtomicBoolean();
+        int[] clique = search(new AtomicInteger(lowerBound), 0, nanosTimeLimit, stop, pool);
+        timeLimitReached = stop.get();
+        if (clique == null) {
+            return new int[0];
+        }
+        Arrays.sort(clique);
+        return clique;
+    }
+
+    /**
+     * Check whether the time limit was reached during the last call of {@link #solve(int)}. In that
+     * case the returned clique is the best one found, but not necessarily a maximum clique.
+     *
+     * @return true if the time limit was reached, false otherwise
+     */
+    public boolean isTimeLimitReached()
+    {
+        return timeLimitReached;
+    }
+
+    /**
+     * Search for a clique whose size plus an offset exceeds the current value of a bound, which may
+     * be shared with concurrent searches. The bound is raised whenever such a clique is found.
+     *
+     * @param best the size of the best known clique
+     * @param offset the number of vertices already fixed outside of the matrix
+     * @param nanosTimeLimit the time limit as returned by {@link System#nanoTime()}
+     * @param stop flag which is set when the time limit is reached, and which stops the search if
+     *        set by another thread
+     * @param pool the pool to use, or null for a sequential search
+     * @return the best clique found in terms of the original vertices, or null if the bound was
+     *         never raised by this search
+     */
+    int[] search(
+        AtomicInteger best, int offset, long nanosTimeLimit, AtomicBoolean stop, ForkJoinPool pool)
+    {
+        if (n == 0) {
+            return null;
+        }
+        Incumbent incumbent = new Incumbent();
+
+        // greedy initial clique in the dense part of the graph
+        Worker greedy = new Worker(best, offset, nanosTimeLimit, stop, incumbent);
+        long[] p = new long[words];
+        fill(p, n);
+        int size = 0;
+        for (int v = 0; v >= 0; v = firstSetBit(p)) {
+            greedy.current[size++] = v;
+            and(p, rows[v], p);
+        }
+        greedy.improve(size);
+
+        fill(p, n);
+        if (pool == null || pool.getParallelism() == 1) {
+            greedy.expand(p, 0);
+        } else {
+            int[] order = new int[n];
+            int[] colors = new int[n];
+            int count = greedy.colorSort(p, 0, order, colors);
+            ConcurrencyUtil.parallelForRanges(pool, 0, count, 1, (from, to) -> {
+                Worker worker = new Worker(best, offset, nanosTimeLimit, stop, incumbent);
+                for (int j = from; j < to; j++) {
+                    // branches in decreasing order of colors
+                    int i = count - 1 - j;
+                    if (stop.get() || offset + colors[i] <= best.get()) {
+                        continue;
+                    }
+                    // the candidates remaining after the previous branches of the root
+                    long[] candidates = p.clone();
+                    for (int k = i + 1; k < count; k++) {
+                        candidates[order[k] >>> 6] &= ~(1L << order[k]);
+                    }
+                    worker.branch(candidates, order[i], 0);
+                }
+            });
+        }
+        return incumbent.clique;
+    }
+
+    /**
+     * The best clique found by a search, in terms of the original vertices.
+     */
+    private class Incumbent
+    {
+        int[] clique;
+
+        synchronized void offer(int[] current, int size)
+        {
+            if (clique == null || clique.length < size) {
+                int[] result = new int[size];
+                for (int i = 0; i < size; i++) {
+                    result[i] = original[current[i]];
+                }
+                clique = result;
+            }
+        }
+    }
+
+    /**
+     * The state of a single thread of the search.
+     */
+    private class Worker
+    {
+        private final AtomicInteger best;
+        private final int offset;
+        private final long nanosTimeLimit;
+        private final AtomicBoolean stop;
+        private final Incumbent incumbent;
+        private final int[] current;
+        // buffers of the nodes on the current path, indexed by depth
+        private final List<long[]> candidates;
+        private final List<int[]> orders;
+        private final List<int[]> colorLists;
+        // color classes of the current coloring and scratch sets, reused by all nodes
+        private final List<long[]> classes;
+        private final long[] uncolored;
+        private final long[] q;
+
+        Worker(
+            AtomicInteger best, int offset, long nanosTimeLimit, AtomicBoolean stop,
+            Incumbent incumbent)
+        {
+            this.best = best;
+            this.offset = offset;
+            this.nanosTimeLimit = nanosTimeLimit;
+            this.stop = stop;
+            this.incumbent = incumbent;
+            this.current = new int[n];
+            this.candidates = new ArrayList<>();
+            this.orders = new ArrayList<>();
+            this.colorLists = new ArrayList<>();
+            this.classes = new ArrayList<>();
+            this.uncolored = new long[words];
+            this.q = new long[words];
+        }
+
+        void expand(long[] p, int size)
+        {
+            if (stop.get()) {
+                return;
+            }
+            if (nanosTimeLimit - System.nanoTime() < 0) {
+                stop.set(true);
+                return;
+            }
+
+            int m = cardinality(p);
+            int[] order = buffer(orders, size, m);
+            int[] colors = buffer(colorLists, size, m);
+            int count = colorSort(p, size, order, colors);
+            for (int i = count - 1; i >= 0; i--) {
+                if (size + offset + colors[i] <= best.get()) {
+                    return;
+                }
+                branch(p, order[i], size);
+                if (stop.get()) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Extend the current clique by a vertex, and remove the vertex from the candidates.
+         */
+        void branch(long[] p, int v, int size)
+        {
+            while (candidates.size() <= size) {
+                candidates.add(new long[words]);
+            }
+            long[] newP = candidates.get(size);
+            current[size] = v;
+            if (and(p, rows[v], newP)) {
+                expand(newP, size + 1);
+            } else {
+                improve(size + 1);
+            }
+            p[v >>> 6] &= ~(1L << v);
+        }
+
+        void improve(int size)
+        {
+            int value = size + offset;
+            int old;
+            while ((old = best.get()) < value) {
+                if (best.compareAndSet(old, value)) {
+                    incumbent.offer(current, size);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Greedily color the candidates. The vertices whose color may lead to a larger clique are
+         * stored in non-decreasing order of colors.
+         *
+         * @return the number of stored vertices
+         */
+        int colorSort(long[] p, int size, int[] order, int[] colors)
+        {
+            int kMin = best.get() - offset - size;
+            System.arraycopy(p, 0, uncolored, 0, words);
+            int count = 0;
+            int first = 0;
+            for (int k = 1;; k++) {
+                while (first < words && uncolored[first] == 0) {
+                    first++;
+                }
+                if (first == words) {
+                    return count;
+                }
+                long[] colorClass = null;
+                if (k <= kMin) {
+                    colorClass = colorClass(k);
+                    Arrays.fill(colorClass, 0L);
+                }
+                System.arraycopy(uncolored, first, q, first, words - first);
+                for (int w = first; w < words; w++) {
+                    while (q[w] != 0) {
+                        int v = (w << 6) + Long.numberOfTrailingZeros(q[w]);
+                        q[w] &= q[w] - 1;
+                        uncolored[w] &= ~(1L << v);
+                        if (k > kMin && renumber(v, kMin)) {
+                            continue;
+                        }
+                        long[] row = rows[v];
+                        for (int x = w; x < words; x++) {
+                            q[x] &= ~row[x];
+                        }
+                        if (colorClass != null) {
+                            colorClass[w] |= 1L << v;
+                        } else {
+                            order[count] = v;
+                            colors[count] = k;
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Try to move a vertex into one of the color classes $1, \dots, k_{min}$, which is possible
+         * if it has no neighbor in the class, or a single neighbor which can itself be moved to a
+         * later class.
+         */
+        private boolean renumber(int v, int kMin)
+        {
+            long[] row = rows[v];
+            for (int k1 = 1; k1 <= kMin; k1++) {
+                long[] class1 = classes.get(k1 - 1);
+                int w = -1;
+                int count = 0;
+                for (int x = 0; x < words && count < 2; x++) {
+                    long bits = class1[x] & row[x];
+                    if (bits != 0) {
+                        count += Long.bitCount(bits);
+                        w = (x << 6) + Long.numberOfTrailingZeros(bits);
+                    }
+                }
+                if (count == 0) {
+                    class1[v >>> 6] |= 1L << v;
+                    return true;
+                }
+                if (count > 1) {
+                    continue;
+                }
+                long[] wRow = rows[w];
+                for (int k2 = k1 + 1; k2 <= kMin; k2++) {
+                    long[] class2 = classes.get(k2 - 1);
+                    if (!intersects(class2, wRow)) {
+                        class1[w >>> 6] &= ~(1L << w);
+                        class1[v >>> 6] |= 1L << v;
+                        class2[w >>> 6] |= 1L << w;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private int[] buffer(List<int[]> buffers, int depth, int length)
+        {
+            while (buffers.size() <= depth) {
+                buffers.add(new int[0]);
+            }
+            int[] buffer = buffers.get(depth);
+            if (buffer.length < length) {
+                buffer = new int[Math.max(length, Math.min(n, 2 * buffer.length))];
+                buffers.set(depth, buffer);
+            }
+            return buffer;
+        }
+
+        private long[] colorClass(int k)
+        {
+            while (classes.size() < k) {
+                classes.add(new long[words]);
+            }
+            return classes.get(k - 1);
+        }
+    }
+
+    /**
+     * Compute a degeneracy ordering by repeatedly removing a vertex of minimum degree.
+     */
+    private static int[] degeneracyOrdering(long[][] adjacency)
+    {
+        int n = adjacency.length;
+        int words = (n + 63) >>> 6;
+        int[] degree = new int[n];
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            for (int w = 0; w < words; w++) {
+                degree[v] += Long.bitCount(adjacency[v][w]);
+            }
+            maxDegree = Math.max(maxDegree, degree[v]);
+        }
+
+        // bucket sort by degree, see IntegerAdjacency#degeneracyOrdering()
+        int[] bin = new int[maxDegree + 1];
+        for (int v = 0; v < n; v++) {
+            bin[degree[v]]++;
+        }
+        int start = 0;
+        for (int d = 0; d <= maxDegree; d++) {
+            int count = bin[d];
+            bin[d] = start;
+            start += count;
+        }
+        int[] order = new int[n];
+        int[] position = new int[n];
+        for (int v = 0; v < n; v++) {
+            position[v] = bin[degree[v]]++;
+            order[position[v]] = v;
+        }
+        for (int d = maxDegree; d > 0; d--) {
+            bin[d] = bin[d - 1];
+        }
+        bin[0] = 0;
+
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            long[] row = adjacency[v];
+            for (int w = 0; w < words; w++) {
+                long bits = row[w];
+                while (bits != 0) {
+                    int u = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (degree[u] > degree[v]) {
+                        int du = degree[u];
+                        int pu = position[u];
+                        int pw = bin[du];
+                        int x = order[pw];
+                        if (u != x) {
+                            position[u] = pw;
+                            order[pu] = x;
+                            position[x] = pu;
+                            order[pw] = u;
+                        }
+                        bin[du]++;
+                        degree[u]--;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    private static void fill(long[] set, int bits)
+    {
+        Arrays.fill(set, 0L);
+        for (int w = 0; w < (bits >>> 6); w++) {
+            set[w] = -1L;
+        }
+        if ((bits & 63) != 0) {
+            set[bits >>> 6] = (1L << bits) - 1;
+        }
+    }
+
+    /**
+     * Store the intersection of two sets in a third one.
+     *
+     * @return true if the intersection is non-empty
+     */
+    private boolean and(long[] a, long[] b, long[] result)
+    {
+        long any = 0;
+        for (int w = 0; w < words; w++) {
+            result[w] = a[w] & b[w];
+            any |= result[w];
+        }
+        return any != 0;
+    }
+
+    private boolean intersects(long[] a, long[] b)
+    {
+        for (int w = 0; w < words; w++) {
+            if ((a[w] & b[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int firstSetBit(long[] set)
+    {
+        for (int w = 0; w < words; w++) {
+            if (set[w] != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(set[w]);
+            }
+        }
+        return -1;
+    }
+
+    private static int cardinality(long[] set)
+    {
+        int count = 0;
+        for (long bits : set) {
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+}
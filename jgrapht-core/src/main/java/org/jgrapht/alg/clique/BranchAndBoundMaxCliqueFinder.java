@@ -0,0 +1,280 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Exact maximum clique algorithm for general graphs, using branch and bound with coloring bounds.
+ *
+ * <p>
+ * The vertices are processed in a degeneracy ordering. A clique whose earliest vertex is $v$
+ * consists of $v$ and neighbors of $v$ later in the ordering, of which there are at most $d$ where
+ * $d$ is the degeneracy of the graph. This yields an upper bound for every vertex, and the vertices
+ * are processed in decreasing order of these bounds. A vertex is skipped once its bound does not
+ * exceed the size of the best clique found so far, so that the bounds become effective
+ * incrementally as better cliques are found. For all other vertices, the later neighbors are
+ * relabeled to the integers $[0, d)$ and a maximum clique of this subgraph is searched with a
+ * {@link BitsetMaxCliqueSolver}, which prunes the search tree using greedy colorings. On sparse
+ * graphs with a small degeneracy, such as most real-world networks, this keeps the bitsets small and
+ * most vertices are skipped entirely.
+ *
+ * <p>
+ * Edge directions, self-loops and multiple edges are ignored. If a {@link ForkJoinPool} is given,
+ * the subproblems of different vertices are solved in parallel, sharing the size of the best clique
+ * found so far. A timeout can be set using the constructor parameters, in which case the best clique
+ * found until the time limit is returned and {@link #isTimeLimitReached()} returns true.
+ *
+ * <p>
+ * The computation is performed on the first call of {@link #getClique()}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see BitsetMaxCliqueSolver
+ */
+public class BranchAndBoundMaxCliqueFinder<V, E>
+    implements
+    CliqueAlgorithm<V>
+{
+    private final Graph<V, E> graph;
+    private final long nanos;
+    private final ForkJoinPool pool;
+
+    private Clique<V> maximumClique;
+    private boolean timeLimitReached;
+
+    /**
+     * Constructs a new sequential clique finder without a timeout.
+     *
+     * @param graph the input graph
+     */
+    public BranchAndBoundMaxCliqueFinder(Graph<V, E> graph)
+    {
+        this(graph, 0L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructs a new sequential clique finder.
+     *
+     * @param graph the input graph
+     * @param timeout the maximum time to wait, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     */
+    public BranchAndBoundMaxCliqueFinder(Graph<V, E> graph, long timeout, TimeUnit unit)
+    {
+        this(graph, timeout, unit, null);
+    }
+
+    /**
+     * Constructs a new clique finder.
+     *
+     * @param graph the input graph
+     * @param timeout the maximum time to wait, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     * @param pool the pool to use for the parallel computation, or null for a sequential
+     *        computation
+     */
+    public BranchAndBoundMaxCliqueFinder(
+        Graph<V, E> graph, long timeout, TimeUnit unit, ForkJoinPool pool)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (timeout < 0L) {
+            throw new IllegalArgumentException("Invalid timeout, must be non-negative");
+        }
+        this.nanos = timeout == 0L ? Long.MAX_VALUE
+            : Objects.requireNonNull(unit, "Unit cannot be null").toNanos(timeout);
+        this.pool = pool;
+    }
+
+    @Override
+    public Clique<V> getClique()
+    {
+        lazyCompute();
+        return maximumClique;
+    }
+
+    /**
+     * Check the computation has stopped due to time limit reached. In that case the clique returned
+     * by {@link #getClique()} is the largest one found, but not necessarily a maximum clique.
+     *
+     * @return true if the computation has stopped due to time limit reached, false otherwise
+     */
+    public boolean isTimeLimitReached()
+    {
+        lazyCompute();
+        return timeLimitReached;
+    }
+
+    private void lazyCompute()
+    {
+        if (maximumClique != null) {
+            return;
+        }
+
+        long nanosTimeLimit;
+        try {
+            nanosTimeLimit = Math.addExact(System.nanoTime(), nanos);
+        } catch (ArithmeticException ignore) {
+            nanosTimeLimit = Long.MAX_VALUE;
+        }
+
+        IntegerAdjacency<V, E> adjacency = IntegerAdjacency.simple(graph);
+        int n = adjacency.vertexCount();
+        int[] order = adjacency.degeneracyOrdering();
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+
+        // the number of later neighbors bounds the size of the cliques starting at a vertex
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        int[] later = new int[n];
+        for (int v = 0; v < n; v++) {
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                if (position[targets[j]] > position[v]) {
+                    later[v]++;
+                }
+            }
+        }
+        Integer[] roots = new Integer[n];
+        for (int v = 0; v < n; v++) {
+            roots[v] = v;
+        }
+        Arrays.sort(roots, (a, b) -> Integer.compare(later[b], later[a]));
+
+        AtomicInteger best = new AtomicInteger();
+        AtomicBoolean stop = new AtomicBoolean();
+        int[][] result = new int[1][];
+        int[] initial = greedyClique(adjacency, order);
+        best.set(initial.length);
+        result[0] = initial;
+
+        final long limit = nanosTimeLimit;
+        ConcurrencyUtil.IntRangeConsumer body = (from, to) -> {
+            for (int i = from; i < to && !stop.get(); i++) {
+                int v = roots[i];
+                if (later[v] + 1 <= best.get()) {
+                    continue;
+                }
+                int[] local = laterNeighbors(adjacency, position, v);
+                int[] clique = new BitsetMaxCliqueSolver(localAdjacency(adjacency, local))
+                    .search(best, 1, limit, stop, null);
+                if (clique != null) {
+                    synchronized (result) {
+                        if (result[0].length < clique.length + 1) {
+                            int[] found = new int[clique.length + 1];
+                            found[0] = v;
+                            for (int j = 0; j < clique.length; j++) {
+                                found[j + 1] = local[clique[j]];
+                            }
+                            result[0] = found;
+                        }
+                    }
+                }
+            }
+        };
+        if (pool == null) {
+            body.accept(0, n);
+        } else {
+            ConcurrencyUtil.parallelForRanges(pool, 0, n, 1, body);
+        }
+
+        Set<V> cliqueSet = CollectionUtil.newHashSetWithExpectedSize(result[0].length);
+        for (int v : result[0]) {
+            cliqueSet.add(adjacency.getVertex(v));
+        }
+        maximumClique = new CliqueImpl<>(cliqueSet);
+        timeLimitReached = stop.get();
+    }
+
+    /**
+     * Greedily grow a clique, starting from the end of the degeneracy ordering where the graph is
+     * densest.
+     */
+    private int[] greedyClique(IntegerAdjacency<V, E> adjacency, int[] order)
+    {
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        List<Integer> clique = new ArrayList<>();
+        for (int i = order.length - 1; i >= 0; i--) {
+            int v = order[i];
+            boolean adjacentToAll = true;
+            for (int u : clique) {
+                if (Arrays.binarySearch(targets, offsets[v], offsets[v + 1], u) < 0) {
+                    adjacentToAll = false;
+                    break;
+                }
+            }
+            if (adjacentToAll) {
+                clique.add(v);
+            }
+        }
+        return clique.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int[] laterNeighbors(IntegerAdjacency<V, E> adjacency, int[] position, int v)
+    {
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        return Arrays
+            .stream(targets, offsets[v], offsets[v + 1]).filter(u -> position[u] > position[v])
+            .toArray();
+    }
+
+    /**
+     * Compute the adjacency matrix of the subgraph induced by a sorted array of vertices.
+     */
+    private long[][] localAdjacency(IntegerAdjacency<V, E> adjacency, int[] local)
+    {
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        int size = local.length;
+        long[][] rows = new long[size][(size + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            int u = local[i];
+            int uStart = offsets[u];
+            int uEnd = offsets[u + 1];
+            if (uEnd - uStart <= size) {
+                for (int j = uStart; j < uEnd; j++) {
+                    int k = Arrays.binarySearch(local, targets[j]);
+                    if (k > i) {
+                        rows[i][k >>> 6] |= 1L << k;
+                        rows[k][i >>> 6] |= 1L << i;
+                    }
+                }
+            } else {
+                for (int k = i + 1; k < size; k++) {
+                    if (Arrays.binarySearch(targets, uStart, uEnd, local[k]) >= 0) {
+                        rows[i][k >>> 6] |= 1L << k;
+                        rows[k][i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Parallel Bron-Kerbosch maximal clique enumeration algorithm with pivot and degeneracy ordering,
+ * operating on bitsets.
+ *
+ * <p>
+ * The algorithm follows the same scheme as {@link DegeneracyBronKerboschCliqueFinder}, see
+ * <ul>
+ * <li>David Eppstein, Maarten Löffler and Darren Strash. Listing All Maximal Cliques in Sparse
+ * Graphs in Near-Optimal Time. Algorithms and Computation: 21st International Symposium (ISSAC),
+ * 403--414, 2010.</li>
+ * <li>Etsuji Tomita, Akira Tanaka, and Haruhisa Takahashi. The worst-case time complexity for
+ * generating all maximal cliques and computational experiments. Theoretical Computer Science,
+ * 363(1):28--42, 2006.</li>
+ * </ul>
+ * The vertices are processed in a degeneracy ordering, and for every vertex $v$ the maximal cliques
+ * in which $v$ is the earliest vertex are enumerated. The candidate set $P$ contains the neighbors
+ * of $v$ later in the ordering, which are at most $d$ where $d$ is the degeneracy, and the excluded
+ * set $X$ contains the earlier neighbors. Instead of hash sets, every such subproblem relabels the
+ * neighborhood of $v$ to the integers $[0, |P| + |X|)$ and stores the adjacency as bitsets, so that
+ * the set operations of the recursion become word-wise operations on {@code long} arrays. The
+ * subproblems of different vertices are independent and are executed in parallel on a
+ * {@link ForkJoinPool}.
+ *
+ * <p>
+ * Besides the {@link Iterable} interface, which computes and stores all maximal cliques, the
+ * cliques can be streamed to a consumer using {@link #forEachClique(Consumer)} without storing
+ * them. A timeout can be set using the constructor parameters, with the same semantics as the other
+ * Bron-Kerbosch implementations.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see DegeneracyBronKerboschCliqueFinder
+ */
+public class ParallelBronKerboschCliqueFinder<V, E>
+    extends
+    BaseBronKerboschCliqueFinder<V, E>
+{
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new clique finder which uses the common {@link ForkJoinPool}.
+     *
+     * @param graph the input graph; must be simple
+     */
+    public ParallelBronKerboschCliqueFinder(Graph<V, E> graph)
+    {
+        this(graph, 0L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructs a new clique finder which uses the common {@link ForkJoinPool}.
+     *
+     * @param graph the input graph; must be simple
+     * @param timeout the maximum time to wait, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     */
+    public ParallelBronKerboschCliqueFinder(Graph<V, E> graph, long timeout, TimeUnit unit)
+    {
+        this(graph, timeout, unit, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new clique finder.
+     *
+     * @param graph the input graph; must be simple
+     * @param timeout the maximum time to wait, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     * @param pool the pool to use for the parallel computation
+     */
+    public ParallelBronKerboschCliqueFinder(
+        Graph<V, E> graph, long timeout, TimeUnit unit, ForkJoinPool pool)
+    {
+        super(graph, timeout, unit);
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    /**
+     * Enumerate all maximal cliques and pass them to a consumer, without storing them. The
+     * consumer is invoked concurrently from the worker threads of the pool and therefore must be
+     * thread-safe. The cliques are reported in no particular order. If the time limit is reached,
+     * the enumeration stops early and {@link #isTimeLimitReached()} returns true afterwards.
+     *
+     * @param consumer the consumer of the maximal cliques
+     * @throws IllegalArgumentException if the graph is not simple
+     */
+    public void forEachClique(Consumer<? super Set<V>> consumer)
+    {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        enumerate((branch, clique) -> consumer.accept(clique));
+    }
+
+    /**
+     * Lazily execute the enumeration algorithm.
+     */
+    @Override
+    protected void lazyRun()
+    {
+        if (allMaximalCliques != null) {
+            return;
+        }
+
+        // collect per branch so that the result does not depend on the scheduling
+        Map<Integer, List<Set<V>>> branches = new ConcurrentHashMap<>();
+        enumerate(
+            (branch, clique) -> branches
+                .computeIfAbsent(branch, b -> new ArrayList<>()).add(clique));
+
+        List<Integer> keys = new ArrayList<>(branches.keySet());
+        Collections.sort(keys);
+        List<Set<V>> result = new ArrayList<>();
+        for (Integer key : keys) {
+            result.addAll(branches.get(key));
+        }
+        maxSize = 0;
+        for (Set<V> clique : result) {
+            maxSize = Math.max(maxSize, clique.size());
+        }
+        allMaximalCliques = result;
+    }
+
+    /**
+     * Run the enumeration. Cliques of the same branch are reported by the same thread.
+     */
+    private void enumerate(BiConsumer<Integer, Set<V>> consumer)
+    {
+        if (!GraphTests.isSimple(graph)) {
+            throw new IllegalArgumentException("Graph must be simple");
+        }
+
+        long nanosTimeLimit;
+        try {
+            nanosTimeLimit = Math.addExact(System.nanoTime(), nanos);
+        } catch (ArithmeticException ignore) {
+            nanosTimeLimit = Long.MAX_VALUE;
+        }
+
+        IntegerAdjacency<V, E> adjacency = IntegerAdjacency.simple(graph);
+        int n = adjacency.vertexCount();
+        int[] order = adjacency.degeneracyOrdering();
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        final long limit = nanosTimeLimit;
+        ConcurrencyUtil.parallelForRanges(pool, 0, n, 1, (from, to) -> {
+            for (int i = from; i < to && !stop.get(); i++) {
+                new Branch(adjacency, position, order[i], limit, stop, i, consumer).run();
+            }
+        });
+        timeLimitReached = stop.get();
+    }
+
+    /**
+     * The subproblem of all maximal cliques whose earliest vertex in the degeneracy ordering is a
+     * given vertex.
+     */
+    private class Branch
+    {
+        private final IntegerAdjacency<V, E> adjacency;
+        private final int root;
+        private final long nanosTimeLimit;
+        private final AtomicBoolean stop;
+        private final int branchIndex;
+        private final BiConsumer<Integer, Set<V>> consumer;
+
+        // local vertex i corresponds to global vertex local[i], candidates come first
+        private int[] local;
+        private int numCandidates;
+        private int numLocal;
+        // adjacency bitsets, the rows of excluded vertices only cover the candidates
+        private long[][] rows;
+        private int[] clique;
+
+        Branch(
+            IntegerAdjacency<V, E> adjacency, int[] position, int root, long nanosTimeLimit,
+            AtomicBoolean stop, int branchIndex, BiConsumer<Integer, Set<V>> consumer)
+        {
+            this.adjacency = adjacency;
+            this.root = root;
+            this.nanosTimeLimit = nanosTimeLimit;
+            this.stop = stop;
+            this.branchIndex = branchIndex;
+            this.consumer = consumer;
+            relabel(position);
+        }
+
+        void run()
+        {
+            long[] p = new long[words(numLocal)];
+            long[] x = new long[words(numLocal)];
+            for (int i = 0; i < numCandidates; i++) {
+                p[i >>> 6] |= 1L << i;
+            }
+            for (int i = numCandidates; i < numLocal; i++) {
+                x[i >>> 6] |= 1L << i;
+            }
+            clique = new int[numCandidates];
+            expand(p, x, 0);
+        }
+
+        private void relabel(int[] position)
+        {
+            int[] offsets = adjacency.getOffsets();
+            int[] targets = adjacency.getTargets();
+            int start = offsets[root];
+            int end = offsets[root + 1];
+            numLocal = end - start;
+
+            // the sorted neighbors of the root give the global to local translation
+            int[] localOfNeighbor = new int[numLocal];
+            local = new int[numLocal];
+            int rootPosition = position[root];
+            for (int j = start; j < end; j++) {
+                if (position[targets[j]] > rootPosition) {
+                    localOfNeighbor[j - start] = numCandidates;
+                    local[numCandidates++] = targets[j];
+                }
+            }
+            int next = numCandidates;
+            for (int j = start; j < end; j++) {
+                if (position[targets[j]] < rootPosition) {
+                    localOfNeighbor[j - start] = next;
+                    local[next++] = targets[j];
+                }
+            }
+
+            int fullWords = words(numLocal);
+            int candidateWords = words(numCandidates);
+            rows = new long[numLocal][];
+            for (int i = 0; i < numCandidates; i++) {
+                rows[i] = new long[fullWords];
+            }
+            for (int i = numCandidates; i < numLocal; i++) {
+                rows[i] = new long[candidateWords];
+            }
+
+            // rows of the candidates by intersecting sorted neighbor lists
+            for (int i = 0; i < numCandidates; i++) {
+                int u = local[i];
+                int uStart = offsets[u];
+                int uEnd = offsets[u + 1];
+                if (uEnd - uStart <= numLocal) {
+                    for (int j = uStart; j < uEnd; j++) {
+                        int k = Arrays.binarySearch(targets, start, end, targets[j]);
+                        if (k >= 0) {
+                            setRow(i, localOfNeighbor[k - start]);
+                        }
+                    }
+                } else {
+                    for (int k = start; k < end; k++) {
+                        if (Arrays.binarySearch(targets, uStart, uEnd, targets[k]) >= 0) {
+                            setRow(i, localOfNeighbor[k - start]);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void setRow(int candidate, int other)
+        {
+            rows[candidate][other >>> 6] |= 1L << other;
+            if (other >= numCandidates) {
+                // the adjacency is symmetric
+                rows[other][candidate >>> 6] |= 1L << candidate;
+            }
+        }
+
+        private void expand(long[] p, long[] x, int size)
+        {
+            int candidateWords = words(numCandidates);
+            if (isEmpty(p, candidateWords)) {
+                if (isEmpty(x, x.length)) {
+                    report(size);
+                }
+                return;
+            }
+            if (stop.get()) {
+                return;
+            }
+            if (nanosTimeLimit - System.nanoTime() < 0) {
+                stop.set(true);
+                return;
+            }
+
+            // choose the pivot maximizing the number of candidates in its neighborhood
+            int pivot = -1;
+            int best = -1;
+            for (int w = 0; w < x.length; w++) {
+                long bits = p[w] | x[w];
+                while (bits != 0) {
+                    int u = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    int count = 0;
+                    long[] row = rows[u];
+                    for (int k = 0; k < candidateWords; k++) {
+                        count += Long.bitCount(p[k] & row[k]);
+                    }
+                    if (count > best) {
+                        best = count;
+                        pivot = u;
+                    }
+                }
+            }
+
+            long[] pivotRow = rows[pivot];
+            for (int w = 0; w < candidateWords; w++) {
+                long bits = p[w] & ~pivotRow[w];
+                while (bits != 0) {
+                    int v = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    long[] row = rows[v];
+                    long[] newP = new long[p.length];
+                    long[] newX = new long[x.length];
+                    for (int k = 0; k < candidateWords; k++) {
+                        newP[k] = p[k] & row[k];
+                    }
+                    for (int k = 0; k < x.length; k++) {
+                        newX[k] = x[k] & row[k];
+                    }
+                    clique[size] = v;
+                    expand(newP, newX, size + 1);
+                    if (stop.get()) {
+                        return;
+                    }
+                    p[w] &= ~(1L << v);
+                    x[w] |= 1L << v;
+                }
+            }
+        }
+
+        private void report(int size)
+        {
+            Set<V> result = CollectionUtil.newHashSetWithExpectedSize(size + 1);
+            result.add(adjacency.getVertex(root));
+            for (int i = 0; i < size; i++) {
+                result.add(adjacency.getVertex(local[clique[i]]));
+            }
+            consumer.accept(branchIndex, result);
+        }
+
+        private boolean isEmpty(long[] set, int length)
+        {
+            for (int k = 0; k < length; k++) {
+                if (set[k] != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int words(int bits)
+        {
+            return (bits + 63) >>> 6;
+        }
+    }
+}
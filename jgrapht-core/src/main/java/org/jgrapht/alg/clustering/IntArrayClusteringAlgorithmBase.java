@@ -0,0 +1,177 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clustering;
+
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Base class for clustering algorithms which compute a cluster id for every vertex in an integer
+ * array.
+ *
+ * <p>
+ * The cluster ids are computed lazily by {@link #computeClusterIds()} on the first call of one of
+ * the getters, and the {@link Clustering} is created from them on demand.
+ *
+ * @param <V> the graph vertex type
+ */
+public abstract class IntArrayClusteringAlgorithmBase<V>
+    implements
+    ClusteringAlgorithm<V>
+{
+    private VertexToIntegerMapping<V> mapping;
+    private int[] clusterIds;
+    private int numberOfClusters;
+    private Clustering<V> result;
+
+    @Override
+    public Clustering<V> getClustering()
+    {
+        lazyCompute();
+        if (result == null) {
+            int[] sizes = new int[numberOfClusters];
+            for (int c : clusterIds) {
+                sizes[c]++;
+            }
+            List<Set<V>> clusters = new ArrayList<>(numberOfClusters);
+            for (int c = 0; c < numberOfClusters; c++) {
+                clusters.add(CollectionUtil.newLinkedHashSetWithExpectedSize(sizes[c]));
+            }
+            List<V> vertices = mapping.getIndexList();
+            for (int i = 0; i < clusterIds.length; i++) {
+                clusters.get(clusterIds[i]).add(vertices.get(i));
+            }
+            result = new ClusteringImpl<>(clusters);
+        }
+        return result;
+    }
+
+    /**
+     * Get the cluster id of every vertex. Cluster ids are in the range $[0, k)$ where $k$ is the
+     * number of clusters, and the array is indexed by the vertex numbering returned by
+     * {@link #getVertexToIntegerMapping()}. Clusters are numbered in the order of their first
+     * vertex, which matches the order of {@link Clustering#getClusters()}. The returned array must
+     * not be modified.
+     *
+     * @return the cluster id of every vertex
+     */
+    public int[] getClusterIds()
+    {
+        lazyCompute();
+        return clusterIds;
+    }
+
+    /**
+     * Get the vertex numbering used by {@link #getClusterIds()}.
+     *
+     * @return the vertex numbering
+     */
+    public VertexToIntegerMapping<V> getVertexToIntegerMapping()
+    {
+        lazyCompute();
+        return mapping;
+    }
+
+    /**
+     * Compute the clustering, if not already done.
+     */
+    protected void lazyCompute()
+    {
+        if (clusterIds == null) {
+            computeClusterIds();
+        }
+    }
+
+    /**
+     * Compute the clustering and store it by {@link #setClusterIds(VertexToIntegerMapping, int[])}.
+     */
+    protected abstract void computeClusterIds();
+
+    /**
+     * Store the computed clustering. The cluster ids are renumbered in the order of their first
+     * vertex.
+     *
+     * @param mapping the vertex numbering
+     * @param ids the cluster id of every vertex in the range $[0, n)$, which is modified
+     */
+    protected void setClusterIds(VertexToIntegerMapping<V> mapping, int[] ids)
+    {
+        this.mapping = mapping;
+        this.numberOfClusters = compact(ids, ids.length);
+        this.clusterIds = ids;
+    }
+
+    /**
+     * Split every cluster into the connected components of the subgraph induced by its vertices.
+     * The new cluster ids are the smallest vertex of every component.
+     *
+     * @param offsets the adjacency offsets of every vertex
+     * @param targets the adjacent vertices
+     * @param ids the cluster id of every vertex, which is modified
+     * @param pool the pool to use for the parallel computation
+     */
+    protected static void splitDisconnectedClusters(
+        int[] offsets, int[] targets, int[] ids, ForkJoinPool pool)
+    {
+        int n = ids.length;
+        AtomicIntegerUnionFind uf = new AtomicIntegerUnionFind(n);
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                int u = targets[j];
+                if (u > v && ids[u] == ids[v]) {
+                    uf.union(v, u);
+                }
+            }
+        });
+        int[] minimum = new int[n];
+        Arrays.fill(minimum, n);
+        for (int v = 0; v < n; v++) {
+            int root = uf.find(v);
+            minimum[root] = Math.min(minimum[root], v);
+        }
+        for (int v = 0; v < n; v++) {
+            ids[v] = minimum[uf.find(v)];
+        }
+    }
+
+    /**
+     * Renumber values in the range $[0, bound)$ in the order of their first occurrence.
+     *
+     * @param values the values, which are modified
+     * @param bound an upper bound on the values
+     * @return the number of distinct values
+     */
+    protected static int compact(int[] values, int bound)
+    {
+        int[] id = new int[bound];
+        Arrays.fill(id, -1);
+        int k = 0;
+        for (int i = 0; i < values.length; i++) {
+            int value = values[i];
+            if (id[value] == -1) {
+                id[value] = k++;
+            }
+            values[i] = id[value];
+        }
+        return k;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clustering;
+
+import java.util.*;
+
+/**
+ * Accumulates weights by integer key, such as the total edge weight from a vertex to every
+ * neighboring cluster. Keys are non-negative and enumerated in order of their first insertion,
+ * which keeps the callers deterministic. The table is reused between vertices: {@link #clear(int)}
+ * only resets the slots used since the last call, thus the cost of a vertex is proportional to its
+ * degree and not to the number of clusters.
+ */
+final class LabelWeights
+{
+    private int[] table;
+    private int[] keys;
+    private int[] slots;
+    private double[] weights;
+    private int size;
+
+    /**
+     * Create an empty accumulator.
+     */
+    LabelWeights()
+    {
+        this.table = new int[0];
+        this.keys = new int[0];
+        this.slots = new int[0];
+        this.weights = new double[0];
+        this.size = 0;
+    }
+
+    /**
+     * Remove all keys and make room for the given number of distinct keys.
+     *
+     * @param expectedKeys an upper bound on the number of distinct keys until the next call
+     */
+    void clear(int expectedKeys)
+    {
+        if (table.length < 2 * expectedKeys) {
+            int capacity = Integer.highestOneBit(Math.max(2 * expectedKeys - 1, 1)) << 1;
+            table = new int[capacity];
+            Arrays.fill(table, -1);
+            keys = new int[capacity / 2];
+            slots = new int[capacity / 2];
+            weights = new double[capacity / 2];
+        } else {
+            for (int i = 0; i < size; i++) {
+                table[slots[i]] = -1;
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Add a weight to a key.
+     *
+     * @param key the key
+     * @param weight the weight
+     */
+    void add(int key, double weight)
+    {
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        int index;
+        while ((index = table[slot]) != -1) {
+            if (keys[index] == key) {
+                weights[index] += weight;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = size;
+        keys[size] = key;
+        slots[size] = slot;
+        weights[size] = weight;
+        size++;
+    }
+
+    /**
+     * Get the accumulated weight of a key.
+     *
+     * @param key the key
+     * @return the accumulated weight, or zero if the key was not added
+     */
+    double get(int key)
+    {
+        int mask = table.length - 1;
+        if (mask < 0) {
+            return 0d;
+        }
+        int slot = hash(key) & mask;
+        int index;
+        while ((index = table[slot]) != -1) {
+            if (keys[index] == key) {
+                return weights[index];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0d;
+    }
+
+    /**
+     * Get the number of distinct keys.
+     *
+     * @return the number of distinct keys
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Get the i-th key in insertion order.
+     *
+     * @param i the position
+     * @return the key
+     */
+    int key(int i)
+    {
+        return keys[i];
+    }
+
+    /**
+     * Get the accumulated weight of the i-th key in insertion order.
+     *
+     * @param i the position
+     * @return the weight
+     */
+    double weight(int i)
+    {
+        return weights[i];
+    }
+
+    private static int hash(int key)
+    {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,551 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clustering;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * The Leiden and Louvain algorithms for modularity based community detection.
+ *
+ * <p>
+ * The algorithms maximize the modularity $Q = \sum_c \left( \frac{w_c}{m} - \gamma \left(
+ * \frac{K_c}{2m} \right)^2 \right)$ where $m$ is the total edge weight, $w_c$ is the total weight
+ * of the edges inside cluster $c$, $K_c$ is the sum of the weighted degrees of the vertices of $c$
+ * and $\gamma$ is the resolution parameter. Larger resolutions lead to more and smaller clusters.
+ * The implementation follows the paper:
+ * <ul>
+ * <li>V. A. Traag, L. Waltman, and N. J. van Eck. From Louvain to Leiden: guaranteeing
+ * well-connected communities. Scientific Reports 9, 5233 (2019).</li>
+ * </ul>
+ *
+ * <p>
+ * The graph is converted to a weighted {@link IntegerAdjacency}. Every level starts with a fast
+ * local moving phase, which moves single vertices to the neighboring cluster with the largest
+ * modularity gain, revisiting only the neighbors of moved vertices. In the Leiden algorithm each
+ * cluster is then refined: starting from singletons, vertices which are well connected to their
+ * cluster are merged into well connected subclusters. Different clusters are refined in parallel,
+ * and within a cluster every vertex joins the subcluster with the largest modularity gain. The
+ * graph is finally aggregated in parallel, with one vertex per subcluster, and the next level
+ * starts from the clusters of the local moving phase. The Leiden algorithm stops when the
+ * refinement merges no vertices, and finally splits every cluster into its connected components,
+ * which never decreases the modularity. Without refinement, the algorithm reduces to the Louvain
+ * algorithm of V. D. Blondel, J.-L. Guillaume, R. Lambiotte, and E. Lefebvre. Fast unfolding of
+ * communities in large networks. Journal of Statistical Mechanics: Theory and Experiment, P10008,
+ * 2008. Contrary to Louvain, the clusters of the Leiden algorithm are always connected.
+ *
+ * <p>
+ * Each level performs $O(n + m)$ expected work, apart from revisits during local moving. The
+ * local moving phase is sequential, the remaining phases use the given pool. The result depends
+ * only on the random number generator and not on the scheduling of the threads.
+ *
+ * <p>
+ * The graph must be undirected. Edge weights must be non-negative. Besides the {@link Set} based
+ * clustering, this class exposes the result as a compact cluster id array, see
+ * {@link #getClusterIds()}. The computation is performed on the first call of any query method.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see LabelPropagationClustering
+ */
+public class LeidenClustering<V, E>
+    extends
+    IntArrayClusteringAlgorithmBase<V>
+{
+    /**
+     * Default resolution, which corresponds to the standard definition of modularity
+     */
+    public static final double DEFAULT_RESOLUTION = 1d;
+
+    private final Graph<V, E> graph;
+    private final double resolution;
+    private final boolean refine;
+    private final Random rng;
+    private final ForkJoinPool pool;
+
+    private double modularity;
+
+    /**
+     * Create a new Leiden clustering algorithm with the default resolution, which uses the common
+     * {@link ForkJoinPool}.
+     *
+     * @param graph the graph (needs to be undirected)
+     */
+    public LeidenClustering(Graph<V, E> graph)
+    {
+        this(graph, new Random());
+    }
+
+    /**
+     * Create a new Leiden clustering algorithm with the default resolution, which uses the common
+     * {@link ForkJoinPool}.
+     *
+     * @param graph the graph (needs to be undirected)
+     * @param rng random number generator
+     */
+    public LeidenClustering(Graph<V, E> graph, Random rng)
+    {
+        this(graph, DEFAULT_RESOLUTION, true, rng, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new clustering algorithm.
+     *
+     * @param graph the graph (needs to be undirected)
+     * @param resolution the resolution parameter $\gamma$
+     * @param refine whether to refine the clusters before aggregation (Leiden) or not (Louvain)
+     * @param rng random number generator
+     * @param pool the pool to use for the parallel computation
+     */
+    public LeidenClustering(
+        Graph<V, E> graph, double resolution, boolean refine, Random rng, ForkJoinPool pool)
+    {
+        this.graph = GraphTests.requireUndirected(graph);
+        if (!(resolution >= 0d) || Double.isInfinite(resolution)) {
+            throw new IllegalArgumentException("Resolution must be non-negative and finite");
+        }
+        this.resolution = resolution;
+        this.refine = refine;
+        this.rng = Objects.requireNonNull(rng, "Random number generator cannot be null");
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    /**
+     * Get the modularity of the computed clustering, using the resolution of this algorithm. The
+     * modularity of a graph without edges is zero.
+     *
+     * @return the modularity of the clustering
+     */
+    public double getModularity()
+    {
+        lazyCompute();
+        return modularity;
+    }
+
+    @Override
+    protected void computeClusterIds()
+    {
+        VertexToIntegerMapping<V> mapping = Graphs.getVertexToIntegerMapping(graph);
+        IntegerAdjacency<V, E> adjacency =
+            IntegerAdjacency.of(graph, mapping, IntegerAdjacency.Direction.ALL, true);
+        int n = adjacency.vertexCount();
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        int[] edgeIndices = adjacency.getEdgeIndices();
+        List<E> edgeList = adjacency.getEdgeList();
+
+        double[] weights = new double[targets.length];
+        ConcurrencyUtil.parallelFor(pool, 0, targets.length, j -> {
+            double w = graph.getEdgeWeight(edgeList.get(edgeIndices[j]));
+            if (w < 0d) {
+                throw new IllegalArgumentException("Edge weights must be non-negative");
+            }
+            weights[j] = w;
+        });
+
+        // self-loops appear once in the adjacency but count twice in the weighted degree
+        double[] strengths = new double[n];
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+            double k = 0d;
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                k += targets[j] == v ? 2 * weights[j] : weights[j];
+            }
+            strengths[v] = k;
+        });
+        double totalWeight = 0d;
+        for (double k : strengths) {
+            totalWeight += k;
+        }
+
+        Level level = new Level(n, offsets, targets, weights, strengths);
+        int[] membership = new int[n];
+        int[] clusters = new int[n];
+        for (int v = 0; v < n; v++) {
+            membership[v] = v;
+            clusters[v] = v;
+        }
+
+        if (totalWeight > 0d) {
+            double scale = resolution / totalWeight;
+            while (true) {
+                moveNodes(level, clusters, scale);
+                int numClusters = compact(clusters, level.n);
+                if (numClusters == level.n) {
+                    break;
+                }
+
+                int[] partition = clusters;
+                if (refine) {
+                    partition = refine(level, clusters, numClusters, scale);
+                    // aggregating by the unrefined clusters could merge disconnected parts
+                    if (compact(partition, level.n) == level.n) {
+                        break;
+                    }
+                }
+
+                Level aggregate = aggregate(level, partition);
+                int[] nextClusters = new int[aggregate.n];
+                for (int v = 0; v < level.n; v++) {
+                    nextClusters[partition[v]] = clusters[v];
+                }
+                final int[] nodeOf = partition;
+                ConcurrencyUtil.parallelFor(pool, 0, n, x -> membership[x] = nodeOf[membership[x]]);
+                level = aggregate;
+                clusters = nextClusters;
+            }
+        }
+
+        int[] ids = new int[n];
+        for (int x = 0; x < n; x++) {
+            ids[x] = clusters[membership[x]];
+        }
+        if (refine) {
+            splitDisconnectedClusters(offsets, targets, ids, pool);
+        }
+        int numberOfClusters = compact(ids, n);
+        modularity = totalWeight > 0d
+            ? modularity(offsets, targets, weights, strengths, totalWeight, ids, numberOfClusters)
+            : 0d;
+        setClusterIds(mapping, ids);
+    }
+
+    /**
+     * The fast local moving phase. Vertices are visited from a queue, initially in random order,
+     * and moved to the neighboring or an empty cluster with the largest modularity gain. When a
+     * vertex moves, its neighbors outside of its new cluster are queued again.
+     */
+    private void moveNodes(Level level, int[] clusters, double scale)
+    {
+        int n = level.n;
+        double[] clusterStrengths = new double[n];
+        int[] clusterSizes = new int[n];
+        for (int v = 0; v < n; v++) {
+            clusterStrengths[clusters[v]] += level.strengths[v];
+            clusterSizes[clusters[v]]++;
+        }
+        int[] empty = new int[n];
+        int numEmpty = 0;
+        for (int c = n - 1; c >= 0; c--) {
+            if (clusterSizes[c] == 0) {
+                empty[numEmpty++] = c;
+            }
+        }
+
+        int[] queue = randomPermutation(n);
+        boolean[] queued = new boolean[n];
+        Arrays.fill(queued, true);
+        int head = 0;
+        int queueSize = n;
+
+        LabelWeights neighborWeights = new LabelWeights();
+        while (queueSize > 0) {
+            int v = queue[head];
+            head = head + 1 == n ? 0 : head + 1;
+            queueSize--;
+            queued[v] = false;
+
+            neighborWeights.clear(level.offsets[v + 1] - level.offsets[v]);
+            for (int j = level.offsets[v]; j < level.offsets[v + 1]; j++) {
+                int u = level.targets[j];
+                if (u != v) {
+                    neighborWeights.add(clusters[u], level.weights[j]);
+                }
+            }
+
+            int current = clusters[v];
+            double k = level.strengths[v];
+            clusterStrengths[current] -= k;
+            clusterSizes[current]--;
+
+            int best = current;
+            double bestGain =
+                neighborWeights.get(current) - k * clusterStrengths[current] * scale;
+            for (int i = 0; i < neighborWeights.size(); i++) {
+                int c = neighborWeights.key(i);
+                double gain = neighborWeights.weight(i) - k * clusterStrengths[c] * scale;
+                if (gain > bestGain) {
+                    best = c;
+                    bestGain = gain;
+                }
+            }
+            // an empty cluster has zero gain
+            if (bestGain < 0d && clusterSizes[current] > 0) {
+                best = empty[--numEmpty];
+            }
+
+            clusters[v] = best;
+            clusterStrengths[best] += k;
+            clusterSizes[best]++;
+            if (best != current) {
+                if (clusterSizes[current] == 0) {
+                    empty[numEmpty++] = current;
+                }
+                for (int j = level.offsets[v]; j < level.offsets[v + 1]; j++) {
+                    int u = level.targets[j];
+                    if (!queued[u] && clusters[u] != best) {
+                        queued[u] = true;
+                        int tail = head + queueSize;
+                        queue[tail >= n ? tail - n : tail] = u;
+                        queueSize++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The refinement phase. Every cluster is partitioned into subclusters, starting from
+     * singletons. A singleton which is well connected to the rest of its cluster joins the well
+     * connected subcluster with the largest positive modularity gain. Subclusters are identified
+     * by one of their vertices.
+     */
+    private int[] refine(Level level, int[] clusters, int numClusters, double scale)
+    {
+        int n = level.n;
+
+        // members of every cluster, in random order
+        int[] clusterOffsets = new int[numClusters + 1];
+        double[] clusterStrengths = new double[numClusters];
+        for (int v = 0; v < n; v++) {
+            clusterOffsets[clusters[v] + 1]++;
+            clusterStrengths[clusters[v]] += level.strengths[v];
+        }
+        for (int c = 0; c < numClusters; c++) {
+            clusterOffsets[c + 1] += clusterOffsets[c];
+        }
+        int[] members = new int[n];
+        int[] next = Arrays.copyOf(clusterOffsets, numClusters);
+        for (int v : randomPermutation(n)) {
+            members[next[clusters[v]]++] = v;
+        }
+
+        int[] refined = new int[n];
+        int[] sizes = new int[n];
+        double[] strengths = Arrays.copyOf(level.strengths, n);
+        // weight of the edges from a subcluster to the rest of its cluster
+        double[] external = new double[n];
+
+        ConcurrencyUtil.parallelForRanges(pool, 0, numClusters, (from, to) -> {
+            LabelWeights neighborWeights = new LabelWeights();
+            for (int c = from; c < to; c++) {
+                double clusterStrength = clusterStrengths[c];
+                for (int i = clusterOffsets[c]; i < clusterOffsets[c + 1]; i++) {
+                    int v = members[i];
+                    refined[v] = v;
+                    sizes[v] = 1;
+                    double w = 0d;
+                    for (int j = level.offsets[v]; j < level.offsets[v + 1]; j++) {
+                        int u = level.targets[j];
+                        if (u != v && clusters[u] == c) {
+                            w += level.weights[j];
+                        }
+                    }
+                    external[v] = w;
+                }
+
+                for (int i = clusterOffsets[c]; i < clusterOffsets[c + 1]; i++) {
+                    int v = members[i];
+                    double k = level.strengths[v];
+                    if (sizes[v] != 1 || refined[v] != v
+                        || external[v] < k * (clusterStrength - k) * scale)
+                    {
+                        continue;
+                    }
+
+                    neighborWeights.clear(level.offsets[v + 1] - level.offsets[v]);
+                    for (int j = level.offsets[v]; j < level.offsets[v + 1]; j++) {
+                        int u = level.targets[j];
+                        if (u != v && clusters[u] == c) {
+                            neighborWeights.add(refined[u], level.weights[j]);
+                        }
+                    }
+
+                    int best = -1;
+                    double bestGain = 0d;
+                    double bestWeight = 0d;
+                    for (int p = 0; p < neighborWeights.size(); p++) {
+                        int s = neighborWeights.key(p);
+                        double sk = strengths[s];
+                        if (external[s] < sk * (clusterStrength - sk) * scale) {
+                            continue;
+                        }
+                        double gain = neighborWeights.weight(p) - k * sk * scale;
+                        if (gain > bestGain) {
+                            best = s;
+                            bestGain = gain;
+                            bestWeight = neighborWeights.weight(p);
+                        }
+                    }
+
+                    if (best != -1) {
+                        refined[v] = best;
+                        sizes[v] = 0;
+                        sizes[best]++;
+                        strengths[best] += k;
+                        external[best] += external[v] - 2 * bestWeight;
+                    }
+                }
+            }
+        });
+        return refined;
+    }
+
+    /**
+     * Aggregate a level, with one vertex per part of a compact partition.
+     */
+    private Level aggregate(Level level, int[] partition)
+    {
+        int n = level.n;
+        int numParts = 0;
+        for (int p : partition) {
+            numParts = Math.max(numParts, p + 1);
+        }
+
+        int[] partOffsets = new int[numParts + 1];
+        int[] entryBounds = new int[numParts];
+        double[] strengths = new double[numParts];
+        for (int v = 0; v < n; v++) {
+            partOffsets[partition[v] + 1]++;
+            entryBounds[partition[v]] += level.offsets[v + 1] - level.offsets[v];
+            strengths[partition[v]] += level.strengths[v];
+        }
+        for (int p = 0; p < numParts; p++) {
+            partOffsets[p + 1] += partOffsets[p];
+        }
+        int[] members = new int[n];
+        int[] next = Arrays.copyOf(partOffsets, numParts);
+        for (int v = 0; v < n; v++) {
+            members[next[partition[v]]++] = v;
+        }
+
+        // count the distinct neighbors of every part, then fill them in the same order
+        int[] offsets = new int[numParts + 1];
+        ConcurrencyUtil.parallelForRanges(pool, 0, numParts, (from, to) -> {
+            LabelWeights neighborWeights = new LabelWeights();
+            for (int p = from; p < to; p++) {
+                accumulate(level, partition, members, partOffsets, entryBounds, p, neighborWeights);
+                offsets[p + 1] = neighborWeights.size();
+            }
+        });
+        for (int p = 0; p < numParts; p++) {
+            offsets[p + 1] += offsets[p];
+        }
+        int[] targets = new int[offsets[numParts]];
+        double[] weights = new double[offsets[numParts]];
+        ConcurrencyUtil.parallelForRanges(pool, 0, numParts, (from, to) -> {
+            LabelWeights neighborWeights = new LabelWeights();
+            for (int p = from; p < to; p++) {
+                accumulate(level, partition, members, partOffsets, entryBounds, p, neighborWeights);
+                for (int i = 0; i < neighborWeights.size(); i++) {
+                    targets[offsets[p] + i] = neighborWeights.key(i);
+                    weights[offsets[p] + i] = neighborWeights.weight(i);
+                }
+            }
+        });
+        return new Level(numParts, offsets, targets, weights, strengths);
+    }
+
+    private static void accumulate(
+        Level level, int[] partition, int[] members, int[] partOffsets, int[] entryBounds, int p,
+        LabelWeights neighborWeights)
+    {
+        neighborWeights.clear(entryBounds[p]);
+        for (int i = partOffsets[p]; i < partOffsets[p + 1]; i++) {
+            int v = members[i];
+            for (int j = level.offsets[v]; j < level.offsets[v + 1]; j++) {
+                int q = partition[level.targets[j]];
+                if (q != p) {
+                    neighborWeights.add(q, level.weights[j]);
+                }
+            }
+        }
+    }
+
+    private double modularity(
+        int[] offsets, int[] targets, double[] weights, double[] strengths, double totalWeight,
+        int[] ids, int numClusters)
+    {
+        int n = ids.length;
+        DoubleAdder internal = new DoubleAdder();
+        ConcurrencyUtil.parallelForRanges(pool, 0, n, (from, to) -> {
+            double w = 0d;
+            for (int v = from; v < to; v++) {
+                for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                    int u = targets[j];
+                    if (u == v) {
+                        w += 2 * weights[j];
+                    } else if (ids[u] == ids[v]) {
+                        w += weights[j];
+                    }
+                }
+            }
+            internal.add(w);
+        });
+
+        double[] clusterStrengths = new double[numClusters];
+        for (int v = 0; v < n; v++) {
+            clusterStrengths[ids[v]] += strengths[v];
+        }
+        double expected = 0d;
+        for (double k : clusterStrengths) {
+            expected += k * k;
+        }
+        return internal.sum() / totalWeight
+            - resolution * expected / (totalWeight * totalWeight);
+    }
+
+    private int[] randomPermutation(int n)
+    {
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            int j = rng.nextInt(i + 1);
+            permutation[i] = permutation[j];
+            permutation[j] = i;
+        }
+        return permutation;
+    }
+
+    /**
+     * A weighted graph in compressed sparse row format, where self-loops are ignored except in the
+     * weighted degrees.
+     */
+    private static class Level
+    {
+        final int n;
+        final int[] offsets;
+        final int[] targets;
+        final double[] weights;
+        final double[] strengths;
+
+        Level(int n, int[] offsets, int[] targets, double[] weights, double[] strengths)
+        {
+            this.n = n;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.strengths = strengths;
+        }
+    }
+}
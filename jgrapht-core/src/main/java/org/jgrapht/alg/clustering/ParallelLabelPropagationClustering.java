@@ -0,0 +1,264 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clustering;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.color.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * A parallel label propagation clustering algorithm with integer labels.
+ *
+ * <p>
+ * This is a parallel variant of {@link LabelPropagationClustering}. The graph is converted to an
+ * {@link IntegerAdjacency} and every vertex starts with its own index as label. In every round each
+ * vertex adopts the label which is most frequent among its neighbors, keeping its current label
+ * whenever it is among the most frequent ones. Ties between other labels are broken by a hash of
+ * the seed, the round, the vertex and the label, thus the result does not depend on any shared
+ * random number generator. The rounds follow one of two schedules:
+ * <ul>
+ * <li>{@link Schedule#SEMI_SYNCHRONOUS}: the vertices are partitioned into independent sets by a
+ * Jones–Plassmann coloring, see
+ * {@link ParallelColoring#jonesPlassmannColoring(IntegerAdjacency, long, ForkJoinPool)}, and the
+ * sets are updated one after the other, all vertices of a set in parallel. Since no two neighbors
+ * are updated at the same time, the labels never oscillate and the algorithm always converges. The
+ * result depends only on the seed and not on the scheduling of the threads. See G. Cordasco and L.
+ * Gargano. Community detection via semi-synchronous label propagation algorithms. In IEEE
+ * International Workshop on Business Applications of Social Network Analysis (BASNA), 1–8,
+ * 2010.</li>
+ * <li>{@link Schedule#ASYNCHRONOUS}: all vertices are updated in parallel in a fixed random order,
+ * reading the labels of their neighbors as written so far. This avoids the coloring and usually
+ * needs fewer rounds, but the result may depend on the scheduling and a limit on the number of
+ * rounds is advisable.</li>
+ * </ul>
+ *
+ * <p>
+ * As in {@link LabelPropagationClustering}, vertices which end up with the same label but are not
+ * connected through vertices of that label are split into separate clusters. Each round performs
+ * $O(n + m)$ work. Edge directions and weights are ignored, multiple edges count multiple times
+ * and self-loops are ignored.
+ *
+ * <p>
+ * Besides the {@link Set} based clustering, this class exposes the result as a compact cluster id
+ * array, see {@link #getClusterIds()}. The computation is performed on the first call of any query
+ * method.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see LabelPropagationClustering
+ */
+public class ParallelLabelPropagationClustering<V, E>
+    extends
+    IntArrayClusteringAlgorithmBase<V>
+{
+    /**
+     * The order in which the labels are updated.
+     */
+    public enum Schedule
+    {
+        /**
+         * Update independent sets of vertices one after the other
+         */
+        SEMI_SYNCHRONOUS,
+        /**
+         * Update all vertices concurrently
+         */
+        ASYNCHRONOUS
+    }
+
+    private final Graph<V, E> graph;
+    private final Schedule schedule;
+    private final int maxIterations;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    private int numberOfIterations;
+
+    /**
+     * Create a new clustering algorithm which uses the semi-synchronous schedule without a limit on
+     * the number of rounds, and the common {@link ForkJoinPool}.
+     *
+     * @param graph the graph
+     */
+    public ParallelLabelPropagationClustering(Graph<V, E> graph)
+    {
+        this(graph, Schedule.SEMI_SYNCHRONOUS, 0, 0L, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new clustering algorithm.
+     *
+     * @param graph the graph
+     * @param schedule the update schedule
+     * @param maxIterations maximum number of rounds (zero means no limit)
+     * @param seed the seed used to break ties
+     * @param pool the pool to use for the parallel computation
+     */
+    public ParallelLabelPropagationClustering(
+        Graph<V, E> graph, Schedule schedule, int maxIterations, long seed, ForkJoinPool pool)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.schedule = Objects.requireNonNull(schedule, "Schedule cannot be null");
+        if (maxIterations < 0) {
+            throw new IllegalArgumentException("Max iterations cannot be negative");
+        }
+        this.maxIterations = maxIterations;
+        this.seed = seed;
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    /**
+     * Get the number of rounds performed, including the final round without any label change if
+     * the algorithm converged.
+     *
+     * @return the number of rounds
+     */
+    public int getNumberOfIterations()
+    {
+        lazyCompute();
+        return numberOfIterations;
+    }
+
+    @Override
+    protected void computeClusterIds()
+    {
+        VertexToIntegerMapping<V> mapping = Graphs.getVertexToIntegerMapping(graph);
+        IntegerAdjacency<V, E> adjacency =
+            IntegerAdjacency.of(graph, mapping, IntegerAdjacency.Direction.ALL, false);
+        int n = adjacency.vertexCount();
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+
+        int[] labels = new int[n];
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> labels[v] = v);
+
+        // the vertices of every update step, consecutive in the order array
+        int[] order = new int[n];
+        int[] stepOffsets;
+        if (schedule == Schedule.SEMI_SYNCHRONOUS) {
+            int[] colors = ParallelColoring.jonesPlassmannColoring(adjacency, seed, pool);
+            int numColors = 0;
+            for (int c : colors) {
+                numColors = Math.max(numColors, c + 1);
+            }
+            stepOffsets = new int[numColors + 1];
+            for (int c : colors) {
+                stepOffsets[c + 1]++;
+            }
+            for (int c = 0; c < numColors; c++) {
+                stepOffsets[c + 1] += stepOffsets[c];
+            }
+            int[] next = Arrays.copyOf(stepOffsets, numColors);
+            for (int v = 0; v < n; v++) {
+                order[next[colors[v]]++] = v;
+            }
+        } else {
+            Random rng = new Random(seed);
+            for (int i = 0; i < n; i++) {
+                int j = rng.nextInt(i + 1);
+                order[i] = order[j];
+                order[j] = i;
+            }
+            stepOffsets = new int[] { 0, n };
+        }
+
+        int iteration = 0;
+        while (maxIterations == 0 || iteration < maxIterations) {
+            final int round = iteration++;
+            AtomicBoolean changed = new AtomicBoolean();
+            for (int s = 0; s + 1 < stepOffsets.length; s++) {
+                ConcurrencyUtil
+                    .parallelForRanges(pool, stepOffsets[s], stepOffsets[s + 1], (from, to) -> {
+                        LabelWeights counts = new LabelWeights();
+                        boolean any = false;
+                        for (int i = from; i < to; i++) {
+                            any |= updateLabel(order[i], round, offsets, targets, labels, counts);
+                        }
+                        if (any) {
+                            changed.set(true);
+                        }
+                    });
+            }
+            if (!changed.get()) {
+                break;
+            }
+        }
+        numberOfIterations = iteration;
+
+        // split labels which are not connected through vertices of the same label
+        splitDisconnectedClusters(offsets, targets, labels, pool);
+        setClusterIds(mapping, labels);
+    }
+
+    /**
+     * Update the label of a vertex.
+     *
+     * @return true if the label changed
+     */
+    private boolean updateLabel(
+        int v, int round, int[] offsets, int[] targets, int[] labels, LabelWeights counts)
+    {
+        int degree = offsets[v + 1] - offsets[v];
+        if (degree == 0) {
+            return false;
+        }
+        counts.clear(degree);
+        for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+            counts.add(labels[targets[j]], 1d);
+        }
+
+        int current = labels[v];
+        int best = current;
+        double bestCount = counts.get(current);
+        long bestPriority = 0L;
+        for (int i = 0; i < counts.size(); i++) {
+            int label = counts.key(i);
+            double count = counts.weight(i);
+            if (count > bestCount) {
+                best = label;
+                bestCount = count;
+                bestPriority = priority(v, label, round);
+            } else if (count == bestCount && best != current) {
+                long p = priority(v, label, round);
+                if (p > bestPriority) {
+                    best = label;
+                    bestPriority = p;
+                }
+            }
+        }
+
+        if (best == current) {
+            return false;
+        }
+        labels[v] = best;
+        return true;
+    }
+
+    private long priority(int v, int label, int round)
+    {
+        return MathUtil
+            .mix64(seed + (((long) v << 32) | label) + (round + 1) * 0x9E3779B97F4A7C15L);
+    }
+}
@@ -19,10 +19,10 @@ package org.jgrapht.alg.color;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
-import java.util.stream.*;
 
 /**
  * Color refinement algorithm that finds the coarsest stable coloring of a graph based on a given
@@ -32,7 +32,8 @@ import java.util.stream.*;
  * Computing Systems, 60(4), p581--614, 2017.
  * 
  * <p>
- * The complexity of this algorithm is $O((|V| + |E|)log |V|)$.
+ * The complexity of this algorithm is $O((|V| + |E|)log |V|)$. The refinement itself is performed
+ * over primitive arrays by {@link IntegerColorRefinement}.
  *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -83,168 +84,25 @@ public class ColorRefinementAlgorithm<V, E>
     @Override
     public Coloring<V> getColoring()
     {
-        // initialize internal representation
-        ColoringRepresentation rep = new ColoringRepresentation(graph, alpha);
+        VertexToIntegerMapping<V> mapping = Graphs.getVertexToIntegerMapping(graph);
+        IntegerAdjacency<V, E> inNeighbors = IntegerAdjacency
+            .of(graph, mapping, IntegerAdjacency.Direction.INCOMING, true).toSorted(true);
 
-        // get a sorted (ascending) stack of all colors that are predefined by alpha
-        Deque<Integer> refineStack = getSortedStack(alpha);
-
-        // main iteration
-        while (!refineStack.isEmpty()) {
-            Integer currentColor = refineStack.pop();
-
-            Set<Integer> adjacentColors = calculateColorDegrees(currentColor, rep);
-
-            // split colors
-            adjacentColors
-                .stream().filter(c -> rep.minColorDegree[c] < rep.maxColorDegree[c])
-                .sorted(Comparator.comparingInt(o -> o)) // canonical order
-                .forEach(color -> splitUpColor(color, refineStack, rep));
-
-            cleanupColorDegrees(adjacentColors, rep);
-        }
-
-        // return result
-        return new ColoringImpl<>(rep.coloring, rep.coloring.size());
-    }
-
-    /**
-     * Helper method that calculates the color degree for every vertex and the maximum and minimum
-     * color degree for every color.
-     *
-     * @param refiningColor color to refine
-     * @param rep the coloring representation
-     * @return the list of all colors that have at least one vertex with colorDegree >= 1
-     */
-    private Set<Integer> calculateColorDegrees(int refiningColor, ColoringRepresentation rep)
-    {
-        int n = graph.vertexSet().size();
-        Set<Integer> adjacentColors = CollectionUtil.newLinkedHashSetWithExpectedSize(n);
-
-        // calculate color degree and update maxColorDegree
-        for (V v : rep.colorClasses.get(refiningColor)) {
-            Set<V> inNeighborhood = graph
-                .incomingEdgesOf(v).stream().map(e -> Graphs.getOppositeVertex(graph, e, v))
-                .collect(Collectors.toSet());
-
-            for (V w : inNeighborhood) {
-                rep.colorDegree.put(w, rep.colorDegree.get(w) + 1);
-                if (rep.colorDegree.get(w) == 1) {
-                    rep.positiveDegreeColorClasses.get(rep.coloring.get(w)).add(w);
-                }
-                adjacentColors.add(rep.coloring.get(w));
-
-                // update maxColorDegree for color(w) if maximum color degree has increased.
-                if (rep.colorDegree.get(w) > rep.maxColorDegree[rep.coloring.get(w)]) {
-                    rep.maxColorDegree[rep.coloring.get(w)] = rep.colorDegree.get(w);
-                }
-            }
-        }
-
-        // update minColorDegree
-        for (Integer c : adjacentColors) {
-            // if there is a vertex with colorDegree(v) = 0 < 1, set minimum color degree to
-            // 0
-            if (rep.colorClasses.get(c).size() != rep.positiveDegreeColorClasses.get(c).size()) {
-                rep.minColorDegree[c] = 0;
-            } else {
-                rep.minColorDegree[c] = rep.maxColorDegree[c];
-                for (V v : rep.positiveDegreeColorClasses.get(c)) {
-                    if (rep.colorDegree.get(v) < rep.minColorDegree[c]) {
-                        rep.minColorDegree[c] = rep.colorDegree.get(v);
-                    }
-                }
-            }
-        }
-
-        return adjacentColors;
-    }
-
-    /**
-     * Helper method that cleanups the internal representation of color degrees for a new iteration.
-     *
-     * @param adjacentColors the list of all colors that have at least one vertex with colorDegree
-     *        >= 1
-     * @param rep the coloring representation
-     */
-    private void cleanupColorDegrees(Set<Integer> adjacentColors, ColoringRepresentation rep)
-    {
-        for (int c : adjacentColors) {
-            for (V v : rep.positiveDegreeColorClasses.get(c)) {
-                rep.colorDegree.put(v, 0);
-            }
-            rep.maxColorDegree[c] = 0;
-            rep.positiveDegreeColorClasses.put(c, new ArrayList<>());
-        }
-    }
-
-    /**
-     * Helper method for splitting up a color.
-     *
-     * @param color the color to split the color class for
-     * @param refineStack the stack containing all colors that have to be refined
-     * @param rep the coloring representation
-     */
-    private void splitUpColor(Integer color, Deque<Integer> refineStack, ColoringRepresentation rep)
-    {
-        // Initialize and calculate numColorDegree (mapping from the color degree to the number of
-        // vertices with that color degree).
-        Map<Integer, Integer> numColorDegree = new HashMap<>();
-        for (int i = 1; i <= rep.maxColorDegree[color]; ++i) {
-            numColorDegree.put(i, 0);
-        }
-        numColorDegree
-            .put(
-                0, rep.colorClasses.get(color).size()
-                    - rep.positiveDegreeColorClasses.get(color).size());
-        for (V v : rep.positiveDegreeColorClasses.get(color)) {
-            numColorDegree
-                .put(rep.colorDegree.get(v), numColorDegree.get(rep.colorDegree.get(v)) + 1);
-        }
-
-        // Helper variable storing the index with the maximum number of vertices with the
-        // corresponding color degree
-        int maxColorDegreeIndex = 0;
-        for (int i = 1; i <= rep.maxColorDegree[color]; ++i) {
-            if (numColorDegree.get(i) > numColorDegree.get(maxColorDegreeIndex)) {
-                maxColorDegreeIndex = i;
-            }
+        List<V> vertices = mapping.getIndexList();
+        int n = vertices.size();
+        Map<V, Integer> alphaColors = alpha.getColors();
+        int[] colors = new int[n];
+        for (int v = 0; v < n; v++) {
+            colors[v] = alphaColors.get(vertices.get(v));
         }
 
-        // Go through all indices (color degrees) of numColorDegree
-        Map<Integer, Integer> newMapping = new HashMap<>();
-        boolean isCurrentColorInStack = refineStack.contains(color);
-        int currentMaxColorDegree = rep.maxColorDegree[color];
-        for (int i = 0; i <= currentMaxColorDegree; ++i) {
-            if (numColorDegree.get(i) >= 1) {
-                if (i == rep.minColorDegree[color]) {
-                    newMapping.put(i, color); // keep current color
+        new IntegerColorRefinement(inNeighbors).refine(colors, alpha.getNumberColors());
 
-                    // Push current color on the stack if it is not in the stack and i is not the
-                    // index with the maximum number of vertices with the corresponding color degree
-                    if (!isCurrentColorInStack && maxColorDegreeIndex != i) {
-                        refineStack.push(newMapping.get(i));
-                    }
-                } else {
-                    newMapping.put(i, ++rep.lastUsedColor); // new color
-
-                    // Push current color on the stack if it is in the stack and i is not the index
-                    // with the maximum number of vertices with the corresponding color degree
-                    if (isCurrentColorInStack || i != maxColorDegreeIndex) {
-                        refineStack.push(newMapping.get(i));
-                    }
-                }
-            }
-        }
-
-        // Update colors classes if some color has changed
-        for (V v : rep.positiveDegreeColorClasses.get(color)) {
-            if (!newMapping.get(rep.colorDegree.get(v)).equals(color)) {
-                rep.colorClasses.get(color).remove(v);
-                rep.colorClasses.get(newMapping.get(rep.colorDegree.get(v))).add(v);
-                rep.coloring.replace(v, newMapping.get(rep.colorDegree.get(v)));
-            }
+        Map<V, Integer> coloring = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int v = 0; v < n; v++) {
+            coloring.put(vertices.get(v), colors[v]);
         }
+        return new ColoringImpl<>(coloring, coloring.size());
     }
 
     /**
@@ -300,79 +158,4 @@ public class ColorRefinementAlgorithm<V, E>
         }
         return new ColoringImpl<>(alpha, 1);
     }
-
-    /**
-     * Returns a canonically sorted stack of all colors of alpha. It is important that alpha is
-     * consistent.
-     *
-     * @param alpha the surjective l-coloring
-     * @return a canonically sorted stack of all colors of alpha
-     */
-    private Deque<Integer> getSortedStack(Coloring<V> alpha)
-    {
-        int numberColors = alpha.getNumberColors();
-        Deque<Integer> stack = new ArrayDeque<>(graph.vertexSet().size());
-        for (int i = numberColors - 1; i >= 0; --i) {
-            stack.push(i);
-        }
-        return stack;
-    }
-
-    private class ColoringRepresentation
-    {
-        /**
-         * mapping from all colors to their classes
-         */
-        HashMap<Integer, List<V>> colorClasses;
-        /**
-         * mapping from color to their classes, whereby every vertex in the classes has
-         * colorDegree(v) >= 1
-         */
-        HashMap<Integer, List<V>> positiveDegreeColorClasses;
-        /**
-         * mapping from color to its maximum color degree
-         */
-        int[] maxColorDegree;
-        /**
-         * mapping from color to its minimum color degree
-         */
-        int[] minColorDegree;
-        /**
-         * mapping from vertex to the vertex color degree (number of neighbors with different
-         * colors)
-         */
-        Map<V, Integer> colorDegree;
-        /**
-         * The actual coloring
-         */
-        Map<V, Integer> coloring;
-        /**
-         * Last used color
-         */
-        int lastUsedColor;
-
-        public ColoringRepresentation(Graph<V, E> graph, Coloring<V> alpha)
-        {
-            int n = graph.vertexSet().size();
-            this.colorClasses = CollectionUtil.newHashMapWithExpectedSize(n);
-            this.positiveDegreeColorClasses = CollectionUtil.newHashMapWithExpectedSize(n);
-            this.maxColorDegree = new int[n];
-            this.minColorDegree = new int[n];
-            this.colorDegree = new HashMap<>();
-            this.coloring = new HashMap<>();
-
-            for (int c = 0; c < n; ++c) {
-                colorClasses.put(c, new ArrayList<>());
-                positiveDegreeColorClasses.put(c, new ArrayList<>());
-            }
-            for (V v : graph.vertexSet()) {
-                colorClasses.get(alpha.getColors().get(v)).add(v);
-                colorDegree.put(v, 0);
-                coloring.put(v, alpha.getColors().get(v));
-            }
-
-            lastUsedColor = alpha.getNumberColors() - 1;
-        }
-    }
-
 }
@@ -0,0 +1,551 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.color;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.clique.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Exact vertex coloring by DSATUR based branch-and-bound.
+ *
+ * <p>
+ * The algorithm computes a coloring with the minimum number of colors, the chromatic number of the
+ * graph. It follows the branch-and-bound version of DSATUR described in
+ * <ul>
+ * <li>E. C. Sewell. An improved algorithm for exact graph coloring. In Cliques, Coloring, and
+ * Satisfiability, DIMACS Series in Discrete Mathematics and Theoretical Computer Science, volume
+ * 26, 359–373, 1996.</li>
+ * <li>Pablo San Segundo. A new DSATUR-based algorithm for exact vertex coloring. Computers &amp;
+ * Operations Research, 39(7):1724–1733, 2012.</li>
+ * </ul>
+ * The search always branches on an uncolored vertex with the maximum number of distinct colors in
+ * its neighborhood, the saturation degree. Ties are broken by the number of available colors shared
+ * with the other tied neighbors, as proposed by San Segundo, and by the number of uncolored
+ * neighbors. The
+ * vertex is tried with every color not used by its neighbors, and with one new color, as long as
+ * the number of colors stays below the best coloring found so far.
+ *
+ * <p>
+ * The initial upper bound is the DSATUR heuristic coloring. The lower bound is the size of a
+ * clique, found by a greedy heuristic and improved by the {@link BitsetMaxCliqueSolver} within a
+ * quarter of the time limit. The clique vertices are colored in advance with distinct
+ * colors, which removes symmetric branches. The colors used by the neighbors of every vertex are
+ * stored as bitsets together with their counts, and are updated incrementally when a vertex is
+ * colored and uncolored. These tables take $O(n k)$ space, where $k$ is the number of colors of
+ * the heuristic, and are only allocated if the heuristic does not match the lower bound. The
+ * search stops as soon as a coloring matches the lower bound.
+ *
+ * <p>
+ * The running time is exponential in the worst case. A timeout can be set using the constructor
+ * parameters, in which case the search is interrupted and the best coloring found so far is
+ * returned, together with the proven lower bound, see {@link #getLowerBound()}. Edge directions
+ * and multiple edges are ignored, self-loops are not allowed.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see BrownBacktrackColoring
+ * @see SaturationDegreeColoring
+ */
+public class DSaturBranchAndBoundColoring<V, E>
+    implements
+    VertexColoringAlgorithm<V>
+{
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    private static final int MAX_CLIQUE_SOLVER_VERTICES = 1 << 14;
+
+    private final Graph<V, E> graph;
+    private final long nanos;
+
+    private IntArrayColoringImpl<V> coloring;
+    private int lowerBound;
+    private boolean timeLimitReached;
+
+    // search state
+    private int n;
+    private int[] offsets;
+    private int[] targets;
+    private int maxColors;
+    private int words;
+    private int[] color;
+    private int[] saturation;
+    private int[] uncoloredDegree;
+    private int[] neighborColorCount;
+    private long[] neighborColors;
+    private int[] ties;
+    private boolean[] isTie;
+    private int[] bestColors;
+    private int best;
+    private long nanosTimeLimit;
+    private long nodes;
+    /**
+     * Whether the search ended, either by the time limit or by a coloring matching the lower bound
+     */
+    private boolean stop;
+
+    /**
+     * Constructs a new coloring algorithm without a timeout.
+     *
+     * @param graph the input graph
+     */
+    public DSaturBranchAndBoundColoring(Graph<V, E> graph)
+    {
+        this(graph, 0L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructs a new coloring algorithm.
+     *
+     * @param graph the input graph
+     * @param timeout the maximum time to wait, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     */
+    public DSaturBranchAndBoundColoring(Graph<V, E> graph, long timeout, TimeUnit unit)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (timeout < 0L) {
+            throw new IllegalArgumentException("Invalid timeout, must be non-negative");
+        }
+        this.nanos = timeout == 0L ? Long.MAX_VALUE
+            : Objects.requireNonNull(unit, "Unit cannot be null").toNanos(timeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * If the time limit was reached, the coloring is the best coloring found so far and might not
+     * be optimal.
+     *
+     * @throws IllegalArgumentException if the graph contains self-loops
+     */
+    @Override
+    public IntArrayColoringImpl<V> getColoring()
+    {
+        lazyCompute();
+        return coloring;
+    }
+
+    /**
+     * Get the proven lower bound of the chromatic number. It equals the number of colors of
+     * {@link #getColoring()} if and only if the coloring is optimal.
+     *
+     * @return a lower bound of the chromatic number
+     */
+    public int getLowerBound()
+    {
+        lazyCompute();
+        return lowerBound;
+    }
+
+    /**
+     * Get the chromatic number of the graph.
+     *
+     * @return the chromatic number
+     * @throws IllegalStateException if the time limit was reached before the optimal coloring was
+     *         proven
+     */
+    public int getChromaticNumber()
+    {
+        if (!isOptimal()) {
+            throw new IllegalStateException("Time limit reached before proving optimality");
+        }
+        return coloring.getNumberColors();
+    }
+
+    /**
+     * Check whether the computed coloring is proven to be optimal.
+     *
+     * @return true if the coloring is optimal, false if the time limit was reached before
+     */
+    public boolean isOptimal()
+    {
+        lazyCompute();
+        return lowerBound == coloring.getNumberColors();
+    }
+
+    /**
+     * Check whether the time limit was reached during the search.
+     *
+     * @return true if the search was interrupted, false otherwise
+     */
+    public boolean isTimeLimitReached()
+    {
+        lazyCompute();
+        return timeLimitReached;
+    }
+
+    private void lazyCompute()
+    {
+        if (coloring != null) {
+            return;
+        }
+        for (E e : graph.edgeSet()) {
+            if (graph.getEdgeSource(e).equals(graph.getEdgeTarget(e))) {
+                throw new IllegalArgumentException(GreedyColoring.SELF_LOOPS_NOT_ALLOWED);
+            }
+        }
+        try {
+            nanosTimeLimit = Math.addExact(System.nanoTime(), nanos);
+        } catch (ArithmeticException ignore) {
+            nanosTimeLimit = Long.MAX_VALUE;
+        }
+
+        IntegerAdjacency<V, E> adjacency = IntegerAdjacency.simple(graph);
+        n = adjacency.vertexCount();
+        offsets = adjacency.getOffsets();
+        targets = adjacency.getTargets();
+
+        // upper bound by the heuristic, lower bound by a clique
+        color = new int[n];
+        saturation = new int[n];
+        uncoloredDegree = new int[n];
+        best = Integer.MAX_VALUE;
+        dsatur();
+        int[] clique = maximumClique(greedyClique());
+        lowerBound = clique.length;
+
+        if (best > lowerBound) {
+            // the search never uses more colors than the heuristic
+            maxColors = best;
+            words = (maxColors + 63) >>> 6;
+            try {
+                neighborColorCount = new int[Math.multiplyExact(n, maxColors)];
+                neighborColors = new long[Math.multiplyExact(n, words)];
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException(
+                    "Graph too large for exact coloring: " + n + " vertices with up to "
+                        + maxColors + " colors");
+            }
+            ties = new int[n];
+            isTie = new boolean[n];
+            reset();
+            for (int i = 0; i < clique.length; i++) {
+                assign(clique[i], i);
+            }
+            search(clique.length, clique.length);
+            if (!timeLimitReached) {
+                // the search is exhaustive
+                lowerBound = best;
+            }
+        }
+
+        coloring = new IntArrayColoringImpl<>(adjacency.getMapping(), bestColors, best);
+
+        // release the search state
+        color = saturation = uncoloredDegree = neighborColorCount = null;
+        neighborColors = null;
+    }
+
+    private void reset()
+    {
+        Arrays.fill(color, -1);
+        Arrays.fill(saturation, 0);
+        Arrays.fill(neighborColorCount, 0);
+        Arrays.fill(neighborColors, 0L);
+        for (int v = 0; v < n; v++) {
+            uncoloredDegree[v] = offsets[v + 1] - offsets[v];
+        }
+    }
+
+    /**
+     * The DSATUR heuristic, which provides the initial coloring. The colors of the neighbors are
+     * stored in growable bitsets, such that the space only depends on the colors used.
+     */
+    private void dsatur()
+    {
+        Arrays.fill(color, -1);
+        BitSet[] adjacentColors = new BitSet[n];
+        for (int v = 0; v < n; v++) {
+            adjacentColors[v] = new BitSet();
+            uncoloredDegree[v] = offsets[v + 1] - offsets[v];
+        }
+
+        int used = 0;
+        for (int i = 0; i < n; i++) {
+            int v = select();
+            int c = adjacentColors[v].nextClearBit(0);
+            color[v] = c;
+            adjacentColors[v] = null;
+            used = Math.max(used, c + 1);
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                int u = targets[j];
+                uncoloredDegree[u]--;
+                if (color[u] < 0 && !adjacentColors[u].get(c)) {
+                    adjacentColors[u].set(c);
+                    saturation[u]++;
+                }
+            }
+        }
+        best = n == 0 ? 0 : used;
+        bestColors = color.clone();
+    }
+
+    /**
+     * Explore all colorings of the remaining vertices with less colors than the best coloring.
+     *
+     * @param colored the number of colored vertices
+     * @param used the number of colors used so far
+     */
+    private void search(int colored, int used)
+    {
+        if (++nodes % TIME_CHECK_INTERVAL == 0 && System.nanoTime() - nanosTimeLimit > 0) {
+            timeLimitReached = true;
+            stop = true;
+        }
+        if (stop) {
+            return;
+        }
+        if (colored == n) {
+            best = used;
+            bestColors = color.clone();
+            if (best == lowerBound) {
+                stop = true;
+            }
+            return;
+        }
+
+        int v = selectBranchingVertex(used);
+        int base = v * words;
+        for (int c = 0; c <= Math.min(used, best - 2); c++) {
+            if ((neighborColors[base + (c >>> 6)] & (1L << c)) != 0) {
+                continue;
+            }
+            if (!assign(v, c)) {
+                search(colored + 1, Math.max(used, c + 1));
+            }
+            unassign(v, c);
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Select the uncolored vertex with the maximum saturation degree, breaking ties by the maximum
+     * number of uncolored neighbors. Used by the heuristic.
+     */
+    private int select()
+    {
+        int result = -1;
+        for (int v = 0; v < n; v++) {
+            if (color[v] >= 0) {
+                continue;
+            }
+            if (result == -1 || saturation[v] > saturation[result]
+                || (saturation[v] == saturation[result]
+                    && uncoloredDegree[v] > uncoloredDegree[result]))
+            {
+                result = v;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Select the branching vertex of the search. Among the uncolored vertices with the maximum
+     * saturation degree, the vertex is chosen which shares the most available colors with the
+     * other such vertices in its neighborhood, as proposed by San Segundo. Coloring it restricts
+     * the choices of the remaining candidates most.
+     *
+     * @param used the number of colors used so far
+     */
+    private int selectBranchingVertex(int used)
+    {
+        int maxSaturation = -1;
+        int numTies = 0;
+        for (int v = 0; v < n; v++) {
+            if (color[v] >= 0) {
+                continue;
+            }
+            if (saturation[v] > maxSaturation) {
+                maxSaturation = saturation[v];
+                numTies = 0;
+            }
+            if (saturation[v] == maxSaturation) {
+                ties[numTies++] = v;
+            }
+        }
+        if (numTies == 1) {
+            return ties[0];
+        }
+
+        for (int i = 0; i < numTies; i++) {
+            isTie[ties[i]] = true;
+        }
+        int result = -1;
+        long resultScore = -1;
+        for (int i = 0; i < numTies; i++) {
+            int v = ties[i];
+            long score = 0;
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                int u = targets[j];
+                if (isTie[u]) {
+                    score += commonAvailableColors(v, u, used);
+                }
+            }
+            if (score > resultScore || (score == resultScore
+                && uncoloredDegree[v] > uncoloredDegree[result]))
+            {
+                result = v;
+                resultScore = score;
+            }
+        }
+        for (int i = 0; i < numTies; i++) {
+            isTie[ties[i]] = false;
+        }
+        return result;
+    }
+
+    private int commonAvailableColors(int v, int u, int used)
+    {
+        int count = 0;
+        int bv = v * words;
+        int bu = u * words;
+        for (int w = 0; w << 6 < used; w++) {
+            long available = ~(neighborColors[bv + w] | neighborColors[bu + w]);
+            int remaining = used - (w << 6);
+            if (remaining < 64) {
+                available &= (1L << remaining) - 1;
+            }
+            count += Long.bitCount(available);
+        }
+        return count;
+    }
+
+    /**
+     * Color a vertex and update the saturation of its neighbors.
+     *
+     * @return true if an uncolored neighbor cannot be colored with less colors than the best
+     *         coloring anymore
+     */
+    private boolean assign(int v, int c)
+    {
+        color[v] = c;
+        boolean dead = false;
+        for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+            int u = targets[j];
+            uncoloredDegree[u]--;
+            if (neighborColorCount[u * maxColors + c]++ == 0) {
+                neighborColors[u * words + (c >>> 6)] |= 1L << c;
+                if (++saturation[u] >= best - 1 && color[u] < 0) {
+                    dead = true;
+                }
+            }
+        }
+        return dead;
+    }
+
+    private void unassign(int v, int c)
+    {
+        color[v] = -1;
+        for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+            int u = targets[j];
+            uncoloredDegree[u]++;
+            if (--neighborColorCount[u * maxColors + c] == 0) {
+                neighborColors[u * words + (c >>> 6)] &= ~(1L << c);
+                saturation[u]--;
+            }
+        }
+    }
+
+    /**
+     * Greedily grow a clique from every vertex, visiting candidates by decreasing degree.
+     */
+    private int[] greedyClique()
+    {
+        int[] result = new int[0];
+        if (n == 0) {
+            return result;
+        }
+        Integer[] byDegree = new Integer[n];
+        for (int v = 0; v < n; v++) {
+            byDegree[v] = v;
+        }
+        Arrays.sort(byDegree, (a, b) -> Integer.compare(degree(b), degree(a)));
+
+        int[] clique = new int[n];
+        Integer[] candidates = new Integer[n];
+        for (int v : byDegree) {
+            if (degree(v) + 1 <= result.length) {
+                break;
+            }
+            int size = 0;
+            clique[size++] = v;
+            int numCandidates = 0;
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                candidates[numCandidates++] = targets[j];
+            }
+            Arrays.sort(
+                candidates, 0, numCandidates, (a, b) -> Integer.compare(degree(b), degree(a)));
+            for (int i = 0; i < numCandidates; i++) {
+                int u = candidates[i];
+                boolean adjacentToAll = true;
+                for (int k = 1; k < size && adjacentToAll; k++) {
+                    adjacentToAll = isAdjacent(u, clique[k]);
+                }
+                if (adjacentToAll) {
+                    clique[size++] = u;
+                }
+            }
+            if (size > result.length) {
+                result = Arrays.copyOf(clique, size);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Try to improve a clique by the exact clique solver, using at most a quarter of the remaining
+     * time.
+     */
+    private int[] maximumClique(int[] clique)
+    {
+        if (clique.length >= best || n > MAX_CLIQUE_SOLVER_VERTICES) {
+            return clique;
+        }
+        long[][] rows = new long[n][(n + 63) >>> 6];
+        for (int v = 0; v < n; v++) {
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                rows[v][targets[j] >>> 6] |= 1L << targets[j];
+            }
+        }
+        long timeout = 0L;
+        if (nanosTimeLimit != Long.MAX_VALUE) {
+            timeout = Math.max(1L, (nanosTimeLimit - System.nanoTime()) / 4);
+        }
+        int[] larger = new BitsetMaxCliqueSolver(rows, timeout, TimeUnit.NANOSECONDS, null)
+            .solve(clique.length);
+        return larger.length > clique.length ? larger : clique;
+    }
+
+    private int degree(int v)
+    {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    private boolean isAdjacent(int u, int v)
+    {
+        return Arrays.binarySearch(targets, offsets[u], offsets[u + 1], v) >= 0;
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.color;
+
+import org.jgrapht.alg.util.*;
+
+import java.util.*;
+
+/**
+ * Color refinement over primitive arrays.
+ *
+ * <p>
+ * This class computes the coarsest stable coloring which refines a given vertex coloring, where
+ * the vertices are numbered $0, \dots, n-1$ and the graph is given as an {@link IntegerAdjacency}.
+ * A coloring is stable if any two vertices of the same color have the same number of neighbors of
+ * every color. The algorithm is the canonical color refinement of
+ * <ul>
+ * <li>C. Berkholz, P. Bonsma, and M. Grohe. Tight lower and upper bounds for the complexity of
+ * canonical colour refinement. Theory of Computing Systems, 60(4), p581--614, 2017.</li>
+ * </ul>
+ * and computes the same coloring as {@link ColorRefinementAlgorithm}. The colors of the result are
+ * canonical: they depend only on the graph structure and the initial coloring, not on the vertex
+ * numbering.
+ *
+ * <p>
+ * The partition is stored in a single array in which every color class occupies a contiguous
+ * segment, together with the position of every vertex in that array. Colors are used as
+ * refiners from a stack, following Hopcroft's "process the smaller half" strategy: when a color
+ * class is split, the largest resulting class is only pushed if the original class was still
+ * pending. Counting the neighbors of a refining class moves the touched vertices to the front of
+ * their class, so that a class is split in time proportional to its touched vertices. The running
+ * time is $O((n + m) \log n)$ and the space $O(n)$ in addition to the adjacency.
+ *
+ * <p>
+ * The neighbors of vertex $v$ in the adjacency are the vertices whose color degree is increased
+ * when the class of $v$ is used as a refiner. In order to refine by in-neighbors, as done by
+ * {@link ColorRefinementAlgorithm}, pass the incoming adjacency. Multiple entries of the same
+ * neighbor are counted multiple times. Instances reuse their internal arrays and are not thread
+ * safe.
+ *
+ * @see ColorRefinementAlgorithm
+ */
+public class IntegerColorRefinement
+{
+    private final int n;
+    private final int[] offsets;
+    private final int[] targets;
+
+    /*
+     * The partition: vertices ordered by color, every color owns the segment
+     * [cellStart[c], cellEnd[c]) of elements.
+     */
+    private final int[] elements;
+    private final int[] position;
+    private final int[] cellStart;
+    private final int[] cellEnd;
+
+    /*
+     * Per round data of the current refiner
+     */
+    private final int[] colorDegree;
+    private final int[] positiveCount;
+    private final int[] maxColorDegree;
+    private final int[] minColorDegree;
+    private final int[] touchedColors;
+    private int numTouchedColors;
+    private final int[] touchedVertices;
+    private final int[] splitColors;
+    private final int[] refiner;
+    private final int[] buffer;
+
+    /*
+     * Per split data, indexed by color degree
+     */
+    private final int[] degreeCount;
+    private final int[] degreeColor;
+    private int largestPartColor;
+
+    /*
+     * Stack of pending refiners
+     */
+    private final int[] stack;
+    private final boolean[] inStack;
+
+    /**
+     * Create a new color refinement.
+     *
+     * @param adjacency the neighbors of every vertex
+     */
+    public IntegerColorRefinement(IntegerAdjacency<?, ?> adjacency)
+    {
+        this.n = adjacency.vertexCount();
+        this.offsets = adjacency.getOffsets();
+        this.targets = adjacency.getTargets();
+
+        // a color degree is bounded by the number of entries of a vertex in other lists
+        int[] reverseDegree = new int[n];
+        int maxDegree = 0;
+        for (int j = 0; j < offsets[n]; j++) {
+            maxDegree = Math.max(maxDegree, ++reverseDegree[targets[j]]);
+        }
+
+        this.elements = new int[n];
+        this.position = new int[n];
+        this.cellStart = new int[n];
+        this.cellEnd = new int[n];
+        this.colorDegree = new int[n];
+        this.positiveCount = new int[n];
+        this.maxColorDegree = new int[n];
+        this.minColorDegree = new int[n];
+        this.touchedColors = new int[n];
+        this.touchedVertices = new int[n];
+        this.splitColors = new int[n];
+        this.degreeCount = new int[maxDegree + 1];
+        this.degreeColor = new int[maxDegree + 1];
+        this.refiner = new int[n];
+        this.buffer = new int[n];
+        this.stack = new int[n];
+        this.inStack = new boolean[n];
+    }
+
+    /**
+     * Refine a coloring to the coarsest stable coloring. The input colors must be in the range
+     * $[0, k)$, where $k$ is the given number of colors. The refined colors are written to the same
+     * array. Every color class of the input keeps its color for one of its parts, and the new
+     * colors are numbered consecutively starting from $k$.
+     *
+     * @param colors the color of every vertex, replaced by the refined color
+     * @param numberOfColors the number of colors $k$ of the input
+     * @return the number of colors of the refined coloring
+     * @throws IllegalArgumentException if the coloring does not match the adjacency
+     */
+    public int refine(int[] colors, int numberOfColors)
+    {
+        if (colors.length != n) {
+            throw new IllegalArgumentException("Coloring does not match the number of vertices");
+        }
+        if (n == 0) {
+            return numberOfColors;
+        }
+        if (numberOfColors < 1 || numberOfColors > n) {
+            throw new IllegalArgumentException("Invalid number of colors");
+        }
+        initPartition(colors, numberOfColors);
+
+        int lastColor = numberOfColors - 1;
+        int top = 0;
+        for (int c = numberOfColors - 1; c >= 0; c--) {
+            stack[top++] = c;
+            inStack[c] = true;
+        }
+
+        while (top > 0) {
+            int refining = stack[--top];
+            inStack[refining] = false;
+
+            int numTouchedVertices = computeColorDegrees(refining, colors);
+
+            // split in canonical order
+            int numSplit = 0;
+            for (int i = 0; i < numTouchedColors; i++) {
+                int c = touchedColors[i];
+                if (minColorDegree[c] < maxColorDegree[c]) {
+                    splitColors[numSplit++] = c;
+                }
+            }
+            Arrays.sort(splitColors, 0, numSplit);
+            for (int i = 0; i < numSplit; i++) {
+                int c = splitColors[i];
+                boolean wasPending = inStack[c];
+                int firstNewColor = lastColor + 1;
+                lastColor = splitColor(c, colors, lastColor);
+
+                // all parts become refiners, except the largest one if the class was not pending
+                if (!wasPending && largestPartColor != c) {
+                    stack[top++] = c;
+                    inStack[c] = true;
+                }
+                for (int d = firstNewColor; d <= lastColor; d++) {
+                    if (wasPending || d != largestPartColor) {
+                        stack[top++] = d;
+                        inStack[d] = true;
+                    }
+                }
+            }
+
+            // cleanup
+            for (int i = 0; i < numTouchedColors; i++) {
+                int c = touchedColors[i];
+                positiveCount[c] = 0;
+                maxColorDegree[c] = 0;
+            }
+            for (int i = 0; i < numTouchedVertices; i++) {
+                colorDegree[touchedVertices[i]] = 0;
+            }
+        }
+        return lastColor + 1;
+    }
+
+    private void initPartition(int[] colors, int numberOfColors)
+    {
+        Arrays.fill(cellEnd, 0, numberOfColors, 0);
+        for (int v = 0; v < n; v++) {
+            int c = colors[v];
+            if (c < 0 || c >= numberOfColors) {
+                throw new IllegalArgumentException("Invalid color " + c + " of vertex " + v);
+            }
+            cellEnd[c]++;
+        }
+        int start = 0;
+        for (int c = 0; c < numberOfColors; c++) {
+            cellStart[c] = start;
+            start += cellEnd[c];
+            cellEnd[c] = cellStart[c];
+        }
+        for (int v = 0; v < n; v++) {
+            int p = cellEnd[colors[v]]++;
+            elements[p] = v;
+            position[v] = p;
+        }
+    }
+
+    /**
+     * Count for every vertex its neighbors in the refining class. Touched vertices are moved to the
+     * front of their class.
+     *
+     * @return the number of touched vertices
+     */
+    private int computeColorDegrees(int refining, int[] colors)
+    {
+        int size = cellEnd[refining] - cellStart[refining];
+        System.arraycopy(elements, cellStart[refining], refiner, 0, size);
+
+        numTouchedColors = 0;
+        int numTouchedVertices = 0;
+        for (int i = 0; i < size; i++) {
+            int v = refiner[i];
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                int w = targets[j];
+                int c = colors[w];
+                if (colorDegree[w]++ == 0) {
+                    touchedVertices[numTouchedVertices++] = w;
+                    if (positiveCount[c] == 0) {
+                        touchedColors[numTouchedColors++] = c;
+                    }
+                    int p = cellStart[c] + positiveCount[c]++;
+                    int u = elements[p];
+                    int q = position[w];
+                    elements[p] = w;
+                    position[w] = p;
+                    elements[q] = u;
+                    position[u] = q;
+                }
+                if (colorDegree[w] > maxColorDegree[c]) {
+                    maxColorDegree[c] = colorDegree[w];
+                }
+            }
+        }
+
+        for (int i = 0; i < numTouchedColors; i++) {
+            int c = touchedColors[i];
+            int start = cellStart[c];
+            if (positiveCount[c] != cellEnd[c] - start) {
+                minColorDegree[c] = 0;
+            } else {
+                int min = maxColorDegree[c];
+                for (int p = start; p < start + positiveCount[c]; p++) {
+                    min = Math.min(min, colorDegree[elements[p]]);
+                }
+                minColorDegree[c] = min;
+            }
+        }
+        return numTouchedVertices;
+    }
+
+    /**
+     * Split a class by the color degrees of its vertices. The part with the minimum color degree
+     * keeps the color, the other parts receive new colors in increasing order of their color
+     * degree.
+     *
+     * @return the last used color
+     */
+    private int splitColor(int c, int[] colors, int lastColor)
+    {
+        int start = cellStart[c];
+        int end = cellEnd[c];
+        int positive = positiveCount[c];
+        int max = maxColorDegree[c];
+        int min = minColorDegree[c];
+
+        degreeCount[0] = end - start - positive;
+        Arrays.fill(degreeCount, 1, max + 1, 0);
+        for (int p = start; p < start + positive; p++) {
+            degreeCount[colorDegree[elements[p]]]++;
+        }
+
+        int largest = 0;
+        for (int d = 1; d <= max; d++) {
+            if (degreeCount[d] > degreeCount[largest]) {
+                largest = d;
+            }
+        }
+        for (int d = 0; d <= max; d++) {
+            if (degreeCount[d] > 0) {
+                degreeColor[d] = d == min ? c : ++lastColor;
+            }
+        }
+        largestPartColor = degreeColor[largest];
+
+        // sort the touched vertices by color degree, which makes every part contiguous
+        int offset = start;
+        for (int d = 1; d <= max; d++) {
+            int count = degreeCount[d];
+            if (count > 0) {
+                int color = degreeColor[d];
+                cellStart[color] = offset;
+                cellEnd[color] = offset + count;
+                degreeCount[d] = offset;
+                offset += count;
+            }
+        }
+        if (min == 0) {
+            cellStart[c] = start + positive;
+            cellEnd[c] = end;
+        }
+        System.arraycopy(elements, start, buffer, 0, positive);
+        for (int i = 0; i < positive; i++) {
+            int w = buffer[i];
+            int p = degreeCount[colorDegree[w]]++;
+            elements[p] = w;
+            position[w] = p;
+            colors[w] = degreeColor[colorDegree[w]];
+        }
+        return lastColor;
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.color;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Parallel greedy vertex coloring.
+ *
+ * <p>
+ * The graph is converted to an {@link IntegerAdjacency} and colored with one of the following
+ * strategies:
+ * <ul>
+ * <li>{@link Strategy#JONES_PLASSMANN}: every vertex receives a random priority. A vertex is
+ * colored with the smallest color not used by its neighbors as soon as all neighbors with higher
+ * priority are colored, thus the vertices ready in a round form an independent set and are colored
+ * in parallel. The result is the greedy coloring in order of decreasing priority, which depends
+ * only on the seed and not on the scheduling. See M. T. Jones and P. E. Plassmann. A parallel graph
+ * coloring heuristic. SIAM Journal on Scientific Computing, 14(3):654–669, 1993.</li>
+ * <li>{@link Strategy#SPECULATIVE}: all vertices are colored greedily in parallel, ignoring that
+ * neighbors may be colored concurrently. Conflicting vertices are detected afterwards, and the
+ * vertex with the larger index of every conflicting edge is colored again in the next round. See
+ * A. H. Gebremedhin and F. Manne. Scalable parallel graph coloring algorithms. Concurrency:
+ * Practice and Experience, 12(12):1131–1146, 2000. The result may depend on the scheduling.</li>
+ * </ul>
+ * Both strategies use at most $\Delta + 1$ colors, where $\Delta$ is the maximum degree, and
+ * perform $O(n + m)$ expected work. With a pool of parallelism one, the speculative strategy
+ * reduces to the sequential greedy coloring in vertex order.
+ *
+ * <p>
+ * The coloring is returned as an {@link VertexColoringAlgorithm.IntArrayColoringImpl}, whose color
+ * array avoids the creation of a color map for large graphs. Edge directions and multiple edges
+ * are ignored, self-loops are not allowed.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see GreedyColoring
+ */
+public class ParallelColoring<V, E>
+    implements
+    VertexColoringAlgorithm<V>
+{
+    /**
+     * The coloring strategy.
+     */
+    public enum Strategy
+    {
+        /**
+         * Jones–Plassmann coloring by random priorities
+         */
+        JONES_PLASSMANN,
+        /**
+         * Speculative coloring with conflict resolution by Gebremedhin and Manne
+         */
+        SPECULATIVE
+    }
+
+    private final Graph<V, E> graph;
+    private final Strategy strategy;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new coloring algorithm which uses the speculative strategy and the common
+     * {@link ForkJoinPool}.
+     *
+     * @param graph the input graph
+     */
+    public ParallelColoring(Graph<V, E> graph)
+    {
+        this(graph, Strategy.SPECULATIVE, 0L, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new coloring algorithm.
+     *
+     * @param graph the input graph
+     * @param strategy the coloring strategy
+     * @param seed the seed of the random priorities of the Jones–Plassmann strategy
+     * @param pool the pool to use for the parallel computation
+     */
+    public ParallelColoring(Graph<V, E> graph, Strategy strategy, long seed, ForkJoinPool pool)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.strategy = Objects.requireNonNull(strategy, "Strategy cannot be null");
+        this.seed = seed;
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the graph contains self-loops
+     */
+    @Override
+    public IntArrayColoringImpl<V> getColoring()
+    {
+        for (E e : graph.edgeSet()) {
+            if (graph.getEdgeSource(e).equals(graph.getEdgeTarget(e))) {
+                throw new IllegalArgumentException(GreedyColoring.SELF_LOOPS_NOT_ALLOWED);
+            }
+        }
+
+        IntegerAdjacency<V, E> adjacency = IntegerAdjacency.simple(graph);
+        int[] colors = strategy == Strategy.JONES_PLASSMANN
+            ? jonesPlassmann(adjacency.getOffsets(), adjacency.getTargets(), seed, pool)
+            : speculative(adjacency.getOffsets(), adjacency.getTargets());
+
+        int maxColor = -1;
+        for (int c : colors) {
+            maxColor = Math.max(maxColor, c);
+        }
+        return new IntArrayColoringImpl<>(adjacency.getMapping(), colors, maxColor + 1);
+    }
+
+    /**
+     * Color an adjacency snapshot with the Jones–Plassmann strategy. The snapshot must not contain
+     * self-loops, but may contain multiple entries of the same neighbor. This allows algorithms
+     * which already work on an {@link IntegerAdjacency} to partition its vertices into
+     * independent sets without creating another snapshot. The coloring depends only on the seed.
+     *
+     * @param adjacency the adjacency snapshot
+     * @param seed the seed of the random priorities
+     * @param pool the pool to use for the parallel computation
+     * @return the color of every vertex, indexed by the vertex numbering of the snapshot
+     */
+    public static int[] jonesPlassmannColoring(
+        IntegerAdjacency<?, ?> adjacency, long seed, ForkJoinPool pool)
+    {
+        Objects.requireNonNull(adjacency, "Adjacency cannot be null");
+        Objects.requireNonNull(pool, "Pool cannot be null");
+        return jonesPlassmann(adjacency.getOffsets(), adjacency.getTargets(), seed, pool);
+    }
+
+    private static int[] jonesPlassmann(
+        int[] offsets, int[] targets, long seed, ForkJoinPool pool)
+    {
+        int n = offsets.length - 1;
+        long[] priority = new long[n];
+        ConcurrencyUtil.parallelFor(
+            pool, 0, n, v -> priority[v] = MathUtil.mix64(seed + v + 0x9E3779B97F4A7C15L));
+
+        // number of uncolored neighbors with higher priority
+        AtomicIntegerArray waiting = new AtomicIntegerArray(n);
+        int[] frontier = new int[n];
+        AtomicInteger frontierSize = new AtomicInteger();
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+            int count = 0;
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                if (isHigher(priority, targets[j], v)) {
+                    count++;
+                }
+            }
+            waiting.set(v, count);
+            if (count == 0) {
+                frontier[frontierSize.getAndIncrement()] = v;
+            }
+        });
+
+        int[] colors = new int[n];
+        Arrays.fill(colors, -1);
+        int[] current = frontier;
+        int[] next = new int[n];
+        int size = frontierSize.get();
+        while (size > 0) {
+            final int[] ready = current;
+            final int[] nextReady = next;
+            AtomicInteger nextSize = new AtomicInteger();
+            ConcurrencyUtil.parallelForRanges(pool, 0, size, (from, to) -> {
+                int[] mark = new int[0];
+                for (int i = from; i < to; i++) {
+                    int v = ready[i];
+                    mark = colorSmallestFree(v, offsets, targets, colors, mark);
+                    for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                        int u = targets[j];
+                        if (!isHigher(priority, u, v) && waiting.decrementAndGet(u) == 0) {
+                            nextReady[nextSize.getAndIncrement()] = u;
+                        }
+                    }
+                }
+            });
+            size = nextSize.get();
+            current = nextReady;
+            next = ready;
+        }
+        return colors;
+    }
+
+    private int[] speculative(int[] offsets, int[] targets)
+    {
+        int n = offsets.length - 1;
+        int[] colors = new int[n];
+        Arrays.fill(colors, -1);
+
+        int[] current = new int[n];
+        for (int v = 0; v < n; v++) {
+            current[v] = v;
+        }
+        int[] next = new int[n];
+        int size = n;
+        while (size > 0) {
+            final int[] worklist = current;
+            final int[] conflicts = next;
+
+            // speculative coloring, concurrently colored neighbors may get the same color
+            ConcurrencyUtil.parallelForRanges(pool, 0, size, (from, to) -> {
+                int[] mark = new int[0];
+                for (int i = from; i < to; i++) {
+                    mark = colorSmallestFree(worklist[i], offsets, targets, colors, mark);
+                }
+            });
+
+            // of every conflicting edge, the endpoint with the larger index is colored again
+            AtomicInteger numConflicts = new AtomicInteger();
+            ConcurrencyUtil.parallelFor(pool, 0, size, i -> {
+                int v = worklist[i];
+                for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                    int u = targets[j];
+                    if (u < v && colors[u] == colors[v]) {
+                        conflicts[numConflicts.getAndIncrement()] = v;
+                        break;
+                    }
+                }
+            });
+            size = numConflicts.get();
+            current = conflicts;
+            next = worklist;
+        }
+        return colors;
+    }
+
+    /**
+     * Assign the smallest color not used by the neighbors of a vertex. The mark array is reused
+     * between calls of the same thread and returned, possibly enlarged.
+     */
+    private static int[] colorSmallestFree(
+        int v, int[] offsets, int[] targets, int[] colors, int[] mark)
+    {
+        int degree = offsets[v + 1] - offsets[v];
+        if (mark.length < degree + 1) {
+            mark = new int[Math.max(degree + 1, 2 * mark.length)];
+        }
+        // colors larger than the degree are never the smallest free color
+        int stamp = v + 1;
+        for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+            int c = colors[targets[j]];
+            if (c >= 0 && c <= degree) {
+                mark[c] = stamp;
+            }
+        }
+        int c = 0;
+        while (mark[c] == stamp) {
+            c++;
+        }
+        colors[v] = c;
+        return mark;
+    }
+
+    private static boolean isHigher(long[] priority, int u, int v)
+    {
+        return priority[u] > priority[v] || (priority[u] == priority[v] && u > v);
+    }
+}
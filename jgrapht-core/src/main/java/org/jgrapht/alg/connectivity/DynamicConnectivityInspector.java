@@ -0,0 +1,407 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.event.*;
+
+import java.util.*;
+
+/**
+ * Fully dynamic connectivity for general graphs.
+ *
+ * <p>
+ * The inspector answers connectivity queries on a graph which receives arbitrary edge insertions
+ * and deletions, without recomputing the connected components. Edge directions are ignored. The
+ * implementation is based on the following paper:
+ * <ul>
+ * <li>Jacob Holm, Kristian de Lichtenberg, and Mikkel Thorup. Poly-logarithmic deterministic
+ * fully-dynamic algorithms for connectivity, minimum spanning tree, 2-edge, and biconnectivity. J.
+ * ACM 48, 4 (July 2001), 723–760.</li>
+ * </ul>
+ *
+ * <p>
+ * Every edge is assigned a level, which only increases over time. The structure maintains a
+ * hierarchy of spanning forests $F_0 \supseteq F_1 \supseteq \dots$, where $F_i$ contains the tree
+ * edges of level at least $i$, each stored as a set of Euler tours using
+ * {@link TreeDynamicConnectivity}. When a tree edge of level $\ell$ is deleted, a replacement edge
+ * is searched for at levels $\ell, \ell-1, \dots, 0$ in the smaller of the two resulting trees. The
+ * levels of the tree edges of the smaller tree and of the non-tree edges examined without success
+ * are increased, which pays for the search. Since the trees of $F_i$ have at most $n/2^i$ vertices,
+ * there are at most $\log n$ levels. Vertices with edges of a specific level are marked in the Euler
+ * tours, which allows to find them in logarithmic time.
+ *
+ * <p>
+ * The running time of an edge insertion or deletion is $\mathcal{O}(\log^2 n)$ amortized, and a
+ * connectivity query takes $\mathcal{O}(\log n)$ time. The space complexity is
+ * $\mathcal{O}(m + n \log n)$.
+ *
+ * <p>
+ * The inspector is a {@link GraphListener}. When added as a listener to a {@link ListenableGraph},
+ * it stays current with all modifications of the graph. If the inspector is added as listener to a
+ * graph other than the one it inspects, results are undefined.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ConnectivityInspector
+ * @see TreeDynamicConnectivity
+ */
+public class DynamicConnectivityInspector<V, E>
+    implements
+    GraphListener<V, E>
+{
+    /**
+     * Flag of a vertex with an incident tree edge of a specific level
+     */
+    private static final int TREE_FLAG = 1;
+    /**
+     * Flag of a vertex with an incident non-tree edge of a specific level
+     */
+    private static final int NON_TREE_FLAG = 2;
+
+    private final Graph<V, E> graph;
+    /**
+     * The forest of level i contains all tree edges of level at least i
+     */
+    private final List<TreeDynamicConnectivity<V>> forests;
+    private final Map<V, VertexData> vertexData;
+    private final Map<E, EdgeData> edgeData;
+    private int numberOfComponents;
+
+    /**
+     * Creates a dynamic connectivity inspector for the specified graph. The current vertices and
+     * edges of the graph are inserted during construction.
+     *
+     * @param graph the graph to inspect
+     */
+    public DynamicConnectivityInspector(Graph<V, E> graph)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.forests = new ArrayList<>();
+        this.vertexData = new HashMap<>();
+        this.edgeData = new HashMap<>();
+        this.numberOfComponents = 0;
+
+        for (V v : graph.vertexSet()) {
+            insertVertex(v);
+        }
+        for (E e : graph.edgeSet()) {
+            insertEdge(e, graph.getEdgeSource(e), graph.getEdgeTarget(e));
+        }
+    }
+
+    /**
+     * Get the inspected graph.
+     *
+     * @return the inspected graph
+     */
+    public Graph<V, E> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * Tests whether there is a path between two vertices, ignoring edge directions.
+     *
+     * @param sourceVertex one end of the path
+     * @param targetVertex another end of the path
+     * @return true if and only if there is a path between the two vertices
+     * @throws IllegalArgumentException if a vertex is not in the graph
+     */
+    public boolean pathExists(V sourceVertex, V targetVertex)
+    {
+        if (!vertexData.containsKey(sourceVertex)) {
+            throw new IllegalArgumentException("Vertex not in graph: " + sourceVertex);
+        }
+        if (!vertexData.containsKey(targetVertex)) {
+            throw new IllegalArgumentException("Vertex not in graph: " + targetVertex);
+        }
+        return sourceVertex.equals(targetVertex)
+            || forest(0).connected(sourceVertex, targetVertex);
+    }
+
+    /**
+     * Test if the inspected graph is connected. When the graph is directed, this method returns
+     * true if and only if the graph is weakly connected. An empty graph is not considered
+     * connected.
+     *
+     * @return true if and only if the inspected graph is connected
+     */
+    public boolean isConnected()
+    {
+        return numberOfComponents == 1;
+    }
+
+    /**
+     * Get the number of connected components of the graph.
+     *
+     * @return the number of connected components
+     */
+    public int getNumberOfComponents()
+    {
+        return numberOfComponents;
+    }
+
+    /**
+     * Get the number of vertices in the connected component of a vertex.
+     *
+     * @param vertex the vertex
+     * @return the number of vertices in the connected component of the vertex
+     * @throws IllegalArgumentException if the vertex is not in the graph
+     */
+    public int getComponentSize(V vertex)
+    {
+        if (!vertexData.containsKey(vertex)) {
+            throw new IllegalArgumentException("Vertex not in graph: " + vertex);
+        }
+        return forest(0).getTreeSize(vertex);
+    }
+
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        insertEdge(e.getEdge(), e.getEdgeSource(), e.getEdgeTarget());
+    }
+
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        deleteEdge(e.getEdge());
+    }
+
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        insertVertex(e.getVertex());
+    }
+
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        V v = e.getVertex();
+        VertexData data = vertexData.get(v);
+        if (data == null) {
+            return;
+        }
+        // the graph removes all touching edges before the vertex itself
+        List<E> remaining = new ArrayList<>();
+        for (int level = 0; level < data.levels(); level++) {
+            for (EdgeData edge : data.treeEdges.get(level)) {
+                remaining.add(edge.edge);
+            }
+            for (EdgeData edge : data.nonTreeEdges.get(level)) {
+                remaining.add(edge.edge);
+            }
+        }
+        for (E edge : remaining) {
+            deleteEdge(edge);
+        }
+        for (TreeDynamicConnectivity<V> forest : forests) {
+            forest.remove(v);
+        }
+        vertexData.remove(v);
+        numberOfComponents--;
+    }
+
+    private void insertVertex(V v)
+    {
+        if (!vertexData.containsKey(v)) {
+            vertexData.put(v, new VertexData());
+            numberOfComponents++;
+        }
+    }
+
+    private void insertEdge(E e, V source, V target)
+    {
+        if (edgeData.containsKey(e)) {
+            return;
+        }
+        insertVertex(source);
+        insertVertex(target);
+        if (source.equals(target)) {
+            // self-loops never affect connectivity
+            return;
+        }
+
+        EdgeData edge = new EdgeData(e, source, target);
+        edgeData.put(e, edge);
+
+        if (forest(0).link(source, target)) {
+            edge.tree = true;
+            numberOfComponents--;
+        }
+        addToLevel(edge);
+    }
+
+    private void deleteEdge(E e)
+    {
+        EdgeData edge = edgeData.remove(e);
+        if (edge == null) {
+            return;
+        }
+        removeFromLevel(edge);
+        if (!edge.tree) {
+            return;
+        }
+
+        for (int i = 0; i <= edge.level; i++) {
+            forests.get(i).cut(edge.source, edge.target);
+        }
+        for (int i = edge.level; i >= 0; i--) {
+            if (replace(edge.source, edge.target, i)) {
+                return;
+            }
+        }
+        numberOfComponents++;
+    }
+
+    /**
+     * Search for a replacement edge of the given level, between the trees of $u$ and $v$ in the
+     * forest of that level.
+     *
+     * @return true if a replacement edge was found, false otherwise
+     */
+    private boolean replace(V u, V v, int level)
+    {
+        TreeDynamicConnectivity<V> forest = forest(level);
+
+        V small = u;
+        V large = v;
+        if (forest.getTreeSize(u) > forest.getTreeSize(v)) {
+            small = v;
+            large = u;
+        }
+
+        // push the tree edges of the smaller tree one level up
+        V x;
+        while ((x = forest.findFlagged(small, TREE_FLAG)) != null) {
+            for (EdgeData edge : new ArrayList<>(vertexData.get(x).treeEdges.get(level))) {
+                removeFromLevel(edge);
+                edge.level++;
+                addToLevel(edge);
+                forest(edge.level).link(edge.source, edge.target);
+            }
+        }
+
+        // examine the non-tree edges incident to the smaller tree
+        while ((x = forest.findFlagged(small, NON_TREE_FLAG)) != null) {
+            for (EdgeData edge : new ArrayList<>(vertexData.get(x).nonTreeEdges.get(level))) {
+                V y = edge.source.equals(x) ? edge.target : edge.source;
+                removeFromLevel(edge);
+                if (y.equals(small) || forest.connected(y, small)) {
+                    // both endpoints in the smaller tree
+                    edge.level++;
+                    addToLevel(edge);
+                } else {
+                    // replacement edge found
+                    edge.tree = true;
+                    addToLevel(edge);
+                    for (int i = 0; i <= level; i++) {
+                        forests.get(i).link(edge.source, edge.target);
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void addToLevel(EdgeData edge)
+    {
+        updateIncidence(edge.source, edge, true);
+        updateIncidence(edge.target, edge, true);
+    }
+
+    private void removeFromLevel(EdgeData edge)
+    {
+        updateIncidence(edge.source, edge, false);
+        updateIncidence(edge.target, edge, false);
+    }
+
+    private void updateIncidence(V v, EdgeData edge, boolean add)
+    {
+        VertexData data = vertexData.get(v);
+        data.ensureLevel(edge.level);
+        Set<EdgeData> set =
+            edge.tree ? data.treeEdges.get(edge.level) : data.nonTreeEdges.get(edge.level);
+        if (add) {
+            set.add(edge);
+        } else {
+            set.remove(edge);
+        }
+
+        int flags = (data.treeEdges.get(edge.level).isEmpty() ? 0 : TREE_FLAG)
+            | (data.nonTreeEdges.get(edge.level).isEmpty() ? 0 : NON_TREE_FLAG);
+        TreeDynamicConnectivity<V> forest = forest(edge.level);
+        if (forest.getFlags(v) != flags) {
+            forest.setFlags(v, flags);
+        }
+    }
+
+    private TreeDynamicConnectivity<V> forest(int level)
+    {
+        while (forests.size() <= level) {
+            forests.add(new TreeDynamicConnectivity<>());
+        }
+        return forests.get(level);
+    }
+
+    /**
+     * Incident edges of a vertex, grouped by level.
+     */
+    private class VertexData
+    {
+        final List<Set<EdgeData>> treeEdges = new ArrayList<>();
+        final List<Set<EdgeData>> nonTreeEdges = new ArrayList<>();
+
+        void ensureLevel(int level)
+        {
+            while (treeEdges.size() <= level) {
+                treeEdges.add(new LinkedHashSet<>());
+                nonTreeEdges.add(new LinkedHashSet<>());
+            }
+        }
+
+        int levels()
+        {
+            return treeEdges.size();
+        }
+    }
+
+    /**
+     * An edge of the graph together with its level and whether it is a tree edge.
+     */
+    private class EdgeData
+    {
+        final E edge;
+        final V source;
+        final V target;
+        int level;
+        boolean tree;
+
+        EdgeData(E edge, V source, V target)
+        {
+            this.edge = edge;
+            this.source = source;
+            this.target = target;
+            this.level = 0;
+            this.tree = false;
+        }
+    }
+}
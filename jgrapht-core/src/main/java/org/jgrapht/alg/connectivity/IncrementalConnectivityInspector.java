@@ -0,0 +1,183 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.event.*;
+
+import java.util.*;
+
+/**
+ * Incrementally maintained connected components of an undirected graph, or weakly connected
+ * components of a directed graph.
+ *
+ * <p>
+ * The components are stored in a {@link UnionFind} data structure. The inspector is a
+ * {@link GraphListener}. When added as a listener to a {@link ListenableGraph}, vertex and edge
+ * insertions are applied to the union-find in near constant amortized time. Removals of edges
+ * which do not affect connectivity, that is self-loops and edges parallel to another edge, are
+ * ignored. Any other removal invalidates the union-find, which is lazily rebuilt from the graph in
+ * $O(n + m)$ time on the next query. The inspector is therefore well suited for workloads with
+ * mostly insertions and frequent queries. For workloads with many deletions see
+ * {@link DynamicConnectivityInspector}.
+ *
+ * <p>
+ * The number of components and connectivity queries take near constant amortized time when the
+ * union-find is valid. If the inspector is added as listener to a graph other than the one it
+ * inspects, results are undefined.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ConnectivityInspector
+ * @see DynamicConnectivityInspector
+ */
+public class IncrementalConnectivityInspector<V, E>
+    implements
+    GraphListener<V, E>
+{
+    private final Graph<V, E> graph;
+    private UnionFind<V> unionFind;
+    private List<Set<V>> connectedSets;
+
+    /**
+     * Creates a connectivity inspector for the specified graph.
+     *
+     * @param graph the graph to inspect
+     */
+    public IncrementalConnectivityInspector(Graph<V, E> graph)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+    }
+
+    /**
+     * Test if the inspected graph is connected. When the graph is directed, this method returns
+     * true if and only if the graph is weakly connected. An empty graph is not considered
+     * connected.
+     *
+     * @return true if and only if the inspected graph is connected
+     */
+    public boolean isConnected()
+    {
+        return lazyUnionFind().numberOfSets() == 1;
+    }
+
+    /**
+     * Get the number of connected components of the graph.
+     *
+     * @return the number of connected components
+     */
+    public int getNumberOfComponents()
+    {
+        return lazyUnionFind().numberOfSets();
+    }
+
+    /**
+     * Tests whether there is a path between two vertices, ignoring edge directions.
+     *
+     * @param sourceVertex one end of the path
+     * @param targetVertex another end of the path
+     * @return true if and only if there is a path between the two vertices
+     * @throws IllegalArgumentException if a vertex is not in the graph
+     */
+    public boolean pathExists(V sourceVertex, V targetVertex)
+    {
+        return lazyUnionFind().inSameSet(sourceVertex, targetVertex);
+    }
+
+    /**
+     * Returns a list of sets, where each set contains all vertices that are in the same maximally
+     * connected component. The list is cached until the next change of the graph. The returned
+     * list and sets must not be modified.
+     *
+     * @return a list of sets, one for each connected component
+     */
+    public List<Set<V>> connectedSets()
+    {
+        if (connectedSets == null) {
+            UnionFind<V> uf = lazyUnionFind();
+            Map<V, Set<V>> sets = new LinkedHashMap<>();
+            for (V v : graph.vertexSet()) {
+                sets.computeIfAbsent(uf.find(v), r -> new HashSet<>()).add(v);
+            }
+            connectedSets = new ArrayList<>(sets.values());
+        }
+        return connectedSets;
+    }
+
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        V source = e.getEdgeSource();
+        V target = e.getEdgeTarget();
+        if (unionFind != null && !source.equals(target)
+            && !unionFind.inSameSet(source, target))
+        {
+            unionFind.union(source, target);
+            connectedSets = null;
+        }
+    }
+
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        V source = e.getEdgeSource();
+        V target = e.getEdgeTarget();
+        if (source.equals(target) || graph.containsEdge(source, target)
+            || graph.containsEdge(target, source))
+        {
+            // the endpoints are still adjacent
+            return;
+        }
+        invalidate();
+    }
+
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        if (unionFind != null) {
+            unionFind.addElement(e.getVertex());
+            connectedSets = null;
+        }
+    }
+
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        invalidate();
+    }
+
+    private void invalidate()
+    {
+        unionFind = null;
+        connectedSets = null;
+    }
+
+    private UnionFind<V> lazyUnionFind()
+    {
+        if (unionFind == null) {
+            UnionFind<V> uf = new UnionFind<>(graph.vertexSet());
+            for (E e : graph.edgeSet()) {
+                uf.union(graph.getEdgeSource(e), graph.getEdgeTarget(e));
+            }
+            unionFind = uf;
+        }
+        return unionFind;
+    }
+}
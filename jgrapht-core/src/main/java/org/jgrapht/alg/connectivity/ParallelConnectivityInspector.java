@@ -0,0 +1,272 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Parallel computation of the connected components of an undirected graph, or the weakly connected
+ * components of a directed graph.
+ *
+ * <p>
+ * The implementation follows the Afforest algorithm from the following paper:
+ * <ul>
+ * <li>Michael Sutton, Tal Ben-Nun, and Amnon Barak. Optimizing Parallel Graph Connectivity
+ * Computation via Subgraph Sampling. In 2018 IEEE International Parallel and Distributed Processing
+ * Symposium (IPDPS), 12–21, 2018.</li>
+ * </ul>
+ * The graph is first converted to an {@link IntegerAdjacency}. Edges are then linked concurrently
+ * in an {@link AtomicIntegerUnionFind}, starting with the first few neighbors of every vertex. This
+ * sampling usually reveals the largest component, whose vertices are then skipped while linking
+ * the remaining edges. On graphs with a giant component this avoids processing most of the edges.
+ * The running time is $O(n + m)$ expected work with near-linear speedup.
+ *
+ * <p>
+ * Besides the {@link Set} based views of {@link ConnectivityInspector}, this class exposes the
+ * result as a compact component id array, see {@link #getComponentIds()}. Contrary to
+ * {@link ConnectivityInspector}, it does not track changes of the graph. The computation is
+ * performed on the first call of any query method.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ParallelConnectivityInspector<V, E>
+{
+    private static final int NEIGHBOR_ROUNDS = 2;
+    private static final int NUM_SAMPLES = 1024;
+
+    private final Graph<V, E> graph;
+    private final ForkJoinPool pool;
+
+    private VertexToIntegerMapping<V> mapping;
+    private int[] componentIds;
+    private int numberOfComponents;
+    private List<Set<V>> connectedSets;
+
+    /**
+     * Create a new inspector which uses the common {@link ForkJoinPool}.
+     *
+     * @param graph the input graph
+     */
+    public ParallelConnectivityInspector(Graph<V, E> graph)
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new inspector.
+     *
+     * @param graph the input graph
+     * @param pool the pool to use for the parallel computation
+     */
+    public ParallelConnectivityInspector(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    /**
+     * Test if the inspected graph is connected. When the inspected graph is directed, this method
+     * returns true if and only if the graph is weakly connected. An empty graph is not considered
+     * connected.
+     *
+     * @return true if and only if inspected graph is connected
+     */
+    public boolean isConnected()
+    {
+        lazyCompute();
+        return numberOfComponents == 1;
+    }
+
+    /**
+     * Get the number of connected components.
+     *
+     * @return the number of connected components
+     */
+    public int getNumberOfComponents()
+    {
+        lazyCompute();
+        return numberOfComponents;
+    }
+
+    /**
+     * Get the component id of every vertex. Component ids are in the range $[0, k)$ where $k$ is the
+     * number of components, and the array is indexed by the vertex numbering returned by
+     * {@link #getVertexToIntegerMapping()}. Components are numbered in the order of their first
+     * vertex. The returned array must not be modified.
+     *
+     * @return the component id of every vertex
+     */
+    public int[] getComponentIds()
+    {
+        lazyCompute();
+        return componentIds;
+    }
+
+    /**
+     * Get the vertex numbering used by {@link #getComponentIds()}.
+     *
+     * @return the vertex numbering
+     */
+    public VertexToIntegerMapping<V> getVertexToIntegerMapping()
+    {
+        lazyCompute();
+        return mapping;
+    }
+
+    /**
+     * Returns a list of sets, where each set contains all vertices that are in the same maximally
+     * connected component. The i-th set corresponds to component id i.
+     *
+     * @return a list of sets, one for each connected component
+     */
+    public List<Set<V>> connectedSets()
+    {
+        lazyCompute();
+        if (connectedSets == null) {
+            int[] sizes = new int[numberOfComponents];
+            for (int c : componentIds) {
+                sizes[c]++;
+            }
+            List<Set<V>> sets = new ArrayList<>(numberOfComponents);
+            for (int c = 0; c < numberOfComponents; c++) {
+                sets.add(CollectionUtil.newHashSetWithExpectedSize(sizes[c]));
+            }
+            List<V> vertices = mapping.getIndexList();
+            for (int i = 0; i < componentIds.length; i++) {
+                sets.get(componentIds[i]).add(vertices.get(i));
+            }
+            connectedSets = sets;
+        }
+        return connectedSets;
+    }
+
+    /**
+     * Returns the set of all vertices in the connected component of a vertex.
+     *
+     * @param vertex the vertex
+     * @return the set of all vertices in the connected component of the vertex
+     * @throws IllegalArgumentException if the vertex is not in the graph
+     */
+    public Set<V> connectedSetOf(V vertex)
+    {
+        return connectedSets().get(componentIds[indexOf(vertex)]);
+    }
+
+    /**
+     * Tests whether there is a path between two vertices, ignoring edge directions.
+     *
+     * @param sourceVertex one end of the path
+     * @param targetVertex another end of the path
+     * @return true if and only if there is a path between the two vertices
+     * @throws IllegalArgumentException if a vertex is not in the graph
+     */
+    public boolean pathExists(V sourceVertex, V targetVertex)
+    {
+        lazyCompute();
+        return componentIds[indexOf(sourceVertex)] == componentIds[indexOf(targetVertex)];
+    }
+
+    private int indexOf(V vertex)
+    {
+        lazyCompute();
+        Integer index = mapping.getVertexMap().get(vertex);
+        if (index == null) {
+            throw new IllegalArgumentException("Vertex not in graph: " + vertex);
+        }
+        return index;
+    }
+
+    private void lazyCompute()
+    {
+        if (componentIds != null) {
+            return;
+        }
+
+        mapping = Graphs.getVertexToIntegerMapping(graph);
+        IntegerAdjacency<V, E> adjacency = IntegerAdjacency
+            .of(graph, mapping, IntegerAdjacency.Direction.ALL, false);
+        int n = adjacency.vertexCount();
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+
+        AtomicIntegerUnionFind uf = new AtomicIntegerUnionFind(n);
+
+        // link a few neighbors of every vertex
+        for (int r = 0; r < NEIGHBOR_ROUNDS; r++) {
+            final int round = r;
+            ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+                int j = offsets[v] + round;
+                if (j < offsets[v + 1]) {
+                    uf.union(v, targets[j]);
+                }
+            });
+        }
+
+        // find the most frequent component in a sample
+        int giant = -1;
+        if (n > 0) {
+            Map<Integer, Integer> counts = new HashMap<>();
+            Random rng = new Random(n);
+            int best = 0;
+            for (int s = 0; s < NUM_SAMPLES; s++) {
+                int root = uf.find(rng.nextInt(n));
+                int c = counts.merge(root, 1, Integer::sum);
+                if (c > best) {
+                    best = c;
+                    giant = root;
+                }
+            }
+        }
+
+        // link the remaining edges, skipping the vertices of the giant component. Every edge has
+        // an entry at both endpoints, thus edges leaving the giant component are still linked
+        // from the other side.
+        final int giantRoot = giant;
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+            if (uf.find(v) == giantRoot) {
+                return;
+            }
+            for (int j = offsets[v] + NEIGHBOR_ROUNDS; j < offsets[v + 1]; j++) {
+                uf.union(v, targets[j]);
+            }
+        });
+
+        // compact the labels
+        int[] roots = new int[n];
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> roots[v] = uf.find(v));
+        int[] label = new int[n];
+        Arrays.fill(label, -1);
+        int k = 0;
+        for (int v = 0; v < n; v++) {
+            int root = roots[v];
+            if (label[root] == -1) {
+                label[root] = k++;
+            }
+            roots[v] = label[root];
+        }
+
+        numberOfComponents = k;
+        componentIds = roots;
+    }
+}
@@ -0,0 +1,520 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Parallel computation of the strongly connected components of a directed graph.
+ *
+ * <p>
+ * The implementation follows the Multistep method from the following paper:
+ * <ul>
+ * <li>George M. Slota, Sivasankaran Rajamanickam, and Kamesh Madduri. BFS and Coloring-Based
+ * Parallel Algorithms for Strongly Connected Components and Related Problems. In 2014 IEEE 28th
+ * International Parallel and Distributed Processing Symposium, 550–559, 2014.</li>
+ * </ul>
+ * The algorithm works on {@link IntegerAdjacency} snapshots of the outgoing and incoming edges and
+ * proceeds in the following phases:
+ * <ol>
+ * <li>Trimming: vertices without incoming or outgoing edges from other remaining vertices form
+ * singleton components and are removed in parallel rounds.</li>
+ * <li>Forward-backward: a pivot of large degree is chosen and its component, usually the giant
+ * one, is computed as the intersection of a parallel forward and a parallel backward breadth-first
+ * search.</li>
+ * <li>Coloring: every remaining vertex receives the largest vertex index which can reach it, by
+ * parallel label propagation. Every vertex whose color is its own index is the root of a component
+ * consisting of the vertices of its color which reach it, which are found by independent backward
+ * searches.</li>
+ * <li>Once few vertices remain, the remaining components are computed by a sequential iterative
+ * version of Tarjan's algorithm.</li>
+ * </ol>
+ *
+ * <p>
+ * Besides the {@link Set} based views of {@link StrongConnectivityAlgorithm}, the result is
+ * available as a compact component id array, see {@link #getComponentIds()}. The full algorithm is
+ * executed at the first call of any query method.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ParallelStrongConnectivityInspector<V, E>
+    extends
+    AbstractStrongConnectivityInspector<V, E>
+{
+    private static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 14;
+    private static final int TRIM_ROUNDS = 3;
+    private static final int UNASSIGNED = -1;
+
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+
+    private VertexToIntegerMapping<V> mapping;
+    private int[] componentIds;
+    private int numberOfComponents;
+
+    // computation state
+    private int n;
+    private IntegerAdjacency<V, E> out;
+    private IntegerAdjacency<V, E> in;
+    private int[] comp;
+
+    /**
+     * Create a new inspector which uses the common {@link ForkJoinPool}.
+     *
+     * @param graph the input graph
+     * @throws NullPointerException if the input graph is null
+     * @throws IllegalArgumentException if the input graph is not directed
+     */
+    public ParallelStrongConnectivityInspector(Graph<V, E> graph)
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new inspector.
+     *
+     * @param graph the input graph
+     * @param pool the pool to use for the parallel computation
+     * @throws NullPointerException if the input graph is null
+     * @throws IllegalArgumentException if the input graph is not directed
+     */
+    public ParallelStrongConnectivityInspector(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this(graph, pool, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Create a new inspector.
+     *
+     * @param graph the input graph
+     * @param pool the pool to use for the parallel computation
+     * @param sequentialThreshold number of remaining vertices below which the sequential algorithm
+     *        is used
+     */
+    ParallelStrongConnectivityInspector(
+        Graph<V, E> graph, ForkJoinPool pool, int sequentialThreshold)
+    {
+        super(graph);
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    @Override
+    public List<Set<V>> stronglyConnectedSets()
+    {
+        if (stronglyConnectedSets == null) {
+            lazyCompute();
+            int[] sizes = new int[numberOfComponents];
+            for (int c : componentIds) {
+                sizes[c]++;
+            }
+            List<Set<V>> sets = new ArrayList<>(numberOfComponents);
+            for (int c = 0; c < numberOfComponents; c++) {
+                sets.add(CollectionUtil.newHashSetWithExpectedSize(sizes[c]));
+            }
+            List<V> vertices = mapping.getIndexList();
+            for (int i = 0; i < componentIds.length; i++) {
+                sets.get(componentIds[i]).add(vertices.get(i));
+            }
+            stronglyConnectedSets = sets;
+        }
+        return stronglyConnectedSets;
+    }
+
+    /**
+     * Get the strongly connected component id of every vertex. Component ids are in the range
+     * $[0, k)$ where $k$ is the number of components, and the array is indexed by the vertex
+     * numbering returned by {@link #getVertexToIntegerMapping()}. Components are numbered in the
+     * order of their first vertex, and the i-th set of {@link #stronglyConnectedSets()} corresponds
+     * to component id i. The returned array must not be modified.
+     *
+     * @return the component id of every vertex
+     */
+    public int[] getComponentIds()
+    {
+        lazyCompute();
+        return componentIds;
+    }
+
+    /**
+     * Get the number of strongly connected components.
+     *
+     * @return the number of strongly connected components
+     */
+    public int getNumberOfComponents()
+    {
+        lazyCompute();
+        return numberOfComponents;
+    }
+
+    /**
+     * Get the vertex numbering used by {@link #getComponentIds()}.
+     *
+     * @return the vertex numbering
+     */
+    public VertexToIntegerMapping<V> getVertexToIntegerMapping()
+    {
+        lazyCompute();
+        return mapping;
+    }
+
+    private void lazyCompute()
+    {
+        if (componentIds != null) {
+            return;
+        }
+
+        mapping = Graphs.getVertexToIntegerMapping(graph);
+        out = IntegerAdjacency.of(graph, mapping, IntegerAdjacency.Direction.OUTGOING, false);
+        in = IntegerAdjacency.of(graph, mapping, IntegerAdjacency.Direction.INCOMING, false);
+        n = mapping.getIndexList().size();
+
+        // comp[v] holds a representative vertex of the component of v
+        comp = new int[n];
+        Arrays.fill(comp, UNASSIGNED);
+
+        int remaining = trim(n);
+        if (remaining > 0 && remaining >= sequentialThreshold) {
+            remaining = forwardBackward(remaining);
+        }
+        while (remaining > 0 && remaining >= sequentialThreshold) {
+            remaining = trim(remaining);
+            if (remaining > 0 && remaining >= sequentialThreshold) {
+                remaining = coloring();
+            }
+        }
+        if (remaining > 0) {
+            tarjan();
+        }
+
+        // compact the labels
+        int[] label = new int[n];
+        Arrays.fill(label, UNASSIGNED);
+        int k = 0;
+        for (int v = 0; v < n; v++) {
+            int rep = comp[v];
+            if (label[rep] == UNASSIGNED) {
+                label[rep] = k++;
+            }
+            comp[v] = label[rep];
+        }
+        componentIds = comp;
+        numberOfComponents = k;
+
+        comp = null;
+        out = null;
+        in = null;
+    }
+
+    /**
+     * Removes vertices without incoming or without outgoing edges among the remaining vertices.
+     *
+     * @param remaining the number of remaining vertices
+     * @return the number of remaining vertices after trimming
+     */
+    private int trim(int remaining)
+    {
+        boolean[] trimmed = new boolean[n];
+        for (int round = 0; round < TRIM_ROUNDS && remaining > 0; round++) {
+            AtomicInteger count = new AtomicInteger();
+            ConcurrencyUtil.parallelForRanges(pool, 0, n, (from, to) -> {
+                int local = 0;
+                for (int v = from; v < to; v++) {
+                    if (comp[v] == UNASSIGNED
+                        && (!hasActiveNeighbor(out, v) || !hasActiveNeighbor(in, v)))
+                    {
+                        trimmed[v] = true;
+                        local++;
+                    }
+                }
+                count.addAndGet(local);
+            });
+            if (count.get() == 0) {
+                break;
+            }
+            ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+                if (trimmed[v]) {
+                    comp[v] = v;
+                    trimmed[v] = false;
+                }
+            });
+            remaining -= count.get();
+        }
+        return remaining;
+    }
+
+    private boolean hasActiveNeighbor(IntegerAdjacency<V, E> adjacency, int v)
+    {
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+            if (comp[targets[j]] == UNASSIGNED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the component of a pivot with large degree as the intersection of its forward and
+     * backward reachable sets.
+     *
+     * @param remaining the number of remaining vertices
+     * @return the number of remaining vertices after removing the component
+     */
+    private int forwardBackward(int remaining)
+    {
+        int pivot = -1;
+        long best = -1;
+        for (int v = 0; v < n; v++) {
+            if (comp[v] == UNASSIGNED) {
+                long score = (long) out.degree(v) * in.degree(v);
+                if (score > best) {
+                    best = score;
+                    pivot = v;
+                }
+            }
+        }
+
+        AtomicIntegerArray forward = new AtomicIntegerArray(n);
+        AtomicIntegerArray backward = new AtomicIntegerArray(n);
+        parallelBfs(out, pivot, forward);
+        parallelBfs(in, pivot, backward);
+
+        final int p = pivot;
+        AtomicInteger count = new AtomicInteger();
+        ConcurrencyUtil.parallelForRanges(pool, 0, n, (from, to) -> {
+            int local = 0;
+            for (int v = from; v < to; v++) {
+                if (forward.get(v) != 0 && backward.get(v) != 0) {
+                    comp[v] = p;
+                    local++;
+                }
+            }
+            count.addAndGet(local);
+        });
+        return remaining - count.get();
+    }
+
+    /**
+     * Level-synchronous parallel breadth-first search restricted to the remaining vertices.
+     */
+    private void parallelBfs(IntegerAdjacency<V, E> adjacency, int source, AtomicIntegerArray mark)
+    {
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+
+        mark.set(source, 1);
+        int[] frontier = new int[] { source };
+        int frontierSize = 1;
+        while (frontierSize > 0) {
+            long bound = 0;
+            for (int i = 0; i < frontierSize; i++) {
+                bound += adjacency.degree(frontier[i]);
+            }
+            final int[] current = frontier;
+            final int[] next = new int[(int) Math.min(bound, n)];
+            AtomicInteger tail = new AtomicInteger();
+            ConcurrencyUtil.parallelForRanges(pool, 0, frontierSize, (from, to) -> {
+                int[] buffer = new int[16];
+                int size = 0;
+                for (int i = from; i < to; i++) {
+                    int u = current[i];
+                    for (int j = offsets[u]; j < offsets[u + 1]; j++) {
+                        int w = targets[j];
+                        if (comp[w] == UNASSIGNED && mark.get(w) == 0
+                            && mark.compareAndSet(w, 0, 1))
+                        {
+                            if (size == buffer.length) {
+                                buffer = Arrays.copyOf(buffer, 2 * size);
+                            }
+                            buffer[size++] = w;
+                        }
+                    }
+                }
+                int at = tail.getAndAdd(size);
+                System.arraycopy(buffer, 0, next, at, size);
+            });
+            frontier = next;
+            frontierSize = tail.get();
+        }
+    }
+
+    /**
+     * Performs one coloring round, which removes at least one component.
+     *
+     * @return the number of remaining vertices
+     */
+    private int coloring()
+    {
+        int[] active = activeVertices();
+        int[] outOffsets = out.getOffsets();
+        int[] outTargets = out.getTargets();
+
+        // propagate the largest index which reaches each vertex
+        AtomicIntegerArray color = new AtomicIntegerArray(n);
+        ConcurrencyUtil.parallelFor(pool, 0, active.length, i -> color.set(active[i], active[i]));
+        AtomicBoolean changed = new AtomicBoolean(true);
+        while (changed.get()) {
+            changed.set(false);
+            ConcurrencyUtil.parallelForRanges(pool, 0, active.length, (from, to) -> {
+                boolean localChanged = false;
+                for (int i = from; i < to; i++) {
+                    int u = active[i];
+                    int cu = color.get(u);
+                    for (int j = outOffsets[u]; j < outOffsets[u + 1]; j++) {
+                        int w = outTargets[j];
+                        if (comp[w] != UNASSIGNED) {
+                            continue;
+                        }
+                        int cw = color.get(w);
+                        while (cw < cu) {
+                            if (color.compareAndSet(w, cw, cu)) {
+                                localChanged = true;
+                                break;
+                            }
+                            cw = color.get(w);
+                        }
+                    }
+                }
+                if (localChanged) {
+                    changed.set(true);
+                }
+            });
+        }
+
+        // every root collects the vertices of its color which reach it
+        int[] roots = Arrays.stream(active).filter(v -> color.get(v) == v).toArray();
+        int[] inOffsets = in.getOffsets();
+        int[] inTargets = in.getTargets();
+        AtomicInteger count = new AtomicInteger();
+        ConcurrencyUtil.parallelFor(pool, 0, roots.length, i -> {
+            int r = roots[i];
+            int local = 0;
+            Deque<Integer> stack = new ArrayDeque<>();
+            comp[r] = r;
+            local++;
+            stack.push(r);
+            while (!stack.isEmpty()) {
+                int u = stack.pop();
+                for (int j = inOffsets[u]; j < inOffsets[u + 1]; j++) {
+                    int w = inTargets[j];
+                    // only the task of color r touches vertices of color r
+                    if (color.get(w) == r && comp[w] == UNASSIGNED) {
+                        comp[w] = r;
+                        local++;
+                        stack.push(w);
+                    }
+                }
+            }
+            count.addAndGet(local);
+        });
+        return active.length - count.get();
+    }
+
+    private int[] activeVertices()
+    {
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (comp[v] == UNASSIGNED) {
+                count++;
+            }
+        }
+        int[] active = new int[count];
+        int pos = 0;
+        for (int v = 0; v < n; v++) {
+            if (comp[v] == UNASSIGNED) {
+                active[pos++] = v;
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Iterative version of Tarjan's algorithm restricted to the remaining vertices.
+     */
+    private void tarjan()
+    {
+        int[] offsets = out.getOffsets();
+        int[] targets = out.getTargets();
+
+        int[] index = new int[n];
+        Arrays.fill(index, UNASSIGNED);
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int sp = 0;
+        int[] callStack = new int[n];
+        int[] callPos = new int[n];
+        int counter = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (comp[s] != UNASSIGNED || index[s] != UNASSIGNED) {
+                continue;
+            }
+            index[s] = low[s] = counter++;
+            stack[sp++] = s;
+            onStack[s] = true;
+            int top = 0;
+            callStack[0] = s;
+            callPos[0] = offsets[s];
+
+            while (top >= 0) {
+                int v = callStack[top];
+                if (callPos[top] < offsets[v + 1]) {
+                    int w = targets[callPos[top]++];
+                    if (comp[w] != UNASSIGNED) {
+                        continue;
+                    }
+                    if (index[w] == UNASSIGNED) {
+                        index[w] = low[w] = counter++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        top++;
+                        callStack[top] = w;
+                        callPos[top] = offsets[w];
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                } else {
+                    if (low[v] == index[v]) {
+                        int w;
+                        do {
+                            w = stack[--sp];
+                            onStack[w] = false;
+                            comp[w] = v;
+                        } while (w != v);
+                    }
+                    top--;
+                    if (top >= 0) {
+                        int u = callStack[top];
+                        low[u] = Math.min(low[u], low[v]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -277,6 +277,9 @@ public class TreeDynamicConnectivity<T>
         firstTree.mergeAfter(secondTree);
         minToTreeMap.put(firstTree.getMin(), firstTree);
 
+        syncFlags(firstNode);
+        syncFlags(secondNode);
+
         return true;
     }
 
@@ -392,9 +395,114 @@ public class TreeDynamicConnectivity<T>
             singletonNodes.put(secondNode, right);
         }
 
+        syncFlags(firstNode);
+        syncFlags(secondNode);
+
         return true;
     }
 
+    /**
+     * Sets the flags of the {@code element}. The flags are aggregated over the trees, which allows
+     * to find an element with specific flags in a tree in $\mathcal{O}(\log n)$ time. In the case
+     * the element hasn't been added before, it's added to this data structure.
+     *
+     * @param element an element
+     * @param flags the new flags of the element
+     */
+    void setFlags(T element, int flags)
+    {
+        addIfAbsent(element);
+        Node node = getNode(element);
+        node.flags = flags;
+        syncFlags(node);
+    }
+
+    /**
+     * Returns the flags of the {@code element}, or zero if the element hasn't been added to this
+     * data structure.
+     *
+     * @param element an element
+     * @return the flags of the element
+     */
+    int getFlags(T element)
+    {
+        Node node = getNode(element);
+        return node == null ? 0 : node.flags;
+    }
+
+    /**
+     * Returns the number of elements in the tree the {@code element} belongs to. An element which
+     * hasn't been added to this data structure is considered to be a tree of size one.
+     * <p>
+     * This method has $\mathcal{O}(\log n)$ running time complexity
+     *
+     * @param element an element
+     * @return the number of elements in the tree of the element
+     */
+    int getTreeSize(T element)
+    {
+        Node node = getNode(element);
+        if (node == null || node.isSingleton()) {
+            return 1;
+        }
+        // every arc has one occurrence in the Euler tour and a tree of k nodes has 2(k-1) arcs
+        return getTree(node).getSize() / 2 + 1;
+    }
+
+    /**
+     * Returns an element of the tree the {@code element} belongs to, which has at least one of the
+     * flags of the {@code mask} set, or {@code null} if no such element exists.
+     * <p>
+     * This method has $\mathcal{O}(\log n)$ running time complexity
+     *
+     * @param element an element
+     * @param mask the flags to look for
+     * @return an element with at least one of the flags, or {@code null} if there is none
+     */
+    T findFlagged(T element, int mask)
+    {
+        Node node = getNode(element);
+        if (node == null) {
+            return null;
+        }
+        if (node.isSingleton()) {
+            return (node.flags & mask) != 0 ? element : null;
+        }
+        TreeNode<T> current = node.arcs.get(0).arcTreeNode.getRoot();
+        if ((current.getSubtreeFlags() & mask) == 0) {
+            return null;
+        }
+        while ((current.getFlags() & mask) == 0) {
+            TreeNode<T> left = current.getLeft();
+            if (left != null && (left.getSubtreeFlags() & mask) != 0) {
+                current = left;
+            } else {
+                current = current.getRight();
+            }
+        }
+        return current.getValue();
+    }
+
+    /**
+     * Moves the flags of the {@code node} to the tree node of its first arc. The first arc of a
+     * node changes when arcs are added or removed.
+     *
+     * @param node a node
+     */
+    private void syncFlags(Node node)
+    {
+        TreeNode<T> target = node.isSingleton() ? null : node.arcs.get(0).arcTreeNode;
+        if (node.flaggedTreeNode != target) {
+            if (node.flaggedTreeNode != null && node.flaggedTreeNode.getFlags() != 0) {
+                node.flaggedTreeNode.setFlags(0);
+            }
+            node.flaggedTreeNode = target;
+        }
+        if (target != null && target.getFlags() != node.flags) {
+            target.setFlags(node.flags);
+        }
+    }
+
     /**
      * Makes the {@code node} the root of the tree. In practice, this means that the value of the
      * {@code node} is the first in the Euler tour
@@ -496,6 +604,14 @@ public class TreeDynamicConnectivity<T>
          * Target node to arc mapping
          */
         Map<Node, Arc> targetMap;
+        /**
+         * User specified flags of this node
+         */
+        int flags;
+        /**
+         * The tree node the flags of this node are currently stored in
+         */
+        TreeNode<T> flaggedTreeNode;
 
         /**
          * Constructs a new node
@@ -0,0 +1,894 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.cycle;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Compute a minimum weight undirected cycle basis of a graph.
+ *
+ * <p>
+ * A minimum cycle basis is an undirected cycle basis with minimum total weight. The implementation
+ * combines the algorithm of de Pina with the candidate set of Horton, as proposed in
+ * <ul>
+ * <li>Edoardo Amaldi, Claudio Iuliano, Tomasz Jurkiewicz, Kurt Mehlhorn, and Romeo Rizzi. Breaking
+ * the O(m^2 n) Barrier for Minimum Cycle Bases. In Algorithms - ESA 2009, LNCS 5757, 301–312,
+ * 2009.</li>
+ * <li>Kurt Mehlhorn and Dimitrios Michail. Implementing Minimum Cycle Basis Algorithms. ACM Journal
+ * of Experimental Algorithmics, 11, 2006.</li>
+ * </ul>
+ *
+ * <p>
+ * The cycle space is the direct sum of the cycle spaces of the biconnected components, which are
+ * therefore solved independently. Within a component, paths of vertices of degree two are
+ * contracted into single edges. Let $n$, $m$ and $N = m - n + 1$ denote the number of vertices,
+ * edges and the cyclomatic number of the contracted component. Its vertices are ordered
+ * pseudo-randomly, and a shortest path tree is grown from every vertex $x$ until all remaining
+ * paths pass through a vertex preceding $x$. Ties between shortest paths are broken consistently
+ * by a pseudo-random perturbation of the edge weights. Every non-tree edge $(u,v)$ whose tree paths
+ * to $x$ are disjoint and avoid the vertices preceding $x$ yields the candidate cycle
+ * $P(x,u) + (u,v) + P(v,x)$. This way every isometric cycle is generated exactly once, from its
+ * smallest vertex, and the isometric cycles contain a minimum cycle basis. The shortest path
+ * trees are computed in parallel, in rounds with doubling bounds on the candidate weight, since
+ * usually only the light candidates are needed.
+ *
+ * <p>
+ * Cycles are represented as packed GF(2) vectors over the $N$ non-tree edges of a reference
+ * spanning tree. The algorithm of de Pina maintains witness vectors $S_1, \dots, S_N$ as
+ * {@code long[]} bitsets. In phase $k$ it selects the lightest candidate $C_k$ with
+ * $\langle C_k, S_k \rangle = 1$, and then adds $S_k$ to every later witness which is not
+ * orthogonal to $C_k$, which is done in parallel. Computing the candidates takes
+ * $O(n (m + n \log n))$ time, and the phases take $O(N^3 / 64)$ time plus the time to scan the
+ * candidates. The witnesses require $O(N^2 / 8)$ bytes of memory, per biconnected component.
+ *
+ * <p>
+ * Edge directions are ignored. Self-loops and multiple edges are supported, edge weights must be
+ * non-negative.
+ *
+ * @param <V> the vertex type
+ * @param <E> the edge type
+ *
+ * @see PatonCycleBase
+ */
+public class DePinaMinimumCycleBasis<V, E>
+    implements
+    CycleBasisAlgorithm<V, E>
+{
+    /**
+     * Number of roots claimed by a worker at once
+     */
+    private static final int ROOT_BATCH_SIZE = 8;
+    /**
+     * Minimum number of witnesses updated by a task
+     */
+    private static final int WITNESS_GRAIN = 64;
+    /**
+     * Perturbations are kept small enough such that the sum along any path does not overflow
+     */
+    private static final long PERTURBATION_MASK = (1L << 40) - 1;
+
+    private final Graph<V, E> graph;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new minimum cycle basis algorithm which uses the common {@link ForkJoinPool}.
+     *
+     * @param graph the input graph
+     * @throws IllegalArgumentException if the graph is neither directed nor undirected
+     */
+    public DePinaMinimumCycleBasis(Graph<V, E> graph)
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new minimum cycle basis algorithm.
+     *
+     * @param graph the input graph
+     * @param pool the pool to use for the parallel computation
+     * @throws IllegalArgumentException if the graph is neither directed nor undirected
+     */
+    public DePinaMinimumCycleBasis(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this.graph = GraphTests.requireDirectedOrUndirected(graph);
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    /**
+     * Return a minimum weight undirected cycle basis of the graph. Every cycle is returned as the
+     * list of its edges in the order of a traversal.
+     *
+     * @return a minimum cycle basis
+     * @throws IllegalArgumentException if the graph contains an edge with negative weight
+     */
+    @Override
+    public CycleBasis<V, E> getCycleBasis()
+    {
+        VertexToIntegerMapping<V> mapping = Graphs.getVertexToIntegerMapping(graph);
+        Map<V, Integer> vertexMap = mapping.getVertexMap();
+        List<E> edges = new ArrayList<>(graph.edgeSet());
+        int n = vertexMap.size();
+        int m = edges.size();
+        int[] source = new int[m];
+        int[] target = new int[m];
+        double[] weight = new double[m];
+        for (int e = 0; e < m; e++) {
+            E edge = edges.get(e);
+            source[e] = vertexMap.get(graph.getEdgeSource(edge));
+            target[e] = vertexMap.get(graph.getEdgeTarget(edge));
+            weight[e] = graph.getEdgeWeight(edge);
+            if (weight[e] < 0d) {
+                throw new IllegalArgumentException("Negative edge weights not allowed");
+            }
+        }
+
+        Set<List<E>> cycles = new LinkedHashSet<>();
+        int totalLength = 0;
+        double totalWeight = 0d;
+
+        // self-loops are contained in every cycle basis
+        for (int e = 0; e < m; e++) {
+            if (source[e] == target[e]) {
+                cycles.add(Collections.singletonList(edges.get(e)));
+                totalLength++;
+                totalWeight += weight[e];
+            }
+        }
+
+        int[] globalToLocal = new int[n];
+        for (int[] block : biconnectedComponents(n, source, target)) {
+            if (block.length < 2) {
+                // a bridge
+                continue;
+            }
+            for (int[] cycle : new BlockSolver(block, source, target, weight, globalToLocal)
+                .solve())
+            {
+                List<E> list = new ArrayList<>(cycle.length);
+                for (int e : cycle) {
+                    list.add(edges.get(e));
+                    totalWeight += weight[e];
+                }
+                cycles.add(list);
+                totalLength += cycle.length;
+            }
+        }
+
+        return new CycleBasisImpl<>(graph, cycles, totalLength, totalWeight);
+    }
+
+    /**
+     * Compute the edge sets of the biconnected components, ignoring self-loops. Uses an iterative
+     * version of the algorithm of Hopcroft and Tarjan.
+     */
+    private static List<int[]> biconnectedComponents(int n, int[] source, int[] target)
+    {
+        int m = source.length;
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            if (source[e] != target[e]) {
+                offsets[source[e] + 1]++;
+                offsets[target[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] incident = new int[offsets[n]];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            if (source[e] != target[e]) {
+                incident[fill[source[e]]++] = e;
+                incident[fill[target[e]]++] = e;
+            }
+        }
+
+        List<int[]> blocks = new ArrayList<>();
+        int[] discovery = new int[n];
+        Arrays.fill(discovery, -1);
+        int[] low = new int[n];
+        int[] position = new int[n];
+        int[] parentEdge = new int[n];
+        int[] vertexStack = new int[n];
+        int[] edgeStack = new int[m];
+        int time = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (discovery[root] != -1) {
+                continue;
+            }
+            int top = 0;
+            int edgeTop = 0;
+            vertexStack[top++] = root;
+            discovery[root] = low[root] = time++;
+            position[root] = offsets[root];
+            parentEdge[root] = -1;
+
+            while (top > 0) {
+                int v = vertexStack[top - 1];
+                if (position[v] < offsets[v + 1]) {
+                    int e = incident[position[v]++];
+                    if (e == parentEdge[v]) {
+                        continue;
+                    }
+                    int w = source[e] == v ? target[e] : source[e];
+                    if (discovery[w] == -1) {
+                        edgeStack[edgeTop++] = e;
+                        discovery[w] = low[w] = time++;
+                        position[w] = offsets[w];
+                        parentEdge[w] = e;
+                        vertexStack[top++] = w;
+                    } else if (discovery[w] < discovery[v]) {
+                        // back edge, seen first from its lower end
+                        edgeStack[edgeTop++] = e;
+                        low[v] = Math.min(low[v], discovery[w]);
+                    }
+                    continue;
+                }
+
+                top--;
+                if (top > 0) {
+                    int u = vertexStack[top - 1];
+                    low[u] = Math.min(low[u], low[v]);
+                    if (low[v] >= discovery[u]) {
+                        // u separates the subtree of v
+                        int e = parentEdge[v];
+                        int start = edgeTop;
+                        do {
+                            start--;
+                        } while (edgeStack[start] != e);
+                        blocks.add(Arrays.copyOfRange(edgeStack, start, edgeTop));
+                        edgeTop = start;
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * A sort key of a vertex, with a pseudo-random prefix and the vertex in the lower bits.
+     */
+    private static long key(int v)
+    {
+        return (MathUtil.mix64(v) & 0xFFFFFFFF00000000L) | v;
+    }
+
+    /**
+     * A candidate cycle.
+     */
+    private static class Candidate
+    {
+        final double weight;
+        final int root;
+        final int edge;
+        // local edges in traversal order
+        final int[] edges;
+        // sorted coordinates in the cycle space
+        int[] coordinates;
+        boolean used;
+
+        Candidate(double weight, int root, int edge, int[] edges)
+        {
+            this.weight = weight;
+            this.root = root;
+            this.edge = edge;
+            this.edges = edges;
+        }
+    }
+
+    /**
+     * Computes a minimum cycle basis of a biconnected component. Paths of vertices with degree two
+     * are contracted into single edges, which does not change the cycle space.
+     */
+    private class BlockSolver
+    {
+        int n;
+        int m;
+        int[] source;
+        int[] target;
+        double[] weight;
+        long[] perturbation;
+        int[] offsets;
+        int[] incident;
+        // the global edges of every edge, in the order from its source to its target
+        int[][] chains;
+        // the only cycle of a block without vertices of degree three or more
+        int[] blockCycle;
+
+        BlockSolver(
+            int[] block, int[] globalSource, int[] globalTarget, double[] globalWeight,
+            int[] globalToLocal)
+        {
+            int blockEdges = block.length;
+
+            // number the vertices in a pseudo-random order, which keeps the shortest path trees
+            // restricted to the following vertices small
+            long[] keys = new long[2 * blockEdges];
+            for (int i = 0; i < blockEdges; i++) {
+                keys[2 * i] = key(globalSource[block[i]]);
+                keys[2 * i + 1] = key(globalTarget[block[i]]);
+            }
+            Arrays.sort(keys);
+            int blockVertices = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (i == 0 || keys[i] != keys[i - 1]) {
+                    globalToLocal[(int) keys[i]] = blockVertices++;
+                }
+            }
+
+            int[] blockSource = new int[blockEdges];
+            int[] blockTarget = new int[blockEdges];
+            for (int i = 0; i < blockEdges; i++) {
+                blockSource[i] = globalToLocal[globalSource[block[i]]];
+                blockTarget[i] = globalToLocal[globalTarget[block[i]]];
+            }
+            int[] blockOffsets = new int[blockVertices + 1];
+            int[] blockIncident = incidence(blockVertices, blockSource, blockTarget, blockOffsets);
+
+            // the vertices which remain after the contraction
+            int[] contracted = new int[blockVertices];
+            n = 0;
+            for (int v = 0; v < blockVertices; v++) {
+                contracted[v] = blockOffsets[v + 1] - blockOffsets[v] == 2 ? -1 : n++;
+            }
+            if (n == 0) {
+                blockCycle = new int[blockEdges];
+                int e = blockIncident[0];
+                int v = blockTarget[e];
+                for (int i = 0; i < blockEdges; i++) {
+                    blockCycle[i] = block[e];
+                    e = next(blockIncident, blockOffsets, v, e);
+                    v = blockSource[e] == v ? blockTarget[e] : blockSource[e];
+                }
+                return;
+            }
+
+            // walk the paths between the remaining vertices, every path is found from both ends
+            List<int[]> paths = new ArrayList<>();
+            List<Integer> ends = new ArrayList<>();
+            int[] path = new int[blockEdges];
+            for (int b = 0; b < blockVertices; b++) {
+                if (contracted[b] == -1) {
+                    continue;
+                }
+                for (int i = blockOffsets[b]; i < blockOffsets[b + 1]; i++) {
+                    int e = blockIncident[i];
+                    int length = 0;
+                    int v = b;
+                    while (true) {
+                        path[length++] = e;
+                        v = blockSource[e] == v ? blockTarget[e] : blockSource[e];
+                        if (contracted[v] != -1) {
+                            break;
+                        }
+                        e = next(blockIncident, blockOffsets, v, e);
+                    }
+                    int first = path[0];
+                    int last = path[length - 1];
+                    if (first < last || (first == last && blockSource[first] == b)) {
+                        int[] chain = new int[length];
+                        for (int j = 0; j < length; j++) {
+                            chain[j] = block[path[j]];
+                        }
+                        paths.add(chain);
+                        ends.add(contracted[b]);
+                        ends.add(contracted[v]);
+                    }
+                }
+            }
+
+            m = paths.size();
+            chains = paths.toArray(new int[m][]);
+            source = new int[m];
+            target = new int[m];
+            weight = new double[m];
+            perturbation = new long[m];
+            for (int i = 0; i < m; i++) {
+                source[i] = ends.get(2 * i);
+                target[i] = ends.get(2 * i + 1);
+                for (int e : chains[i]) {
+                    weight[i] += globalWeight[e];
+                    perturbation[i] += MathUtil.mix64(e) & PERTURBATION_MASK;
+                }
+            }
+            offsets = new int[n + 1];
+            incident = incidence(n, source, target, offsets);
+        }
+
+        /**
+         * Build the incidence lists of a graph, filling the offsets.
+         */
+        private int[] incidence(int n, int[] source, int[] target, int[] offsets)
+        {
+            int m = source.length;
+            for (int i = 0; i < m; i++) {
+                offsets[source[i] + 1]++;
+                offsets[target[i] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] incident = new int[2 * m];
+            int[] fill = Arrays.copyOf(offsets, n);
+            for (int i = 0; i < m; i++) {
+                incident[fill[source[i]]++] = i;
+                incident[fill[target[i]]++] = i;
+            }
+            return incident;
+        }
+
+        /**
+         * The other edge of a vertex of degree two.
+         */
+        private int next(int[] incident, int[] offsets, int v, int e)
+        {
+            int i = offsets[v];
+            return incident[i] == e ? incident[i + 1] : incident[i];
+        }
+
+        List<int[]> solve()
+        {
+            if (blockCycle != null) {
+                return Collections.singletonList(blockCycle);
+            }
+
+            // the reference spanning tree defines the coordinates of the cycle space
+            ShortestPathTree tree = new ShortestPathTree();
+            tree.grow(0, Double.POSITIVE_INFINITY);
+            int[] coordinate = new int[m];
+            int numCoordinates = 0;
+            for (int e = 0; e < m; e++) {
+                boolean treeEdge =
+                    tree.parentEdge[source[e]] == e || tree.parentEdge[target[e]] == e;
+                coordinate[e] = treeEdge ? -1 : numCoordinates++;
+            }
+
+            // candidates are generated in rounds of doubling weight bounds, since usually only
+            // the light candidates are needed
+            double totalWeight = 0d;
+            for (int e = 0; e < m; e++) {
+                totalWeight += weight[e];
+            }
+            double lower = Double.NEGATIVE_INFINITY;
+            double upper = 2d * totalWeight / m;
+            if (!(upper > 0d)) {
+                upper = Double.POSITIVE_INFINITY;
+            }
+            List<Candidate> candidates = new ArrayList<>();
+            addCandidates(candidates, lower, upper, coordinate);
+            int firstUnused = 0;
+
+            // de Pina's algorithm
+            int words = (numCoordinates + 63) >>> 6;
+            long[][] witnesses = new long[numCoordinates][];
+            for (int i = 0; i < numCoordinates; i++) {
+                witnesses[i] = new long[words];
+                witnesses[i][i >>> 6] = 1L << i;
+            }
+            List<int[]> result = new ArrayList<>(numCoordinates);
+
+            for (int k = 0; k < numCoordinates; k++) {
+                long[] witness = witnesses[k];
+                witnesses[k] = null;
+
+                while (firstUnused < candidates.size() && candidates.get(firstUnused).used) {
+                    firstUnused++;
+                }
+                Candidate selected = null;
+                int c = firstUnused;
+                while (selected == null) {
+                    for (; c < candidates.size(); c++) {
+                        Candidate candidate = candidates.get(c);
+                        if (!candidate.used && isOdd(candidate.coordinates, witness)) {
+                            selected = candidate;
+                            break;
+                        }
+                    }
+                    if (selected != null || upper == Double.POSITIVE_INFINITY) {
+                        break;
+                    }
+                    lower = upper;
+                    upper = 2d * upper >= totalWeight ? Double.POSITIVE_INFINITY : 2d * upper;
+                    addCandidates(candidates, lower, upper, coordinate);
+                }
+
+                int[] cycle;
+                if (selected != null) {
+                    selected.used = true;
+                    cycle = selected.edges;
+                } else {
+                    // only possible due to rounding errors in the path weights
+                    cycle = tree.fundamentalCycle(firstSetBit(witness), coordinate);
+                }
+                result.add(expand(cycle));
+
+                // the support of the k-th witness is contained in the first k + 1 coordinates
+                final int[] cycleCoordinates = coordinates(cycle, coordinate);
+                final int supportWords = (k >>> 6) + 1;
+                ConcurrencyUtil
+                    .parallelForRanges(pool, k + 1, numCoordinates, WITNESS_GRAIN, (from, to) -> {
+                        for (int j = from; j < to; j++) {
+                            long[] other = witnesses[j];
+                            if (isOdd(cycleCoordinates, other)) {
+                                for (int w = 0; w < supportWords; w++) {
+                                    other[w] ^= witness[w];
+                                }
+                            }
+                        }
+                    });
+            }
+            return result;
+        }
+
+        /**
+         * Grow a shortest path tree from every vertex, restricted to the vertices following it, and
+         * append the candidate cycles with weight in $(lower, upper]$ in sorted order.
+         */
+        private void addCandidates(
+            List<Candidate> candidates, double lower, double upper, int[] coordinate)
+        {
+            List<Candidate> found = new ArrayList<>();
+            AtomicInteger next = new AtomicInteger();
+            ConcurrencyUtil.parallelForRanges(pool, 0, pool.getParallelism(), 1, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    ShortestPathTree tree = new ShortestPathTree();
+                    List<Candidate> local = new ArrayList<>();
+                    int start;
+                    while ((start = next.getAndAdd(ROOT_BATCH_SIZE)) < n) {
+                        for (int x = start; x < Math.min(n, start + ROOT_BATCH_SIZE); x++) {
+                            tree.grow(x, upper);
+                            tree.collectCandidates(local, lower, upper);
+                        }
+                    }
+                    for (Candidate c : local) {
+                        c.coordinates = coordinates(c.edges, coordinate);
+                    }
+                    synchronized (found) {
+                        found.addAll(local);
+                    }
+                }
+            });
+
+            found.sort((a, b) -> {
+                int c = Double.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = Integer.compare(a.edges.length, b.edges.length);
+                }
+                if (c == 0) {
+                    c = Integer.compare(a.root, b.root);
+                }
+                if (c == 0) {
+                    c = Integer.compare(a.edge, b.edge);
+                }
+                return c;
+            });
+            candidates.addAll(found);
+        }
+
+        /**
+         * Replace the edges of a cycle by their paths in the biconnected component.
+         */
+        private int[] expand(int[] cycle)
+        {
+            int length = 0;
+            for (int e : cycle) {
+                length += chains[e].length;
+            }
+            int[] result = new int[length];
+            int k = 0;
+            int v = source[cycle[0]];
+            for (int e : cycle) {
+                int[] chain = chains[e];
+                if (source[e] == v) {
+                    for (int f : chain) {
+                        result[k++] = f;
+                    }
+                    v = target[e];
+                } else {
+                    for (int i = chain.length - 1; i >= 0; i--) {
+                        result[k++] = chain[i];
+                    }
+                    v = source[e];
+                }
+            }
+            return result;
+        }
+
+        private int[] coordinates(int[] cycle, int[] coordinate)
+        {
+            int count = 0;
+            for (int e : cycle) {
+                if (coordinate[e] != -1) {
+                    count++;
+                }
+            }
+            int[] result = new int[count];
+            count = 0;
+            for (int e : cycle) {
+                if (coordinate[e] != -1) {
+                    result[count++] = coordinate[e];
+                }
+            }
+            Arrays.sort(result);
+            return result;
+        }
+
+        private boolean isOdd(int[] coordinates, long[] witness)
+        {
+            int parity = 0;
+            for (int c : coordinates) {
+                parity ^= (int) (witness[c >>> 6] >>> c) & 1;
+            }
+            return parity == 1;
+        }
+
+        private int firstSetBit(long[] witness)
+        {
+            for (int w = 0; w < witness.length; w++) {
+                if (witness[w] != 0L) {
+                    return (w << 6) + Long.numberOfTrailingZeros(witness[w]);
+                }
+            }
+            throw new IllegalStateException("Witness cannot be zero");
+        }
+
+        /**
+         * A shortest path tree, restricted to the vertices following its root. Shortest paths are
+         * compared by weight and then by perturbation, which makes them unique with high
+         * probability.
+         */
+        private class ShortestPathTree
+        {
+            final double[] distance;
+            final long[] perturbed;
+            final int[] parentEdge;
+            final int[] branch;
+            final int[] depth;
+            // the root of the last search which reached a vertex
+            final int[] mark;
+            final int[] heap;
+            final int[] heapPosition;
+            // whether the tree path passes through a vertex preceding the root
+            final boolean[] tainted;
+            final int[] reached;
+            int numReached;
+            int root;
+            // number of vertices in the heap which are not tainted
+            int clean;
+
+            ShortestPathTree()
+            {
+                this.distance = new double[n];
+                this.perturbed = new long[n];
+                this.parentEdge = new int[n];
+                this.branch = new int[n];
+                this.depth = new int[n];
+                this.mark = new int[n];
+                Arrays.fill(mark, -1);
+                this.heap = new int[n];
+                this.heapPosition = new int[n];
+                this.tainted = new boolean[n];
+                this.reached = new int[n];
+            }
+
+            void grow(int x, double bound)
+            {
+                root = x;
+                numReached = 0;
+                int heapSize = 0;
+                mark[x] = x;
+                distance[x] = 0d;
+                perturbed[x] = 0L;
+                parentEdge[x] = -1;
+                tainted[x] = false;
+                clean = 1;
+                heapPosition[x] = heapSize;
+                heap[heapSize++] = x;
+
+                while (heapSize > 0) {
+                    if (clean == 0 || distance[heap[0]] > bound) {
+                        // all remaining paths are too long or pass through a vertex preceding
+                        // the root
+                        break;
+                    }
+                    int v = heap[0];
+                    heapSize--;
+                    if (heapSize > 0) {
+                        heap[0] = heap[heapSize];
+                        heapPosition[heap[0]] = 0;
+                        siftDown(0, heapSize);
+                    }
+                    heapPosition[v] = -1;
+                    if (!tainted[v]) {
+                        clean--;
+                        reached[numReached++] = v;
+                        if (v == x) {
+                            branch[v] = v;
+                            depth[v] = 0;
+                        } else {
+                            int p = opposite(parentEdge[v], v);
+                            branch[v] = p == x ? v : branch[p];
+                            depth[v] = depth[p] + 1;
+                        }
+                    }
+
+                    for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                        int e = incident[i];
+                        int w = opposite(e, v);
+                        double d = distance[v] + weight[e];
+                        long p = perturbed[v] + perturbation[e];
+                        if (mark[w] != x) {
+                            mark[w] = x;
+                            distance[w] = d;
+                            perturbed[w] = p;
+                            parentEdge[w] = e;
+                            tainted[w] = w < x || tainted[v];
+                            if (!tainted[w]) {
+                                clean++;
+                            }
+                            heapPosition[w] = heapSize;
+                            heap[heapSize++] = w;
+                            siftUp(heapPosition[w]);
+                        } else if (heapPosition[w] != -1 && less(d, p, distance[w], perturbed[w])) {
+                            distance[w] = d;
+                            perturbed[w] = p;
+                            parentEdge[w] = e;
+                            boolean t = w < x || tainted[v];
+                            if (tainted[w] != t) {
+                                tainted[w] = t;
+                                clean += t ? -1 : 1;
+                            }
+                            siftUp(heapPosition[w]);
+                        }
+                    }
+                }
+            }
+
+            /**
+             * Add the candidate cycles with weight in $(lower, upper]$ of the non-tree edges whose
+             * tree paths only meet at the root.
+             */
+            void collectCandidates(List<Candidate> candidates, double lower, double upper)
+            {
+                for (int r = 0; r < numReached; r++) {
+                    int u = reached[r];
+                    for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                        int e = incident[i];
+                        int v = target[e];
+                        if (source[e] != u || mark[v] != root || heapPosition[v] != -1
+                            || tainted[v] || parentEdge[u] == e
+                            || parentEdge[v] == e || branch[u] == branch[v])
+                        {
+                            continue;
+                        }
+                        double w = distance[u] + weight[e] + distance[v];
+                        if (w <= lower || w > upper) {
+                            continue;
+                        }
+                        int[] cycle = new int[depth[u] + depth[v] + 1];
+                        int k = 0;
+                        cycle[k++] = e;
+                        for (int y = v; y != root; y = opposite(parentEdge[y], y)) {
+                            cycle[k++] = parentEdge[y];
+                        }
+                        int end = cycle.length;
+                        for (int y = u; y != root; y = opposite(parentEdge[y], y)) {
+                            cycle[--end] = parentEdge[y];
+                        }
+                        candidates.add(new Candidate(w, root, e, cycle));
+                    }
+                }
+            }
+
+            /**
+             * The fundamental cycle of a non-tree edge with respect to this tree.
+             */
+            int[] fundamentalCycle(int coordinateIndex, int[] coordinate)
+            {
+                int e = 0;
+                while (coordinate[e] != coordinateIndex) {
+                    e++;
+                }
+                List<Integer> up = new ArrayList<>();
+                List<Integer> down = new ArrayList<>();
+                int u = source[e];
+                int v = target[e];
+                while (u != v) {
+                    if (depth[u] >= depth[v]) {
+                        down.add(parentEdge[u]);
+                        u = opposite(parentEdge[u], u);
+                    } else {
+                        up.add(parentEdge[v]);
+                        v = opposite(parentEdge[v], v);
+                    }
+                }
+                int[] cycle = new int[1 + up.size() + down.size()];
+                int k = 0;
+                cycle[k++] = e;
+                for (int f : up) {
+                    cycle[k++] = f;
+                }
+                for (int i = down.size() - 1; i >= 0; i--) {
+                    cycle[k++] = down.get(i);
+                }
+                return cycle;
+            }
+
+            private int opposite(int e, int v)
+            {
+                return source[e] == v ? target[e] : source[e];
+            }
+
+            private boolean less(double d1, long p1, double d2, long p2)
+            {
+                return d1 < d2 || (d1 == d2 && p1 < p2);
+            }
+
+            private void siftUp(int i)
+            {
+                int v = heap[i];
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    int p = heap[parent];
+                    if (!less(distance[v], perturbed[v], distance[p], perturbed[p])) {
+                        break;
+                    }
+                    heap[i] = p;
+                    heapPosition[p] = i;
+                    i = parent;
+                }
+                heap[i] = v;
+                heapPosition[v] = i;
+            }
+
+            private void siftDown(int i, int size)
+            {
+                int v = heap[i];
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    int c = heap[child];
+                    if (child + 1 < size) {
+                        int c2 = heap[child + 1];
+                        if (less(distance[c2], perturbed[c2], distance[c], perturbed[c])) {
+                            child++;
+                            c = c2;
+                        }
+                    }
+                    if (!less(distance[c], perturbed[c], distance[v], perturbed[v])) {
+                        break;
+                    }
+                    heap[i] = c;
+                    heapPosition[c] = i;
+                    i = child;
+                }
+                heap[i] = v;
+                heapPosition[v] = i;
+            }
+        }
+    }
+}
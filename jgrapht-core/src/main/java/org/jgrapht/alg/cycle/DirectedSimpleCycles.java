@@ -18,6 +18,7 @@
 package org.jgrapht.alg.cycle;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * A common interface for classes implementing algorithms for enumeration of the simple cycles of a
@@ -36,4 +37,16 @@ public interface DirectedSimpleCycles<V, E>
      * @return The list of all simple cycles. Possibly empty but never <code>null</code>.
      */
     List<List<V>> findSimpleCycles();
+
+    /**
+     * Find the simple cycles of the graph and pass each one to a consumer. The default
+     * implementation materializes all cycles first, implementations may stream them instead.
+     *
+     * @param consumer the consumer of the cycles
+     */
+    default void findSimpleCycles(Consumer<List<V>> consumer)
+    {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        findSimpleCycles().forEach(consumer);
+    }
 }
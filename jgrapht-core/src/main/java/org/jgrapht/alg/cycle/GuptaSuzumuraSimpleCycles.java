@@ -0,0 +1,398 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.cycle;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Find all simple cycles of a directed graph, optionally bounded in length, in parallel.
+ *
+ * <p>
+ * The implementation follows the barrier-based algorithm of
+ * <ul>
+ * <li>Anshul Gupta and Toyotaro Suzumura. Finding All Bounded-Length Simple Cycles in a Directed
+ * Graph. arXiv:2105.10094, 2021.</li>
+ * </ul>
+ * which extends the blocking technique of Johnson's algorithm to cycles of length at most $L$.
+ * Every vertex $v$ carries a lock value: a depth-first search from the start vertex $s$ may only
+ * enter $v$ at a depth smaller than its lock. When a vertex is left without finding a cycle, it
+ * remains locked at its depth. When a path from $v$ back to $s$ of length $b$ is found, the lock
+ * of $v$ is relaxed to $L - b + 1$ and the relaxation is propagated backwards to the locked
+ * predecessors of $v$. The algorithm enumerates the cycles in $O((c + 1) L (n + m))$ time, where
+ * $c$ is the number of cycles of length at most $L$. Without a length bound, $L = n$ and the
+ * algorithm behaves like Johnson's algorithm.
+ *
+ * <p>
+ * Every cycle is reported exactly once, starting at its vertex with the smallest index in the
+ * vertex set iteration order. The subproblems of the start vertices are independent and restricted
+ * to the strongly connected component of the start vertex. If a {@link ForkJoinPool} is given, they
+ * are solved in parallel by dynamically scheduled workers, each owning its own search state, and
+ * the consumer is invoked concurrently and must be thread-safe. Cycles are streamed to the
+ * consumer, see {@link #findSimpleCycles(Consumer)}, which avoids materializing all cycles in
+ * memory. Self-loops are reported as cycles of length one, multiple edges are reported once.
+ *
+ * @param <V> the vertex type
+ * @param <E> the edge type
+ *
+ * @see JohnsonSimpleCycles
+ */
+public class GuptaSuzumuraSimpleCycles<V, E>
+    implements
+    DirectedSimpleCycles<V, E>
+{
+    /**
+     * Number of start vertices claimed by a worker at once
+     */
+    private static final int BATCH_SIZE = 16;
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final Graph<V, E> graph;
+    private final int maxLength;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a sequential simple cycle finder without a length bound.
+     *
+     * @param graph the input graph
+     * @throws IllegalArgumentException if the graph is not directed
+     */
+    public GuptaSuzumuraSimpleCycles(Graph<V, E> graph)
+    {
+        this(graph, 0, null);
+    }
+
+    /**
+     * Create a sequential simple cycle finder.
+     *
+     * @param graph the input graph
+     * @param maxLength the maximum number of vertices of a cycle, or zero for no bound
+     * @throws IllegalArgumentException if the graph is not directed or the maximum length is
+     *         negative
+     */
+    public GuptaSuzumuraSimpleCycles(Graph<V, E> graph, int maxLength)
+    {
+        this(graph, maxLength, null);
+    }
+
+    /**
+     * Create a simple cycle finder.
+     *
+     * @param graph the input graph
+     * @param maxLength the maximum number of vertices of a cycle, or zero for no bound
+     * @param pool the pool to use for the parallel computation, or null for a sequential
+     *        computation
+     * @throws IllegalArgumentException if the graph is not directed or the maximum length is
+     *         negative
+     */
+    public GuptaSuzumuraSimpleCycles(Graph<V, E> graph, int maxLength, ForkJoinPool pool)
+    {
+        this.graph = GraphTests.requireDirected(graph, "Graph must be directed");
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Maximum length must be non-negative");
+        }
+        this.maxLength = maxLength;
+        this.pool = pool;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<List<V>> findSimpleCycles()
+    {
+        List<List<V>> result = new ArrayList<>();
+        findSimpleCycles(pool == null ? result::add : cycle -> {
+            synchronized (result) {
+                result.add(cycle);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * If the cycle finder is parallel, the consumer is called concurrently from the worker threads.
+     */
+    @Override
+    public void findSimpleCycles(Consumer<List<V>> consumer)
+    {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        Search search = new Search();
+        List<V> vertices = search.mapping.getIndexList();
+        search.run((path, length) -> {
+            List<V> cycle = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                cycle.add(vertices.get(path[i]));
+            }
+            consumer.accept(cycle);
+        });
+    }
+
+    /**
+     * Count the simple cycles of the graph, without creating them.
+     *
+     * @return the number of simple cycles
+     */
+    public long countSimpleCycles()
+    {
+        LongAdder count = new LongAdder();
+        new Search().run((path, length) -> count.increment());
+        return count.sum();
+    }
+
+    @FunctionalInterface
+    private interface CycleVisitor
+    {
+        void visit(int[] path, int length);
+    }
+
+    /**
+     * The shared read-only data of the search.
+     */
+    private class Search
+    {
+        final VertexToIntegerMapping<V> mapping;
+        final int n;
+        final int[] offsets;
+        final int[] targets;
+        final int[] sources;
+        final int[] component;
+        final int bound;
+
+        Search()
+        {
+            ParallelStrongConnectivityInspector<V, E> scc = new ParallelStrongConnectivityInspector<>(
+                graph, pool == null ? ForkJoinPool.commonPool() : pool);
+            this.component = scc.getComponentIds();
+            this.mapping = scc.getVertexToIntegerMapping();
+            IntegerAdjacency<V, E> adjacency = IntegerAdjacency
+                .of(graph, mapping, IntegerAdjacency.Direction.OUTGOING, true).toSorted(true);
+            this.n = adjacency.vertexCount();
+            this.offsets = adjacency.getOffsets();
+            this.targets = adjacency.getTargets();
+            this.sources = new int[targets.length];
+            for (int v = 0; v < n; v++) {
+                for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                    sources[j] = v;
+                }
+            }
+            this.bound = maxLength == 0 ? n : maxLength;
+        }
+
+        void run(CycleVisitor visitor)
+        {
+            // only start vertices whose component contains a cycle
+            int[] componentSize = new int[n];
+            for (int v = 0; v < n; v++) {
+                componentSize[component[v]]++;
+            }
+            boolean[] hasCycle = new boolean[n];
+            for (int v = 0; v < n; v++) {
+                hasCycle[v] = componentSize[component[v]] > 1
+                    || Arrays.binarySearch(targets, offsets[v], offsets[v + 1], v) >= 0;
+            }
+
+            if (pool == null) {
+                Worker worker = new Worker(visitor);
+                for (int s = 0; s < n; s++) {
+                    if (hasCycle[s]) {
+                        worker.search(s);
+                    }
+                }
+                return;
+            }
+
+            AtomicInteger next = new AtomicInteger();
+            ConcurrencyUtil.parallelForRanges(pool, 0, pool.getParallelism(), 1, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    Worker worker = new Worker(visitor);
+                    int start;
+                    while ((start = next.getAndAdd(BATCH_SIZE)) < n) {
+                        for (int s = start; s < Math.min(n, start + BATCH_SIZE); s++) {
+                            if (hasCycle[s]) {
+                                worker.search(s);
+                            }
+                        }
+                    }
+                }
+            });
+        }
+
+        /**
+         * The search state of a single thread. All arrays are reset after every start vertex, in
+         * time proportional to the touched vertices.
+         */
+        private class Worker
+        {
+            final CycleVisitor visitor;
+
+            final int[] lock;
+            final boolean[] onPath;
+            // the locked predecessors of every vertex, as linked lists of edge indices
+            final int[] blockedHead;
+            final int[] blockedNext;
+            final boolean[] isBlocked;
+            final int[] touched;
+            final boolean[] isTouched;
+            int numTouched;
+
+            final int[] path;
+            final int[] edgePosition;
+            final int[] pathLength;
+            int[] relaxVertices;
+            int[] relaxLengths;
+
+            Worker(CycleVisitor visitor)
+            {
+                this.visitor = visitor;
+                this.lock = new int[n];
+                Arrays.fill(lock, UNBOUNDED);
+                this.onPath = new boolean[n];
+                this.blockedHead = new int[n];
+                Arrays.fill(blockedHead, -1);
+                this.blockedNext = new int[targets.length];
+                this.isBlocked = new boolean[targets.length];
+                this.touched = new int[n];
+                this.isTouched = new boolean[n];
+
+                int depth = Math.min(n, bound);
+                this.path = new int[depth];
+                this.edgePosition = new int[depth];
+                this.pathLength = new int[depth];
+                this.relaxVertices = new int[16];
+                this.relaxLengths = new int[16];
+            }
+
+            void search(int s)
+            {
+                int s0 = component[s];
+                int depth = 0;
+                enter(s, 0);
+                while (depth >= 0) {
+                    int v = path[depth];
+                    if (edgePosition[depth] < offsets[v + 1]) {
+                        int w = targets[edgePosition[depth]++];
+                        if (w == s) {
+                            visitor.visit(path, depth + 1);
+                            pathLength[depth] = 1;
+                        } else if (w > s && component[w] == s0 && !onPath[w]
+                            && depth + 1 < lock[w] && depth + 1 < bound)
+                        {
+                            enter(w, ++depth);
+                        }
+                        continue;
+                    }
+
+                    // leave v, registering v as a locked predecessor of its successors. This
+                    // is also needed if v found a cycle, since a successor which was locked may
+                    // later turn out to have a shorter path to the start vertex.
+                    int length = pathLength[depth];
+                    onPath[v] = false;
+                    if (length != UNBOUNDED) {
+                        relaxLocks(v, length);
+                    }
+                    for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                        int w = targets[j];
+                        if (!isBlocked[j] && w > s && component[w] == s0) {
+                            isBlocked[j] = true;
+                            blockedNext[j] = blockedHead[w];
+                            blockedHead[w] = j;
+                            touch(w);
+                        }
+                    }
+                    depth--;
+                    if (depth >= 0 && length != UNBOUNDED) {
+                        pathLength[depth] = Math.min(pathLength[depth], length + 1);
+                    }
+                }
+                reset();
+            }
+
+            private void enter(int v, int depth)
+            {
+                path[depth] = v;
+                edgePosition[depth] = offsets[v];
+                pathLength[depth] = UNBOUNDED;
+                lock[v] = depth;
+                onPath[v] = true;
+                touch(v);
+            }
+
+            /**
+             * Relax the lock of a vertex with a path of the given length to the start vertex, and
+             * propagate to its locked predecessors.
+             */
+            private void relaxLocks(int u, int length)
+            {
+                int top = 0;
+                relaxVertices[top] = u;
+                relaxLengths[top++] = length;
+                while (top > 0) {
+                    top--;
+                    int v = relaxVertices[top];
+                    int b = relaxLengths[top];
+                    int value = bound - b + 1;
+                    if (onPath[v] || lock[v] >= value) {
+                        continue;
+                    }
+                    lock[v] = value;
+                    for (int j = blockedHead[v]; j != -1; j = blockedNext[j]) {
+                        if (top == relaxVertices.length) {
+                            relaxVertices = Arrays.copyOf(relaxVertices, 2 * top);
+                            relaxLengths = Arrays.copyOf(relaxLengths, 2 * top);
+                        }
+                        relaxVertices[top] = sources[j];
+                        relaxLengths[top++] = b + 1;
+                    }
+                }
+            }
+
+            private void touch(int v)
+            {
+                if (!isTouched[v]) {
+                    isTouched[v] = true;
+                    touched[numTouched++] = v;
+                }
+            }
+
+            private void reset()
+            {
+                for (int i = 0; i < numTouched; i++) {
+                    int v = touched[i];
+                    lock[v] = UNBOUNDED;
+                    for (int j = blockedHead[v]; j != -1; j = blockedNext[j]) {
+                        isBlocked[j] = false;
+                    }
+                    blockedHead[v] = -1;
+                    isTouched[v] = false;
+                }
+                numTouched = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,643 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.densesubgraph;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Approximate maximum density subgraph by greedy peeling.
+ *
+ * <p>
+ * The density of a subgraph is the total weight of its edges divided by the number of its
+ * vertices, as in {@link GoldbergMaximumDensitySubgraphAlgorithm}. Directed graphs are considered
+ * undirected and edge weights must be non-negative. The algorithm repeatedly removes the vertex of
+ * minimum weighted degree and returns the densest of the visited subgraphs, which is a
+ * 2-approximation, see the following paper:
+ * <ul>
+ * <li>Moses Charikar. Greedy approximation algorithms for finding dense components in a graph. In
+ * Approximation Algorithms for Combinatorial Optimization, APPROX 2000, LNCS 1913, 84–95,
+ * 2000.</li>
+ * </ul>
+ * With more than one iteration, the Greedy++ algorithm is used. Every vertex keeps a load, which
+ * is increased by its degree when it is removed, and each iteration peels the vertices by minimum
+ * sum of load and degree. The densest subgraph of all iterations converges to an optimal one, see
+ * the following paper:
+ * <ul>
+ * <li>Digvijay Boob, Yu Gao, Richard Peng, Saurabh Sawlani, Charalampos Tsourakakis, Di Wang, and
+ * Junxing Wang. Flowless: Extracting Densest Subgraphs Without Flow Computations. In Proceedings of
+ * The Web Conference 2020, 573–583, 2020.</li>
+ * </ul>
+ *
+ * <p>
+ * Besides the achieved density, the algorithm computes an upper bound on the maximum density
+ * which callers can use to decide whether to run an exact algorithm. The bound is the smaller of
+ * the largest degree of a vertex at its removal in the first iteration, and the largest load of a
+ * vertex divided by the number of iterations. The latter is the maximum load of a fractional
+ * orientation of the edges and tends to the maximum density.
+ *
+ * <p>
+ * The graph is converted to an {@link IntegerAdjacency} with primitive degree arrays. With
+ * $\varepsilon = 0$ every vertex is removed separately, using a bucket queue when all edge weights
+ * are integers and an indexed binary heap otherwise, which takes $O(m + n)$ and $O(m \log n)$ time
+ * per iteration respectively. With $\varepsilon \gt 0$ every iteration proceeds in parallel rounds,
+ * each removing all vertices whose key is at most $1 + \varepsilon$ times the average key of the
+ * remaining vertices, as proposed in the following paper:
+ * <ul>
+ * <li>Bahman Bahmani, Ravi Kumar, and Sergei Vassilvitskii. Densest subgraph in streaming and
+ * MapReduce. Proceedings of the VLDB Endowment 5(5), 454–465, 2012.</li>
+ * </ul>
+ * This needs $O(\log_{1 + \varepsilon} n)$ rounds per iteration, and the first iteration is a
+ * $2(1 + \varepsilon)$-approximation. The upper bound stays valid in both modes.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see GoldbergMaximumDensitySubgraphAlgorithm
+ */
+public class GreedyPeelingMaximumDensitySubgraphAlgorithm<V, E>
+    implements
+    MaximumDensitySubgraphAlgorithm<V, E>
+{
+    private final Graph<V, E> graph;
+    private final int iterations;
+    private final double epsilon;
+    private final ForkJoinPool pool;
+
+    private Graph<V, E> densestSubgraph;
+    private double density;
+    private double upperBound;
+
+    /**
+     * Create a new instance computing Charikar's 2-approximation.
+     *
+     * @param graph the input graph
+     */
+    public GreedyPeelingMaximumDensitySubgraphAlgorithm(Graph<V, E> graph)
+    {
+        this(graph, 1);
+    }
+
+    /**
+     * Create a new instance computing the given number of Greedy++ iterations, removing the
+     * vertices one by one.
+     *
+     * @param graph the input graph
+     * @param iterations the number of peeling iterations
+     */
+    public GreedyPeelingMaximumDensitySubgraphAlgorithm(Graph<V, E> graph, int iterations)
+    {
+        this(graph, iterations, 0d, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param graph the input graph
+     * @param iterations the number of peeling iterations
+     * @param epsilon the batch factor of the parallel rounds, or zero to remove the vertices one by
+     *        one
+     * @param pool the pool to use for the parallel computation
+     */
+    public GreedyPeelingMaximumDensitySubgraphAlgorithm(
+        Graph<V, E> graph, int iterations, double epsilon, ForkJoinPool pool)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Number of iterations must be positive");
+        }
+        if (!(epsilon >= 0d) || Double.isInfinite(epsilon)) {
+            throw new IllegalArgumentException("Epsilon must be non-negative and finite");
+        }
+        this.iterations = iterations;
+        this.epsilon = epsilon;
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    @Override
+    public Graph<V, E> calculateDensest()
+    {
+        lazyCompute();
+        return densestSubgraph;
+    }
+
+    /**
+     * Computes the density of the returned subgraph, which is at least half of the maximum density,
+     * or at least $\frac{1}{2(1 + \varepsilon)}$ of it if $\varepsilon \gt 0$.
+     *
+     * @return the density of the returned subgraph
+     */
+    @Override
+    public double getDensity()
+    {
+        lazyCompute();
+        return density;
+    }
+
+    /**
+     * Get an upper bound on the maximum density of a subgraph. The returned subgraph is optimal if
+     * its density equals this bound.
+     *
+     * @return an upper bound on the maximum density
+     */
+    public double getUpperBound()
+    {
+        lazyCompute();
+        return upperBound;
+    }
+
+    private void lazyCompute()
+    {
+        if (densestSubgraph != null) {
+            return;
+        }
+
+        IntegerAdjacency<V, E> adjacency = IntegerAdjacency.of(
+            graph, Graphs.getVertexToIntegerMapping(graph), IntegerAdjacency.Direction.ALL, true);
+        int n = adjacency.vertexCount();
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        int[] edgeIndices = adjacency.getEdgeIndices();
+        List<E> edgeList = adjacency.getEdgeList();
+
+        double[] edgeWeights = new double[edgeList.size()];
+        AtomicBoolean integral = new AtomicBoolean(true);
+        ConcurrencyUtil.parallelFor(pool, 0, edgeWeights.length, e -> {
+            double w = graph.getEdgeWeight(edgeList.get(e));
+            if (!(w >= 0d) || Double.isInfinite(w)) {
+                throw new IllegalArgumentException("Edge weights must be non-negative");
+            }
+            if (w != Math.rint(w) || w > Integer.MAX_VALUE) {
+                integral.set(false);
+            }
+            edgeWeights[e] = w;
+        });
+        double totalWeight = 0d;
+        for (double w : edgeWeights) {
+            totalWeight += w;
+        }
+        double[] weights = new double[targets.length];
+        double[] degrees = new double[n];
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+            double d = 0d;
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                weights[j] = edgeWeights[edgeIndices[j]];
+                d += weights[j];
+            }
+            degrees[v] = d;
+        });
+
+        Peeling peeling = new Peeling(n, offsets, targets, weights, degrees, totalWeight);
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            if (epsilon > 0d) {
+                peeling.peelInRounds(iteration == 0);
+            } else {
+                peeling.peelOneByOne(iteration == 0, integral.get());
+            }
+        }
+
+        Set<V> vertices = CollectionUtil.newLinkedHashSetWithExpectedSize(peeling.bestSize);
+        for (int i = 0; i < peeling.bestSize; i++) {
+            vertices.add(adjacency.getVertex(peeling.best[i]));
+        }
+        densestSubgraph = new AsSubgraph<>(graph, vertices);
+        density = peeling.bestDensity;
+        double maxLoad = 0d;
+        for (double load : peeling.loads) {
+            maxLoad = Math.max(maxLoad, load);
+        }
+        upperBound = Math.max(density, Math.min(peeling.firstBound, maxLoad / iterations));
+    }
+
+    /**
+     * The state of the peeling iterations.
+     */
+    private class Peeling
+    {
+        final int n;
+        final int[] offsets;
+        final int[] targets;
+        final double[] weights;
+        final double[] degrees;
+        final double totalWeight;
+
+        final double[] loads;
+        final boolean[] removed;
+        final int[] order;
+        double firstBound;
+
+        int[] best;
+        int bestSize;
+        double bestDensity;
+
+        Peeling(
+            int n, int[] offsets, int[] targets, double[] weights, double[] degrees,
+            double totalWeight)
+        {
+            this.n = n;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.degrees = degrees;
+            this.totalWeight = totalWeight;
+            this.loads = new double[n];
+            this.removed = new boolean[n];
+            this.order = new int[n];
+            this.firstBound = 0d;
+            this.best = new int[0];
+            this.bestSize = 0;
+            this.bestDensity = 0d;
+        }
+
+        /**
+         * One iteration removing the vertex with minimum key in every step.
+         */
+        void peelOneByOne(boolean first, boolean integral)
+        {
+            double[] d = degrees.clone();
+            Arrays.fill(removed, false);
+
+            long maxKey = 0;
+            for (int v = 0; v < n; v++) {
+                maxKey = Math.max(maxKey, (long) (loads[v] + d[v]));
+            }
+            PeelingQueue queue = integral && maxKey <= 2L * (n + targets.length)
+                ? new BucketQueue(n, (int) maxKey)
+                : new HeapQueue(n);
+            for (int v = 0; v < n; v++) {
+                queue.insert(v, loads[v] + d[v]);
+            }
+
+            double weight = totalWeight;
+            int bestStep = 0;
+            double roundBest = n == 0 ? 0d : weight / n;
+            for (int step = 0; step < n; step++) {
+                int v = queue.poll();
+                removed[v] = true;
+                order[step] = v;
+
+                double degree = d[v];
+                if (first) {
+                    firstBound = Math.max(firstBound, degree);
+                }
+                loads[v] += degree;
+                weight -= degree;
+                for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                    int u = targets[j];
+                    if (u != v && !removed[u]) {
+                        d[u] -= weights[j];
+                        queue.decreaseKey(u, loads[u] + d[u]);
+                    }
+                }
+
+                int size = n - step - 1;
+                if (size > 0 && weight / size > roundBest) {
+                    roundBest = weight / size;
+                    bestStep = step + 1;
+                }
+            }
+            updateBest(bestStep);
+        }
+
+        /**
+         * One iteration removing all vertices with key at most $1 + \varepsilon$ times the average
+         * key in parallel rounds.
+         */
+        void peelInRounds(boolean first)
+        {
+            AtomicLongArray d = new AtomicLongArray(n);
+            ConcurrencyUtil
+                .parallelFor(pool, 0, n, v -> d.set(v, Double.doubleToRawLongBits(degrees[v])));
+            Arrays.fill(removed, false);
+            int[] batchOf = new int[n];
+            Arrays.fill(batchOf, -1);
+
+            int[] remaining = new int[n];
+            int[] nextRemaining = new int[n];
+            for (int v = 0; v < n; v++) {
+                remaining[v] = v;
+            }
+            int numRemaining = n;
+            int numRemoved = 0;
+            double weight = totalWeight;
+            int bestStep = 0;
+            double roundBest = n == 0 ? 0d : weight / n;
+
+            for (int batch = 0; numRemaining > 0; batch++) {
+                final int[] current = remaining;
+                final int size = numRemaining;
+                if (weight / size > roundBest) {
+                    roundBest = weight / size;
+                    bestStep = numRemoved;
+                }
+
+                DoubleAdder keySum = new DoubleAdder();
+                DoubleAccumulator minKey = new DoubleAccumulator(Math::min, Double.MAX_VALUE);
+                ConcurrencyUtil.parallelForRanges(pool, 0, size, (from, to) -> {
+                    double sum = 0d;
+                    double min = Double.MAX_VALUE;
+                    for (int i = from; i < to; i++) {
+                        int v = current[i];
+                        double key = loads[v] + get(d, v);
+                        sum += key;
+                        min = Math.min(min, key);
+                    }
+                    keySum.add(sum);
+                    minKey.accumulate(min);
+                });
+                // rounding errors may leave keys slightly below zero, in which case the scaled
+                // average is smaller than all keys, so always remove the minimum key
+                double threshold =
+                    Math.max(minKey.get(), (1d + epsilon) * keySum.sum() / size);
+
+                // select the batch, and keep the other vertices
+                final int b = batch;
+                final int start = numRemoved;
+                AtomicInteger batchSize = new AtomicInteger();
+                AtomicInteger keptSize = new AtomicInteger();
+                final int[] kept = nextRemaining;
+                ConcurrencyUtil.parallelFor(pool, 0, size, i -> {
+                    int v = current[i];
+                    if (loads[v] + get(d, v) <= threshold) {
+                        batchOf[v] = b;
+                        order[start + batchSize.getAndIncrement()] = v;
+                    } else {
+                        kept[keptSize.getAndIncrement()] = v;
+                    }
+                });
+
+                // edges between two vertices of the batch are split between them
+                DoubleAdder removedWeight = new DoubleAdder();
+                DoubleAccumulator maxDegree = new DoubleAccumulator(Math::max, 0d);
+                ConcurrencyUtil.parallelFor(pool, start, start + batchSize.get(), i -> {
+                    int v = order[i];
+                    double contribution = 0d;
+                    for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                        int u = targets[j];
+                        if (u == v) {
+                            contribution += weights[j];
+                        } else if (batchOf[u] == b) {
+                            contribution += weights[j] / 2;
+                        } else if (!removed[u]) {
+                            contribution += weights[j];
+                            add(d, u, -weights[j]);
+                        }
+                    }
+                    if (first) {
+                        maxDegree.accumulate(get(d, v));
+                    }
+                    loads[v] += contribution;
+                    removedWeight.add(contribution);
+                });
+                ConcurrencyUtil.parallelFor(
+                    pool, start, start + batchSize.get(), i -> removed[order[i]] = true);
+
+                firstBound = Math.max(firstBound, maxDegree.get());
+                weight -= removedWeight.sum();
+                numRemoved += batchSize.get();
+                numRemaining = keptSize.get();
+                nextRemaining = remaining;
+                remaining = kept;
+            }
+            updateBest(bestStep);
+        }
+
+        /**
+         * Keep the vertices which were not removed in the first steps of this iteration, if they
+         * are denser than the best subgraph so far.
+         */
+        private void updateBest(int bestStep)
+        {
+            int size = n - bestStep;
+            double weight = 0d;
+            Arrays.fill(removed, true);
+            for (int i = bestStep; i < n; i++) {
+                removed[order[i]] = false;
+            }
+            for (int i = bestStep; i < n; i++) {
+                int v = order[i];
+                for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                    int u = targets[j];
+                    if (u == v) {
+                        weight += weights[j];
+                    } else if (!removed[u]) {
+                        weight += weights[j] / 2;
+                    }
+                }
+            }
+            double d = size == 0 ? 0d : weight / size;
+            if (best.length == 0 && size > 0 || d > bestDensity) {
+                best = Arrays.copyOfRange(order, bestStep, n);
+                bestSize = size;
+                bestDensity = d;
+            }
+        }
+    }
+
+    private static double get(AtomicLongArray array, int i)
+    {
+        return Double.longBitsToDouble(array.get(i));
+    }
+
+    private static void add(AtomicLongArray array, int i, double delta)
+    {
+        long current;
+        long next;
+        do {
+            current = array.get(i);
+            next = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + delta);
+        } while (!array.compareAndSet(i, current, next));
+    }
+
+    /**
+     * A priority queue of vertices with keys which only decrease while queued.
+     */
+    private interface PeelingQueue
+    {
+        void insert(int v, double key);
+
+        void decreaseKey(int v, double key);
+
+        int poll();
+    }
+
+    /**
+     * Bucket queue for integer keys.
+     */
+    private static class BucketQueue
+        implements
+        PeelingQueue
+    {
+        private final int[] head;
+        private final int[] next;
+        private final int[] prev;
+        private final int[] keys;
+        private int min;
+
+        BucketQueue(int n, int maxKey)
+        {
+            this.head = new int[maxKey + 1];
+            Arrays.fill(head, -1);
+            this.next = new int[n];
+            this.prev = new int[n];
+            this.keys = new int[n];
+            this.min = 0;
+        }
+
+        @Override
+        public void insert(int v, double key)
+        {
+            int k = (int) key;
+            keys[v] = k;
+            prev[v] = -1;
+            next[v] = head[k];
+            if (head[k] != -1) {
+                prev[head[k]] = v;
+            }
+            head[k] = v;
+            min = Math.min(min, k);
+        }
+
+        @Override
+        public void decreaseKey(int v, double key)
+        {
+            unlink(v);
+            insert(v, key);
+        }
+
+        @Override
+        public int poll()
+        {
+            while (head[min] == -1) {
+                min++;
+            }
+            int v = head[min];
+            unlink(v);
+            return v;
+        }
+
+        private void unlink(int v)
+        {
+            if (prev[v] != -1) {
+                next[prev[v]] = next[v];
+            } else {
+                head[keys[v]] = next[v];
+            }
+            if (next[v] != -1) {
+                prev[next[v]] = prev[v];
+            }
+        }
+    }
+
+    /**
+     * Indexed binary heap for real keys.
+     */
+    private static class HeapQueue
+        implements
+        PeelingQueue
+    {
+        private final int[] heap;
+        private final int[] position;
+        private final double[] keys;
+        private int size;
+
+        HeapQueue(int n)
+        {
+            this.heap = new int[n];
+            this.position = new int[n];
+            this.keys = new double[n];
+            this.size = 0;
+        }
+
+        @Override
+        public void insert(int v, double key)
+        {
+            keys[v] = key;
+            heap[size] = v;
+            position[v] = size;
+            siftUp(size++);
+        }
+
+        @Override
+        public void decreaseKey(int v, double key)
+        {
+            keys[v] = key;
+            siftUp(position[v]);
+        }
+
+        @Override
+        public int poll()
+        {
+            int v = heap[0];
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                position[heap[0]] = 0;
+                siftDown(0);
+            }
+            return v;
+        }
+
+        private void siftUp(int i)
+        {
+            int v = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                int p = heap[parent];
+                if (keys[p] <= keys[v]) {
+                    break;
+                }
+                heap[i] = p;
+                position[p] = i;
+                i = parent;
+            }
+            heap[i] = v;
+            position[v] = i;
+        }
+
+        private void siftDown(int i)
+        {
+            int v = heap[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                    child++;
+                }
+                int c = heap[child];
+                if (keys[v] <= keys[c]) {
+                    break;
+                }
+                heap[i] = c;
+                position[c] = i;
+                i = child;
+            }
+            heap[i] = v;
+            position[v] = i;
+        }
+    }
+}
@@ -0,0 +1,601 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.drawing;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.drawing.model.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Multilevel force-directed layout with Barnes-Hut approximation of the repulsive forces.
+ *
+ * <p>
+ * The algorithm uses the forces of {@link FRLayoutAlgorithm2D} and follows the multilevel scheme
+ * described in the papers:
+ * <ul>
+ * <li>Chris Walshaw. A Multilevel Algorithm for Force-Directed Graph Drawing. In Graph Drawing,
+ * 171–182, 2001.</li>
+ * <li>Yifan Hu. Efficient, High-Quality Force-Directed Graph Drawing. The Mathematica Journal,
+ * 10(1):37–71, 2005.</li>
+ * </ul>
+ * The graph is repeatedly coarsened by contracting a maximal matching, until it is small or the
+ * matching no longer shrinks it substantially. The coarsest graph is laid out from random
+ * positions. The layout of each level is then used as the initial layout of the next finer level,
+ * where every vertex starts at the position of the vertex it was contracted into, and refined by
+ * the given number of iterations. The natural edge length grows by a factor of $\sqrt{7/4}$ per
+ * level, as proposed by Walshaw. Edge directions, self-loops and multiple edges are ignored.
+ *
+ * <p>
+ * The repulsive forces are approximated using a quadtree, following <i>Josh Barnes and Piet Hut. A
+ * hierarchical O(N log N) force-calculation algorithm. Nature, 324(6096):446–449, 1986.</i> A
+ * cell whose side is less than $\theta$ times its distance from a vertex is treated as a single
+ * body at its center of mass. The quadtree is built once per iteration and the forces of all
+ * vertices are then computed in parallel. Coordinates are stored in primitive arrays and no objects
+ * are allocated per vertex and iteration. The result only depends on the random number generator,
+ * not on the number of threads.
+ *
+ * <p>
+ * The layout is computed in its own coordinate system and rescaled to the drawable area of the
+ * model, preserving the aspect ratio. It is written to the model after each level, where every
+ * vertex is placed at the position of its representative in that level, and optionally every few
+ * iterations of the finest level. Combined with a {@link ListenableLayoutModel2D} this allows to
+ * display the progress of long running layouts. If an initializer is set, the coarsening is
+ * skipped and the initial positions are only refined.
+ *
+ * @param <V> the vertex type
+ * @param <E> the edge type
+ */
+public class MultilevelFRLayoutAlgorithm2D<V, E>
+    extends
+    BaseLayoutAlgorithm2D<V, E>
+{
+    /**
+     * Default number of iterations per level
+     */
+    public static final int DEFAULT_ITERATIONS = 100;
+
+    /**
+     * Default $\theta$ value for approximation using the Barnes-Hut technique
+     */
+    public static final double DEFAULT_THETA_FACTOR = 0.5;
+
+    /**
+     * Number of vertices at which the coarsening stops
+     */
+    private static final int COARSEST_SIZE = 50;
+    /**
+     * Coarsening stops if a level has more than this fraction of the vertices of the finer level
+     */
+    private static final double MIN_COARSENING_RATIO = 0.75;
+    /**
+     * Ratio of the natural edge lengths of consecutive levels
+     */
+    private static final double LEVEL_DISTANCE_FACTOR = Math.sqrt(7d / 4d);
+    private static final int LEAF_SIZE = 8;
+    private static final int MAX_DEPTH = 48;
+
+    private final int iterations;
+    private final double theta;
+    private final Random rng;
+    private final int publishInterval;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new layout algorithm
+     */
+    public MultilevelFRLayoutAlgorithm2D()
+    {
+        this(DEFAULT_ITERATIONS, DEFAULT_THETA_FACTOR, new Random());
+    }
+
+    /**
+     * Create a new layout algorithm which uses the common {@link ForkJoinPool} and writes the
+     * finest level only after its last iteration.
+     *
+     * @param iterations number of iterations per level
+     * @param theta parameter for approximation using the Barnes-Hut technique
+     * @param rng the random number generator
+     */
+    public MultilevelFRLayoutAlgorithm2D(int iterations, double theta, Random rng)
+    {
+        this(iterations, theta, rng, 0, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new layout algorithm
+     *
+     * @param iterations number of iterations per level
+     * @param theta parameter for approximation using the Barnes-Hut technique
+     * @param rng the random number generator
+     * @param publishInterval number of iterations of the finest level after which the current
+     *        layout is written to the model, or zero to write it only after the last iteration
+     * @param pool the pool to use for the parallel force computation
+     */
+    public MultilevelFRLayoutAlgorithm2D(
+        int iterations, double theta, Random rng, int publishInterval, ForkJoinPool pool)
+    {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Number of iterations must be positive");
+        }
+        if (theta < 0d || theta > 1d) {
+            throw new IllegalArgumentException("Illegal theta value");
+        }
+        if (publishInterval < 0) {
+            throw new IllegalArgumentException("Publish interval cannot be negative");
+        }
+        this.iterations = iterations;
+        this.theta = theta;
+        this.rng = Objects.requireNonNull(rng);
+        this.publishInterval = publishInterval;
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    @Override
+    public void layout(Graph<V, E> graph, LayoutModel2D<V> model)
+    {
+        IntegerAdjacency<V, E> adjacency = IntegerAdjacency.simple(graph);
+        List<V> vertices = adjacency.getMapping().getIndexList();
+        int n = vertices.size();
+        if (n == 0) {
+            return;
+        }
+
+        List<Level> levels = new ArrayList<>();
+        levels.add(new Level(adjacency.getOffsets(), adjacency.getTargets()));
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double temperature;
+        if (getInitializer() != null) {
+            init(graph, model);
+            Box2D area = model.getDrawableArea();
+            for (int v = 0; v < n; v++) {
+                Point2D p = model.get(vertices.get(v));
+                if (p == null) {
+                    p = Point2D
+                        .of(
+                            area.getMinX() + rng.nextDouble() * area.getWidth(),
+                            area.getMinY() + rng.nextDouble() * area.getHeight());
+                }
+                x[v] = p.getX();
+                y[v] = p.getY();
+            }
+            // move the initial layout to the scale of a unit natural edge length
+            normalize(x, y, n);
+            temperature = 1d;
+        } else {
+            Level coarse;
+            while (levels.get(levels.size() - 1).n > COARSEST_SIZE
+                && (coarse = levels.get(levels.size() - 1).coarsen(rng)) != null)
+            {
+                levels.add(coarse);
+            }
+            int coarsest = levels.size() - 1;
+            int m = levels.get(coarsest).n;
+            double side = Math.sqrt(m) * Math.pow(LEVEL_DISTANCE_FACTOR, coarsest);
+            for (int v = 0; v < m; v++) {
+                x[v] = rng.nextDouble() * side;
+                y[v] = rng.nextDouble() * side;
+            }
+            temperature = side / 4d;
+        }
+
+        double[] dispX = new double[n];
+        double[] dispY = new double[n];
+        for (int l = levels.size() - 1; l >= 0; l--) {
+            Level level = levels.get(l);
+            double k = Math.pow(LEVEL_DISTANCE_FACTOR, l);
+            if (l < levels.size() - 1) {
+                // every vertex starts at the position of its representative, slightly perturbed
+                double[] coarseX = Arrays.copyOf(x, levels.get(l + 1).n);
+                double[] coarseY = Arrays.copyOf(y, levels.get(l + 1).n);
+                for (int v = 0; v < level.n; v++) {
+                    x[v] = coarseX[level.parent[v]] + (rng.nextDouble() - 0.5d) * k / 10d;
+                    y[v] = coarseY[level.parent[v]] + (rng.nextDouble() - 0.5d) * k / 10d;
+                }
+                temperature = k;
+            }
+
+            for (int i = 0; i < iterations; i++) {
+                double t = temperature * (iterations - i) / iterations;
+                iterate(level, x, y, dispX, dispY, k, t);
+                if (l == 0 && publishInterval > 0 && (i + 1) % publishInterval == 0
+                    && i + 1 < iterations)
+                {
+                    publish(levels, 0, x, y, vertices, model);
+                }
+            }
+            publish(levels, l, x, y, vertices, model);
+        }
+    }
+
+    /**
+     * Move all vertices once according to the forces acting on them.
+     */
+    private void iterate(
+        Level level, double[] x, double[] y, double[] dispX, double[] dispY, double k, double t)
+    {
+        int n = level.n;
+        int[] offsets = level.offsets;
+        int[] targets = level.targets;
+        QuadTree tree = new QuadTree(x, y, n);
+        double k2 = k * k;
+        double theta2 = theta * theta;
+
+        ConcurrencyUtil.parallelForRanges(pool, 0, n, (lo, hi) -> {
+            int[] stack = new int[4 * (MAX_DEPTH + 1)];
+            for (int v = lo; v < hi; v++) {
+                double vx = x[v];
+                double vy = y[v];
+                double fx = 0d;
+                double fy = 0d;
+
+                // repulsive forces of magnitude k^2/d
+                int top = 0;
+                stack[top++] = 0;
+                while (top > 0) {
+                    int node = stack[--top];
+                    double dx = vx - tree.centerX[node];
+                    double dy = vy - tree.centerY[node];
+                    double d2 = dx * dx + dy * dy;
+                    int child = tree.children[4 * node];
+                    if (child == -1) {
+                        for (int p = tree.from[node]; p < tree.to[node]; p++) {
+                            int u = tree.order[p];
+                            double ux = vx - x[u];
+                            double uy = vy - y[u];
+                            double ud2 = ux * ux + uy * uy;
+                            if (ud2 > 0d) {
+                                fx += ux * k2 / ud2;
+                                fy += uy * k2 / ud2;
+                            }
+                        }
+                    } else if (tree.side[node] * tree.side[node] < theta2 * d2) {
+                        double mass = tree.to[node] - tree.from[node];
+                        fx += mass * dx * k2 / d2;
+                        fy += mass * dy * k2 / d2;
+                    } else {
+                        for (int c = 0; c < 4; c++) {
+                            child = tree.children[4 * node + c];
+                            if (child != -1) {
+                                stack[top++] = child;
+                            }
+                        }
+                    }
+                }
+
+                // attractive forces of magnitude d^2/k
+                for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                    int u = targets[j];
+                    double dx = vx - x[u];
+                    double dy = vy - y[u];
+                    double d = Math.sqrt(dx * dx + dy * dy);
+                    fx -= dx * d / k;
+                    fy -= dy * d / k;
+                }
+
+                dispX[v] = fx;
+                dispY[v] = fy;
+            }
+        });
+
+        // limit the displacement by the temperature
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+            double length = Math.sqrt(dispX[v] * dispX[v] + dispY[v] * dispY[v]);
+            if (length > 0d) {
+                double scale = Math.min(length, t) / length;
+                x[v] += dispX[v] * scale;
+                y[v] += dispY[v] * scale;
+            }
+        });
+    }
+
+    /**
+     * Write the layout of a level to the model, placing every vertex at the position of its
+     * representative in that level.
+     */
+    private void publish(
+        List<Level> levels, int level, double[] x, double[] y, List<V> vertices,
+        LayoutModel2D<V> model)
+    {
+        int n = vertices.size();
+        int m = levels.get(level).n;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < m; v++) {
+            minX = Math.min(minX, x[v]);
+            minY = Math.min(minY, y[v]);
+            maxX = Math.max(maxX, x[v]);
+            maxY = Math.max(maxY, y[v]);
+        }
+
+        Box2D area = model.getDrawableArea();
+        double width = maxX - minX;
+        double height = maxY - minY;
+        double scale = Math.min(
+            width > 0d ? area.getWidth() / width : Double.POSITIVE_INFINITY,
+            height > 0d ? area.getHeight() / height : Double.POSITIVE_INFINITY);
+        if (Double.isInfinite(scale)) {
+            scale = 0d;
+        }
+        double offsetX = area.getMinX() + (area.getWidth() - width * scale) / 2d;
+        double offsetY = area.getMinY() + (area.getHeight() - height * scale) / 2d;
+
+        for (int v = 0; v < n; v++) {
+            int r = v;
+            for (int l = 0; l < level; l++) {
+                r = levels.get(l).parent[r];
+            }
+            model
+                .put(
+                    vertices.get(v),
+                    Point2D.of(offsetX + (x[r] - minX) * scale, offsetY + (y[r] - minY) * scale));
+        }
+    }
+
+    /**
+     * Translate and scale positions such that their mean distance from the center is the square
+     * root of their number, as in a layout with unit natural edge length.
+     */
+    private static void normalize(double[] x, double[] y, int n)
+    {
+        double meanX = 0d;
+        double meanY = 0d;
+        for (int v = 0; v < n; v++) {
+            meanX += x[v] / n;
+            meanY += y[v] / n;
+        }
+        double spread = 0d;
+        for (int v = 0; v < n; v++) {
+            spread += Math.hypot(x[v] - meanX, y[v] - meanY) / n;
+        }
+        double scale = spread > 0d ? Math.sqrt(n) / spread : 1d;
+        for (int v = 0; v < n; v++) {
+            x[v] = (x[v] - meanX) * scale;
+            y[v] = (y[v] - meanY) * scale;
+        }
+    }
+
+    /**
+     * A graph of the multilevel hierarchy.
+     */
+    private static class Level
+    {
+        final int n;
+        final int[] offsets;
+        final int[] targets;
+        /**
+         * The vertex of the next coarser level every vertex is contracted into
+         */
+        int[] parent;
+
+        Level(int[] offsets, int[] targets)
+        {
+            this.n = offsets.length - 1;
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        /**
+         * Contract a maximal matching which prefers neighbors of low degree.
+         *
+         * @return the coarser level, or null if it would not be substantially smaller
+         */
+        Level coarsen(Random rng)
+        {
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                int j = rng.nextInt(i + 1);
+                order[i] = order[j];
+                order[j] = i;
+            }
+            int[] mate = new int[n];
+            Arrays.fill(mate, -1);
+            for (int v : order) {
+                if (mate[v] != -1) {
+                    continue;
+                }
+                int best = v;
+                int bestDegree = Integer.MAX_VALUE;
+                for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                    int u = targets[j];
+                    int degree = offsets[u + 1] - offsets[u];
+                    if (mate[u] == -1 && degree < bestDegree) {
+                        best = u;
+                        bestDegree = degree;
+                    }
+                }
+                mate[v] = best;
+                mate[best] = v;
+            }
+
+            int[] parent = new int[n];
+            Arrays.fill(parent, -1);
+            int m = 0;
+            for (int v = 0; v < n; v++) {
+                if (parent[v] == -1) {
+                    parent[v] = m;
+                    parent[mate[v]] = m;
+                    m++;
+                }
+            }
+            if (m > MIN_COARSENING_RATIO * n) {
+                return null;
+            }
+
+            // merge the neighborhoods of matched vertices
+            int[] first = new int[m];
+            Arrays.fill(first, -1);
+            for (int v = 0; v < n; v++) {
+                if (first[parent[v]] == -1) {
+                    first[parent[v]] = v;
+                }
+            }
+            int[] marker = new int[m];
+            Arrays.fill(marker, -1);
+            int[] coarseOffsets = new int[m + 1];
+            int[] coarseTargets = new int[targets.length];
+            int size = 0;
+            for (int c = 0; c < m; c++) {
+                marker[c] = c;
+                int v = first[c];
+                for (int w : new int[] { v, mate[v] }) {
+                    for (int j = offsets[w]; j < offsets[w + 1]; j++) {
+                        int d = parent[targets[j]];
+                        if (marker[d] != c) {
+                            marker[d] = c;
+                            coarseTargets[size++] = d;
+                        }
+                    }
+                    if (mate[v] == v) {
+                        break;
+                    }
+                }
+                coarseOffsets[c + 1] = size;
+            }
+
+            this.parent = parent;
+            return new Level(coarseOffsets, Arrays.copyOf(coarseTargets, size));
+        }
+    }
+
+    /**
+     * A quadtree over points stored in primitive arrays. Every node stores the center of mass and
+     * the side of its cell, and leaves store a range of the point order.
+     */
+    private static class QuadTree
+    {
+        final int[] order;
+        int[] children;
+        int[] from;
+        int[] to;
+        double[] centerX;
+        double[] centerY;
+        double[] side;
+        int size;
+
+        QuadTree(double[] x, double[] y, int n)
+        {
+            this.order = new int[n];
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int v = 0; v < n; v++) {
+                order[v] = v;
+                minX = Math.min(minX, x[v]);
+                minY = Math.min(minY, y[v]);
+                maxX = Math.max(maxX, x[v]);
+                maxY = Math.max(maxY, y[v]);
+            }
+            int capacity = Math.max(16, n / 2);
+            this.children = new int[4 * capacity];
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.centerX = new double[capacity];
+            this.centerY = new double[capacity];
+            this.side = new double[capacity];
+            build(x, y, 0, n, minX, minY, Math.max(maxX - minX, maxY - minY), 0);
+        }
+
+        private int build(
+            double[] x, double[] y, int lo, int hi, double minX, double minY, double cellSide,
+            int depth)
+        {
+            int node = size++;
+            if (node == from.length) {
+                int capacity = 2 * node;
+                children = Arrays.copyOf(children, 4 * capacity);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                centerX = Arrays.copyOf(centerX, capacity);
+                centerY = Arrays.copyOf(centerY, capacity);
+                side = Arrays.copyOf(side, capacity);
+            }
+            from[node] = lo;
+            to[node] = hi;
+            side[node] = cellSide;
+            Arrays.fill(children, 4 * node, 4 * node + 4, -1);
+
+            if (hi - lo <= LEAF_SIZE || depth == MAX_DEPTH) {
+                double sumX = 0d;
+                double sumY = 0d;
+                for (int p = lo; p < hi; p++) {
+                    sumX += x[order[p]];
+                    sumY += y[order[p]];
+                }
+                centerX[node] = sumX / (hi - lo);
+                centerY[node] = sumY / (hi - lo);
+                return node;
+            }
+
+            // partition into the four quadrants
+            double half = cellSide / 2d;
+            double midX = minX + half;
+            double midY = minY + half;
+            int midSplit = partition(y, lo, hi, midY);
+            int[] bounds = { lo, partition(x, lo, midSplit, midX), midSplit,
+                partition(x, midSplit, hi, midX), hi };
+
+            double sumX = 0d;
+            double sumY = 0d;
+            for (int q = 0; q < 4; q++) {
+                if (bounds[q] < bounds[q + 1]) {
+                    int child = build(
+                        x, y, bounds[q], bounds[q + 1], (q & 1) == 0 ? minX : midX,
+                        q < 2 ? minY : midY, half, depth + 1);
+                    children[4 * node + q] = child;
+                    double mass = bounds[q + 1] - bounds[q];
+                    sumX += centerX[child] * mass;
+                    sumY += centerY[child] * mass;
+                }
+            }
+            centerX[node] = sumX / (hi - lo);
+            centerY[node] = sumY / (hi - lo);
+            return node;
+        }
+
+        /**
+         * Reorder a range of the point order such that points with coordinate less than the pivot
+         * come first.
+         *
+         * @return the start of the points with coordinate at least the pivot
+         */
+        private int partition(double[] coordinate, int lo, int hi, double pivot)
+        {
+            int i = lo;
+            int j = hi - 1;
+            while (i <= j) {
+                if (coordinate[order[i]] < pivot) {
+                    i++;
+                } else {
+                    int t = order[i];
+                    order[i] = order[j];
+                    order[j] = t;
+                    j--;
+                }
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.independentset;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.clique.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Calculates a <a href = "http://mathworld.wolfram.com/MaximumIndependentVertexSet.html">maximum
+ * cardinality independent set</a> in a general graph, using branch and bound.
+ *
+ * <p>
+ * An independent set of a graph is a clique of its complement. The graph is first reduced by
+ * repeatedly taking vertices of degree at most one into the independent set, which is always
+ * optimal, and removing their neighbors. The remaining graph is split into its connected
+ * components. For every component, the adjacency matrix of the complement is built as bitsets and
+ * a maximum clique is computed with a {@link BitsetMaxCliqueSolver}, without materializing the
+ * complement as a graph. Since a component with $k$ vertices requires $k^2$ bits, this
+ * implementation is suited for graphs whose components after the reduction have up to a few tens
+ * of thousands of vertices. The problem is NP-hard and the running time is exponential in the
+ * worst case.
+ *
+ * <p>
+ * Edge directions, self-loops and multiple edges are ignored. If a {@link ForkJoinPool} is given,
+ * the search for every component runs in parallel. A timeout can be set using the constructor
+ * parameters, in which case the best independent set found until the time limit is returned and
+ * {@link #isTimeLimitReached()} returns true.
+ *
+ * <p>
+ * The computation is performed on the first call of {@link #getIndependentSet()}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see BranchAndBoundMaxCliqueFinder
+ */
+public class BranchAndBoundIndependentSetFinder<V, E>
+    implements
+    IndependentSetAlgorithm<V>
+{
+    private final Graph<V, E> graph;
+    private final long nanos;
+    private final ForkJoinPool pool;
+
+    private IndependentSet<V> maximumIndependentSet;
+    private boolean timeLimitReached;
+
+    /**
+     * Creates a new sequential independent set finder without a timeout.
+     *
+     * @param graph the input graph
+     */
+    public BranchAndBoundIndependentSetFinder(Graph<V, E> graph)
+    {
+        this(graph, 0L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a new sequential independent set finder.
+     *
+     * @param graph the input graph
+     * @param timeout the maximum time to wait, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     */
+    public BranchAndBoundIndependentSetFinder(Graph<V, E> graph, long timeout, TimeUnit unit)
+    {
+        this(graph, timeout, unit, null);
+    }
+
+    /**
+     * Creates a new independent set finder.
+     *
+     * @param graph the input graph
+     * @param timeout the maximum time to wait, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     * @param pool the pool to use for the parallel computation, or null for a sequential
+     *        computation
+     */
+    public BranchAndBoundIndependentSetFinder(
+        Graph<V, E> graph, long timeout, TimeUnit unit, ForkJoinPool pool)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (timeout < 0L) {
+            throw new IllegalArgumentException("Invalid timeout, must be non-negative");
+        }
+        this.nanos = timeout == 0L ? Long.MAX_VALUE
+            : Objects.requireNonNull(unit, "Unit cannot be null").toNanos(timeout);
+        this.pool = pool;
+    }
+
+    @Override
+    public IndependentSet<V> getIndependentSet()
+    {
+        lazyCompute();
+        return maximumIndependentSet;
+    }
+
+    /**
+     * Check the computation has stopped due to time limit reached. In that case the independent
+     * set returned by {@link #getIndependentSet()} is the largest one found, but not necessarily a
+     * maximum independent set.
+     *
+     * @return true if the computation has stopped due to time limit reached, false otherwise
+     */
+    public boolean isTimeLimitReached()
+    {
+        lazyCompute();
+        return timeLimitReached;
+    }
+
+    private void lazyCompute()
+    {
+        if (maximumIndependentSet != null) {
+            return;
+        }
+
+        long nanosTimeLimit;
+        try {
+            nanosTimeLimit = Math.addExact(System.nanoTime(), nanos);
+        } catch (ArithmeticException ignore) {
+            nanosTimeLimit = Long.MAX_VALUE;
+        }
+
+        IntegerAdjacency<V, E> adjacency = IntegerAdjacency.simple(graph);
+        int n = adjacency.vertexCount();
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        Set<V> independentSet = new HashSet<>();
+
+        // take vertices of degree zero or one
+        boolean[] removed = new boolean[n];
+        int[] degree = new int[n];
+        Deque<Integer> stack = new ArrayDeque<>();
+        for (int v = 0; v < n; v++) {
+            degree[v] = offsets[v + 1] - offsets[v];
+            if (degree[v] <= 1) {
+                stack.push(v);
+            }
+        }
+        while (!stack.isEmpty()) {
+            int v = stack.pop();
+            if (removed[v] || degree[v] > 1) {
+                continue;
+            }
+            independentSet.add(adjacency.getVertex(v));
+            removed[v] = true;
+            if (degree[v] == 0) {
+                continue;
+            }
+            int u = -1;
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                if (!removed[targets[j]]) {
+                    u = targets[j];
+                }
+            }
+            removed[u] = true;
+            for (int j = offsets[u]; j < offsets[u + 1]; j++) {
+                int x = targets[j];
+                if (!removed[x] && --degree[x] <= 1) {
+                    stack.push(x);
+                }
+            }
+        }
+
+        // solve the remaining components independently
+        boolean[] visited = removed.clone();
+        for (int s = 0; s < n; s++) {
+            if (visited[s]) {
+                continue;
+            }
+            List<Integer> component = new ArrayList<>();
+            visited[s] = true;
+            stack.push(s);
+            while (!stack.isEmpty()) {
+                int v = stack.pop();
+                component.add(v);
+                for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                    if (!visited[targets[j]]) {
+                        visited[targets[j]] = true;
+                        stack.push(targets[j]);
+                    }
+                }
+            }
+            int[] local = component.stream().mapToInt(Integer::intValue).sorted().toArray();
+
+            long remaining = Math.max(1L, nanosTimeLimit - System.nanoTime());
+            BitsetMaxCliqueSolver solver = new BitsetMaxCliqueSolver(
+                complementAdjacency(adjacency, local, removed),
+                nanosTimeLimit == Long.MAX_VALUE ? 0L : remaining, TimeUnit.NANOSECONDS, pool);
+            for (int i : solver.solve()) {
+                independentSet.add(adjacency.getVertex(local[i]));
+            }
+            timeLimitReached |= solver.isTimeLimitReached();
+        }
+
+        maximumIndependentSet = new IndependentSetImpl<>(independentSet);
+    }
+
+    /**
+     * Compute the adjacency matrix of the complement of the subgraph induced by a sorted array of
+     * vertices.
+     */
+    private long[][] complementAdjacency(
+        IntegerAdjacency<V, E> adjacency, int[] local, boolean[] removed)
+    {
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        int size = local.length;
+        int words = (size + 63) >>> 6;
+        long[][] rows = new long[size][words];
+        for (int i = 0; i < size; i++) {
+            long[] row = rows[i];
+            Arrays.fill(row, -1L);
+            if ((size & 63) != 0) {
+                row[words - 1] = (1L << size) - 1;
+            }
+            row[i >>> 6] &= ~(1L << i);
+            int u = local[i];
+            for (int j = offsets[u]; j < offsets[u + 1]; j++) {
+                if (!removed[targets[j]]) {
+                    int k = Arrays.binarySearch(local, targets[j]);
+                    row[k >>> 6] &= ~(1L << k);
+                }
+            }
+        }
+        return rows;
+    }
+}
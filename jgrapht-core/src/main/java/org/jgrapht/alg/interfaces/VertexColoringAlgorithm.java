@@ -17,6 +17,8 @@
  */
 package org.jgrapht.alg.interfaces;
 
+import org.jgrapht.util.*;
+
 import java.io.*;
 import java.util.*;
 
@@ -138,4 +140,171 @@ public interface VertexColoringAlgorithm<V>
         }
     }
 
+    /**
+     * Implementation of the coloring interface backed by an array of colors, indexed by a vertex
+     * numbering. The color map returned by {@link #getColors()} is an unmodifiable view of the
+     * array.
+     *
+     * @param <V> the graph vertex type
+     */
+    class IntArrayColoringImpl<V>
+        implements
+        Coloring<V>
+    {
+        private final VertexToIntegerMapping<V> mapping;
+        private final int[] colors;
+        private final int numberColors;
+        private Map<V, Integer> colorMap;
+
+        /**
+         * Construct a new vertex coloring.
+         *
+         * @param mapping the vertex numbering
+         * @param colors the color of every vertex, indexed by the vertex numbering
+         * @param numberColors the total number of colors used
+         */
+        public IntArrayColoringImpl(
+            VertexToIntegerMapping<V> mapping, int[] colors, int numberColors)
+        {
+            this.mapping = Objects.requireNonNull(mapping);
+            this.colors = Objects.requireNonNull(colors);
+            this.numberColors = numberColors;
+            if (colors.length != mapping.getIndexList().size()) {
+                throw new IllegalArgumentException("Colors do not match the vertex numbering");
+            }
+        }
+
+        /**
+         * Get the vertex numbering of the color array.
+         *
+         * @return the vertex numbering
+         */
+        public VertexToIntegerMapping<V> getVertexToIntegerMapping()
+        {
+            return mapping;
+        }
+
+        /**
+         * Get the color of every vertex, indexed by the vertex numbering. The returned array must
+         * not be modified.
+         *
+         * @return the color of every vertex
+         */
+        public int[] getColorArray()
+        {
+            return colors;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getNumberColors()
+        {
+            return numberColors;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<V, Integer> getColors()
+        {
+            if (colorMap == null) {
+                colorMap = new ColorMap();
+            }
+            return colorMap;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public List<Set<V>> getColorClasses()
+        {
+            List<Set<V>> classes = new ArrayList<>(numberColors);
+            for (int c = 0; c < numberColors; c++) {
+                classes.add(new HashSet<>());
+            }
+            List<V> vertices = mapping.getIndexList();
+            for (int v = 0; v < colors.length; v++) {
+                classes.get(colors[v]).add(vertices.get(v));
+            }
+            classes.removeIf(Set::isEmpty);
+            return classes;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString()
+        {
+            return "Coloring [number-of-colors=" + numberColors + ", colors=" + getColors() + "]";
+        }
+
+        private class ColorMap
+            extends
+            AbstractMap<V, Integer>
+        {
+            @Override
+            public Integer get(Object key)
+            {
+                Integer index = mapping.getVertexMap().get(key);
+                return index == null ? null : colors[index];
+            }
+
+            @Override
+            public boolean containsKey(Object key)
+            {
+                return mapping.getVertexMap().containsKey(key);
+            }
+
+            @Override
+            public int size()
+            {
+                return colors.length;
+            }
+
+            @Override
+            public Set<Entry<V, Integer>> entrySet()
+            {
+                return new AbstractSet<Entry<V, Integer>>()
+                {
+                    @Override
+                    public Iterator<Entry<V, Integer>> iterator()
+                    {
+                        return new Iterator<Entry<V, Integer>>()
+                        {
+                            private int next = 0;
+
+                            @Override
+                            public boolean hasNext()
+                            {
+                                return next < colors.length;
+                            }
+
+                            @Override
+                            public Entry<V, Integer> next()
+                            {
+                                if (next >= colors.length) {
+                                    throw new NoSuchElementException();
+                                }
+                                int v = next++;
+                                return new SimpleImmutableEntry<>(
+                                    mapping.getIndexList().get(v), colors[v]);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size()
+                    {
+                        return colors.length;
+                    }
+                };
+            }
+        }
+    }
+
 }
@@ -0,0 +1,460 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.color.*;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * Canonical labeling of a graph by individualization-refinement.
+ *
+ * <p>
+ * A canonical labeling assigns the labels $0, \dots, n-1$ to the vertices of a graph such that two
+ * graphs are isomorphic if and only if they are identical after relabeling. This allows to test a
+ * whole collection of graphs for isomorphism by computing a canonical form once per graph and
+ * comparing or hashing the forms, instead of running an isomorphism test for every pair of graphs.
+ *
+ * <p>
+ * The implementation follows the individualization-refinement scheme of nauty, Traces and bliss:
+ * <ul>
+ * <li>Brendan D. McKay and Adolfo Piperno. Practical graph isomorphism, II. Journal of Symbolic
+ * Computation, 60:94–112, 2014.</li>
+ * <li>Tommi Junttila and Petteri Kaski. Engineering an efficient canonical labeling tool for large
+ * and sparse graphs. In Proceedings of the Ninth Workshop on Algorithm Engineering and Experiments
+ * (ALENEX), 135–149, 2007.</li>
+ * </ul>
+ * The vertex coloring is refined to the coarsest stable coloring by {@link IntegerColorRefinement},
+ * whose colors are canonical. If the result is not discrete, every vertex of the first color class
+ * with more than one vertex is individualized in turn, i.e. it receives a new color, and the search
+ * continues on the refined coloring. Every leaf of this search tree is a discrete coloring and thus
+ * a labeling of the graph. The canonical labeling is the one whose relabeled graph, the
+ * certificate, is lexicographically smallest. Leaves with equal certificates reveal automorphisms
+ * of the graph, which are used to skip children of a search node which lie in the same orbit of the
+ * automorphisms fixing the individualized vertices.
+ *
+ * <p>
+ * The worst-case running time is exponential, but the search tree of most graphs is tiny. The
+ * implementation targets collections of small and medium sized graphs, such as molecular graphs.
+ * Directed graphs, self-loops and multiple edges are supported. Vertex labels can be taken into
+ * account by an initial coloring: isomorphisms must then map every vertex to a vertex of the same
+ * color. Edge labels are ignored. The computation is performed on the first call of any query
+ * method.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ColorRefinementAlgorithm
+ * @see ColorRefinementIsomorphismInspector
+ */
+public class CanonicalGraphLabeling<V, E>
+{
+    private final Graph<V, E> graph;
+    private final Coloring<V> alpha;
+
+    private List<V> vertices;
+    private IntegerColorRefinement refinement;
+    private int[] initialColors;
+    private int[] edgeSources;
+    private int[] edgeTargets;
+    private int[] path;
+    private List<int[]> automorphisms;
+
+    private int[] firstLabels;
+    private long[] firstCertificate;
+    private int[] bestLabels;
+    private long[] bestCertificate;
+
+    /**
+     * Create a new canonical labeling where all vertices have the same initial color.
+     *
+     * @param graph the input graph
+     */
+    public CanonicalGraphLabeling(Graph<V, E> graph)
+    {
+        this(graph, null);
+    }
+
+    /**
+     * Create a new canonical labeling with an initial vertex coloring. The initial coloring must be
+     * a surjective coloring with colors $0, \dots, k-1$. Isomorphisms must map every vertex to a
+     * vertex with the same initial color, thus colors of different graphs are compared by their
+     * value.
+     *
+     * @param graph the input graph
+     * @param alpha the initial coloring, or null to use the same color for all vertices
+     * @throws IllegalArgumentException if the graph is mixed
+     */
+    public CanonicalGraphLabeling(Graph<V, E> graph, Coloring<V> alpha)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (graph.getType().isMixed()) {
+            throw new IllegalArgumentException("mixed graphs not supported");
+        }
+        this.alpha = alpha;
+    }
+
+    /**
+     * Get the vertices of the graph in canonical order, i.e. the vertex with label $i$ at position
+     * $i$.
+     *
+     * @return the vertices in canonical order
+     */
+    public List<V> getCanonicalOrdering()
+    {
+        lazyCompute();
+        V[] result = TypeUtil.uncheckedCast(new Object[vertices.size()]);
+        for (int v = 0; v < bestLabels.length; v++) {
+            result[bestLabels[v]] = vertices.get(v);
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    /**
+     * Get the canonical label of every vertex.
+     *
+     * @return the canonical label of every vertex
+     */
+    public Map<V, Integer> getCanonicalLabeling()
+    {
+        lazyCompute();
+        Map<V, Integer> result = CollectionUtil.newHashMapWithExpectedSize(vertices.size());
+        for (int v = 0; v < bestLabels.length; v++) {
+            result.put(vertices.get(v), bestLabels[v]);
+        }
+        return result;
+    }
+
+    /**
+     * Get the certificate of the graph. The certificate encodes the graph relabeled by the
+     * canonical labeling, including the initial colors. Two graphs are isomorphic if and only if
+     * their certificates are equal.
+     *
+     * @return the certificate of the graph
+     */
+    public long[] getCertificate()
+    {
+        lazyCompute();
+        return bestCertificate.clone();
+    }
+
+    /**
+     * Get a 128-bit hash of the certificate as two 64-bit values. The hash is stable, i.e. it
+     * depends only on the isomorphism class of the graph and not on the JVM or the vertex and edge
+     * objects. Isomorphic graphs always have the same hash.
+     *
+     * @return the hash of the certificate, as an array of length two
+     */
+    public long[] getHash()
+    {
+        lazyCompute();
+        long h1 = 0x9E3779B97F4A7C15L ^ bestCertificate.length;
+        long h2 = 0xC2B2AE3D27D4EB4FL ^ bestCertificate.length;
+        for (long x : bestCertificate) {
+            h1 = Long.rotateLeft(h1 ^ MathUtil.mix64(x), 27) * 0x9E3779B97F4A7C15L + 0x52DCE729L;
+            h2 = Long.rotateLeft(h2 ^ MathUtil.mix64(x + 0x632BE59BD9B4E019L), 31)
+                * 0xC2B2AE3D27D4EB4FL + 0x38495AB5L;
+        }
+        return new long[] { MathUtil.mix64(h1 ^ (h2 >>> 1)), MathUtil.mix64(h2 ^ (h1 << 1)) };
+    }
+
+    /**
+     * Get the 128-bit hash of the certificate as a string of 32 hexadecimal digits.
+     *
+     * @return the hash of the certificate
+     * @see #getHash()
+     */
+    public String getHashString()
+    {
+        long[] hash = getHash();
+        return String.format("%016x%016x", hash[0], hash[1]);
+    }
+
+    /**
+     * Get the automorphisms of the graph discovered during the search. The automorphisms generate
+     * a subgroup of the automorphism group of the graph. Each automorphism is a map from every
+     * vertex to its image.
+     *
+     * @return the automorphisms discovered during the search
+     */
+    public List<Map<V, V>> getAutomorphisms()
+    {
+        lazyCompute();
+        List<Map<V, V>> result = new ArrayList<>(automorphisms.size());
+        for (int[] gamma : automorphisms) {
+            Map<V, V> map = CollectionUtil.newHashMapWithExpectedSize(gamma.length);
+            for (int v = 0; v < gamma.length; v++) {
+                map.put(vertices.get(v), vertices.get(gamma[v]));
+            }
+            result.add(map);
+        }
+        return result;
+    }
+
+    private void lazyCompute()
+    {
+        if (bestLabels != null) {
+            return;
+        }
+
+        VertexToIntegerMapping<V> mapping = Graphs.getVertexToIntegerMapping(graph);
+        vertices = mapping.getIndexList();
+        Map<V, Integer> index = mapping.getVertexMap();
+        int n = vertices.size();
+
+        initialColors = new int[n];
+        int numColors = n == 0 ? 0 : 1;
+        if (alpha != null) {
+            numColors = alpha.getNumberColors();
+            for (int v = 0; v < n; v++) {
+                Integer c = alpha.getColors().get(vertices.get(v));
+                if (c == null) {
+                    throw new IllegalArgumentException("alpha must color every vertex");
+                }
+                initialColors[v] = c;
+            }
+        }
+
+        int m = graph.edgeSet().size();
+        edgeSources = new int[m];
+        edgeTargets = new int[m];
+        int j = 0;
+        for (E e : graph.edgeSet()) {
+            edgeSources[j] = index.get(graph.getEdgeSource(e));
+            edgeTargets[j] = index.get(graph.getEdgeTarget(e));
+            j++;
+        }
+
+        refinement = new IntegerColorRefinement(
+            IntegerAdjacency.of(graph, mapping, IntegerAdjacency.Direction.INCOMING, true)
+                .toSorted(true));
+        path = new int[n];
+        automorphisms = new ArrayList<>();
+        int[] colors = n == 0 ? initialColors : refine(initialColors, numColors);
+        search(colors, numberOfColors(colors), 0);
+    }
+
+    /**
+     * Explore the search tree below a node, given by its equitable coloring.
+     */
+    private void search(int[] colors, int numColors, int depth)
+    {
+        int n = colors.length;
+        if (numColors == n) {
+            leaf(colors);
+            return;
+        }
+
+        // target cell is the first color class with more than one vertex
+        int[] sizes = new int[numColors];
+        for (int c : colors) {
+            sizes[c]++;
+        }
+        int target = 0;
+        while (sizes[target] == 1) {
+            target++;
+        }
+
+        int[] explored = new int[sizes[target]];
+        int numExplored = 0;
+        int[] orbits = null;
+        int numAutomorphisms = -1;
+        for (int w = 0; w < n; w++) {
+            if (colors[w] != target) {
+                continue;
+            }
+            if (numExplored > 0) {
+                if (numAutomorphisms != automorphisms.size()) {
+                    numAutomorphisms = automorphisms.size();
+                    orbits = stabilizerOrbits(depth);
+                }
+                if (orbits != null && isInExploredOrbit(orbits, w, explored, numExplored)) {
+                    continue;
+                }
+            }
+
+            int[] child = colors.clone();
+            child[w] = numColors;
+            child = refine(child, numColors + 1);
+            path[depth] = w;
+            search(child, numberOfColors(child), depth + 1);
+            explored[numExplored++] = w;
+        }
+    }
+
+    private void leaf(int[] labels)
+    {
+        long[] certificate = certificate(labels);
+        if (firstLabels == null) {
+            firstLabels = labels;
+            firstCertificate = certificate;
+            bestLabels = labels;
+            bestCertificate = certificate;
+            return;
+        }
+
+        if (Arrays.equals(certificate, firstCertificate)) {
+            addAutomorphism(firstLabels, labels);
+            return;
+        }
+        int cmp = compare(certificate, bestCertificate);
+        if (cmp == 0) {
+            addAutomorphism(bestLabels, labels);
+        } else if (cmp < 0) {
+            bestLabels = labels;
+            bestCertificate = certificate;
+        }
+    }
+
+    /**
+     * Two labelings with the same certificate differ by the automorphism which maps every vertex
+     * to the vertex with the same label in the other labeling.
+     */
+    private void addAutomorphism(int[] labels, int[] otherLabels)
+    {
+        int n = labels.length;
+        int[] vertexOf = new int[n];
+        for (int v = 0; v < n; v++) {
+            vertexOf[labels[v]] = v;
+        }
+        int[] gamma = new int[n];
+        boolean identity = true;
+        for (int v = 0; v < n; v++) {
+            gamma[v] = vertexOf[otherLabels[v]];
+            identity &= gamma[v] == v;
+        }
+        if (!identity) {
+            automorphisms.add(gamma);
+        }
+    }
+
+    /**
+     * Compute the orbits of the group generated by the known automorphisms which fix the
+     * individualized vertices of the current search node.
+     *
+     * @return the orbit representative of every vertex, or null if no automorphism applies
+     */
+    private int[] stabilizerOrbits(int depth)
+    {
+        AtomicIntegerUnionFind orbits = null;
+        int n = path.length;
+        for (int[] gamma : automorphisms) {
+            boolean fixes = true;
+            for (int i = 0; i < depth && fixes; i++) {
+                fixes = gamma[path[i]] == path[i];
+            }
+            if (!fixes) {
+                continue;
+            }
+            if (orbits == null) {
+                orbits = new AtomicIntegerUnionFind(n);
+            }
+            for (int v = 0; v < n; v++) {
+                if (gamma[v] != v) {
+                    orbits.union(v, gamma[v]);
+                }
+            }
+        }
+        if (orbits == null) {
+            return null;
+        }
+        int[] result = new int[n];
+        for (int v = 0; v < n; v++) {
+            result[v] = orbits.find(v);
+        }
+        return result;
+    }
+
+    private static boolean isInExploredOrbit(int[] orbits, int w, int[] explored, int numExplored)
+    {
+        for (int i = 0; i < numExplored; i++) {
+            if (orbits[explored[i]] == orbits[w]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The certificate consists of the graph type, the number of vertices and edges, the initial
+     * color of every label and the sorted edges encoded by the labels of their endpoints.
+     */
+    private long[] certificate(int[] labels)
+    {
+        int n = labels.length;
+        int m = edgeSources.length;
+        boolean directed = graph.getType().isDirected();
+
+        long[] edges = new long[m];
+        for (int j = 0; j < m; j++) {
+            long s = labels[edgeSources[j]];
+            long t = labels[edgeTargets[j]];
+            if (!directed && s > t) {
+                long tmp = s;
+                s = t;
+                t = tmp;
+            }
+            edges[j] = s * n + t;
+        }
+        Arrays.sort(edges);
+
+        long[] result = new long[3 + n + m];
+        result[0] = directed ? 1 : 0;
+        result[1] = n;
+        result[2] = m;
+        for (int v = 0; v < n; v++) {
+            result[3 + labels[v]] = initialColors[v];
+        }
+        System.arraycopy(edges, 0, result, 3 + n, m);
+        return result;
+    }
+
+    private static int compare(long[] a, long[] b)
+    {
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            int cmp = Long.compare(a[i], b[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(a.length, b.length);
+    }
+
+    /**
+     * Refine a coloring to the coarsest stable coloring. The colors of the result are canonical.
+     */
+    private int[] refine(int[] colors, int numColors)
+    {
+        int[] result = colors.clone();
+        refinement.refine(result, numColors);
+        return result;
+    }
+
+    private static int numberOfColors(int[] colors)
+    {
+        int max = -1;
+        for (int c : colors) {
+            max = Math.max(max, c);
+        }
+        return max + 1;
+    }
+}
@@ -0,0 +1,893 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Subgraph isomorphism inspector using the matching order and pruning rules of VF2++, for large
+ * host graphs and many small patterns.
+ *
+ * <p>
+ * The inspector finds the same mappings as {@link VF2SubgraphIsomorphismInspector}, that is the
+ * isomorphisms between the second graph (the pattern) and the
+ * <a href="http://mathworld.wolfram.com/Vertex-InducedSubgraph.html">induced subgraphs</a> of
+ * the first graph (the host). The matching order follows
+ * <ul>
+ * <li>Alpár Jüttner and Péter Madarasi. VF2++ — An improved subgraph isomorphism algorithm.
+ * Discrete Applied Mathematics, 242:69--81, 2018.</li>
+ * </ul>
+ * The pattern vertices are ordered by a breadth-first search, which starts at a vertex whose label
+ * is rarest in the host graph and has maximum degree. Within every level of the search, the
+ * vertices with the most neighbors already in the order come first, ties are broken by degree and
+ * then by label frequency. Hence every pattern vertex except the roots of the search has a
+ * neighbor earlier in the order, and its candidates are the neighbors of the image of that
+ * neighbor. Candidates are pruned by their label, which is the equivalence class induced by the
+ * vertex comparator, by their degrees, and by comparing their adjacency to the already matched
+ * vertices. If some label occurs less often in the host graph than in the pattern, no search is
+ * performed at all.
+ *
+ * <p>
+ * Contrary to {@link VF2SubgraphIsomorphismInspector}, which only tests whether the vertex
+ * comparator returns zero, the vertex comparator must be a consistent total order. The labels are
+ * computed by sorting the host vertices once per comparator and searching the pattern vertices in
+ * the sorted classes. A comparator which is not antisymmetric, such as one returning a non-zero
+ * value for all unequal vertices, is rejected with an {@link IllegalArgumentException}. The edge
+ * comparator is only tested for zero.
+ *
+ * <p>
+ * Contrary to {@link VF2SubgraphIsomorphismInspector}, the host graph is stored as sorted integer
+ * adjacency lists instead of an adjacency matrix, so that memory is linear in the size of the
+ * host graph. The state of the search consists of the partial mapping and a position in the
+ * candidate list of every level. Mappings are produced on demand by {@link #getMappings()}, or
+ * streamed to a consumer by {@link #forEachMapping(Consumer, long, long, TimeUnit)} with an
+ * optional limit on the number of mappings and a timeout. If a {@link ForkJoinPool} is given, the
+ * candidates of the first pattern vertex are split among the worker threads, each of which runs an
+ * independent search. The preprocessing of the host graph can be shared by inspectors of different
+ * patterns, see {@link #withPattern(Graph)}.
+ *
+ * <p>
+ * This implementation does not support graphs with multiple (parallel) edges. The graphs must not
+ * be modified while the inspector is in use.
+ *
+ * @param <V> the type of the vertices
+ * @param <E> the type of the edges
+ *
+ * @see VF2SubgraphIsomorphismInspector
+ */
+public class VF2ppSubgraphIsomorphismInspector<V, E>
+    implements
+    IsomorphismInspector<V, E>
+{
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    private static final int UNMATCHED = -1;
+    private static final String NOT_TOTAL_ORDER =
+        "vertex comparator must be a consistent total order";
+
+    private final Host<V, E> host;
+    private final Graph<V, E> graph2;
+    private final Comparator<V> vertexComparator;
+    private final Comparator<E> edgeComparator;
+    private final ForkJoinPool pool;
+
+    private Plan plan;
+    private boolean timeLimitReached;
+
+    /**
+     * Construct a new sequential inspector.
+     *
+     * @param graph1 the first graph (the host)
+     * @param graph2 the second graph (the pattern, possible induced subgraph of graph1)
+     */
+    public VF2ppSubgraphIsomorphismInspector(Graph<V, E> graph1, Graph<V, E> graph2)
+    {
+        this(graph1, graph2, null, null);
+    }
+
+    /**
+     * Construct a new sequential inspector.
+     *
+     * @param graph1 the first graph (the host)
+     * @param graph2 the second graph (the pattern, possible induced subgraph of graph1)
+     * @param vertexComparator total order whose equivalence classes are the semantically
+     *        equivalent vertices, or null
+     * @param edgeComparator comparator for semantic equivalence of edges, or null
+     */
+    public VF2ppSubgraphIsomorphismInspector(
+        Graph<V, E> graph1, Graph<V, E> graph2, Comparator<V> vertexComparator,
+        Comparator<E> edgeComparator)
+    {
+        this(graph1, graph2, vertexComparator, edgeComparator, null);
+    }
+
+    /**
+     * Construct a new inspector.
+     *
+     * @param graph1 the first graph (the host)
+     * @param graph2 the second graph (the pattern, possible induced subgraph of graph1)
+     * @param vertexComparator total order whose equivalence classes are the semantically
+     *        equivalent vertices, or null
+     * @param edgeComparator comparator for semantic equivalence of edges, or null
+     * @param pool the pool to use for {@link #forEachMapping(Consumer, long, long, TimeUnit)}, or
+     *        null for a sequential search
+     */
+    public VF2ppSubgraphIsomorphismInspector(
+        Graph<V, E> graph1, Graph<V, E> graph2, Comparator<V> vertexComparator,
+        Comparator<E> edgeComparator, ForkJoinPool pool)
+    {
+        this(new Host<>(checkGraph(graph1)), graph2, vertexComparator, edgeComparator, pool);
+    }
+
+    private VF2ppSubgraphIsomorphismInspector(
+        Host<V, E> host, Graph<V, E> graph2, Comparator<V> vertexComparator,
+        Comparator<E> edgeComparator, ForkJoinPool pool)
+    {
+        checkGraph(graph2);
+        if (host.directed != graph2.getType().isDirected()) {
+            throw new IllegalArgumentException("can not match directed with undirected graphs");
+        }
+        this.host = host;
+        this.graph2 = graph2;
+        this.vertexComparator = vertexComparator;
+        this.edgeComparator = edgeComparator;
+        this.pool = pool;
+    }
+
+    /**
+     * Create an inspector for another pattern with the same host graph, comparators and pool. The
+     * preprocessing of the host graph is shared by both inspectors.
+     *
+     * @param pattern the new second graph (the pattern)
+     * @return an inspector for the new pattern
+     */
+    public VF2ppSubgraphIsomorphismInspector<V, E> withPattern(Graph<V, E> pattern)
+    {
+        return new VF2ppSubgraphIsomorphismInspector<>(
+            host, pattern, vertexComparator, edgeComparator, pool);
+    }
+
+    @Override
+    public Iterator<GraphMapping<V, E>> getMappings()
+    {
+        Plan p = plan();
+        if (!p.feasible) {
+            return Collections.emptyIterator();
+        }
+        if (p.k == 0) {
+            return Collections.singletonList(p.emptyMapping()).iterator();
+        }
+        State state = new State(
+            p, 0, p.staticCandidates[0].length, Long.MAX_VALUE, new AtomicBoolean());
+        return new Iterator<GraphMapping<V, E>>()
+        {
+            private Boolean hasNext;
+
+            @Override
+            public boolean hasNext()
+            {
+                if (hasNext == null) {
+                    hasNext = state.advance();
+                }
+                return hasNext;
+            }
+
+            @Override
+            public GraphMapping<V, E> next()
+            {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                hasNext = null;
+                return state.getMapping();
+            }
+        };
+    }
+
+    @Override
+    public boolean isomorphismExists()
+    {
+        return getMappings().hasNext();
+    }
+
+    /**
+     * Pass all mappings to a consumer, without storing them.
+     *
+     * @param consumer the consumer of the mappings
+     * @return the number of mappings
+     */
+    public long forEachMapping(Consumer<? super GraphMapping<V, E>> consumer)
+    {
+        return forEachMapping(consumer, Long.MAX_VALUE, 0L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Pass the mappings to a consumer, without storing them. The search stops after the given
+     * number of mappings, or when the time limit is reached, in which case
+     * {@link #isTimeLimitReached()} returns true afterwards. If a pool was given, the consumer is
+     * invoked concurrently from the worker threads and therefore must be thread-safe, and the
+     * mappings are reported in no particular order.
+     *
+     * @param consumer the consumer of the mappings
+     * @param maxMappings the maximum number of mappings to report
+     * @param timeout the maximum time to wait, if zero no timeout
+     * @param unit the time unit of the timeout argument
+     * @return the number of mappings passed to the consumer
+     * @throws IllegalArgumentException if the maximum number of mappings or the timeout is
+     *         negative
+     */
+    public long forEachMapping(
+        Consumer<? super GraphMapping<V, E>> consumer, long maxMappings, long timeout,
+        TimeUnit unit)
+    {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        if (maxMappings < 0L) {
+            throw new IllegalArgumentException("Invalid maximum number of mappings");
+        }
+        if (timeout < 0L) {
+            throw new IllegalArgumentException("Invalid timeout, must be non-negative");
+        }
+        long nanos = timeout == 0L ? Long.MAX_VALUE
+            : Objects.requireNonNull(unit, "Unit cannot be null").toNanos(timeout);
+        long nanosTimeLimit;
+        try {
+            nanosTimeLimit = Math.addExact(System.nanoTime(), nanos);
+        } catch (ArithmeticException ignore) {
+            nanosTimeLimit = Long.MAX_VALUE;
+        }
+        timeLimitReached = false;
+
+        Plan p = plan();
+        if (!p.feasible || maxMappings == 0L) {
+            return 0L;
+        }
+        if (p.k == 0) {
+            consumer.accept(p.emptyMapping());
+            return 1L;
+        }
+
+        AtomicLong count = new AtomicLong();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        AtomicBoolean stop = new AtomicBoolean();
+        final long limit = nanosTimeLimit;
+        ConcurrencyUtil.IntRangeConsumer body = (from, to) -> {
+            State state = new State(p, from, to, limit, timedOut);
+            while (!stop.get() && !timedOut.get() && state.advance()) {
+                long c = count.incrementAndGet();
+                if (c > maxMappings) {
+                    break;
+                }
+                if (c == maxMappings) {
+                    stop.set(true);
+                }
+                consumer.accept(state.getMapping());
+            }
+        };
+        int roots = p.staticCandidates[0].length;
+        if (pool == null) {
+            body.accept(0, roots);
+        } else {
+            ConcurrencyUtil.parallelForRanges(pool, 0, roots, body);
+        }
+        timeLimitReached = timedOut.get();
+        return Math.min(count.get(), maxMappings);
+    }
+
+    /**
+     * Check whether the last call of {@link #forEachMapping(Consumer, long, long, TimeUnit)}
+     * stopped due to the time limit.
+     *
+     * @return true if the time limit was reached, false otherwise
+     */
+    public boolean isTimeLimitReached()
+    {
+        return timeLimitReached;
+    }
+
+    private static <V, E> Graph<V, E> checkGraph(Graph<V, E> graph)
+    {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        GraphType type = graph.getType();
+        if (type.isAllowingMultipleEdges()) {
+            throw new IllegalArgumentException(
+                "graphs with multiple (parallel) edges are not supported");
+        }
+        if (type.isMixed()) {
+            throw new IllegalArgumentException("mixed graphs not supported");
+        }
+        return graph;
+    }
+
+    private Plan plan()
+    {
+        if (plan == null) {
+            plan = new Plan();
+        }
+        return plan;
+    }
+
+    /**
+     * Sorted adjacency lists of a graph, including self-loops.
+     */
+    private static class Host<V, E>
+    {
+        final Graph<V, E> graph;
+        final boolean directed;
+        final int n;
+        final IntegerAdjacency<V, E> out;
+        final IntegerAdjacency<V, E> in;
+        private Labels<V> labels;
+
+        Host(Graph<V, E> graph)
+        {
+            this.graph = graph;
+            this.directed = graph.getType().isDirected();
+            VertexToIntegerMapping<V> mapping = Graphs.getVertexToIntegerMapping(graph);
+            this.n = mapping.getIndexList().size();
+            this.out = IntegerAdjacency
+                .of(graph, mapping, IntegerAdjacency.Direction.OUTGOING, true).toSorted(true);
+            this.in = directed ? IntegerAdjacency
+                .of(graph, mapping, IntegerAdjacency.Direction.INCOMING, true).toSorted(true)
+                : out;
+        }
+
+        int outDegree(int v)
+        {
+            return out.degree(v);
+        }
+
+        int inDegree(int v)
+        {
+            return in.degree(v);
+        }
+
+        /**
+         * Find the edge from a to b.
+         *
+         * @return the edge, or null if there is no such edge
+         */
+        E getEdge(int a, int b)
+        {
+            int[] outOffsets = out.getOffsets();
+            int[] inOffsets = in.getOffsets();
+            if (outOffsets[a + 1] - outOffsets[a] <= inOffsets[b + 1] - inOffsets[b]) {
+                int j = Arrays.binarySearch(out.getTargets(), outOffsets[a], outOffsets[a + 1], b);
+                return j < 0 ? null : out.getEdgeList().get(out.getEdgeIndices()[j]);
+            }
+            int j = Arrays.binarySearch(in.getTargets(), inOffsets[b], inOffsets[b + 1], a);
+            return j < 0 ? null : in.getEdgeList().get(in.getEdgeIndices()[j]);
+        }
+
+        boolean hasEdge(int a, int b)
+        {
+            return getEdge(a, b) != null;
+        }
+
+        /**
+         * Get the labels of the host vertices by a vertex comparator. The labels of the last
+         * comparator are cached, such that inspectors for different patterns share them.
+         */
+        synchronized Labels<V> labels(Comparator<V> vertexComparator)
+        {
+            if (labels == null || labels.comparator != vertexComparator) {
+                labels = new Labels<>(this, vertexComparator);
+            }
+            return labels;
+        }
+    }
+
+    /**
+     * The equivalence classes of the host vertices under a vertex comparator, which must be a
+     * consistent total order.
+     */
+    private static class Labels<V>
+    {
+        final Comparator<V> comparator;
+        // one vertex of every class, in increasing order
+        final List<V> representatives;
+        final int[] label;
+        final int[] frequency;
+
+        <E> Labels(Host<V, E> host, Comparator<V> comparator)
+        {
+            this.comparator = comparator;
+            List<V> vertices = host.out.getMapping().getIndexList();
+            Integer[] sorted = new Integer[host.n];
+            for (int x = 0; x < host.n; x++) {
+                sorted[x] = x;
+            }
+            try {
+                Arrays
+                    .sort(sorted, (a, b) -> comparator.compare(vertices.get(a), vertices.get(b)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(NOT_TOTAL_ORDER, e);
+            }
+
+            this.representatives = new ArrayList<>();
+            this.label = new int[host.n];
+            List<Integer> counts = new ArrayList<>();
+            for (int x : sorted) {
+                V v = vertices.get(x);
+                int last = representatives.size() - 1;
+                if (last < 0 || comparator.compare(representatives.get(last), v) != 0) {
+                    if (last >= 0 && (comparator.compare(representatives.get(last), v) >= 0
+                        || comparator.compare(v, representatives.get(last)) <= 0))
+                    {
+                        throw new IllegalArgumentException(NOT_TOTAL_ORDER);
+                    }
+                    representatives.add(v);
+                    counts.add(0);
+                    last++;
+                }
+                label[x] = last;
+                counts.set(last, counts.get(last) + 1);
+            }
+            this.frequency = counts.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        /**
+         * Get the label of a vertex.
+         *
+         * @return the label, or a negative value if no host vertex is equivalent
+         */
+        int find(V v)
+        {
+            int label = Collections.binarySearch(representatives, v, comparator);
+            return label < 0 ? -1 : label;
+        }
+    }
+
+    /**
+     * The preprocessed pattern: its matching order, the labels of both graphs, and the static
+     * candidates of the vertices without an earlier neighbor.
+     */
+    private class Plan
+    {
+        final Host<V, E> pattern;
+        final int k;
+        boolean feasible;
+        // label of every pattern and host vertex, null without a vertex comparator
+        int[] patternLabel;
+        int[] hostLabel;
+        // pattern vertex at every position of the matching order
+        int[] order;
+        // for every position, the earlier positions adjacent to it and the direction flags
+        int[][] earlier;
+        int[][] earlierFlags;
+        int[] earlierOut;
+        int[] earlierIn;
+        int[][] staticCandidates;
+
+        Plan()
+        {
+            this.pattern = new Host<>(graph2);
+            this.k = pattern.n;
+            this.feasible = k <= host.n;
+            if (!feasible) {
+                return;
+            }
+            int[] frequency = computeLabels();
+            if (!feasible) {
+                return;
+            }
+            computeOrder(frequency);
+
+            staticCandidates = new int[k][];
+            for (int d = 0; d < k; d++) {
+                if (d == 0 || earlier[d].length == 0) {
+                    int u = order[d];
+                    staticCandidates[d] = IntStream
+                        .range(0, host.n).filter(x -> isCompatible(u, x)).toArray();
+                    if (staticCandidates[d].length == 0) {
+                        feasible = false;
+                        return;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Compute the labels as the equivalence classes of the vertex comparator among the host
+         * vertices, and their frequencies in the host graph.
+         */
+        private int[] computeLabels()
+        {
+            if (vertexComparator == null) {
+                return new int[] { host.n };
+            }
+            Labels<V> labels = host.labels(vertexComparator);
+            hostLabel = labels.label;
+            patternLabel = new int[k];
+            Map<Integer, Integer> patternCount = new HashMap<>();
+            for (int u = 0; u < k; u++) {
+                int label = labels.find(pattern.out.getVertex(u));
+                if (label < 0
+                    || patternCount.merge(label, 1, Integer::sum) > labels.frequency[label])
+                {
+                    feasible = false;
+                    return labels.frequency;
+                }
+                patternLabel[u] = label;
+            }
+            return labels.frequency;
+        }
+
+        /**
+         * Compute the VF2++ matching order by a breadth-first search from the vertex with the
+         * rarest label and maximum degree, processing every level by the number of connections to
+         * the ordered vertices, the degree and the label frequency.
+         */
+        private void computeOrder(int[] frequency)
+        {
+            order = new int[k];
+            int[] position = new int[k];
+            Arrays.fill(position, -1);
+            int[] connections = new int[k];
+            boolean[] reached = new boolean[k];
+            int ordered = 0;
+            while (ordered < k) {
+                int root = -1;
+                for (int u = 0; u < k; u++) {
+                    if (!reached[u] && (root == -1 || compareRoots(u, root, frequency) < 0)) {
+                        root = u;
+                    }
+                }
+                reached[root] = true;
+                List<Integer> level = new ArrayList<>();
+                level.add(root);
+                while (!level.isEmpty()) {
+                    List<Integer> next = new ArrayList<>();
+                    while (!level.isEmpty()) {
+                        int best = 0;
+                        for (int i = 1; i < level.size(); i++) {
+                            if (compareInLevel(
+                                level.get(i), level.get(best), connections, frequency) < 0)
+                            {
+                                best = i;
+                            }
+                        }
+                        int u = level.get(best);
+                        level.set(best, level.get(level.size() - 1));
+                        level.remove(level.size() - 1);
+                        position[u] = ordered;
+                        order[ordered++] = u;
+                        for (int w : neighbors(u)) {
+                            connections[w]++;
+                            if (!reached[w]) {
+                                reached[w] = true;
+                                next.add(w);
+                            }
+                        }
+                    }
+                    level = next;
+                }
+            }
+
+            earlier = new int[k][];
+            earlierFlags = new int[k][];
+            earlierOut = new int[k];
+            earlierIn = new int[k];
+            for (int d = 0; d < k; d++) {
+                int u = order[d];
+                TreeMap<Integer, Integer> flags = new TreeMap<>();
+                int[] offsets = pattern.out.getOffsets();
+                int[] targets = pattern.out.getTargets();
+                for (int j = offsets[u]; j < offsets[u + 1]; j++) {
+                    int e = position[targets[j]];
+                    if (e < d) {
+                        flags.merge(e, 1, (a, b) -> a | b);
+                        earlierOut[d]++;
+                    }
+                }
+                if (pattern.directed) {
+                    offsets = pattern.in.getOffsets();
+                    targets = pattern.in.getTargets();
+                    for (int j = offsets[u]; j < offsets[u + 1]; j++) {
+                        int e = position[targets[j]];
+                        if (e < d) {
+                            flags.merge(e, 2, (a, b) -> a | b);
+                            earlierIn[d]++;
+                        }
+                    }
+                }
+                earlier[d] = flags.keySet().stream().mapToInt(Integer::intValue).toArray();
+                earlierFlags[d] = flags.values().stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+
+        private List<Integer> neighbors(int u)
+        {
+            List<Integer> result = new ArrayList<>();
+            for (IntegerAdjacency<V, E> adjacency : pattern.directed
+                ? Arrays.asList(pattern.out, pattern.in) : Collections.singletonList(pattern.out))
+            {
+                int[] offsets = adjacency.getOffsets();
+                int[] targets = adjacency.getTargets();
+                for (int j = offsets[u]; j < offsets[u + 1]; j++) {
+                    if (targets[j] != u) {
+                        result.add(targets[j]);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private int degree(int u)
+        {
+            return pattern.outDegree(u) + (pattern.directed ? pattern.inDegree(u) : 0);
+        }
+
+        private int frequencyOf(int u, int[] frequency)
+        {
+            return frequency[patternLabel == null ? 0 : patternLabel[u]];
+        }
+
+        private int compareRoots(int u, int w, int[] frequency)
+        {
+            int c = Integer.compare(frequencyOf(u, frequency), frequencyOf(w, frequency));
+            return c != 0 ? c : Integer.compare(degree(w), degree(u));
+        }
+
+        private int compareInLevel(int u, int w, int[] connections, int[] frequency)
+        {
+            int c = Integer.compare(connections[w], connections[u]);
+            if (c != 0) {
+                return c;
+            }
+            c = Integer.compare(degree(w), degree(u));
+            return c != 0 ? c
+                : Integer.compare(frequencyOf(u, frequency), frequencyOf(w, frequency));
+        }
+
+        /**
+         * Check the label, the degrees and the self-loop of a candidate.
+         */
+        boolean isCompatible(int u, int x)
+        {
+            if (patternLabel != null && patternLabel[u] != hostLabel[x]) {
+                return false;
+            }
+            if (host.outDegree(x) < pattern.outDegree(u)
+                || host.directed && host.inDegree(x) < pattern.inDegree(u))
+            {
+                return false;
+            }
+            return pattern.hasEdge(u, u) == host.hasEdge(x, x);
+        }
+
+        GraphMapping<V, E> emptyMapping()
+        {
+            return new IsomorphicGraphMapping<>(
+                new HashMap<>(), new HashMap<>(), host.graph, graph2);
+        }
+    }
+
+    /**
+     * The state of a search, which explores the candidates of the first pattern vertex in a given
+     * range.
+     */
+    private class State
+    {
+        private final Plan p;
+        private final long nanosTimeLimit;
+        private final AtomicBoolean timeout;
+        // host vertex to pattern vertex and vice versa
+        private final int[] coreHost;
+        private final int[] corePattern;
+        // the candidates of every position are candArray[d][candPos[d] .. candTo[d]]
+        private final int[][] candArray;
+        private final int[] candPos;
+        private final int[] candTo;
+        private int depth;
+        private int steps;
+
+        State(Plan p, int from, int to, long nanosTimeLimit, AtomicBoolean timeout)
+        {
+            this.p = p;
+            this.nanosTimeLimit = nanosTimeLimit;
+            this.timeout = timeout;
+            this.coreHost = new int[host.n];
+            Arrays.fill(coreHost, UNMATCHED);
+            this.corePattern = new int[p.k];
+            this.candArray = new int[p.k][];
+            this.candPos = new int[p.k];
+            this.candTo = new int[p.k];
+            candArray[0] = p.staticCandidates[0];
+            candPos[0] = from;
+            candTo[0] = to;
+        }
+
+        /**
+         * Advance to the next complete mapping.
+         *
+         * @return true if a mapping was found, false if the search is exhausted or timed out
+         */
+        boolean advance()
+        {
+            if (depth == p.k) {
+                unmatch(--depth);
+            }
+            while (depth >= 0) {
+                if (++steps % TIME_CHECK_INTERVAL == 0) {
+                    if (timeout.get()) {
+                        return false;
+                    }
+                    if (nanosTimeLimit - System.nanoTime() < 0) {
+                        timeout.set(true);
+                        return false;
+                    }
+                }
+                if (candPos[depth] < candTo[depth]) {
+                    int x = candArray[depth][candPos[depth]++];
+                    if (isFeasible(x)) {
+                        corePattern[p.order[depth]] = x;
+                        coreHost[x] = p.order[depth];
+                        depth++;
+                        if (depth == p.k) {
+                            return true;
+                        }
+                        initCandidates();
+                    }
+                } else if (--depth >= 0) {
+                    unmatch(depth);
+                }
+            }
+            return false;
+        }
+
+        GraphMapping<V, E> getMapping()
+        {
+            Map<V, V> forward = CollectionUtil.newHashMapWithExpectedSize(p.k);
+            Map<V, V> backward = CollectionUtil.newHashMapWithExpectedSize(p.k);
+            for (int u = 0; u < p.k; u++) {
+                V v1 = host.out.getVertex(corePattern[u]);
+                V v2 = p.pattern.out.getVertex(u);
+                forward.put(v1, v2);
+                backward.put(v2, v1);
+            }
+            return new IsomorphicGraphMapping<>(forward, backward, host.graph, graph2);
+        }
+
+        private void unmatch(int d)
+        {
+            coreHost[corePattern[p.order[d]]] = UNMATCHED;
+        }
+
+        /**
+         * The candidates of the current position are the neighbors of the image of an earlier
+         * neighbor in the pattern, choosing the one with the fewest such neighbors.
+         */
+        private void initCandidates()
+        {
+            int[] earlier = p.earlier[depth];
+            if (earlier.length == 0) {
+                candArray[depth] = p.staticCandidates[depth];
+                candPos[depth] = 0;
+                candTo[depth] = candArray[depth].length;
+                return;
+            }
+            IntegerAdjacency<V, E> bestAdjacency = null;
+            int bestVertex = -1;
+            int bestSize = Integer.MAX_VALUE;
+            for (int i = 0; i < earlier.length; i++) {
+                int y = corePattern[p.order[earlier[i]]];
+                // an edge u -> w requires x among the in-neighbors of y
+                IntegerAdjacency<V, E> adjacency =
+                    (p.earlierFlags[depth][i] & 1) != 0 ? host.in : host.out;
+                int size = adjacency.degree(y);
+                if (size < bestSize) {
+                    bestSize = size;
+                    bestAdjacency = adjacency;
+                    bestVertex = y;
+                }
+            }
+            candArray[depth] = bestAdjacency.getTargets();
+            candPos[depth] = bestAdjacency.getOffsets()[bestVertex];
+            candTo[depth] = bestAdjacency.getOffsets()[bestVertex + 1];
+        }
+
+        private boolean isFeasible(int x)
+        {
+            if (coreHost[x] != UNMATCHED) {
+                return false;
+            }
+            int u = p.order[depth];
+            if (!p.isCompatible(u, x)) {
+                return false;
+            }
+
+            int hostDegree = host.outDegree(x) + (host.directed ? host.inDegree(x) : 0);
+            if (depth <= hostDegree) {
+                // compare the adjacency to every matched vertex
+                int[] earlier = p.earlier[depth];
+                int next = 0;
+                for (int e = 0; e < depth; e++) {
+                    int flags = 0;
+                    if (next < earlier.length && earlier[next] == e) {
+                        flags = p.earlierFlags[depth][next++];
+                    }
+                    int y = corePattern[p.order[e]];
+                    boolean outEdge = host.hasEdge(x, y);
+                    if (outEdge != ((flags & 1) != 0)) {
+                        return false;
+                    }
+                    if (host.directed && host.hasEdge(y, x) != ((flags & 2) != 0)) {
+                        return false;
+                    }
+                }
+            } else {
+                // every matched neighbor of x must be a pattern neighbor of u, and the counts agree
+                if (countMatched(host.out, x, u, true) != p.earlierOut[depth]) {
+                    return false;
+                }
+                if (host.directed && countMatched(host.in, x, u, false) != p.earlierIn[depth]) {
+                    return false;
+                }
+            }
+
+            if (edgeComparator != null) {
+                int[] earlier = p.earlier[depth];
+                for (int i = 0; i < earlier.length; i++) {
+                    int w = p.order[earlier[i]];
+                    int y = corePattern[w];
+                    int flags = p.earlierFlags[depth][i];
+                    if ((flags & 1) != 0 && edgeComparator
+                        .compare(host.getEdge(x, y), p.pattern.getEdge(u, w)) != 0)
+                    {
+                        return false;
+                    }
+                    if ((flags & 2) != 0 && edgeComparator
+                        .compare(host.getEdge(y, x), p.pattern.getEdge(w, u)) != 0)
+                    {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Count the matched neighbors of a host vertex, or return -1 if one of them is not a
+         * neighbor of the pattern vertex in the same direction.
+         */
+        private int countMatched(IntegerAdjacency<V, E> adjacency, int x, int u, boolean outgoing)
+        {
+            int[] offsets = adjacency.getOffsets();
+            int[] targets = adjacency.getTargets();
+            int count = 0;
+            for (int j = offsets[x]; j < offsets[x + 1]; j++) {
+                int w = coreHost[targets[j]];
+                if (w == UNMATCHED) {
+                    continue;
+                }
+                if (outgoing ? !p.pattern.hasEdge(u, w) : !p.pattern.hasEdge(w, u)) {
+                    return -1;
+                }
+                count++;
+            }
+            return count;
+        }
+    }
+}
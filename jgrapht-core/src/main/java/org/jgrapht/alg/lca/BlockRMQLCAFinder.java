@@ -0,0 +1,469 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.lca;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Algorithm for computing lowest common ancestors in rooted trees and forests using linear space
+ * and constant query time.
+ *
+ * <p>
+ * Like {@link EulerTourRMQLCAFinder}, the algorithm reduces a query to a range minimum query on
+ * the levels of an Euler tour of the forest. Consecutive levels differ by exactly one, which
+ * allows to encode the tour levels as one bit per position. The tour is divided into blocks of 64
+ * positions and a sparse table is only built over the minima of the blocks, following the block
+ * decomposition of
+ * <ul>
+ * <li>Michael A. Bender and Martín Farach-Colton. The LCA Problem Revisited. In LATIN 2000:
+ * Theoretical Informatics, 88–94, 2000.</li>
+ * <li>Johannes Fischer and Volker Heun. Theoretical and Practical Improvements on the
+ * RMQ-Problem, with Applications to LCA and LCE. In Combinatorial Pattern Matching, 36–48,
+ * 2006.</li>
+ * </ul>
+ * Queries inside a block are answered from the bits of the block using a lookup table over 8-bit
+ * chunks. The trees of a forest are joined below a virtual root, such that the levels of the
+ * whole tour differ by exactly one and vertices in different trees have the virtual root as their
+ * common ancestor.
+ *
+ * <p>
+ * Preprocessing Time complexity: $O(|V|)$<br>
+ * Preprocessing Space complexity: $O(|V|)$<br>
+ * Query Time complexity: $O(1)$<br>
+ * Query Space complexity: $O(1)$<br>
+ *
+ * <p>
+ * Besides the vertex based interface, the class offers queries on the integer vertex indices of
+ * {@link #getVertexToIntegerMapping()}, both for single queries and for large batches which are
+ * answered in parallel. After construction the structure is immutable and may be queried
+ * concurrently.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class BlockRMQLCAFinder<V, E>
+    implements
+    LowestCommonAncestorAlgorithm<V>
+{
+    private static final int LOG_BLOCK_SIZE = 6;
+    private static final int BLOCK_SIZE = 1 << LOG_BLOCK_SIZE;
+
+    /**
+     * Minimum prefix sum over the prefixes of length 1 to 8 of a byte, where a set bit counts as
+     * $+1$ and a cleared bit as $-1$
+     */
+    private static final byte[] CHUNK_MIN = new byte[256];
+    /**
+     * Length of the shortest prefix of a byte attaining its minimum prefix sum
+     */
+    private static final byte[] CHUNK_ARGMIN = new byte[256];
+    /**
+     * Sum of a byte, where a set bit counts as $+1$ and a cleared bit as $-1$
+     */
+    private static final byte[] CHUNK_SUM = new byte[256];
+
+    static {
+        for (int c = 0; c < 256; c++) {
+            int sum = 0;
+            int min = Integer.MAX_VALUE;
+            int argmin = 0;
+            for (int k = 0; k < 8; k++) {
+                sum += ((c >>> k) & 1) == 1 ? 1 : -1;
+                if (sum < min) {
+                    min = sum;
+                    argmin = k + 1;
+                }
+            }
+            CHUNK_MIN[c] = (byte) min;
+            CHUNK_ARGMIN[c] = (byte) argmin;
+            CHUNK_SUM[c] = (byte) sum;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final VertexToIntegerMapping<V> mapping;
+
+    /**
+     * The vertex at every position of the Euler tour, or -1 for the virtual root
+     */
+    private final int[] tour;
+    /**
+     * The first position of every vertex in the Euler tour, or -1 if the vertex is in no tree
+     */
+    private final int[] first;
+    /**
+     * Bit $k$ of block $b$ is set if the level increases from position $64b+k$ to $64b+k+1$
+     */
+    private final long[] steps;
+    private final int[] blockLevel;
+    /**
+     * Sparse table over the blocks. Entry $k \cdot nb + b$ is the minimum level among the blocks
+     * $[b, b + 2^k)$ in the upper 32 bits and a position of that level in the lower 32 bits, where
+     * $nb$ is the number of blocks.
+     */
+    private final long[] sparse;
+
+    /**
+     * Construct a new instance of the algorithm.
+     *
+     * <p>
+     * Note: The constructor will NOT check if the input graph is a valid tree.
+     *
+     * @param graph the input graph
+     * @param root the root of the graph
+     */
+    public BlockRMQLCAFinder(Graph<V, E> graph, V root)
+    {
+        this(graph, Collections.singleton(Objects.requireNonNull(root, "root cannot be null")));
+    }
+
+    /**
+     * Construct a new instance of the algorithm which uses the common {@link ForkJoinPool} for
+     * batch queries.
+     *
+     * <p>
+     * Note: If two roots appear in the same tree, an error will be thrown.
+     *
+     * <p>
+     * Note: The constructor will NOT check if the input graph is a valid forest.
+     *
+     * @param graph the input graph
+     * @param roots the set of roots of the graph
+     */
+    public BlockRMQLCAFinder(Graph<V, E> graph, Set<V> roots)
+    {
+        this(graph, roots, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construct a new instance of the algorithm.
+     *
+     * <p>
+     * Note: If two roots appear in the same tree, an error will be thrown.
+     *
+     * <p>
+     * Note: The constructor will NOT check if the input graph is a valid forest.
+     *
+     * @param graph the input graph
+     * @param roots the set of roots of the graph
+     * @param pool the pool to use for batch queries
+     */
+    public BlockRMQLCAFinder(Graph<V, E> graph, Set<V> roots, ForkJoinPool pool)
+    {
+        Objects.requireNonNull(graph, "graph cannot be null");
+        Objects.requireNonNull(roots, "roots cannot be null");
+        this.pool = Objects.requireNonNull(pool, "pool cannot be null");
+
+        if (roots.isEmpty())
+            throw new IllegalArgumentException("roots cannot be empty");
+
+        if (!graph.vertexSet().containsAll(roots))
+            throw new IllegalArgumentException("at least one root is not a valid vertex");
+
+        this.mapping = Graphs.getVertexToIntegerMapping(graph);
+        List<V> vertices = mapping.getIndexList();
+        Map<V, Integer> vertexMap = mapping.getVertexMap();
+        int n = vertices.size();
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + graph.outgoingEdgesOf(vertices.get(v)).size();
+        }
+        int[] targets = new int[offsets[n]];
+        for (int v = 0; v < n; v++) {
+            V vertex = vertices.get(v);
+            int j = offsets[v];
+            for (E e : graph.outgoingEdgesOf(vertex)) {
+                targets[j++] = vertexMap.get(Graphs.getOppositeVertex(graph, e, vertex));
+            }
+        }
+
+        // Euler tour of all trees below a virtual root
+        int[] fullTour = new int[2 * n + 1];
+        int[] level = new int[2 * n + 1];
+        this.first = new int[n];
+        Arrays.fill(first, -1);
+        int[] next = Arrays.copyOf(offsets, n);
+        int[] stack = new int[n];
+        int size = 0;
+        fullTour[size] = -1;
+        level[size++] = 0;
+        for (V root : roots) {
+            int r = vertexMap.get(root);
+            if (first[r] != -1) {
+                throw new IllegalArgumentException("multiple roots in the same tree");
+            }
+            int top = 0;
+            stack[top++] = r;
+            first[r] = size;
+            fullTour[size] = r;
+            level[size++] = 1;
+            while (top > 0) {
+                int u = stack[top - 1];
+                if (next[u] < offsets[u + 1]) {
+                    int w = targets[next[u]++];
+                    if (first[w] == -1) {
+                        first[w] = size;
+                        fullTour[size] = w;
+                        level[size++] = top + 1;
+                        stack[top++] = w;
+                    }
+                } else {
+                    top--;
+                    fullTour[size] = top > 0 ? stack[top - 1] : -1;
+                    level[size++] = top;
+                }
+            }
+        }
+        this.tour = Arrays.copyOf(fullTour, size);
+
+        // encode the levels as steps and compute the block minima
+        int blocks = (size + BLOCK_SIZE - 1) >>> LOG_BLOCK_SIZE;
+        this.steps = new long[blocks];
+        this.blockLevel = new int[blocks];
+        int levels = 32 - Integer.numberOfLeadingZeros(blocks);
+        this.sparse = new long[levels * blocks];
+        for (int b = 0; b < blocks; b++) {
+            int start = b << LOG_BLOCK_SIZE;
+            int end = Math.min(start + BLOCK_SIZE, size);
+            long bits = -1L;
+            for (int p = start; p + 1 < end; p++) {
+                if (level[p + 1] < level[p]) {
+                    bits &= ~(1L << (p - start));
+                }
+            }
+            steps[b] = bits;
+            blockLevel[b] = level[start];
+            int argmin = argminInBlock(b, 0, end - start - 1);
+            sparse[b] = ((long) level[argmin] << 32) | argmin;
+        }
+
+        // sparse table over the block minima
+        for (int k = 1; k < levels; k++) {
+            int half = 1 << (k - 1);
+            int row = k * blocks;
+            int previous = row - blocks;
+            for (int b = 0; b + (1 << k) <= blocks; b++) {
+                sparse[row + b] = Math.min(sparse[previous + b], sparse[previous + b + half]);
+            }
+        }
+    }
+
+    /**
+     * Get the vertex numbering used by the integer queries.
+     *
+     * @return the vertex numbering
+     */
+    public VertexToIntegerMapping<V> getVertexToIntegerMapping()
+    {
+        return mapping;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getLCA(V a, V b)
+    {
+        int lca = getLCA(indexOf(a), indexOf(b));
+        return lca == -1 ? null : mapping.getIndexList().get(lca);
+    }
+
+    /**
+     * Return the LCA of two vertices given by their indices in
+     * {@link #getVertexToIntegerMapping()}. The indices are not validated.
+     *
+     * @param a the index of the first vertex
+     * @param b the index of the other vertex
+     * @return the index of the LCA of a and b, or -1 if there is no LCA
+     */
+    public int getLCA(int a, int b)
+    {
+        if (a == b) {
+            return a;
+        }
+        int l = first[a];
+        int r = first[b];
+        if (l == -1 || r == -1) {
+            return -1;
+        }
+        if (l > r) {
+            int t = l;
+            l = r;
+            r = t;
+        }
+        return tour[argmin(l, r)];
+    }
+
+    /**
+     * Return the LCAs of a batch of pairs of vertices given by their indices in
+     * {@link #getVertexToIntegerMapping()}. The queries are answered in parallel.
+     *
+     * @param a the indices of the first vertices
+     * @param b the indices of the other vertices
+     * @return an array whose entry $i$ is the index of the LCA of a[i] and b[i], or -1 if there is
+     *         no LCA
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public int[] getLCAs(int[] a, int[] b)
+    {
+        int[] result = new int[a.length];
+        getLCAs(a, b, result);
+        return result;
+    }
+
+    /**
+     * Compute the LCAs of a batch of pairs of vertices given by their indices in
+     * {@link #getVertexToIntegerMapping()}, storing them in a given array. The queries are answered
+     * in parallel.
+     *
+     * @param a the indices of the first vertices
+     * @param b the indices of the other vertices
+     * @param result the array to store the index of the LCA of a[i] and b[i], or -1 if there is no
+     *        LCA
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public void getLCAs(int[] a, int[] b, int[] result)
+    {
+        if (a.length != b.length || a.length != result.length) {
+            throw new IllegalArgumentException("Arrays must have the same length");
+        }
+        ConcurrencyUtil.parallelForRanges(pool, 0, a.length, (lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                result[i] = getLCA(a[i], b[i]);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The queries are answered in parallel.
+     */
+    @Override
+    public List<V> getBatchLCA(List<Pair<V, V>> queries)
+    {
+        int q = queries.size();
+        int[] a = new int[q];
+        int[] b = new int[q];
+        for (int i = 0; i < q; i++) {
+            Pair<V, V> query = queries.get(i);
+            a[i] = indexOf(query.getFirst());
+            b[i] = indexOf(query.getSecond());
+        }
+        int[] lcas = getLCAs(a, b);
+
+        List<V> vertices = mapping.getIndexList();
+        List<V> result = new ArrayList<>(q);
+        for (int lca : lcas) {
+            result.add(lca == -1 ? null : vertices.get(lca));
+        }
+        return result;
+    }
+
+    /**
+     * Note: This operation is not supported.<br>
+     *
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException if the method is called
+     */
+    @Override
+    public Set<V> getLCASet(V a, V b)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    private int indexOf(V v)
+    {
+        Integer index = mapping.getVertexMap().get(v);
+        if (index == null)
+            throw new IllegalArgumentException("invalid vertex: " + v);
+        return index;
+    }
+
+    /**
+     * Position of a minimum level among the tour positions $[l, r]$.
+     */
+    private int argmin(int l, int r)
+    {
+        int bl = l >>> LOG_BLOCK_SIZE;
+        int br = r >>> LOG_BLOCK_SIZE;
+        if (bl == br) {
+            return argminInBlock(bl, l & (BLOCK_SIZE - 1), r & (BLOCK_SIZE - 1));
+        }
+
+        int p = argminInBlock(bl, l & (BLOCK_SIZE - 1), BLOCK_SIZE - 1);
+        int level = levelAt(p);
+        int q = argminInBlock(br, 0, r & (BLOCK_SIZE - 1));
+        int qLevel = levelAt(q);
+        if (qLevel < level) {
+            p = q;
+            level = qLevel;
+        }
+        if (bl + 1 < br) {
+            int from = bl + 1;
+            int k = 31 - Integer.numberOfLeadingZeros(br - from);
+            int row = k * steps.length;
+            long min = Math.min(sparse[row + from], sparse[row + br - (1 << k)]);
+            if ((int) (min >>> 32) < level) {
+                p = (int) min;
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Position of a minimum level among the offsets $[i, j]$ of a block.
+     */
+    private int argminInBlock(int b, int i, int j)
+    {
+        int transitions = j - i;
+        long bits = steps[b] >>> i;
+        if (transitions < BLOCK_SIZE) {
+            // never go below the minimum after the range
+            bits |= -1L << transitions;
+        }
+        int sum = 0;
+        int min = 0;
+        int argmin = 0;
+        for (int s = 0; s < transitions; s += 8) {
+            int chunk = (int) (bits >>> s) & 0xFF;
+            if (sum + CHUNK_MIN[chunk] < min) {
+                min = sum + CHUNK_MIN[chunk];
+                argmin = s + CHUNK_ARGMIN[chunk];
+            }
+            sum += CHUNK_SUM[chunk];
+        }
+        return (b << LOG_BLOCK_SIZE) + i + argmin;
+    }
+
+    private int levelAt(int p)
+    {
+        int b = p >>> LOG_BLOCK_SIZE;
+        int k = p & (BLOCK_SIZE - 1);
+        int up = Long.bitCount(steps[b] & ((1L << k) - 1));
+        return blockLevel[b] + 2 * up - k;
+    }
+}
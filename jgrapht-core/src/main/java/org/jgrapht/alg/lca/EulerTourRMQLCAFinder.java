@@ -49,7 +49,8 @@ import java.util.*;
  * {@link BinaryLiftingLCAFinder}, {@link HeavyPathLCAFinder} or {@link EulerTourRMQLCAFinder}. Fo
  * more than that use {@link EulerTourRMQLCAFinder} since it provides $O(1)$ per query.<br>
  * Space-wise, {@link HeavyPathLCAFinder} and {@link TarjanLCAFinder} only use a linear amount while
- * {@link BinaryLiftingLCAFinder} and {@link EulerTourRMQLCAFinder} require linearithmic space.<br>
+ * {@link BinaryLiftingLCAFinder} and {@link EulerTourRMQLCAFinder} require linearithmic space.
+ * {@link BlockRMQLCAFinder} provides $O(1)$ per query using linear space.<br>
  * For DAGs, use {@link NaiveLCAFinder}.
  * </p>
  *
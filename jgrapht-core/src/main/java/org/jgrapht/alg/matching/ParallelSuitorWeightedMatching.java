@@ -0,0 +1,459 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.matching;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Parallel $\frac{1}{2}$-approximation of the maximum weight matching using the Suitor algorithm.
+ *
+ * <p>
+ * Every vertex proposes to its heaviest neighbor which does not already have a heavier suitor,
+ * displacing the previous suitor of that neighbor, which then proposes again. When no vertex can
+ * propose any more, the vertices which are suitors of each other form the matching. Vertices
+ * propose concurrently, and the suitor of a vertex is updated by compare-and-set. The edges are
+ * totally ordered by weight, then by the larger and the smaller number of their endpoints, and then
+ * by the edge itself. Regardless of the scheduling of the parallel proposals, the result is the
+ * greedy matching under this order, which coincides with the matching of
+ * {@link GreedyWeightedMatching} when all edge weights are distinct. With equal weights the two
+ * may differ, also in total weight. The algorithm runs in $O(m \Delta)$ time in the worst
+ * case, and close to $O(m)$ in practice. See the following paper:
+ * <ul>
+ * <li>Fredrik Manne and Mahantesh Halappanavar. New Effective Multithreaded Matching Algorithms. In
+ * 2014 IEEE 28th International Parallel and Distributed Processing Symposium, 519–528, 2014.</li>
+ * </ul>
+ *
+ * <p>
+ * Optionally, the matching is improved by rounds of short augmentations afterwards. Each round
+ * visits the vertices in random order and applies the best augmentation centered at the vertex
+ * which increases the weight, either a single edge replacing the matched edges of its endpoints,
+ * or two edges replacing the matched edge of the vertex together with the matched edges of their
+ * other endpoints. The expected weight approaches a $(\frac{2}{3} - \varepsilon)$-approximation
+ * with $O(\log \frac{1}{\varepsilon})$ rounds, see the following paper:
+ * <ul>
+ * <li>Seth Pettie and Peter Sanders. A simpler linear time $2/3 - \varepsilon$ approximation for
+ * maximum weight matching. Information Processing Letters 91(6), 271–276, 2004.</li>
+ * </ul>
+ * The augmentation rounds are sequential, but each of them takes $O(m)$ time.
+ *
+ * <p>
+ * The graph is converted to an {@link IntegerAdjacency} with primitive weight arrays. Directed
+ * graphs are considered undirected. Self-loops and edges with non-positive weight are never
+ * matched, and of multiple edges only the heaviest is considered.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see GreedyWeightedMatching
+ * @see PathGrowingWeightedMatching
+ */
+public class ParallelSuitorWeightedMatching<V, E>
+    implements
+    MatchingAlgorithm<V, E>
+{
+    private final Graph<V, E> graph;
+    private final int augmentationRounds;
+    private final Random rng;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new instance computing a $\frac{1}{2}$-approximation without augmentations.
+     *
+     * @param graph the input graph
+     */
+    public ParallelSuitorWeightedMatching(Graph<V, E> graph)
+    {
+        this(graph, 0);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param graph the input graph
+     * @param augmentationRounds the number of rounds of short augmentations
+     */
+    public ParallelSuitorWeightedMatching(Graph<V, E> graph, int augmentationRounds)
+    {
+        this(graph, augmentationRounds, new Random(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param graph the input graph
+     * @param augmentationRounds the number of rounds of short augmentations
+     * @param rng random number generator for the order of the augmentations
+     * @param pool the pool to use for the parallel computation
+     */
+    public ParallelSuitorWeightedMatching(
+        Graph<V, E> graph, int augmentationRounds, Random rng, ForkJoinPool pool)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (augmentationRounds < 0) {
+            throw new IllegalArgumentException("Number of augmentation rounds cannot be negative");
+        }
+        this.augmentationRounds = augmentationRounds;
+        this.rng = Objects.requireNonNull(rng, "Random number generator cannot be null");
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    /**
+     * Get a matching that is a $\frac{1}{2}$-approximation of the maximum weighted matching.
+     *
+     * @return a matching
+     */
+    @Override
+    public Matching<V, E> getMatching()
+    {
+        IntegerAdjacency<V, E> adjacency = IntegerAdjacency.of(
+            graph, Graphs.getVertexToIntegerMapping(graph), IntegerAdjacency.Direction.ALL, false);
+        int n = adjacency.vertexCount();
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        int[] edgeIndices = adjacency.getEdgeIndices();
+        List<E> edgeList = adjacency.getEdgeList();
+
+        double[] edgeWeights = new double[edgeList.size()];
+        ConcurrencyUtil.parallelFor(
+            pool, 0, edgeWeights.length,
+            e -> edgeWeights[e] = graph.getEdgeWeight(edgeList.get(e)));
+        int[] sources = new int[targets.length];
+        double[] weights = new double[targets.length];
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                sources[j] = v;
+                weights[j] = edgeWeights[edgeIndices[j]];
+            }
+        });
+
+        Suitor suitor = new Suitor(n, offsets, targets, sources, weights, edgeIndices);
+        suitor.run();
+
+        // the matched entry of each vertex, pointing to its mate
+        int[] matched = new int[n];
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+            int s = suitor.suitors.get(v);
+            matched[v] = -1;
+            if (s != -1) {
+                int u = sources[s];
+                int t = suitor.suitors.get(u);
+                if (t != -1 && sources[t] == v) {
+                    matched[v] = t;
+                }
+            }
+        });
+
+        if (augmentationRounds > 0) {
+            Augmentation augmentation =
+                new Augmentation(n, offsets, targets, weights, edgeIndices, matched);
+            for (int round = 0; round < augmentationRounds; round++) {
+                augmentation.round();
+            }
+        }
+
+        Set<E> edges = new LinkedHashSet<>();
+        double weight = 0d;
+        for (int v = 0; v < n; v++) {
+            int j = matched[v];
+            if (j != -1 && v < targets[j]) {
+                edges.add(edgeList.get(edgeIndices[j]));
+                weight += weights[j];
+            }
+        }
+        return new MatchingImpl<>(graph, edges, weight);
+    }
+
+    /**
+     * The parallel proposals of the Suitor algorithm.
+     */
+    private class Suitor
+    {
+        final int n;
+        final int[] offsets;
+        final int[] targets;
+        final int[] sources;
+        final double[] weights;
+        final int[] edgeIndices;
+
+        /**
+         * The entry of the current suitor of each vertex, which points from the suitor to the
+         * vertex, or -1 if there is none.
+         */
+        final AtomicIntegerArray suitors;
+
+        Suitor(
+            int n, int[] offsets, int[] targets, int[] sources, double[] weights,
+            int[] edgeIndices)
+        {
+            this.n = n;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.sources = sources;
+            this.weights = weights;
+            this.edgeIndices = edgeIndices;
+            this.suitors = new AtomicIntegerArray(n);
+            for (int v = 0; v < n; v++) {
+                suitors.set(v, -1);
+            }
+        }
+
+        void run()
+        {
+            ConcurrencyUtil.parallelFor(pool, 0, n, this::propose);
+        }
+
+        private void propose(int u)
+        {
+            int current = u;
+            while (current != -1) {
+                int displaced = -1;
+                boolean done = false;
+                while (!done) {
+                    int best = -1;
+                    for (int j = offsets[current]; j < offsets[current + 1]; j++) {
+                        if (weights[j] > 0d && (best == -1 || heavier(j, best))) {
+                            int s = suitors.get(targets[j]);
+                            if (s == -1 || heavier(j, s)) {
+                                best = j;
+                            }
+                        }
+                    }
+                    if (best == -1) {
+                        done = true;
+                    } else {
+                        int v = targets[best];
+                        int s = suitors.get(v);
+                        if (s == -1 || heavier(best, s)) {
+                            if (suitors.compareAndSet(v, s, best)) {
+                                displaced = s == -1 ? -1 : sources[s];
+                                done = true;
+                            }
+                        }
+                        // otherwise a heavier suitor arrived meanwhile, search again
+                    }
+                }
+                current = displaced;
+            }
+        }
+
+        /**
+         * Compare two entries by weight, breaking ties by their endpoints and by the edge.
+         */
+        private boolean heavier(int j, int k)
+        {
+            if (weights[j] != weights[k]) {
+                return weights[j] > weights[k];
+            }
+            int maxJ = Math.max(sources[j], targets[j]);
+            int maxK = Math.max(sources[k], targets[k]);
+            if (maxJ != maxK) {
+                return maxJ > maxK;
+            }
+            int minJ = Math.min(sources[j], targets[j]);
+            int minK = Math.min(sources[k], targets[k]);
+            if (minJ != minK) {
+                return minJ > minK;
+            }
+            return edgeIndices[j] > edgeIndices[k];
+        }
+    }
+
+    /**
+     * Rounds of short augmentations centered at the vertices.
+     */
+    private class Augmentation
+    {
+        final int n;
+        final int[] offsets;
+        final int[] targets;
+        final double[] weights;
+        final int[] edgeIndices;
+        final int[] matched;
+        final int[] order;
+
+        Augmentation(
+            int n, int[] offsets, int[] targets, double[] weights, int[] edgeIndices,
+            int[] matched)
+        {
+            this.n = n;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.edgeIndices = edgeIndices;
+            this.matched = matched;
+            this.order = new int[n];
+            for (int v = 0; v < n; v++) {
+                order[v] = v;
+            }
+        }
+
+        void round()
+        {
+            for (int i = n - 1; i > 0; i--) {
+                int j = rng.nextInt(i + 1);
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+            for (int v : order) {
+                augment(v);
+            }
+        }
+
+        /**
+         * Apply the best augmentation centered at a vertex, if it increases the weight.
+         */
+        private void augment(int v)
+        {
+            int mateV = mate(v);
+            double bestGain = 0d;
+            int bestFirst = -1;
+            int bestSecond = -1;
+
+            // a single edge replacing the matched edges of its endpoints
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                int u = targets[j];
+                if (u != mateV) {
+                    double gain = weights[j] - matchedWeight(v) - matchedWeight(u);
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        bestFirst = j;
+                        bestSecond = -1;
+                    }
+                }
+            }
+
+            // two edges from the endpoints of the matched edge of the vertex
+            if (mateV != -1) {
+                int[] armsV = arms(v, mateV);
+                int[] armsU = arms(mateV, v);
+                for (int a : armsV) {
+                    for (int b : armsU) {
+                        if (a == -1 || b == -1 || targets[a] == targets[b]) {
+                            continue;
+                        }
+                        int x = targets[a];
+                        int y = targets[b];
+                        double gain = weights[a] + weights[b] - matchedWeight(v)
+                            - matchedWeight(x) - matchedWeight(y);
+                        if (mate(x) == y) {
+                            gain += matchedWeight(x);
+                        }
+                        if (gain > bestGain) {
+                            bestGain = gain;
+                            bestFirst = a;
+                            bestSecond = b;
+                        }
+                    }
+                }
+            }
+
+            if (bestFirst != -1 && bestGain > DEFAULT_EPSILON) {
+                match(v, bestFirst);
+                if (bestSecond != -1) {
+                    match(mateV, bestSecond);
+                }
+            }
+        }
+
+        /**
+         * Find the two best entries of a vertex for an augmentation, by the weight of the entry
+         * minus the weight of the matched edge of its target, with distinct targets.
+         */
+        private int[] arms(int v, int excluded)
+        {
+            int first = -1;
+            int second = -1;
+            double firstGain = 0d;
+            double secondGain = 0d;
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                int u = targets[j];
+                if (u == excluded || weights[j] <= 0d) {
+                    continue;
+                }
+                double gain = weights[j] - matchedWeight(u);
+                if (first != -1 && targets[first] == u) {
+                    if (gain > firstGain) {
+                        first = j;
+                        firstGain = gain;
+                    }
+                } else if (first == -1 || gain > firstGain) {
+                    second = first;
+                    secondGain = firstGain;
+                    first = j;
+                    firstGain = gain;
+                } else if (second == -1 || gain > secondGain) {
+                    second = j;
+                    secondGain = gain;
+                }
+            }
+            return new int[] { first, second };
+        }
+
+        /**
+         * Match the endpoints of an entry, removing their previously matched edges.
+         */
+        private void match(int v, int j)
+        {
+            int u = targets[j];
+            unmatch(v);
+            unmatch(u);
+            matched[v] = j;
+            matched[u] = reverse(u, v, edgeIndices[j]);
+        }
+
+        private void unmatch(int v)
+        {
+            int u = mate(v);
+            if (u != -1) {
+                matched[u] = -1;
+                matched[v] = -1;
+            }
+        }
+
+        /**
+         * Find the entry of an edge from the other endpoint.
+         */
+        private int reverse(int u, int v, int edgeIndex)
+        {
+            for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                if (targets[k] == v && edgeIndices[k] == edgeIndex) {
+                    return k;
+                }
+            }
+            throw new IllegalStateException("Missing reverse entry");
+        }
+
+        private int mate(int v)
+        {
+            return matched[v] == -1 ? -1 : targets[matched[v]];
+        }
+
+        private double matchedWeight(int v)
+        {
+            return matched[v] == -1 ? 0d : weights[matched[v]];
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.event.*;
+
+import java.util.*;
+
+/**
+ * Incrementally maintained coreness of the vertices of an undirected graph.
+ *
+ * <p>
+ * The coreness of a vertex is the largest $k$ such that the vertex belongs to a $k$-core, see
+ * {@link Coreness}. The values are computed once during construction using {@link Coreness}. The
+ * class is a {@link GraphListener}. When added as a listener to a {@link ListenableGraph}, the
+ * values are updated on every edge insertion and removal using the subcore algorithms described in
+ * the following paper:
+ * <ul>
+ * <li>Ahmet Erdem Sarıyüce, Buğra Gedik, Gabriela Jacques-Silva, Kun-Lung Wu, and Ümit V.
+ * Çatalyürek. Streaming algorithms for k-core decomposition. Proc. VLDB Endow. 6, 6 (April 2013),
+ * 433–444.</li>
+ * </ul>
+ *
+ * <p>
+ * An edge insertion or removal changes the coreness of a vertex by at most one, and only for
+ * vertices whose coreness equals $K$, the smaller coreness of the two endpoints, and which are
+ * connected to an endpoint through such vertices. On insertion this subcore is collected and
+ * vertices which cannot have $K+1$ neighbors of coreness at least $K$ inside it are peeled off; the
+ * remaining vertices are promoted. On removal the vertices left with fewer than $K$ such neighbors
+ * are demoted, starting at the endpoints and propagating to their neighbors. The work is
+ * proportional to the total degree of the visited vertices, which is usually a tiny part of the
+ * graph. The coreness values and the degeneracy are available in $O(1)$ time.
+ *
+ * <p>
+ * The graph must be simple when the instance is created and remain simple afterwards. If the
+ * instance is added as listener to a graph other than the one it was constructed with, results are
+ * undefined.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see Coreness
+ */
+public class IncrementalCoreness<V, E>
+    implements
+    VertexScoringAlgorithm<V, Integer>,
+    GraphListener<V, E>
+{
+    private final Graph<V, E> graph;
+    private final Map<V, Integer> scores;
+    private int[] counts;
+    private int degeneracy;
+
+    /**
+     * Create a new instance and compute the coreness of the vertices of the current graph.
+     *
+     * @param graph the input graph
+     * @throws IllegalArgumentException if the graph is not undirected or not simple
+     */
+    public IncrementalCoreness(Graph<V, E> graph)
+    {
+        this.graph = GraphTests.requireUndirected(graph);
+        this.scores = new HashMap<>(new Coreness<>(graph).getScores());
+        this.counts = new int[16];
+        for (int c : scores.values()) {
+            increment(c);
+            degeneracy = Math.max(degeneracy, c);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<V, Integer> getScores()
+    {
+        return Collections.unmodifiableMap(scores);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getVertexScore(V v)
+    {
+        Integer c = scores.get(v);
+        if (c == null) {
+            throw new IllegalArgumentException("Cannot return score of unknown vertex");
+        }
+        return c;
+    }
+
+    /**
+     * Get the degeneracy of the graph, that is the maximum coreness of any vertex.
+     *
+     * @return the degeneracy of the graph
+     */
+    public int getDegeneracy()
+    {
+        return degeneracy;
+    }
+
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        V u = e.getEdgeSource();
+        V v = e.getEdgeTarget();
+        if (u.equals(v)) {
+            return;
+        }
+        int cu = scores.get(u);
+        int cv = scores.get(v);
+        int k = Math.min(cu, cv);
+
+        // collect the subcore of the endpoints with coreness k
+        Set<V> subcore = new HashSet<>();
+        Deque<V> stack = new ArrayDeque<>();
+        if (cu == k) {
+            subcore.add(u);
+            stack.push(u);
+        }
+        if (cv == k && subcore.add(v)) {
+            stack.push(v);
+        }
+        Map<V, Integer> candidateDegree = new HashMap<>();
+        while (!stack.isEmpty()) {
+            V w = stack.pop();
+            int cd = 0;
+            for (E edge : graph.edgesOf(w)) {
+                V x = Graphs.getOppositeVertex(graph, edge, w);
+                int cx = scores.get(x);
+                if (cx >= k) {
+                    cd++;
+                }
+                if (cx == k && subcore.add(x)) {
+                    stack.push(x);
+                }
+            }
+            candidateDegree.put(w, cd);
+        }
+
+        // peel the vertices which cannot be part of a (k+1)-core
+        Set<V> evicted = new HashSet<>();
+        for (V w : subcore) {
+            if (candidateDegree.get(w) <= k && evicted.add(w)) {
+                stack.push(w);
+            }
+        }
+        while (!stack.isEmpty()) {
+            V w = stack.pop();
+            for (E edge : graph.edgesOf(w)) {
+                V x = Graphs.getOppositeVertex(graph, edge, w);
+                if (!subcore.contains(x) || evicted.contains(x)) {
+                    continue;
+                }
+                int cd = candidateDegree.get(x) - 1;
+                candidateDegree.put(x, cd);
+                if (cd <= k) {
+                    evicted.add(x);
+                    stack.push(x);
+                }
+            }
+        }
+
+        for (V w : subcore) {
+            if (!evicted.contains(w)) {
+                setScore(w, k, k + 1);
+            }
+        }
+    }
+
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        V u = e.getEdgeSource();
+        V v = e.getEdgeTarget();
+        if (u.equals(v)) {
+            return;
+        }
+        Integer cu = scores.get(u);
+        Integer cv = scores.get(v);
+        if (cu == null || cv == null) {
+            return;
+        }
+        int k = Math.min(cu, cv);
+        if (k == 0) {
+            return;
+        }
+
+        // vertices with coreness k and less than k neighbors of coreness at least k are demoted.
+        // A demoted vertex keeps coreness k until it is processed, so that the candidate degree
+        // of every neighbor is decremented exactly once.
+        Map<V, Integer> candidateDegree = new HashMap<>();
+        Set<V> demoted = new HashSet<>();
+        Deque<V> stack = new ArrayDeque<>();
+        for (V r : Arrays.asList(u, v)) {
+            if (scores.get(r) == k && !candidateDegree.containsKey(r)) {
+                int cd = countCandidateDegree(r, k);
+                candidateDegree.put(r, cd);
+                if (cd < k) {
+                    demoted.add(r);
+                    stack.push(r);
+                }
+            }
+        }
+        while (!stack.isEmpty()) {
+            V w = stack.pop();
+            setScore(w, k, k - 1);
+            for (E edge : graph.edgesOf(w)) {
+                V x = Graphs.getOppositeVertex(graph, edge, w);
+                if (scores.get(x) != k || demoted.contains(x)) {
+                    continue;
+                }
+                Integer old = candidateDegree.get(x);
+                int cd = old == null ? countCandidateDegree(x, k) : old - 1;
+                candidateDegree.put(x, cd);
+                if (cd < k) {
+                    demoted.add(x);
+                    stack.push(x);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        if (scores.putIfAbsent(e.getVertex(), 0) == null) {
+            increment(0);
+        }
+    }
+
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        // the graph removes all touching edges before the vertex itself
+        Integer c = scores.remove(e.getVertex());
+        if (c != null) {
+            counts[c]--;
+            updateDegeneracy();
+        }
+    }
+
+    private int countCandidateDegree(V w, int k)
+    {
+        int cd = 0;
+        for (E edge : graph.edgesOf(w)) {
+            if (scores.get(Graphs.getOppositeVertex(graph, edge, w)) >= k) {
+                cd++;
+            }
+        }
+        return cd;
+    }
+
+    private void setScore(V v, int oldScore, int newScore)
+    {
+        scores.put(v, newScore);
+        counts[oldScore]--;
+        increment(newScore);
+        degeneracy = Math.max(degeneracy, newScore);
+        updateDegeneracy();
+    }
+
+    private void increment(int c)
+    {
+        if (c >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(c + 1, 2 * counts.length));
+        }
+        counts[c]++;
+    }
+
+    private void updateDegeneracy()
+    {
+        while (degeneracy > 0 && counts[degeneracy] == 0) {
+            degeneracy--;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.event.*;
+
+import java.util.*;
+
+/**
+ * Incrementally maintained vertex degrees and degree distribution of a graph.
+ *
+ * <p>
+ * The degree of a vertex is the value returned by {@link Graph#degreeOf(Object)}, that is the
+ * number of edges touching the vertex where self-loops are counted twice. In directed graphs this
+ * is the sum of the in-degree and the out-degree. Besides the degree of every vertex, the class
+ * maintains the number of vertices of every degree as well as the minimum and maximum degree.
+ *
+ * <p>
+ * The degrees are computed once during construction in $O(n + m)$ time. The class is a
+ * {@link GraphListener}. When added as a listener to a {@link ListenableGraph}, every graph change
+ * is processed in $O(1)$ amortized time and all queries, except the ones returning collections,
+ * run in $O(1)$ time. If the instance is added as listener to a graph other than the one it was
+ * constructed with, results are undefined.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see IncrementalTriangleCount
+ * @see IncrementalCoreness
+ */
+public class IncrementalDegreeDistribution<V, E>
+    implements
+    VertexScoringAlgorithm<V, Integer>,
+    GraphListener<V, E>
+{
+    private final Graph<V, E> graph;
+    private final Map<V, Integer> degrees;
+    private int[] counts;
+    private int minDegree;
+    private int maxDegree;
+
+    /**
+     * Create a new instance and compute the degrees of the current graph.
+     *
+     * @param graph the input graph
+     */
+    public IncrementalDegreeDistribution(Graph<V, E> graph)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.degrees = new HashMap<>();
+        this.counts = new int[16];
+        for (V v : graph.vertexSet()) {
+            int d = graph.degreeOf(v);
+            degrees.put(v, d);
+            increment(d);
+        }
+        this.minDegree = 0;
+        this.maxDegree = counts.length - 1;
+        updateMinDegree();
+        updateMaxDegree();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<V, Integer> getScores()
+    {
+        return Collections.unmodifiableMap(degrees);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getVertexScore(V v)
+    {
+        Integer d = degrees.get(v);
+        if (d == null) {
+            throw new IllegalArgumentException("Cannot return score of unknown vertex");
+        }
+        return d;
+    }
+
+    /**
+     * Get the number of vertices with a given degree.
+     *
+     * @param degree the degree
+     * @return the number of vertices with the given degree
+     */
+    public int getNumberOfVerticesWithDegree(int degree)
+    {
+        if (degree < 0 || degree >= counts.length) {
+            return 0;
+        }
+        return counts[degree];
+    }
+
+    /**
+     * Get the degree distribution. The i-th element of the returned list is the number of vertices
+     * with degree i. The list has length equal to the maximum degree plus one, or zero if the graph
+     * is empty.
+     *
+     * @return the degree distribution
+     */
+    public List<Integer> getDistribution()
+    {
+        if (degrees.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Integer> result = new ArrayList<>(maxDegree + 1);
+        for (int d = 0; d <= maxDegree; d++) {
+            result.add(counts[d]);
+        }
+        return result;
+    }
+
+    /**
+     * Get the minimum degree of the graph.
+     *
+     * @return the minimum degree, or zero if the graph is empty
+     */
+    public int getMinDegree()
+    {
+        return degrees.isEmpty() ? 0 : minDegree;
+    }
+
+    /**
+     * Get the maximum degree of the graph.
+     *
+     * @return the maximum degree, or zero if the graph is empty
+     */
+    public int getMaxDegree()
+    {
+        return degrees.isEmpty() ? 0 : maxDegree;
+    }
+
+    /**
+     * Get the average degree of the graph.
+     *
+     * @return the average degree, or zero if the graph is empty
+     */
+    public double getAverageDegree()
+    {
+        if (degrees.isEmpty()) {
+            return 0d;
+        }
+        return 2d * graph.edgeSet().size() / degrees.size();
+    }
+
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        changeDegree(e.getEdgeSource(), 1);
+        changeDegree(e.getEdgeTarget(), 1);
+    }
+
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        changeDegree(e.getEdgeSource(), -1);
+        changeDegree(e.getEdgeTarget(), -1);
+    }
+
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        V v = e.getVertex();
+        if (!degrees.containsKey(v)) {
+            degrees.put(v, 0);
+            increment(0);
+            minDegree = 0;
+            if (degrees.size() == 1) {
+                maxDegree = 0;
+            }
+        }
+    }
+
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        // the graph removes all touching edges before the vertex itself
+        Integer d = degrees.remove(e.getVertex());
+        if (d != null) {
+            counts[d]--;
+            updateMinDegree();
+            updateMaxDegree();
+        }
+    }
+
+    private void changeDegree(V v, int delta)
+    {
+        Integer old = degrees.get(v);
+        if (old == null) {
+            return;
+        }
+        int d = old + delta;
+        degrees.put(v, d);
+        counts[old]--;
+        increment(d);
+        if (delta > 0) {
+            maxDegree = Math.max(maxDegree, d);
+            updateMinDegree();
+        } else {
+            minDegree = Math.min(minDegree, d);
+            updateMaxDegree();
+        }
+    }
+
+    private void increment(int degree)
+    {
+        if (degree >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(degree + 1, 2 * counts.length));
+        }
+        counts[degree]++;
+    }
+
+    /**
+     * Move the minimum degree up to the next non-empty count. Since a single change moves a vertex
+     * by one, this takes amortized constant time.
+     */
+    private void updateMinDegree()
+    {
+        while (minDegree < maxDegree && counts[minDegree] == 0) {
+            minDegree++;
+        }
+    }
+
+    private void updateMaxDegree()
+    {
+        while (maxDegree > minDegree && counts[maxDegree] == 0) {
+            maxDegree--;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Parallel computation of the coreness of each vertex in an undirected graph.
+ *
+ * <p>
+ * The coreness of a vertex is the largest $k$ such that the vertex belongs to the $k$-core, the
+ * maximal subgraph in which all vertices have degree at least $k$, see {@link Coreness}. Self-loops
+ * are ignored and multiple edges between the same pair of vertices count as a single adjacency.
+ *
+ * <p>
+ * The graph is converted to an {@link IntegerAdjacency} and the vertices are peeled level by level,
+ * following the PKC algorithm of the following paper:
+ * <ul>
+ * <li>Humayun Kabir and Kamesh Madduri. Parallel k-Core Decomposition on Multicore Platforms. In
+ * 2017 IEEE International Parallel and Distributed Processing Symposium Workshops (IPDPSW),
+ * 1482–1491, 2017.</li>
+ * </ul>
+ * At level $k$, the remaining vertices of degree $k$ are collected in parallel. Every thread then
+ * removes its share of them, decrementing the degrees of their remaining neighbors in an atomic
+ * array. A neighbor whose degree drops to $k$ is removed by the same thread in the same level,
+ * while the degrees of neighbors which would drop below $k$ are left unchanged. Once a level is
+ * complete, the remaining vertices are compacted in parallel and the next level is the minimum
+ * remaining degree, thus empty levels are skipped. The final degree of a vertex is its coreness.
+ * The running time is $O(n + m)$ work plus $O(n)$ per level for the compaction, with atomic
+ * operations only on the degrees.
+ *
+ * <p>
+ * The core numbers are exposed as a primitive array, see {@link #getCoreNumbers()}, together with
+ * the {@link Map} based scores of the {@link VertexScoringAlgorithm} interface. The computation is
+ * performed on the first call of any query method, and the class does not track changes of the
+ * graph.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see Coreness
+ * @see ParallelTrussDecomposition
+ */
+public class ParallelCoreness<V, E>
+    implements
+    VertexScoringAlgorithm<V, Integer>
+{
+    private final Graph<V, E> graph;
+    private final ForkJoinPool pool;
+
+    private IntegerAdjacency<V, E> adjacency;
+    private int[] coreNumbers;
+    private int degeneracy;
+    private Map<V, Integer> scores;
+
+    /**
+     * Create a new instance which uses the common {@link ForkJoinPool}.
+     *
+     * @param graph the input graph
+     * @throws IllegalArgumentException if the graph is not undirected
+     */
+    public ParallelCoreness(Graph<V, E> graph)
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param graph the input graph
+     * @param pool the pool to use for the parallel computation
+     * @throws IllegalArgumentException if the graph is not undirected
+     */
+    public ParallelCoreness(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this.graph = GraphTests.requireUndirected(graph);
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<V, Integer> getScores()
+    {
+        lazyCompute();
+        if (scores == null) {
+            Map<V, Integer> map = CollectionUtil.newHashMapWithExpectedSize(coreNumbers.length);
+            for (int i = 0; i < coreNumbers.length; i++) {
+                map.put(adjacency.getVertex(i), coreNumbers[i]);
+            }
+            scores = Collections.unmodifiableMap(map);
+        }
+        return scores;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getVertexScore(V v)
+    {
+        return getCoreNumbers()[indexOf(v)];
+    }
+
+    /**
+     * Get the adjacency snapshot of the simple graph underlying the input graph, which defines the
+     * vertex numbering of {@link #getCoreNumbers()}. It is the one returned by
+     * {@link IntegerAdjacency#simple(Graph)}.
+     *
+     * @return the adjacency snapshot
+     */
+    public IntegerAdjacency<V, E> getAdjacency()
+    {
+        lazyCompute();
+        return adjacency;
+    }
+
+    /**
+     * Get the coreness of every vertex, indexed by the vertex numbering of {@link #getAdjacency()}.
+     * The returned array must not be modified.
+     *
+     * @return the coreness of every vertex
+     */
+    public int[] getCoreNumbers()
+    {
+        lazyCompute();
+        return coreNumbers;
+    }
+
+    /**
+     * Compute the degeneracy of the graph, which is the largest coreness of a vertex, or zero if
+     * the graph is empty.
+     *
+     * @return the degeneracy of the graph
+     */
+    public int getDegeneracy()
+    {
+        lazyCompute();
+        return degeneracy;
+    }
+
+    /**
+     * Get the vertices of the $k$-core, which are the vertices with coreness at least $k$.
+     *
+     * @param k the core order
+     * @return the vertices of the $k$-core
+     */
+    public Set<V> getCore(int k)
+    {
+        lazyCompute();
+        Set<V> core = new LinkedHashSet<>();
+        for (int v = 0; v < coreNumbers.length; v++) {
+            if (coreNumbers[v] >= k) {
+                core.add(adjacency.getVertex(v));
+            }
+        }
+        return core;
+    }
+
+    private int indexOf(V v)
+    {
+        lazyCompute();
+        Integer index = adjacency.getMapping().getVertexMap().get(v);
+        if (index == null) {
+            throw new IllegalArgumentException("Cannot return score of unknown vertex");
+        }
+        return index;
+    }
+
+    private void lazyCompute()
+    {
+        if (coreNumbers != null) {
+            return;
+        }
+
+        IntegerAdjacency<V, E> simple = IntegerAdjacency.simple(graph);
+        int n = simple.vertexCount();
+        int[] offsets = simple.getOffsets();
+        int[] targets = simple.getTargets();
+
+        AtomicIntegerArray degrees = new AtomicIntegerArray(n);
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> degrees.set(v, offsets[v + 1] - offsets[v]));
+
+        int[] remaining = new int[n];
+        int[] next = new int[n];
+        for (int v = 0; v < n; v++) {
+            remaining[v] = v;
+        }
+        int[] frontier = new int[n];
+        int numRemaining = n;
+        int maxLevel = 0;
+
+        while (numRemaining > 0) {
+            // the level is the minimum remaining degree
+            final int[] current = remaining;
+            final int size = numRemaining;
+            LongAccumulator minimum = new LongAccumulator(Math::min, Long.MAX_VALUE);
+            ConcurrencyUtil.parallelForRanges(pool, 0, size, (from, to) -> {
+                int min = Integer.MAX_VALUE;
+                for (int i = from; i < to; i++) {
+                    min = Math.min(min, degrees.get(current[i]));
+                }
+                minimum.accumulate(min);
+            });
+            final int level = (int) minimum.get();
+            maxLevel = level;
+
+            // collect the remaining vertices of the level
+            AtomicInteger frontierSize = new AtomicInteger();
+            ConcurrencyUtil.parallelFor(pool, 0, size, i -> {
+                int v = current[i];
+                if (degrees.get(v) == level) {
+                    frontier[frontierSize.getAndIncrement()] = v;
+                }
+            });
+
+            // remove them, together with the neighbors whose degree drops to the level
+            ConcurrencyUtil.parallelForRanges(pool, 0, frontierSize.get(), (from, to) -> {
+                int[] buffer = Arrays.copyOfRange(frontier, from, to);
+                int bufferSize = buffer.length;
+                for (int i = 0; i < bufferSize; i++) {
+                    int v = buffer[i];
+                    for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                        int u = targets[j];
+                        if (degrees.get(u) > level) {
+                            int d = degrees.getAndDecrement(u);
+                            if (d == level + 1) {
+                                if (bufferSize == buffer.length) {
+                                    buffer = Arrays.copyOf(buffer, 2 * bufferSize);
+                                }
+                                buffer[bufferSize++] = u;
+                            } else if (d <= level) {
+                                degrees.getAndIncrement(u);
+                            }
+                        }
+                    }
+                }
+            });
+
+            // compact the remaining vertices, which have a degree above the level
+            numRemaining = compact(current, size, next, degrees, level);
+            remaining = next;
+            next = current;
+        }
+
+        int[] cores = new int[n];
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> cores[v] = degrees.get(v));
+
+        this.adjacency = simple;
+        this.degeneracy = maxLevel;
+        this.coreNumbers = cores;
+    }
+
+    /**
+     * Copy the vertices with a degree above the level, in their current order.
+     *
+     * @return the number of copied vertices
+     */
+    private int compact(
+        int[] source, int size, int[] target, AtomicIntegerArray degrees, int level)
+    {
+        int grain = ConcurrencyUtil.grainSize(pool, size);
+        int chunks = (size + grain - 1) / grain;
+        int[] counts = new int[chunks + 1];
+        ConcurrencyUtil.parallelForRanges(pool, 0, chunks, 1, (from, to) -> {
+            for (int c = from; c < to; c++) {
+                int count = 0;
+                for (int i = c * grain; i < Math.min(size, (c + 1) * grain); i++) {
+                    if (degrees.get(source[i]) > level) {
+                        count++;
+                    }
+                }
+                counts[c + 1] = count;
+            }
+        });
+        for (int c = 0; c < chunks; c++) {
+            counts[c + 1] += counts[c];
+        }
+        ConcurrencyUtil.parallelForRanges(pool, 0, chunks, 1, (from, to) -> {
+            for (int c = from; c < to; c++) {
+                int k = counts[c];
+                for (int i = c * grain; i < Math.min(size, (c + 1) * grain); i++) {
+                    if (degrees.get(source[i]) > level) {
+                        target[k++] = source[i];
+                    }
+                }
+            }
+        });
+        return counts[chunks];
+    }
+}
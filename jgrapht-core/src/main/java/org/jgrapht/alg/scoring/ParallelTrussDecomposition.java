@@ -0,0 +1,463 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Parallel truss decomposition of an undirected graph.
+ *
+ * <p>
+ * The $k$-truss of a graph is its maximal subgraph in which every edge is contained in at least
+ * $k - 2$ triangles of the subgraph. The truss number of an edge is the largest $k$ such that the
+ * edge belongs to the $k$-truss, thus every edge has truss number at least two. Self-loops are
+ * ignored and multiple edges between the same pair of vertices count as a single adjacency.
+ *
+ * <p>
+ * The initial support of every edge, which is the number of triangles containing it, is computed
+ * by {@link ParallelTriangleCount}. The edges are then peeled level by level, following the PKT
+ * algorithm of the following paper:
+ * <ul>
+ * <li>Humayun Kabir and Kamesh Madduri. Shared-Memory Graph Truss Decomposition. In 2017 IEEE 24th
+ * International Conference on High Performance Computing (HiPC), 13–22, 2017.</li>
+ * </ul>
+ * At level $\ell$, the remaining edges of support $\ell$ are removed in parallel in sub-rounds. For
+ * every removed edge, the triangles it forms with remaining edges are found by intersecting the
+ * sorted neighbor lists of its endpoints, and the supports of the other two edges are decremented
+ * atomically, but never below $\ell$. Edges whose support drops to $\ell$ are removed in the next
+ * sub-round. A triangle with two edges removed in the same sub-round is accounted for only by the
+ * edge with the smaller index. The running time is $O(m^{3/2})$ work.
+ *
+ * <p>
+ * The truss numbers are exposed as a primitive array aligned with the adjacency snapshot, see
+ * {@link #getTrussNumbers()}, together with a {@link Map} from the edges of the graph to their
+ * truss numbers. The computation is performed on the first call of any query method, and the class
+ * does not track changes of the graph.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ParallelTriangleCount
+ * @see ParallelCoreness
+ */
+public class ParallelTrussDecomposition<V, E>
+{
+    /**
+     * Lists whose lengths differ by at least this factor are intersected by binary searches
+     */
+    private static final int SEARCH_RATIO = 32;
+
+    private final Graph<V, E> graph;
+    private final ForkJoinPool pool;
+
+    private IntegerAdjacency<V, E> adjacency;
+    private int[] trussNumbers;
+    private int maxTrussNumber;
+    private Map<E, Integer> scores;
+
+    /**
+     * Create a new instance which uses the common {@link ForkJoinPool}.
+     *
+     * @param graph the input graph
+     * @throws IllegalArgumentException if the graph is not undirected
+     */
+    public ParallelTrussDecomposition(Graph<V, E> graph)
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param graph the input graph
+     * @param pool the pool to use for the parallel computation
+     * @throws IllegalArgumentException if the graph is not undirected
+     */
+    public ParallelTrussDecomposition(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this.graph = GraphTests.requireUndirected(graph);
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    /**
+     * Get the truss number of every edge of the graph. Self-loops are not contained in the map,
+     * and multiple edges between the same pair of vertices have the same truss number.
+     *
+     * @return the truss number of every edge
+     */
+    public Map<E, Integer> getScores()
+    {
+        lazyCompute();
+        if (scores == null) {
+            Map<E, Integer> map = CollectionUtil.newHashMapWithExpectedSize(graph.edgeSet().size());
+            Map<V, Integer> vertexMap = adjacency.getMapping().getVertexMap();
+            for (E e : graph.edgeSet()) {
+                int u = vertexMap.get(graph.getEdgeSource(e));
+                int v = vertexMap.get(graph.getEdgeTarget(e));
+                if (u != v) {
+                    map.put(e, trussNumbers[position(u, v)]);
+                }
+            }
+            scores = Collections.unmodifiableMap(map);
+        }
+        return scores;
+    }
+
+    /**
+     * Get the adjacency snapshot of the simple graph underlying the input graph, which defines the
+     * edge numbering of {@link #getTrussNumbers()}. It is the one returned by
+     * {@link IntegerAdjacency#simple(Graph)}.
+     *
+     * @return the adjacency snapshot
+     */
+    public IntegerAdjacency<V, E> getAdjacency()
+    {
+        lazyCompute();
+        return adjacency;
+    }
+
+    /**
+     * Get the truss number of every edge. The array is aligned with the targets of
+     * {@link #getAdjacency()}, so every edge appears at both of its endpoints. The returned array
+     * must not be modified.
+     *
+     * @return the truss number of every edge
+     */
+    public int[] getTrussNumbers()
+    {
+        lazyCompute();
+        return trussNumbers;
+    }
+
+    /**
+     * Get the truss number of the edge between two vertices.
+     *
+     * @param u one endpoint of the edge
+     * @param v the other endpoint of the edge
+     * @return the truss number of the edge
+     * @throws IllegalArgumentException if a vertex is not in the graph, or if the vertices are not
+     *         adjacent
+     */
+    public int getEdgeTrussNumber(V u, V v)
+    {
+        lazyCompute();
+        return trussNumbers[position(indexOf(u), indexOf(v))];
+    }
+
+    /**
+     * Get the largest truss number of an edge, or zero if the graph has no edges.
+     *
+     * @return the largest truss number
+     */
+    public int getMaxTrussNumber()
+    {
+        lazyCompute();
+        return maxTrussNumber;
+    }
+
+    /**
+     * Get the edges of the $k$-truss, which are the edges with truss number at least $k$.
+     * Self-loops are never contained in a truss.
+     *
+     * @param k the truss order
+     * @return the edges of the $k$-truss
+     */
+    public Set<E> getTruss(int k)
+    {
+        Map<E, Integer> trussNumbers = getScores();
+        Set<E> truss = new LinkedHashSet<>();
+        for (E e : graph.edgeSet()) {
+            Integer t = trussNumbers.get(e);
+            if (t != null && t >= k) {
+                truss.add(e);
+            }
+        }
+        return truss;
+    }
+
+    private int indexOf(V v)
+    {
+        Integer index = adjacency.getMapping().getVertexMap().get(v);
+        if (index == null) {
+            throw new IllegalArgumentException("Vertex not in graph: " + v);
+        }
+        return index;
+    }
+
+    private int position(int u, int v)
+    {
+        int[] offsets = adjacency.getOffsets();
+        int j = Arrays.binarySearch(adjacency.getTargets(), offsets[u], offsets[u + 1], v);
+        if (j < 0) {
+            throw new IllegalArgumentException("Vertices are not adjacent");
+        }
+        return j;
+    }
+
+    private void lazyCompute()
+    {
+        if (trussNumbers != null) {
+            return;
+        }
+
+        ParallelTriangleCount<V, E> triangleCount = new ParallelTriangleCount<>(graph, pool);
+        IntegerAdjacency<V, E> simple = triangleCount.getAdjacency();
+        int[] entrySupports = triangleCount.getEdgeSupports();
+        int n = simple.vertexCount();
+        int[] offsets = simple.getOffsets();
+        int[] targets = simple.getTargets();
+
+        // number every edge at its entry in the list of its smaller endpoint
+        int[] edgeOffsets = new int[n + 1];
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+            int start = upperStart(targets, offsets, v);
+            edgeOffsets[v + 1] = offsets[v + 1] - start;
+        });
+        for (int v = 0; v < n; v++) {
+            edgeOffsets[v + 1] += edgeOffsets[v];
+        }
+        int m = edgeOffsets[n];
+        int[] edgeIds = new int[targets.length];
+        int[] sources = new int[m];
+        int[] entries = new int[m];
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+            int start = upperStart(targets, offsets, v);
+            for (int j = start; j < offsets[v + 1]; j++) {
+                int id = edgeOffsets[v] + j - start;
+                edgeIds[j] = id;
+                sources[id] = v;
+                entries[id] = j;
+            }
+        });
+        ConcurrencyUtil.parallelFor(pool, 0, n, v -> {
+            for (int j = offsets[v]; j < offsets[v + 1] && targets[j] < v; j++) {
+                int u = targets[j];
+                edgeIds[j] = edgeIds[Arrays.binarySearch(targets, offsets[u], offsets[u + 1], v)];
+            }
+        });
+
+        AtomicIntegerArray support = new AtomicIntegerArray(m);
+        ConcurrencyUtil.parallelFor(pool, 0, m, e -> support.set(e, entrySupports[entries[e]]));
+        boolean[] removed = new boolean[m];
+        boolean[] inCurrent = new boolean[m];
+
+        int[] remaining = new int[m];
+        int[] nextRemaining = new int[m];
+        for (int e = 0; e < m; e++) {
+            remaining[e] = e;
+        }
+        int numRemaining = m;
+        int[] current = new int[m];
+        int[] next = new int[m];
+
+        while (numRemaining > 0) {
+            // the level is the minimum remaining support
+            final int[] edges = remaining;
+            final int size = numRemaining;
+            LongAccumulator minimum = new LongAccumulator(Math::min, Long.MAX_VALUE);
+            ConcurrencyUtil.parallelForRanges(pool, 0, size, (from, to) -> {
+                int min = Integer.MAX_VALUE;
+                for (int i = from; i < to; i++) {
+                    min = Math.min(min, support.get(edges[i]));
+                }
+                minimum.accumulate(min);
+            });
+            final int level = (int) minimum.get();
+
+            // collect the remaining edges of the level
+            final int[] firstRound = current;
+            AtomicInteger currentSize = new AtomicInteger();
+            ConcurrencyUtil.parallelFor(pool, 0, size, i -> {
+                int e = edges[i];
+                if (support.get(e) == level) {
+                    firstRound[currentSize.getAndIncrement()] = e;
+                }
+            });
+
+            // remove them in sub-rounds, together with the edges whose support drops to the level
+            int roundSize = currentSize.get();
+            while (roundSize > 0) {
+                final int[] round = current;
+                final int[] nextRound = next;
+                ConcurrencyUtil.parallelFor(pool, 0, roundSize, i -> inCurrent[round[i]] = true);
+
+                AtomicInteger nextSize = new AtomicInteger();
+                ConcurrencyUtil.parallelFor(pool, 0, roundSize, i -> {
+                    int e = round[i];
+                    int u = sources[e];
+                    int w = targets[entries[e]];
+                    removeTriangles(
+                        e, u, w, level, offsets, targets, edgeIds, support, removed, inCurrent,
+                        nextRound, nextSize);
+                });
+
+                ConcurrencyUtil.parallelFor(pool, 0, roundSize, i -> {
+                    removed[round[i]] = true;
+                    inCurrent[round[i]] = false;
+                });
+                roundSize = nextSize.get();
+                current = nextRound;
+                next = round;
+            }
+
+            // compact the remaining edges, which have a support above the level
+            numRemaining = compact(edges, size, nextRemaining, removed);
+            remaining = nextRemaining;
+            nextRemaining = edges;
+        }
+
+        int[] result = new int[targets.length];
+        ConcurrencyUtil.parallelFor(pool, 0, targets.length, j -> {
+            result[j] = support.get(edgeIds[j]) + 2;
+        });
+        int max = 0;
+        for (int e = 0; e < m; e++) {
+            max = Math.max(max, support.get(e) + 2);
+        }
+
+        this.adjacency = simple;
+        this.maxTrussNumber = max;
+        this.trussNumbers = result;
+    }
+
+    /**
+     * Process the triangles of an edge removed at the given level, whose third vertex is a common
+     * neighbor of its endpoints.
+     */
+    private static void removeTriangles(
+        int e, int u, int w, int level, int[] offsets, int[] targets, int[] edgeIds,
+        AtomicIntegerArray support, boolean[] removed, boolean[] inCurrent, int[] nextRound,
+        AtomicInteger nextSize)
+    {
+        int from1 = offsets[u];
+        int to1 = offsets[u + 1];
+        int from2 = offsets[w];
+        int to2 = offsets[w + 1];
+        if (to1 - from1 > to2 - from2) {
+            int tmp = from1;
+            from1 = from2;
+            from2 = tmp;
+            tmp = to1;
+            to1 = to2;
+            to2 = tmp;
+        }
+
+        boolean search = to2 - from2 > SEARCH_RATIO * (to1 - from1);
+        int j = from2;
+        for (int i = from1; i < to1 && j < to2; i++) {
+            int x = targets[i];
+            if (search) {
+                j = Arrays.binarySearch(targets, j, to2, x);
+                if (j < 0) {
+                    j = -j - 1;
+                    continue;
+                }
+            } else {
+                while (j < to2 && targets[j] < x) {
+                    j++;
+                }
+                if (j == to2 || targets[j] != x) {
+                    continue;
+                }
+            }
+
+            int e1 = edgeIds[i];
+            int e2 = edgeIds[j];
+            if (!removed[e1] && !removed[e2]) {
+                boolean above1 = support.get(e1) > level;
+                boolean above2 = support.get(e2) > level;
+                if (above1 && above2) {
+                    decrement(e1, level, support, nextRound, nextSize);
+                    decrement(e2, level, support, nextRound, nextSize);
+                } else if (above1) {
+                    if (!inCurrent[e2] || e < e2) {
+                        decrement(e1, level, support, nextRound, nextSize);
+                    }
+                } else if (above2) {
+                    if (!inCurrent[e1] || e < e1) {
+                        decrement(e2, level, support, nextRound, nextSize);
+                    }
+                }
+            }
+            j++;
+        }
+    }
+
+    private static void decrement(
+        int e, int level, AtomicIntegerArray support, int[] nextRound, AtomicInteger nextSize)
+    {
+        int s = support.getAndDecrement(e);
+        if (s == level + 1) {
+            nextRound[nextSize.getAndIncrement()] = e;
+        } else if (s <= level) {
+            support.getAndIncrement(e);
+        }
+    }
+
+    /**
+     * Copy the edges which are not removed, in their current order.
+     *
+     * @return the number of copied edges
+     */
+    private int compact(int[] source, int size, int[] target, boolean[] removed)
+    {
+        int grain = ConcurrencyUtil.grainSize(pool, size);
+        int chunks = (size + grain - 1) / grain;
+        int[] counts = new int[chunks + 1];
+        ConcurrencyUtil.parallelForRanges(pool, 0, chunks, 1, (from, to) -> {
+            for (int c = from; c < to; c++) {
+                int count = 0;
+                for (int i = c * grain; i < Math.min(size, (c + 1) * grain); i++) {
+                    if (!removed[source[i]]) {
+                        count++;
+                    }
+                }
+                counts[c + 1] = count;
+            }
+        });
+        for (int c = 0; c < chunks; c++) {
+            counts[c + 1] += counts[c];
+        }
+        ConcurrencyUtil.parallelForRanges(pool, 0, chunks, 1, (from, to) -> {
+            for (int c = from; c < to; c++) {
+                int k = counts[c];
+                for (int i = c * grain; i < Math.min(size, (c + 1) * grain); i++) {
+                    if (!removed[source[i]]) {
+                        target[k++] = source[i];
+                    }
+                }
+            }
+        });
+        return counts[chunks];
+    }
+
+    /**
+     * Get the position of the first neighbor larger than the vertex in its sorted neighbor list.
+     */
+    private static int upperStart(int[] targets, int[] offsets, int v)
+    {
+        int j = Arrays.binarySearch(targets, offsets[v], offsets[v + 1], v);
+        return j < 0 ? -j - 1 : j + 1;
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.similarity;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Weisfeiler-Lehman subtree features of graphs.
+ *
+ * <p>
+ * The extractor performs $k$ iterations of the Weisfeiler-Lehman relabeling, also known as color
+ * refinement, and counts how often every label occurs. The resulting sparse histogram is the
+ * feature vector of the Weisfeiler-Lehman subtree kernel:
+ * <ul>
+ * <li>Nino Shervashidze, Pascal Schweitzer, Erik Jan van Leeuwen, Kurt Mehlhorn, and Karsten M.
+ * Borgwardt. Weisfeiler-Lehman Graph Kernels. Journal of Machine Learning Research, 12:2539–2561,
+ * 2011.</li>
+ * </ul>
+ * Initially every vertex is labeled by its vertex label. In every iteration, the new label of a
+ * vertex is computed from its current label and the sorted multiset of the current labels of its
+ * neighbors. In directed graphs the labels of the out-neighbors and of the in-neighbors form two
+ * separate multisets. Edge labels are ignored.
+ *
+ * <p>
+ * Contrary to the original formulation, labels are not compressed with a dictionary but by a
+ * stable 64-bit hash function, which makes the extractor stateless. Histograms of different
+ * graphs, computed independently and even in different processes, are therefore comparable, which
+ * allows to process large collections of graphs in parallel. Isomorphic graphs always have equal
+ * histograms. Two different labels share a feature only in case of a hash collision. Labels of
+ * different iterations never share a feature, except by collision.
+ *
+ * <p>
+ * The running time is $O(k (n + m \log \Delta))$, where $\Delta$ is the maximum degree, and the
+ * space $O(k n + m)$. An instance can be used concurrently to process different graphs.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see org.jgrapht.alg.color.ColorRefinementAlgorithm
+ */
+public class WeisfeilerLehmanFeatureExtractor<V, E>
+{
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+    private static final long SEPARATOR = 0x5851F42D4C957F2DL;
+
+    private final int iterations;
+    private final ToLongFunction<V> vertexLabels;
+
+    /**
+     * Create a new extractor where all vertices have the same initial label.
+     *
+     * @param iterations the number of relabeling iterations $k$
+     * @throws IllegalArgumentException if the number of iterations is negative
+     */
+    public WeisfeilerLehmanFeatureExtractor(int iterations)
+    {
+        this(iterations, v -> 0L);
+    }
+
+    /**
+     * Create a new extractor.
+     *
+     * @param iterations the number of relabeling iterations $k$
+     * @param vertexLabels the initial label of every vertex
+     * @throws IllegalArgumentException if the number of iterations is negative
+     */
+    public WeisfeilerLehmanFeatureExtractor(int iterations, ToLongFunction<V> vertexLabels)
+    {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Number of iterations must be non-negative");
+        }
+        this.iterations = iterations;
+        this.vertexLabels = Objects.requireNonNull(vertexLabels, "Vertex labels cannot be null");
+    }
+
+    /**
+     * Compute the feature histogram of a graph. The histogram contains the labels of all vertices
+     * in the iterations $0, \dots, k$.
+     *
+     * @param graph the input graph
+     * @return the feature histogram
+     */
+    public SparseHistogram getFeatures(Graph<V, E> graph)
+    {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        if (graph.getType().isMixed()) {
+            throw new IllegalArgumentException("mixed graphs not supported");
+        }
+        boolean directed = graph.getType().isDirected();
+
+        VertexToIntegerMapping<V> mapping = Graphs.getVertexToIntegerMapping(graph);
+        IntegerAdjacency<V, E> out =
+            IntegerAdjacency.of(graph, mapping, IntegerAdjacency.Direction.OUTGOING, true);
+        IntegerAdjacency<V, E> in = directed
+            ? IntegerAdjacency.of(graph, mapping, IntegerAdjacency.Direction.INCOMING, true)
+            : null;
+        int n = out.vertexCount();
+
+        long[] labels = new long[n];
+        List<V> vertices = mapping.getIndexList();
+        for (int v = 0; v < n; v++) {
+            labels[v] = MathUtil.mix64(vertexLabels.applyAsLong(vertices.get(v)) ^ SEED);
+        }
+
+        long[] features = new long[n * (iterations + 1)];
+        System.arraycopy(labels, 0, features, 0, n);
+
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            maxDegree = Math.max(maxDegree, out.degree(v));
+            if (in != null) {
+                maxDegree = Math.max(maxDegree, in.degree(v));
+            }
+        }
+        long[] buffer = new long[maxDegree];
+
+        for (int i = 1; i <= iterations; i++) {
+            long[] next = new long[n];
+            for (int v = 0; v < n; v++) {
+                long h = combine(labels[v], i);
+                h = combineNeighbors(h, v, out, labels, buffer);
+                if (in != null) {
+                    h = combineNeighbors(combine(h, SEPARATOR), v, in, labels, buffer);
+                }
+                next[v] = MathUtil.mix64(h);
+            }
+            labels = next;
+            System.arraycopy(labels, 0, features, i * n, n);
+        }
+
+        return SparseHistogram.of(features);
+    }
+
+    private static long combineNeighbors(
+        long h, int v, IntegerAdjacency<?, ?> adjacency, long[] labels, long[] buffer)
+    {
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        int degree = offsets[v + 1] - offsets[v];
+        for (int j = 0; j < degree; j++) {
+            buffer[j] = labels[targets[offsets[v] + j]];
+        }
+        Arrays.sort(buffer, 0, degree);
+        h = combine(h, degree);
+        for (int j = 0; j < degree; j++) {
+            h = combine(h, buffer[j]);
+        }
+        return h;
+    }
+
+    private static long combine(long h, long x)
+    {
+        return MathUtil.mix64(h ^ MathUtil.mix64(x + SEED)) + SEPARATOR;
+    }
+
+    /**
+     * A sparse histogram of features. Features are stored in increasing order together with their
+     * positive counts.
+     */
+    public static final class SparseHistogram
+    {
+        private final long[] features;
+        private final int[] counts;
+
+        private SparseHistogram(long[] features, int[] counts)
+        {
+            this.features = features;
+            this.counts = counts;
+        }
+
+        /**
+         * Create a histogram from a list of feature occurrences.
+         *
+         * @param occurrences the features, a feature may occur multiple times
+         * @return the histogram
+         */
+        static SparseHistogram of(long[] occurrences)
+        {
+            long[] sorted = occurrences.clone();
+            Arrays.sort(sorted);
+            int size = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    size++;
+                }
+            }
+            long[] features = new long[size];
+            int[] counts = new int[size];
+            int k = -1;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    features[++k] = sorted[i];
+                }
+                counts[k]++;
+            }
+            return new SparseHistogram(features, counts);
+        }
+
+        /**
+         * Get the number of distinct features.
+         *
+         * @return the number of distinct features
+         */
+        public int size()
+        {
+            return features.length;
+        }
+
+        /**
+         * Get the feature at a position. Features are in increasing order.
+         *
+         * @param index the position
+         * @return the feature
+         */
+        public long getFeature(int index)
+        {
+            return features[index];
+        }
+
+        /**
+         * Get the count of the feature at a position.
+         *
+         * @param index the position
+         * @return the count of the feature
+         */
+        public int getCount(int index)
+        {
+            return counts[index];
+        }
+
+        /**
+         * Get the count of a feature.
+         *
+         * @param feature the feature
+         * @return the count of the feature, or zero if the feature does not occur
+         */
+        public int getCountOf(long feature)
+        {
+            int index = Arrays.binarySearch(features, feature);
+            return index < 0 ? 0 : counts[index];
+        }
+
+        /**
+         * Get the histogram as a map from feature to count.
+         *
+         * @return the histogram as a map
+         */
+        public Map<Long, Integer> toMap()
+        {
+            Map<Long, Integer> result = new LinkedHashMap<>();
+            for (int i = 0; i < features.length; i++) {
+                result.put(features[i], counts[i]);
+            }
+            return result;
+        }
+
+        /**
+         * Compute the dot product with another histogram. This is the value of the
+         * Weisfeiler-Lehman subtree kernel of the two graphs.
+         *
+         * @param other the other histogram
+         * @return the dot product
+         */
+        public long dotProduct(SparseHistogram other)
+        {
+            long result = 0;
+            int i = 0;
+            int j = 0;
+            while (i < features.length && j < other.features.length) {
+                int cmp = Long.compare(features[i], other.features[j]);
+                if (cmp == 0) {
+                    result += (long) counts[i++] * other.counts[j++];
+                } else if (cmp < 0) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Compute the cosine similarity with another histogram, that is the normalized kernel
+         * value. The similarity of two empty histograms is zero.
+         *
+         * @param other the other histogram
+         * @return the cosine similarity in $[0, 1]$
+         */
+        public double cosineSimilarity(SparseHistogram other)
+        {
+            double norm = Math.sqrt((double) dotProduct(this) * other.dotProduct(other));
+            return norm == 0d ? 0d : dotProduct(other) / norm;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SparseHistogram)) {
+                return false;
+            }
+            SparseHistogram other = (SparseHistogram) o;
+            return Arrays.equals(features, other.features) && Arrays.equals(counts, other.counts);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * Arrays.hashCode(features) + Arrays.hashCode(counts);
+        }
+
+        @Override
+        public String toString()
+        {
+            return toMap().toString();
+        }
+    }
+}
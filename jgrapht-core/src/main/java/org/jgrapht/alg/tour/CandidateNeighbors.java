@@ -0,0 +1,383 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.tour;
+
+import org.jgrapht.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Nearest neighbor candidate lists for local search TSP heuristics.
+ *
+ * <p>
+ * The candidate lists of $n$ cities are returned as a flat array of $n \cdot k$ city indices, where
+ * the $k$ entries starting at $i \cdot k$ are the nearest neighbors of city $i$ in order of
+ * increasing distance, and $k$ is at most $n - 1$.
+ */
+final class CandidateNeighbors
+{
+    private CandidateNeighbors()
+    {
+    }
+
+    /**
+     * Compute the $k$ nearest neighbors of points in the plane, using a uniform grid. For uniformly
+     * distributed points the running time is $O(n k \log k)$.
+     *
+     * @param x the x coordinates
+     * @param y the y coordinates
+     * @param k the maximum number of neighbors per point
+     * @return the candidate lists
+     */
+    static int[] euclidean(double[] x, double[] y, int k)
+    {
+        int n = x.length;
+        k = Math.min(k, n - 1);
+        int[] result = new int[n * k];
+        if (k <= 0) {
+            return result;
+        }
+        Grid grid = new Grid(x, y);
+        Heap heap = new Heap(k);
+        for (int i = 0; i < n; i++) {
+            heap.clear();
+            for (int r = 0;; r++) {
+                final int p = i;
+                grid.visitRing(i, r, j -> {
+                    if (j != p) {
+                        heap.offer(j, grid.squaredDistance(p, j));
+                    }
+                });
+                double bound = grid.lowerBound(r);
+                if (grid.coversAll(i, r) || (heap.isFull() && heap.maxKey() <= bound * bound)) {
+                    break;
+                }
+            }
+            heap.drainSorted(result, i * k);
+        }
+        return result;
+    }
+
+    /**
+     * A uniform grid over points in the plane with about two points per cell.
+     */
+    static class Grid
+    {
+        private final double[] x;
+        private final double[] y;
+        private final int side;
+        private final double minX;
+        private final double minY;
+        private final double cellSize;
+        private final int[] cellX;
+        private final int[] cellY;
+        private final int[] cellStart;
+        private final int[] cellPoints;
+
+        /**
+         * Create a new grid.
+         *
+         * @param x the x coordinates
+         * @param y the y coordinates
+         */
+        Grid(double[] x, double[] y)
+        {
+            this.x = x;
+            this.y = y;
+            int n = x.length;
+            double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                minX = Math.min(minX, x[i]);
+                maxX = Math.max(maxX, x[i]);
+                minY = Math.min(minY, y[i]);
+                maxY = Math.max(maxY, y[i]);
+            }
+            double width = Math.max(maxX - minX, maxY - minY);
+            this.minX = minX;
+            this.minY = minY;
+            this.side = width > 0d ? (int) Math.ceil(Math.sqrt(n / 2d)) : 1;
+            this.cellSize = width > 0d ? width / side : 1d;
+
+            this.cellX = new int[n];
+            this.cellY = new int[n];
+            this.cellStart = new int[side * side + 1];
+            for (int i = 0; i < n; i++) {
+                cellX[i] = Math.min(side - 1, (int) ((x[i] - minX) / cellSize));
+                cellY[i] = Math.min(side - 1, (int) ((y[i] - minY) / cellSize));
+                cellStart[cellY[i] * side + cellX[i] + 1]++;
+            }
+            for (int c = 0; c < side * side; c++) {
+                cellStart[c + 1] += cellStart[c];
+            }
+            this.cellPoints = new int[n];
+            int[] fill = Arrays.copyOf(cellStart, side * side);
+            for (int i = 0; i < n; i++) {
+                cellPoints[fill[cellY[i] * side + cellX[i]]++] = i;
+            }
+        }
+
+        /**
+         * Get the squared Euclidean distance between two points.
+         *
+         * @param i the first point
+         * @param j the second point
+         * @return the squared distance
+         */
+        double squaredDistance(int i, int j)
+        {
+            double dx = x[i] - x[j];
+            double dy = y[i] - y[j];
+            return dx * dx + dy * dy;
+        }
+
+        /**
+         * Visit all points, including $i$ itself, in the cells at Chebyshev distance $r$ from the
+         * cell of point $i$.
+         *
+         * @param i the point
+         * @param r the ring
+         * @param visitor the visitor
+         */
+        void visitRing(int i, int r, IntConsumer visitor)
+        {
+            for (int dy = -r; dy <= r; dy++) {
+                int cy = cellY[i] + dy;
+                if (cy < 0 || cy >= side) {
+                    continue;
+                }
+                int step = Math.abs(dy) == r ? 1 : 2 * r;
+                for (int dx = -r; dx <= r; dx += step) {
+                    int cx = cellX[i] + dx;
+                    if (cx < 0 || cx >= side) {
+                        continue;
+                    }
+                    int cell = cy * side + cx;
+                    for (int p = cellStart[cell]; p < cellStart[cell + 1]; p++) {
+                        visitor.accept(cellPoints[p]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Get a lower bound on the distance from any point to the points outside the rings
+         * $0, \dots, r$ around its cell.
+         *
+         * @param r the ring
+         * @return the lower bound
+         */
+        double lowerBound(int r)
+        {
+            return r * cellSize;
+        }
+
+        /**
+         * Test whether the rings $0, \dots, r$ around the cell of point $i$ cover the grid.
+         *
+         * @param i the point
+         * @param r the ring
+         * @return true if all cells have been covered
+         */
+        boolean coversAll(int i, int r)
+        {
+            return r >= Math.max(
+                Math.max(cellX[i], side - 1 - cellX[i]), Math.max(cellY[i], side - 1 - cellY[i]));
+        }
+
+        /**
+         * Visit all points $j \neq i$ whose distance from $i$ is less than a radius.
+         *
+         * @param i the point
+         * @param radius the radius
+         * @param visitor the visitor
+         */
+        void visitWithin(int i, double radius, IntConsumer visitor)
+        {
+            double squaredRadius = radius * radius;
+            for (int r = 0;; r++) {
+                visitRing(i, r, j -> {
+                    if (j != i && squaredDistance(i, j) < squaredRadius) {
+                        visitor.accept(j);
+                    }
+                });
+                if (coversAll(i, r) || lowerBound(r) >= radius) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Find the nearest point whose label differs from the label of point $i$, among the points
+         * closer than a bound.
+         *
+         * @param i the point
+         * @param label the label of every point
+         * @param bound the bound
+         * @return the nearest point with a different label, or $-1$ if there is none
+         */
+        int nearestWithOtherLabel(int i, int[] label, double bound)
+        {
+            double[] best = { bound * bound };
+            int[] nearest = { -1 };
+            for (int r = 0;; r++) {
+                visitRing(i, r, j -> {
+                    if (label[j] != label[i]) {
+                        double d = squaredDistance(i, j);
+                        if (d < best[0]) {
+                            best[0] = d;
+                            nearest[0] = j;
+                        }
+                    }
+                });
+                double lower = lowerBound(r);
+                if (coversAll(i, r) || lower * lower >= best[0]) {
+                    return nearest[0];
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute the $k$ nearest neighbors of the vertices of an undirected graph, where the distance
+     * is the edge weight. Self-loops are ignored. The running time is $O(m \log k)$.
+     *
+     * @param graph the graph
+     * @param vertices the vertices, indexed by city
+     * @param index the city of every vertex
+     * @param k the maximum number of neighbors per vertex
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @return the candidate lists
+     */
+    static <V, E> int[] fromGraph(Graph<V, E> graph, List<V> vertices, Map<V, Integer> index, int k)
+    {
+        int n = vertices.size();
+        k = Math.min(k, n - 1);
+        int[] result = new int[n * k];
+        if (k <= 0) {
+            return result;
+        }
+        Heap heap = new Heap(k);
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            heap.clear();
+            for (E e : graph.edgesOf(v)) {
+                int j = index.get(Graphs.getOppositeVertex(graph, e, v));
+                if (j != i) {
+                    heap.offer(j, graph.getEdgeWeight(e));
+                }
+            }
+            if (!heap.isFull()) {
+                throw new IllegalArgumentException("Graph is not complete");
+            }
+            heap.drainSorted(result, i * k);
+        }
+        return result;
+    }
+
+    /**
+     * A bounded max-heap keeping the elements with the smallest keys.
+     */
+    private static class Heap
+    {
+        private final int capacity;
+        private final int[] elements;
+        private final double[] keys;
+        private int size;
+
+        Heap(int capacity)
+        {
+            this.capacity = capacity;
+            this.elements = new int[capacity];
+            this.keys = new double[capacity];
+        }
+
+        void clear()
+        {
+            size = 0;
+        }
+
+        boolean isFull()
+        {
+            return size == capacity;
+        }
+
+        double maxKey()
+        {
+            return keys[0];
+        }
+
+        void offer(int element, double key)
+        {
+            if (size < capacity) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) / 2;
+                    if (keys[parent] >= key) {
+                        break;
+                    }
+                    elements[i] = elements[parent];
+                    keys[i] = keys[parent];
+                    i = parent;
+                }
+                elements[i] = element;
+                keys[i] = key;
+            } else if (key < keys[0]) {
+                siftDown(element, key, size);
+            }
+        }
+
+        /**
+         * Remove all elements and write them in order of increasing keys.
+         */
+        void drainSorted(int[] out, int offset)
+        {
+            while (size > 0) {
+                int last = --size;
+                out[offset + last] = elements[0];
+                if (last > 0) {
+                    siftDown(elements[last], keys[last], last);
+                }
+            }
+        }
+
+        private void siftDown(int element, double key, int length)
+        {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= length) {
+                    break;
+                }
+                if (child + 1 < length && keys[child + 1] > keys[child]) {
+                    child++;
+                }
+                if (keys[child] <= key) {
+                    break;
+                }
+                elements[i] = elements[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            elements[i] = element;
+            keys[i] = key;
+        }
+    }
+}
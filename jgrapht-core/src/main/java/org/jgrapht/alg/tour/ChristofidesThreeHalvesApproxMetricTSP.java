@@ -19,13 +19,16 @@ package org.jgrapht.alg.tour;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.cycle.*;
+import org.jgrapht.alg.drawing.model.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.alg.matching.blossom.v5.*;
 import org.jgrapht.alg.spanning.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 /**
@@ -67,6 +70,17 @@ import java.util.stream.*;
  * For more details, see <i>Christofides, N.: Worst-case analysis of a new heuristic for the
  * travelling salesman problem. Graduate School of Industrial Administration, Carnegie Mellon
  * University (1976).</i>
+ * <p>
+ * For points in the plane, {@link #getTour(Collection, Function)} computes the tour from the
+ * coordinates without materializing a complete graph. The Euclidean minimum spanning tree is
+ * computed by Borůvka's algorithm, where the nearest point of another component is taken from the
+ * lists of the $k$ nearest neighbors of every point and, only if these are exhausted, from a
+ * search in a uniform grid. The perfect matching is first computed on the graph of the $k$ nearest
+ * neighbors among the odd degree vertices. Every pair of points whose distance is less than the
+ * sum of their dual variables is then added to the graph and the matching is recomputed, until the
+ * dual solution proves that the matching is a minimum weight perfect matching of the complete
+ * graph. The complete graph is only built if this does not converge within a few rounds, such
+ * that the approximation guarantee is preserved.
  *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -77,6 +91,15 @@ public class ChristofidesThreeHalvesApproxMetricTSP<V, E>
     extends
     HamiltonianCycleAlgorithmBase<V, E>
 {
+    /**
+     * Number of nearest neighbors per point in the sparse graphs of the coordinate mode
+     */
+    private static final int CANDIDATE_NEIGHBORS = 10;
+
+    /**
+     * Maximum number of matching computations on sparse graphs before using the complete graph
+     */
+    private static final int MAX_SPARSE_MATCHING_ROUNDS = 4;
 
     /**
      * Computes a $3/2$-approximate tour.
@@ -135,4 +158,342 @@ public class ChristofidesThreeHalvesApproxMetricTSP<V, E>
 
         return vertexListToTour(tourVertices, graph);
     }
+
+    /**
+     * Computes a $3/2$-approximate tour of points in the plane, using Euclidean distances. No
+     * graph is needed in this mode.
+     *
+     * @param vertices the vertices
+     * @param coordinates the coordinates of every vertex
+     * @return the vertices in tour order, each exactly once
+     * @throws IllegalArgumentException if there are no vertices, or if a vertex appears more than
+     *         once
+     */
+    public List<V> getTour(Collection<V> vertices, Function<V, Point2D> coordinates)
+    {
+        Objects.requireNonNull(coordinates, "Coordinates cannot be null");
+        List<V> points = new ArrayList<>(vertices);
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("Graph contains no vertices");
+        }
+        if (new HashSet<>(points).size() != points.size()) {
+            throw new IllegalArgumentException("Vertices must be distinct");
+        }
+        int n = points.size();
+        if (n <= 3) {
+            return points;
+        }
+
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            Point2D p = coordinates.apply(points.get(i));
+            x[i] = p.getX();
+            y[i] = p.getY();
+        }
+
+        // minimum spanning tree
+        int[] tree = euclideanMinimumSpanningTree(x, y);
+        int[] degree = new int[n];
+        for (int endpoint : tree) {
+            degree[endpoint]++;
+        }
+
+        // minimum weight perfect matching on the odd degree vertices
+        int[] odd = IntStream.range(0, n).filter(v -> (degree[v] & 1) == 1).toArray();
+        double[] oddX = new double[odd.length];
+        double[] oddY = new double[odd.length];
+        for (int i = 0; i < odd.length; i++) {
+            oddX[i] = x[odd[i]];
+            oddY[i] = y[odd[i]];
+        }
+        int[] mate = euclideanMinimumPerfectMatching(oddX, oddY);
+
+        // Eulerian cycle of the tree and the matching
+        int edges = tree.length / 2 + odd.length / 2;
+        int[] endpoints = Arrays.copyOf(tree, 2 * edges);
+        int e = tree.length / 2;
+        for (int i = 0; i < odd.length; i++) {
+            if (i < mate[i]) {
+                endpoints[2 * e] = odd[i];
+                endpoints[2 * e + 1] = odd[mate[i]];
+                e++;
+            }
+        }
+        int[] order = shortcutEulerianCycle(n, endpoints);
+
+        List<V> tour = new ArrayList<>(n);
+        for (int v : order) {
+            tour.add(points.get(v));
+        }
+        return tour;
+    }
+
+    /**
+     * Compute a Euclidean minimum spanning tree by Borůvka's algorithm.
+     *
+     * @return the endpoints of the tree edges, two consecutive entries per edge
+     */
+    static int[] euclideanMinimumSpanningTree(double[] x, double[] y)
+    {
+        int n = x.length;
+        int k = Math.min(CANDIDATE_NEIGHBORS, n - 1);
+        int[] candidates = CandidateNeighbors.euclidean(x, y, k);
+        CandidateNeighbors.Grid grid = new CandidateNeighbors.Grid(x, y);
+        AtomicIntegerUnionFind uf = new AtomicIntegerUnionFind(n);
+
+        int[] tree = new int[2 * (n - 1)];
+        int edges = 0;
+        int[] component = new int[n];
+        double[] best = new double[n];
+        int[] bestSource = new int[n];
+        int[] bestTarget = new int[n];
+        while (edges < n - 1) {
+            for (int i = 0; i < n; i++) {
+                component[i] = uf.find(i);
+                best[i] = Double.POSITIVE_INFINITY;
+                bestSource[i] = -1;
+            }
+
+            // find the shortest edge leaving every component
+            for (int i = 0; i < n; i++) {
+                int c = component[i];
+                int j = -1;
+                for (int p = i * k; p < (i + 1) * k; p++) {
+                    if (component[candidates[p]] != c) {
+                        j = candidates[p];
+                        break;
+                    }
+                }
+                if (j == -1 && grid.squaredDistance(i, candidates[(i + 1) * k - 1]) < best[c]) {
+                    // all neighbors are in the same component, search beyond them
+                    j = grid.nearestWithOtherLabel(i, component, Math.sqrt(best[c]));
+                }
+                if (j != -1) {
+                    double d = grid.squaredDistance(i, j);
+                    if (d < best[c]) {
+                        best[c] = d;
+                        bestSource[c] = i;
+                        bestTarget[c] = j;
+                    }
+                }
+            }
+
+            for (int c = 0; c < n; c++) {
+                if (bestSource[c] != -1 && uf.union(bestSource[c], bestTarget[c])) {
+                    tree[2 * edges] = bestSource[c];
+                    tree[2 * edges + 1] = bestTarget[c];
+                    edges++;
+                }
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Compute a minimum weight perfect matching of points in the plane, using Euclidean distances.
+     *
+     * @return the mate of every point
+     */
+    static int[] euclideanMinimumPerfectMatching(double[] x, double[] y)
+    {
+        int m = x.length;
+        int[] mate = new int[m];
+        if (m == 0) {
+            return mate;
+        }
+        CandidateNeighbors.Grid grid = new CandidateNeighbors.Grid(x, y);
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        for (int i = 0; i < m; i++) {
+            graph.addVertex(i);
+        }
+
+        int k = CANDIDATE_NEIGHBORS;
+        addNearestNeighborEdges(graph, grid, x, y, k);
+        for (int round = 1;; round++) {
+            boolean complete = round >= MAX_SPARSE_MATCHING_ROUNDS || k >= m - 1;
+            if (complete) {
+                for (int u = 0; u < m; u++) {
+                    for (int v = u + 1; v < m; v++) {
+                        addEdge(graph, grid, u, v);
+                    }
+                }
+            }
+
+            KolmogorovWeightedPerfectMatching<Integer, DefaultWeightedEdge> matching =
+                new KolmogorovWeightedPerfectMatching<>(graph);
+            MatchingAlgorithm.Matching<Integer, DefaultWeightedEdge> result;
+            try {
+                result = matching.getMatching();
+            } catch (IllegalArgumentException e) {
+                // the sparse graph has no perfect matching
+                k *= 2;
+                addNearestNeighborEdges(graph, grid, x, y, k);
+                continue;
+            }
+
+            if (complete || addViolatedEdges(graph, grid, matching.getDualSolution()) == 0) {
+                for (DefaultWeightedEdge edge : result.getEdges()) {
+                    int u = graph.getEdgeSource(edge);
+                    int v = graph.getEdgeTarget(edge);
+                    mate[u] = v;
+                    mate[v] = u;
+                }
+                return mate;
+            }
+        }
+    }
+
+    private static void addNearestNeighborEdges(
+        Graph<Integer, DefaultWeightedEdge> graph, CandidateNeighbors.Grid grid, double[] x,
+        double[] y, int k)
+    {
+        int m = x.length;
+        k = Math.min(k, m - 1);
+        int[] candidates = CandidateNeighbors.euclidean(x, y, k);
+        for (int u = 0; u < m; u++) {
+            for (int p = u * k; p < (u + 1) * k; p++) {
+                addEdge(graph, grid, u, candidates[p]);
+            }
+        }
+    }
+
+    private static boolean addEdge(
+        Graph<Integer, DefaultWeightedEdge> graph, CandidateNeighbors.Grid grid, int u, int v)
+    {
+        if (graph.containsEdge(u, v)) {
+            return false;
+        }
+        graph.setEdgeWeight(graph.addEdge(u, v), Math.sqrt(grid.squaredDistance(u, v)));
+        return true;
+    }
+
+    /**
+     * Add all pairs of points to the graph which violate the constraints of the dual linear program
+     * of the perfect matching problem, that is, whose distance is less than the sum of the dual
+     * variables of the sets separating them.
+     *
+     * @return the number of added edges
+     */
+    private static int addViolatedEdges(
+        Graph<Integer, DefaultWeightedEdge> graph, CandidateNeighbors.Grid grid,
+        KolmogorovWeightedPerfectMatching.DualSolution<Integer, DefaultWeightedEdge> dual)
+    {
+        int m = graph.vertexSet().size();
+
+        // the potential of a point is the sum of the dual variables of all sets containing it
+        double[] potential = new double[m];
+        List<Double> blossomDuals = new ArrayList<>();
+        int[] memberships = new int[m];
+        for (Map.Entry<Set<Integer>, Double> entry : dual.getDualVariables().entrySet()) {
+            for (int v : entry.getKey()) {
+                potential[v] += entry.getValue();
+                if (entry.getKey().size() > 1) {
+                    memberships[v]++;
+                }
+            }
+        }
+        int[][] blossoms = new int[m][];
+        for (int v = 0; v < m; v++) {
+            blossoms[v] = new int[memberships[v]];
+            memberships[v] = 0;
+        }
+        for (Map.Entry<Set<Integer>, Double> entry : dual.getDualVariables().entrySet()) {
+            if (entry.getKey().size() > 1) {
+                int id = blossomDuals.size();
+                blossomDuals.add(entry.getValue());
+                for (int v : entry.getKey()) {
+                    blossoms[v][memberships[v]++] = id;
+                }
+            }
+        }
+
+        // blossom variables are non-negative, thus a violated pair is closer than twice the
+        // larger potential of its endpoints
+        List<int[]> violated = new ArrayList<>();
+        for (int u = 0; u < m; u++) {
+            if (potential[u] <= 0d) {
+                continue;
+            }
+            final int source = u;
+            grid.visitWithin(u, 2 * potential[u], v -> {
+                if (potential[v] > potential[source]
+                    || (potential[v] == potential[source] && v < source))
+                {
+                    return;
+                }
+                double reduced = potential[source] + potential[v];
+                for (int a : blossoms[source]) {
+                    for (int b : blossoms[v]) {
+                        if (a == b) {
+                            reduced -= 2 * blossomDuals.get(a);
+                        }
+                    }
+                }
+                double distance = Math.sqrt(grid.squaredDistance(source, v));
+                if (reduced > distance + KolmogorovWeightedPerfectMatching.EPS * (1d + distance)
+                    && !graph.containsEdge(source, v))
+                {
+                    violated.add(new int[] { source, v });
+                }
+            });
+        }
+        for (int[] pair : violated) {
+            addEdge(graph, grid, pair[0], pair[1]);
+        }
+        return violated.size();
+    }
+
+    /**
+     * Compute an Eulerian cycle of a connected multigraph with even degrees, and shortcut it to a
+     * Hamiltonian cycle.
+     *
+     * @return the vertices in order of their first occurrence in the Eulerian cycle
+     */
+    private static int[] shortcutEulerianCycle(int n, int[] endpoints)
+    {
+        int edges = endpoints.length / 2;
+        int[] offsets = new int[n + 1];
+        for (int endpoint : endpoints) {
+            offsets[endpoint + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] incident = new int[endpoints.length];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < edges; e++) {
+            incident[fill[endpoints[2 * e]]++] = e;
+            incident[fill[endpoints[2 * e + 1]]++] = e;
+        }
+
+        // Hierholzer's algorithm, visiting vertices in the order they leave the stack
+        boolean[] used = new boolean[edges];
+        boolean[] visited = new boolean[n];
+        int[] next = Arrays.copyOf(offsets, n);
+        int[] stack = new int[edges + 1];
+        int top = 0;
+        stack[top++] = 0;
+        int[] order = new int[n];
+        int size = 0;
+        while (top > 0) {
+            int v = stack[top - 1];
+            while (next[v] < offsets[v + 1] && used[incident[next[v]]]) {
+                next[v]++;
+            }
+            if (next[v] == offsets[v + 1]) {
+                top--;
+                if (!visited[v]) {
+                    visited[v] = true;
+                    order[size++] = v;
+                }
+            } else {
+                int e = incident[next[v]++];
+                used[e] = true;
+                stack[top++] = endpoints[2 * e] == v ? endpoints[2 * e + 1] : endpoints[2 * e];
+            }
+        }
+        return order;
+    }
 }
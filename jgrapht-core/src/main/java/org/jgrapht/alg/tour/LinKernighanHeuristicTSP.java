@@ -0,0 +1,513 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.tour;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.drawing.model.*;
+import org.jgrapht.alg.interfaces.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A Lin–Kernighan style local search heuristic for the TSP problem.
+ *
+ * <p>
+ * The travelling salesman problem (TSP) asks the following question: "Given a list of cities and
+ * the distances between each pair of cities, what is the shortest possible route that visits each
+ * city exactly once and returns to the origin city?".
+ * </p>
+ *
+ * <p>
+ * This is an implementation of the Or-opt and the Lin–Kernighan improvement heuristics restricted
+ * to sequential moves of depth three, as described in the following paper:
+ * <ul>
+ * <li>David S. Johnson and Lyle A. McGeoch. The Traveling Salesman Problem: A Case Study in Local
+ * Optimization. In Local Search in Combinatorial Optimization, 215–310, 1997.</li>
+ * </ul>
+ * Starting from a tour edge $(t_1, t_2)$, the search adds an edge $(t_2, t_3)$ and removes an edge
+ * $(t_3, t_4)$, which either closes an improving 2-opt move or is extended by an edge $(t_4, t_5)$
+ * and the removal of $(t_5, t_6)$ to an improving 3-opt move. Or-opt moves a path of up to three
+ * cities, possibly reversed, between two other adjacent cities. All added edges are taken from the
+ * candidate lists of the $k$ nearest neighbors of every city and must keep the partial gain
+ * positive, such that every city only examines a constant number of moves. Cities whose incident
+ * edges did not change since their last unsuccessful examination are skipped using don't-look
+ * bits. The first improving move found is applied.
+ * </p>
+ *
+ * <p>
+ * The tour is stored as a two-level doubly-linked list, see
+ * <ul>
+ * <li>Michael L. Fredman, David S. Johnson, Lyle A. McGeoch, and G. Ostheimer. Data Structures for
+ * Traveling Salesmen. Journal of Algorithms, 18(3), 432–479, 1995.</li>
+ * </ul>
+ * such that every move takes $O(\sqrt{n})$ time. Distances are read lazily, either from the edge
+ * weights of the graph or from planar coordinates, so that the memory usage is $O(n k)$. When
+ * working on a graph, computing the candidate lists takes $O(m \log k)$ time. In the coordinate
+ * mode of {@link #improveTour(List, Function)} they are computed with a uniform grid, which handles
+ * instances with hundreds of thousands of cities without materializing a graph.
+ * </p>
+ *
+ * <p>
+ * The default initial tours are computed by {@link GreedyHeuristicTSP}, however an alternative
+ * algorithm can be provided to create the initial tour. The algorithm can also be used to improve
+ * an existing tour, see {@link #improveTour(GraphPath)}.
+ * </p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see TwoOptHeuristicTSP
+ */
+public class LinKernighanHeuristicTSP<V, E>
+    extends
+    HamiltonianCycleAlgorithmBase<V, E>
+    implements
+    HamiltonianCycleImprovementAlgorithm<V, E>
+{
+    /**
+     * Default number of candidate neighbors per city
+     */
+    public static final int DEFAULT_NEIGHBORS = 10;
+
+    /**
+     * Maximum number of cities moved by an Or-opt move
+     */
+    private static final int MAX_OR_OPT_LENGTH = 3;
+
+    private final HamiltonianCycleAlgorithm<V, E> initializer;
+    private final int neighbors;
+    private final double minCostImprovement;
+
+    /**
+     * Constructor. By default the initial tour is computed by {@link GreedyHeuristicTSP}.
+     */
+    public LinKernighanHeuristicTSP()
+    {
+        this(new GreedyHeuristicTSP<>());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param initializer algorithm to generate the initial tour
+     */
+    public LinKernighanHeuristicTSP(HamiltonianCycleAlgorithm<V, E> initializer)
+    {
+        this(initializer, DEFAULT_NEIGHBORS, 1e-8);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param initializer algorithm to generate the initial tour
+     * @param neighbors number of candidate neighbors per city
+     * @param minCostImprovement minimum cost improvement per move
+     * @throws IllegalArgumentException if the number of neighbors is not positive
+     */
+    public LinKernighanHeuristicTSP(
+        HamiltonianCycleAlgorithm<V, E> initializer, int neighbors, double minCostImprovement)
+    {
+        this.initializer =
+            Objects.requireNonNull(initializer, "Initial solver algorithm cannot be null");
+        if (neighbors < 1) {
+            throw new IllegalArgumentException("Number of neighbors must be positive");
+        }
+        this.neighbors = neighbors;
+        this.minCostImprovement = Math.abs(minCostImprovement);
+    }
+
+    /**
+     * Computes a tour by improving the tour of the initializer.
+     *
+     * @param graph the input graph
+     * @return a tour
+     * @throws IllegalArgumentException if the graph is not undirected
+     * @throws IllegalArgumentException if the graph is not complete
+     * @throws IllegalArgumentException if the graph contains no vertices
+     */
+    @Override
+    public GraphPath<V, E> getTour(Graph<V, E> graph)
+    {
+        checkGraph(graph);
+        if (graph.vertexSet().size() == 1) {
+            return getSingletonTour(graph);
+        }
+        return improveTour(initializer.getTour(graph));
+    }
+
+    /**
+     * Try to improve a tour by running the local search. The graph of the tour must be complete.
+     *
+     * @param tour a tour
+     * @return a possibly improved tour
+     * @throws IllegalArgumentException if the tour is not a valid tour of its graph
+     */
+    @Override
+    public GraphPath<V, E> improveTour(GraphPath<V, E> tour)
+    {
+        Graph<V, E> graph = tour.getGraph();
+        List<V> closed = tour.getVertexList();
+        if (closed.size() <= 4) {
+            return tour;
+        }
+        List<V> vertices = new ArrayList<>(closed.subList(0, closed.size() - 1));
+        if (vertices.size() != graph.vertexSet().size()
+            || !closed.get(0).equals(closed.get(closed.size() - 1)))
+        {
+            throw new IllegalArgumentException("Not a valid tour");
+        }
+        Map<V, Integer> index = indexOf(vertices);
+
+        int[] candidates = CandidateNeighbors.fromGraph(graph, vertices, index, neighbors);
+        int[] order = improve(
+            vertices.size(), candidates,
+            (u, v) -> graph.getEdgeWeight(graph.getEdge(vertices.get(u), vertices.get(v))));
+
+        List<V> result = new ArrayList<>(order.length + 1);
+        for (int c : order) {
+            result.add(vertices.get(c));
+        }
+        result.add(result.get(0));
+        return closedVertexListToTour(result, graph);
+    }
+
+    /**
+     * Try to improve a tour of points in the plane by running the local search, using Euclidean
+     * distances. No graph is needed in this mode.
+     *
+     * @param tour the vertices in tour order, each exactly once
+     * @param coordinates the coordinates of every vertex
+     * @return the vertices of a possibly improved tour, starting with the first vertex of the input
+     *         tour
+     * @throws IllegalArgumentException if a vertex appears more than once
+     */
+    public List<V> improveTour(List<V> tour, Function<V, Point2D> coordinates)
+    {
+        Objects.requireNonNull(coordinates, "Coordinates cannot be null");
+        Map<V, Integer> index = indexOf(tour);
+        if (tour.size() <= 3) {
+            return new ArrayList<>(tour);
+        }
+
+        int n = tour.size();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            Point2D p = coordinates.apply(tour.get(i));
+            x[i] = p.getX();
+            y[i] = p.getY();
+        }
+
+        int[] candidates = CandidateNeighbors.euclidean(x, y, neighbors);
+        int[] order = improve(n, candidates, (u, v) -> {
+            double dx = x[u] - x[v];
+            double dy = y[u] - y[v];
+            return Math.sqrt(dx * dx + dy * dy);
+        });
+
+        List<V> result = new ArrayList<>(n);
+        for (int c : order) {
+            result.add(tour.get(c));
+        }
+        return result;
+    }
+
+    private Map<V, Integer> indexOf(List<V> vertices)
+    {
+        Map<V, Integer> index = new HashMap<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            if (index.put(vertices.get(i), i) != null) {
+                throw new IllegalArgumentException("Not a valid tour");
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Run the local search on the cities $0, \dots, n-1$, starting from the tour in that order.
+     *
+     * @return the improved tour, starting with city zero
+     */
+    private int[] improve(int n, int[] candidates, Distance distance)
+    {
+        return new Search(n, candidates, distance, minCostImprovement).run();
+    }
+
+    /**
+     * A distance between two cities.
+     */
+    @FunctionalInterface
+    private interface Distance
+    {
+        double get(int u, int v);
+    }
+
+    /**
+     * The local search on the cities $0, \dots, n-1$.
+     */
+    private static class Search
+    {
+        private final int n;
+        private final int k;
+        private final int[] candidates;
+        private final double[] candidateDistances;
+        private final Distance distance;
+        private final double epsilon;
+        private final TwoLevelTour tour;
+
+        // cities to examine, in FIFO order
+        private final int[] queue;
+        private final boolean[] queued;
+        private int queueHead;
+        private int queueSize;
+
+        Search(int n, int[] candidates, Distance distance, double epsilon)
+        {
+            this.n = n;
+            this.k = candidates.length / n;
+            this.candidates = candidates;
+            this.distance = distance;
+            this.epsilon = epsilon;
+            this.candidateDistances = new double[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                candidateDistances[i] = distance.get(i / k, candidates[i]);
+            }
+
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            this.tour = new TwoLevelTour(order);
+            this.queue = new int[n];
+            this.queued = new boolean[n];
+        }
+
+        int[] run()
+        {
+            for (int c = 0; c < n; c++) {
+                push(c);
+            }
+            while (queueSize > 0) {
+                int t1 = queue[queueHead];
+                queueHead = queueHead + 1 == n ? 0 : queueHead + 1;
+                queueSize--;
+                queued[t1] = false;
+                // after a move the endpoints of all changed edges, including t1, are queued again
+                if (!improve(t1, true)) {
+                    improve(t1, false);
+                }
+            }
+            return tour.toArray();
+        }
+
+        private boolean improve(int t1, boolean forward)
+        {
+            return threeOpt(t1, forward) || orOpt(t1, forward);
+        }
+
+        /**
+         * Search a sequential 2-opt or 3-opt move removing the edge from $t_1$ to its successor.
+         */
+        private boolean threeOpt(int t1, boolean forward)
+        {
+            int t2 = succ(t1, forward);
+            double g1 = distance.get(t1, t2);
+            for (int i = t2 * k; i < (t2 + 1) * k; i++) {
+                int t3 = candidates[i];
+                double g2 = g1 - candidateDistances[i];
+                if (g2 <= epsilon) {
+                    break;
+                }
+                if (t3 == t1 || t3 == succ(t2, forward)) {
+                    continue;
+                }
+                for (int x4 = 0; x4 < 2; x4++) {
+                    // removing the edge to the predecessor of t3 allows closing a 2-opt move
+                    boolean closable = x4 == 0;
+                    int t4 = closable ? pred(t3, forward) : succ(t3, forward);
+                    double g3 = g2 + distance.get(t3, t4);
+                    if (closable && g3 - distance.get(t4, t1) > epsilon) {
+                        move(t1, t2, t4, t3);
+                        push(t1, t2, t3, t4);
+                        return true;
+                    }
+
+                    for (int j = t4 * k; j < (t4 + 1) * k; j++) {
+                        int t5 = candidates[j];
+                        double g4 = g3 - candidateDistances[j];
+                        if (g4 <= epsilon) {
+                            break;
+                        }
+                        if (t5 == succ(t4, forward) || t5 == pred(t4, forward)) {
+                            continue;
+                        }
+                        if (closable) {
+                            if (t5 == t1) {
+                                continue;
+                            }
+                            // t6 is the neighbor of t5 on the path from t5 to t4 after the
+                            // 2-opt move
+                            int t6 = between(t2, t5, t4, forward) ? succ(t5, forward)
+                                : pred(t5, forward);
+                            if (g4 + distance.get(t5, t6) - distance.get(t6, t1) > epsilon) {
+                                move(t1, t2, t4, t3);
+                                move(t1, t4, t6, t5);
+                                push(t1, t2, t3, t4, t5, t6);
+                                return true;
+                            }
+                        } else {
+                            // t5 must break the cycle from t2 to t3
+                            if (!between(t2, t5, t3, forward)) {
+                                continue;
+                            }
+                            if (t5 != t3) {
+                                int t6 = succ(t5, forward);
+                                if (g4 + distance.get(t5, t6) - distance.get(t6, t1) > epsilon) {
+                                    swapSegments(t1, t2, t5, t6, t3, t4);
+                                    push(t1, t2, t3, t4, t5, t6);
+                                    return true;
+                                }
+                            }
+                            if (t5 != t2) {
+                                int t6 = pred(t5, forward);
+                                if (g4 + distance.get(t5, t6) - distance.get(t6, t1) > epsilon) {
+                                    move(t1, t2, t6, t5);
+                                    move(t2, t5, t3, t4);
+                                    push(t1, t2, t3, t4, t5, t6);
+                                    return true;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Search an Or-opt move of a path starting at $s_1$.
+         */
+        private boolean orOpt(int s1, boolean forward)
+        {
+            int s2 = s1;
+            for (int length = 1; length <= MAX_OR_OPT_LENGTH; length++) {
+                if (length > 1) {
+                    s2 = succ(s2, forward);
+                }
+                int p = pred(s1, forward);
+                int q = succ(s2, forward);
+                if (q == p || s2 == p) {
+                    break;
+                }
+                double removeGain =
+                    distance.get(p, s1) + distance.get(s2, q) - distance.get(p, q);
+                if (removeGain <= epsilon) {
+                    continue;
+                }
+
+                for (int end = 0; end < (length == 1 ? 1 : 2); end++) {
+                    int e = end == 0 ? s1 : s2;
+                    int other = end == 0 ? s2 : s1;
+                    for (int j = e * k; j < (e + 1) * k; j++) {
+                        int c = candidates[j];
+                        double g = removeGain - candidateDistances[j];
+                        if (g <= epsilon) {
+                            break;
+                        }
+                        if (between(s1, c, s2, forward)) {
+                            continue;
+                        }
+                        for (int x = 0; x < 2; x++) {
+                            int d = x == 0 ? succ(c, forward) : pred(c, forward);
+                            if (between(s1, d, s2, forward)) {
+                                continue;
+                            }
+                            if (g - distance.get(other, d) + distance.get(c, d) <= epsilon) {
+                                continue;
+                            }
+                            // insert between z1 and its successor z2
+                            int z1 = x == 0 ? c : d;
+                            int z2 = x == 0 ? d : c;
+                            if ((z1 == c) == (e == s1)) {
+                                swapSegments(p, s1, s2, q, z1, z2);
+                            } else {
+                                move(p, s1, z1, z2);
+                                move(p, z1, q, s2);
+                            }
+                            push(p, q, s1, s2, c, d);
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Replace the tour $x_1 x_2 \dots y_1 y_2 \dots z_1 z_2 \dots$ by
+         * $x_1 y_2 \dots z_1 x_2 \dots y_1 z_2 \dots$.
+         */
+        private void swapSegments(int x1, int x2, int y1, int y2, int z1, int z2)
+        {
+            move(x1, x2, z1, z2);
+            move(x1, z1, y2, y1);
+            move(z1, y1, x2, z2);
+        }
+
+        /**
+         * Apply a 2-opt move, replacing the edges $(a, b)$ and $(c, d)$ by $(a, c)$ and $(b, d)$,
+         * where $b$ follows $a$ and $d$ follows $c$ in the same direction.
+         */
+        private void move(int a, int b, int c, int d)
+        {
+            if (tour.next(a) == b) {
+                tour.reverse(b, c);
+            } else {
+                tour.reverse(c, b);
+            }
+        }
+
+        private int succ(int c, boolean forward)
+        {
+            return forward ? tour.next(c) : tour.prev(c);
+        }
+
+        private int pred(int c, boolean forward)
+        {
+            return forward ? tour.prev(c) : tour.next(c);
+        }
+
+        private boolean between(int a, int b, int c, boolean forward)
+        {
+            return forward ? tour.between(a, b, c) : tour.between(c, b, a);
+        }
+
+        private void push(int... cities)
+        {
+            for (int c : cities) {
+                if (!queued[c]) {
+                    queued[c] = true;
+                    int tail = queueHead + queueSize;
+                    queue[tail >= n ? tail - n : tail] = c;
+                    queueSize++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.tour;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * A parallel multi-start driver for randomized TSP heuristics.
+ *
+ * <p>
+ * The driver runs a number of independent starts of a randomized heuristic on a
+ * {@link ForkJoinPool} and returns the best tour found. Every start creates a fresh instance of the
+ * heuristic from a seed, for example
+ *
+ * <pre>
+ * {@code
+ * new ParallelMultiStartTSP<V, E>(
+ *     seed -> new TwoOptHeuristicTSP<>(new NearestNeighborHeuristicTSP<>(seed)), 64, 42L);
+ * }
+ * </pre>
+ *
+ * so that the heuristics do not share any mutable state. The seeds are split from a
+ * {@link SplittableRandom} initialized with the seed of the driver, in the order of the starts.
+ * The tour of every start is thus independent of the scheduling, and ties between equally long
+ * tours are broken in favor of the earlier start. The workers do not communicate while they run.
+ * Every finished tour is merged into the best tour by an atomic update, which is returned after all
+ * starts have completed.
+ *
+ * <p>
+ * Optionally, the driver runs under a wall-clock budget. No start begins after the budget is
+ * exhausted, except the first start, such that a tour is always returned. Running starts are not
+ * interrupted. With a budget the number of completed starts, and therefore the result, depends on
+ * the speed of the machine.
+ *
+ * <p>
+ * The graph must not be modified while the driver runs.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ParallelMultiStartTSP<V, E>
+    extends
+    HamiltonianCycleAlgorithmBase<V, E>
+{
+    private final LongFunction<HamiltonianCycleAlgorithm<V, E>> heuristic;
+    private final int starts;
+    private final long seed;
+    private final long nanosTimeout;
+    private final ForkJoinPool pool;
+
+    private int completedStarts;
+    private boolean timeLimitReached;
+
+    /**
+     * Constructor which uses the common {@link ForkJoinPool} without time limit.
+     *
+     * @param heuristic creates the heuristic of a start from a seed
+     * @param starts the number of starts
+     * @param seed seed for the random number generator
+     * @throws IllegalArgumentException if the number of starts is not positive
+     */
+    public ParallelMultiStartTSP(
+        LongFunction<HamiltonianCycleAlgorithm<V, E>> heuristic, int starts, long seed)
+    {
+        this(heuristic, starts, seed, 0L, TimeUnit.SECONDS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param heuristic creates the heuristic of a start from a seed
+     * @param starts the maximum number of starts
+     * @param seed seed for the random number generator
+     * @param timeout the wall-clock budget, if zero no budget
+     * @param unit the time unit of the timeout argument
+     * @param pool the pool to use for the parallel computation
+     * @throws IllegalArgumentException if the number of starts is not positive, or if the timeout
+     *         is negative
+     */
+    public ParallelMultiStartTSP(
+        LongFunction<HamiltonianCycleAlgorithm<V, E>> heuristic, int starts, long seed,
+        long timeout, TimeUnit unit, ForkJoinPool pool)
+    {
+        this.heuristic = Objects.requireNonNull(heuristic, "Heuristic cannot be null");
+        if (starts < 1) {
+            throw new IllegalArgumentException("Number of starts must be positive");
+        }
+        if (timeout < 0L) {
+            throw new IllegalArgumentException("Invalid timeout, must be non-negative");
+        }
+        this.starts = starts;
+        this.seed = seed;
+        this.nanosTimeout = timeout == 0L ? Long.MAX_VALUE
+            : Objects.requireNonNull(unit, "Unit cannot be null").toNanos(timeout);
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    /**
+     * Computes the best tour of all starts.
+     *
+     * @param graph the input graph
+     * @return a tour
+     * @throws IllegalArgumentException if the graph is not undirected
+     * @throws IllegalArgumentException if the graph is not complete
+     * @throws IllegalArgumentException if the graph contains no vertices
+     */
+    @Override
+    public GraphPath<V, E> getTour(Graph<V, E> graph)
+    {
+        checkGraph(graph);
+        completedStarts = 0;
+        timeLimitReached = false;
+        if (graph.vertexSet().size() == 1) {
+            completedStarts = 1;
+            return getSingletonTour(graph);
+        }
+
+        long[] seeds = new long[starts];
+        SplittableRandom rng = new SplittableRandom(seed);
+        for (int i = 0; i < starts; i++) {
+            seeds[i] = rng.split().nextLong();
+        }
+
+        long deadline;
+        try {
+            deadline = Math.addExact(System.nanoTime(), nanosTimeout);
+        } catch (ArithmeticException ignore) {
+            deadline = Long.MAX_VALUE;
+        }
+        final long nanosTimeLimit = deadline;
+
+        AtomicReference<Result<V, E>> best = new AtomicReference<>();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        ConcurrencyUtil.parallelForRanges(pool, 0, starts, 1, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (i > 0 && (timedOut.get() || System.nanoTime() - nanosTimeLimit >= 0L)) {
+                    timedOut.set(true);
+                    return;
+                }
+                GraphPath<V, E> tour = heuristic.apply(seeds[i]).getTour(graph);
+                Result<V, E> result = new Result<>(i, tour);
+                best.accumulateAndGet(result, (a, b) -> a == null || b.isBetterThan(a) ? b : a);
+                completed.incrementAndGet();
+            }
+        });
+
+        completedStarts = completed.get();
+        timeLimitReached = timedOut.get();
+        return best.get().tour;
+    }
+
+    /**
+     * Get the number of starts completed by the last call of {@link #getTour(Graph)}.
+     *
+     * @return the number of completed starts
+     */
+    public int getCompletedStarts()
+    {
+        return completedStarts;
+    }
+
+    /**
+     * Check whether the last call of {@link #getTour(Graph)} skipped starts due to the time limit.
+     *
+     * @return true if the time limit was reached, false otherwise
+     */
+    public boolean isTimeLimitReached()
+    {
+        return timeLimitReached;
+    }
+
+    /**
+     * The tour of a start.
+     */
+    private static class Result<V, E>
+    {
+        final int start;
+        final GraphPath<V, E> tour;
+
+        Result(int start, GraphPath<V, E> tour)
+        {
+            this.start = start;
+            this.tour = tour;
+        }
+
+        boolean isBetterThan(Result<V, E> other)
+        {
+            int c = Double.compare(tour.getWeight(), other.tour.getWeight());
+            return c < 0 || (c == 0 && start < other.start);
+        }
+    }
+}
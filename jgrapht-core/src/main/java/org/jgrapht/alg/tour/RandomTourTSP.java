@@ -51,6 +51,16 @@ public class RandomTourTSP<V, E>
         this(new Random());
     }
 
+    /**
+     * Construct with a random number generator initialized with the specified seed
+     *
+     * @param seed The seed for the random number generator
+     */
+    public RandomTourTSP(long seed)
+    {
+        this(new Random(seed));
+    }
+
     /**
      * Construct with specified random number generator
      *
@@ -0,0 +1,391 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.tour;
+
+/**
+ * A tour over the integers $0, \dots, n-1$ stored as a two-level doubly-linked list.
+ *
+ * <p>
+ * The cities are partitioned into about $\sqrt{n}$ segments of consecutive cities. Every segment
+ * is a doubly-linked list of cities with a reversal bit, and the segments form a doubly-linked
+ * ring. Successor, predecessor and betweenness queries take constant time. Reversing a path of the
+ * tour splits at most two segments and reverses the order of the segments in between by flipping
+ * their reversal bits, which takes $O(\sqrt{n})$ time. Paths inside a single segment are reversed
+ * by relinking the cities. The segments are rebalanced after $O(\sqrt{n})$ splits. See the
+ * following paper for the data structure:
+ * <ul>
+ * <li>Michael L. Fredman, David S. Johnson, Lyle A. McGeoch, and G. Ostheimer. Data Structures for
+ * Traveling Salesmen. Journal of Algorithms, 18(3), 432–479, 1995.</li>
+ * </ul>
+ */
+final class TwoLevelTour
+{
+    private final int n;
+    private final int groupSize;
+    private final int capacity;
+
+    // cities, linked in the internal orientation of their segment
+    private final int[] next;
+    private final int[] prev;
+    private final int[] segment;
+    private final int[] rank;
+
+    // segments, linked in tour order
+    private final int[] first;
+    private final int[] last;
+    private final boolean[] reversed;
+    private final int[] segmentNext;
+    private final int[] segmentPrev;
+    private final int[] segmentRank;
+    private int segments;
+
+    private final int[] buffer;
+
+    /**
+     * Create a new tour.
+     *
+     * @param order the cities in tour order, a permutation of $0, \dots, n-1$
+     */
+    TwoLevelTour(int[] order)
+    {
+        this.n = order.length;
+        this.groupSize = Math.max(8, (int) Math.sqrt(n));
+        int initialSegments = (n + groupSize - 1) / groupSize;
+        this.capacity = 2 * initialSegments + 4;
+
+        this.next = new int[n];
+        this.prev = new int[n];
+        this.segment = new int[n];
+        this.rank = new int[n];
+        this.first = new int[capacity];
+        this.last = new int[capacity];
+        this.reversed = new boolean[capacity];
+        this.segmentNext = new int[capacity];
+        this.segmentPrev = new int[capacity];
+        this.segmentRank = new int[capacity];
+        this.buffer = new int[groupSize];
+
+        rebuild(order);
+    }
+
+    /**
+     * Get the number of cities.
+     *
+     * @return the number of cities
+     */
+    int size()
+    {
+        return n;
+    }
+
+    /**
+     * Get the successor of a city.
+     *
+     * @param c the city
+     * @return the successor
+     */
+    int next(int c)
+    {
+        int s = segment[c];
+        if (reversed[s]) {
+            return c == first[s] ? head(segmentNext[s]) : prev[c];
+        }
+        return c == last[s] ? head(segmentNext[s]) : next[c];
+    }
+
+    /**
+     * Get the predecessor of a city.
+     *
+     * @param c the city
+     * @return the predecessor
+     */
+    int prev(int c)
+    {
+        int s = segment[c];
+        if (reversed[s]) {
+            return c == last[s] ? tail(segmentPrev[s]) : next[c];
+        }
+        return c == first[s] ? tail(segmentPrev[s]) : prev[c];
+    }
+
+    /**
+     * Test whether city $b$ lies on the path from $a$ to $c$ in tour direction, inclusive.
+     *
+     * @param a the start of the path
+     * @param b the city to test
+     * @param c the end of the path
+     * @return true if $b$ lies on the path from $a$ to $c$
+     */
+    boolean between(int a, int b, int c)
+    {
+        long pa = position(a);
+        long pb = position(b);
+        long pc = position(c);
+        if (pa <= pc) {
+            return pa <= pb && pb <= pc;
+        }
+        return pb >= pa || pb <= pc;
+    }
+
+    /**
+     * Reverse the path from $x$ to $y$ in tour direction. The complementary path may be reversed
+     * instead, which results in the same cyclic sequence in opposite direction.
+     *
+     * @param x the start of the path
+     * @param y the end of the path
+     */
+    void reverse(int x, int y)
+    {
+        if (x == y || next(y) == x) {
+            return;
+        }
+        if (segments + 2 > capacity) {
+            rebuild(toArray());
+        }
+
+        if (segment[x] == segment[y] && !ordered(x, y)) {
+            // the path wraps around, its complement lies inside the segment
+            int nx = next(y);
+            y = prev(x);
+            x = nx;
+        } else if (segment[x] != segment[y]) {
+            int span = segmentRank[segment[y]] - segmentRank[segment[x]];
+            if (span < 0) {
+                span += segments;
+            }
+            if (2 * (span + 1) > segments + 1) {
+                int nx = next(y);
+                y = prev(x);
+                x = nx;
+            }
+        }
+
+        if (segment[x] == segment[y] && ordered(x, y)) {
+            reverseInside(x, y);
+            return;
+        }
+
+        splitBefore(x);
+        splitAfter(y);
+        reverseSegments(segment[x], segment[y]);
+    }
+
+    /**
+     * Get the cities in tour order, starting from city zero.
+     *
+     * @return the cities in tour order
+     */
+    int[] toArray()
+    {
+        int[] order = new int[n];
+        int c = 0;
+        for (int i = 0; i < n; i++) {
+            order[i] = c;
+            c = next(c);
+        }
+        return order;
+    }
+
+    private int head(int s)
+    {
+        return reversed[s] ? last[s] : first[s];
+    }
+
+    private int tail(int s)
+    {
+        return reversed[s] ? first[s] : last[s];
+    }
+
+    private long position(int c)
+    {
+        int s = segment[c];
+        long inner = reversed[s] ? Integer.MAX_VALUE - rank[c] : rank[c];
+        return ((long) segmentRank[s] << 32) | inner;
+    }
+
+    /**
+     * Test whether $x$ precedes or equals $y$ in tour direction, for two cities of the same
+     * segment.
+     */
+    private boolean ordered(int x, int y)
+    {
+        return reversed[segment[x]] ? rank[x] >= rank[y] : rank[x] <= rank[y];
+    }
+
+    private void rebuild(int[] order)
+    {
+        segments = (n + groupSize - 1) / groupSize;
+        for (int s = 0; s < segments; s++) {
+            int from = s * groupSize;
+            int to = Math.min(n, from + groupSize);
+            first[s] = order[from];
+            last[s] = order[to - 1];
+            reversed[s] = false;
+            segmentNext[s] = s + 1 == segments ? 0 : s + 1;
+            segmentPrev[s] = s == 0 ? segments - 1 : s - 1;
+            segmentRank[s] = s;
+            for (int i = from; i < to; i++) {
+                int c = order[i];
+                segment[c] = s;
+                rank[c] = i - from;
+                next[c] = i + 1 < to ? order[i + 1] : -1;
+                prev[c] = i > from ? order[i - 1] : -1;
+            }
+        }
+    }
+
+    /**
+     * Reverse the path from $x$ to $y$, both in the same segment with $x$ preceding $y$, by
+     * relinking the cities.
+     */
+    private void reverseInside(int x, int y)
+    {
+        int s = segment[x];
+        int u = reversed[s] ? y : x;
+        int w = reversed[s] ? x : y;
+        int before = u == first[s] ? -1 : prev[u];
+        int after = w == last[s] ? -1 : next[w];
+
+        int m = 0;
+        for (int c = u;; c = next[c]) {
+            buffer[m++] = c;
+            if (c == w) {
+                break;
+            }
+        }
+        int lowRank = rank[u];
+        for (int i = 0; i < m; i++) {
+            int c = buffer[m - 1 - i];
+            rank[c] = lowRank + i;
+            prev[c] = i == 0 ? before : buffer[m - i];
+            next[c] = i == m - 1 ? after : buffer[m - 2 - i];
+        }
+        if (before == -1) {
+            first[s] = w;
+        } else {
+            next[before] = w;
+        }
+        if (after == -1) {
+            last[s] = u;
+        } else {
+            prev[after] = u;
+        }
+    }
+
+    /**
+     * Split the segment of $x$ such that $x$ is the first city of its segment in tour direction.
+     */
+    private void splitBefore(int x)
+    {
+        int s = segment[x];
+        if (head(s) != x) {
+            split(s, reversed[s] ? x : prev[x]);
+        }
+    }
+
+    /**
+     * Split the segment of $y$ such that $y$ is the last city of its segment in tour direction.
+     */
+    private void splitAfter(int y)
+    {
+        int s = segment[y];
+        if (tail(s) != y) {
+            split(s, reversed[s] ? prev[y] : y);
+        }
+    }
+
+    /**
+     * Split a segment after city $c$ in its internal orientation. The smaller part is moved to a
+     * new segment.
+     */
+    private void split(int s, int c)
+    {
+        int d = next[c];
+        int leftSize = rank[c] - rank[first[s]] + 1;
+        int rightSize = rank[last[s]] - rank[d] + 1;
+        int t = segments++;
+        reversed[t] = reversed[s];
+
+        boolean moveLeft = leftSize <= rightSize;
+        if (moveLeft) {
+            first[t] = first[s];
+            last[t] = c;
+            first[s] = d;
+        } else {
+            first[t] = d;
+            last[t] = last[s];
+            last[s] = c;
+        }
+        for (int v = first[t];; v = next[v]) {
+            segment[v] = t;
+            if (v == last[t]) {
+                break;
+            }
+        }
+        next[c] = -1;
+        prev[d] = -1;
+
+        // the left part precedes the right part in tour direction unless the segment is reversed
+        if (moveLeft != reversed[s]) {
+            link(segmentPrev[s], t);
+            link(t, s);
+        } else {
+            link(t, segmentNext[s]);
+            link(s, t);
+        }
+        renumber(s);
+    }
+
+    /**
+     * Reverse the run of segments from $a$ to $b$ in tour direction.
+     */
+    private void reverseSegments(int a, int b)
+    {
+        int p = segmentPrev[a];
+        int q = segmentNext[b];
+        int s = a;
+        while (true) {
+            int following = segmentNext[s];
+            reversed[s] = !reversed[s];
+            segmentNext[s] = segmentPrev[s];
+            segmentPrev[s] = following;
+            if (s == b) {
+                break;
+            }
+            s = following;
+        }
+        link(p, b);
+        link(a, q);
+        renumber(b);
+    }
+
+    private void link(int s, int t)
+    {
+        segmentNext[s] = t;
+        segmentPrev[t] = s;
+    }
+
+    private void renumber(int start)
+    {
+        int s = start;
+        for (int r = 0; r < segments; r++) {
+            segmentRank[s] = r;
+            s = segmentNext[s];
+        }
+    }
+}
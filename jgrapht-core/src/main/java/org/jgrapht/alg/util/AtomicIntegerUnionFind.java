@@ -0,0 +1,261 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.util;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * A lock-free <a href="http://en.wikipedia.org/wiki/Disjoint-set_data_structure">Union Find</a>
+ * data structure over the integer elements $[0, n)$.
+ *
+ * <p>
+ * The parent pointers are stored in a single {@link AtomicIntegerArray}, which makes the structure
+ * both compact and safe to use from many threads concurrently. Operation {@link #find(int)} is
+ * wait-free and uses path splitting: every visited element is redirected to its grandparent using
+ * a single compare-and-set, which may fail harmlessly if another thread has already made progress.
+ * Operation {@link #union(int, int)} is lock-free and links the root of lower priority below the
+ * root of higher priority using a compare-and-set on the parent pointer of the former. Priorities
+ * are a fixed pseudo-random permutation of the elements, which gives randomized linking by index
+ * as described in the following paper:
+ * <ul>
+ * <li>Siddhartha V. Jayanti and Robert E. Tarjan. A randomized concurrent algorithm for disjoint
+ * set union. In Proceedings of the 2016 ACM Symposium on Principles of Distributed Computing (PODC
+ * '16), 75–82, 2016.</li>
+ * </ul>
+ *
+ * <p>
+ * The expected amortized cost of each operation is logarithmic in the worst case and close to
+ * constant in practice. All operations except {@link #reset()} may be invoked concurrently.
+ *
+ * @see UnionFind
+ * @see ConcurrentUnionFind
+ */
+public class AtomicIntegerUnionFind
+{
+    private final AtomicIntegerArray parent;
+    private final AtomicInteger count; // number of components
+
+    /**
+     * Creates a new union find instance with elements $[0, n)$, each in its own singleton set.
+     *
+     * @param n the number of elements
+     * @throws IllegalArgumentException if $n$ is negative
+     */
+    public AtomicIntegerUnionFind(int n)
+    {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of elements must be non-negative");
+        }
+        this.parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+        this.count = new AtomicInteger(n);
+    }
+
+    /**
+     * Returns the representative element of the set that element is in. Concurrent unions may
+     * change the representative as soon as this method returns.
+     *
+     * @param element the element to find
+     * @return the element representing the set the element is in
+     * @throws IndexOutOfBoundsException if the element is not in $[0, n)$
+     */
+    public int find(int element)
+    {
+        checkElement(element);
+        int current = element;
+        while (true) {
+            int p = parent.get(current);
+            if (p == current) {
+                return current;
+            }
+            int gp = parent.get(p);
+            if (p != gp) {
+                // path splitting, losing the race is harmless
+                parent.compareAndSet(current, p, gp);
+            }
+            current = p;
+        }
+    }
+
+    /**
+     * Merges the sets which contain element1 and element2. No guarantees are given as to which
+     * element becomes the representative of the resulting (merged) set.
+     *
+     * @param element1 the first element to union
+     * @param element2 the second element to union
+     * @return true if the two sets were merged by this call, false if the elements were already in
+     *         the same set
+     * @throws IndexOutOfBoundsException if an element is not in $[0, n)$
+     */
+    public boolean union(int element1, int element2)
+    {
+        int root1 = element1;
+        int root2 = element2;
+        while (true) {
+            root1 = find(root1);
+            root2 = find(root2);
+            if (root1 == root2) {
+                return false;
+            }
+            if (lessPriority(root2, root1)) {
+                int tmp = root1;
+                root1 = root2;
+                root2 = tmp;
+            }
+            // root1 has lower priority, try to link it below root2
+            if (parent.compareAndSet(root1, root1, root2)) {
+                count.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Tests whether two elements are contained in the same set. The answer is linearizable, i.e. it
+     * reflects the state at some point in time during the call.
+     *
+     * @param element1 first element
+     * @param element2 second element
+     * @return true if element1 and element2 are contained in the same set, false otherwise
+     * @throws IndexOutOfBoundsException if an element is not in $[0, n)$
+     */
+    public boolean inSameSet(int element1, int element2)
+    {
+        int root1 = element1;
+        int root2 = element2;
+        while (true) {
+            root1 = find(root1);
+            root2 = find(root2);
+            if (root1 == root2) {
+                return true;
+            }
+            // if root1 is still a root, the sets were disjoint when we read its parent
+            if (parent.get(root1) == root1) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of sets. Initially, all items are in their own set.
+     *
+     * @return the number of sets
+     */
+    public int numberOfSets()
+    {
+        return count.get();
+    }
+
+    /**
+     * Returns the total number of elements in this data structure.
+     *
+     * @return the total number of elements in this data structure
+     */
+    public int size()
+    {
+        return parent.length();
+    }
+
+    /**
+     * Resets the data structure: each element is placed in its own singleton set. This method must
+     * not be called concurrently with any other operation.
+     */
+    public void reset()
+    {
+        int n = parent.length();
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+        count.set(n);
+    }
+
+    /**
+     * Computes the representative of every element. The result is only a consistent snapshot if no
+     * concurrent unions take place.
+     *
+     * @return an array with the representative of each element
+     */
+    public int[] toRepresentativeArray()
+    {
+        int n = parent.length();
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = find(i);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        Map<Integer, List<Integer>> setRep = new LinkedHashMap<>();
+        for (int i = 0; i < parent.length(); i++) {
+            setRep.computeIfAbsent(find(i), k -> new ArrayList<>()).add(i);
+        }
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (Map.Entry<Integer, List<Integer>> e : setRep.entrySet()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            sb.append('{').append(e.getKey()).append(':');
+            for (int j = 0; j < e.getValue().size(); j++) {
+                if (j > 0) {
+                    sb.append(',');
+                }
+                sb.append(e.getValue().get(j));
+            }
+            sb.append('}');
+        }
+        return sb.append('}').toString();
+    }
+
+    private void checkElement(int element)
+    {
+        if (element < 0 || element >= parent.length()) {
+            throw new IndexOutOfBoundsException("Element " + element + " out of range");
+        }
+    }
+
+    /**
+     * Total order on the elements which is a fixed pseudo-random permutation of the indices.
+     */
+    private static boolean lessPriority(int a, int b)
+    {
+        int ha = mix(a);
+        int hb = mix(b);
+        return ha < hb || (ha == hb && a < b);
+    }
+
+    /**
+     * The 32-bit finalizer of MurmurHash3, a bijection on the integers.
+     */
+    private static int mix(int h)
+    {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.util;
+
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * A thread-safe <a href="http://en.wikipedia.org/wiki/Disjoint-set_data_structure">Union Find</a>
+ * data structure over a fixed set of elements.
+ *
+ * <p>
+ * This class is an adapter which maps the elements to the integer range $[0, n)$ using a
+ * {@link VertexToIntegerMapping} and delegates to an {@link AtomicIntegerUnionFind}. Contrary to
+ * {@link UnionFind}, the set of elements is fixed at construction time, but all of {@link #find},
+ * {@link #union} and {@link #inSameSet} can be called from multiple threads concurrently without
+ * any external synchronization. The elements must not be modified in a way that affects their
+ * {@code hashCode} or {@code equals} methods while contained in this structure.
+ *
+ * @param <T> element type
+ *
+ * @see AtomicIntegerUnionFind
+ */
+public class ConcurrentUnionFind<T>
+{
+    private final VertexToIntegerMapping<T> mapping;
+    private final AtomicIntegerUnionFind uf;
+
+    /**
+     * Creates a union find instance with all the elements in separate sets.
+     *
+     * @param elements the elements to include (each element in a singleton set)
+     * @throws IllegalArgumentException if the elements are not distinct
+     */
+    public ConcurrentUnionFind(Collection<T> elements)
+    {
+        this(new VertexToIntegerMapping<>(elements));
+    }
+
+    /**
+     * Creates a union find instance from an existing mapping of the elements to integers, with all
+     * the elements in separate sets.
+     *
+     * @param mapping the mapping from elements to integers
+     */
+    public ConcurrentUnionFind(VertexToIntegerMapping<T> mapping)
+    {
+        this.mapping = Objects.requireNonNull(mapping, "Mapping cannot be null");
+        this.uf = new AtomicIntegerUnionFind(mapping.getIndexList().size());
+    }
+
+    /**
+     * Returns the representative element of the set that element is in.
+     *
+     * @param element the element to find
+     * @return the element representing the set the element is in
+     * @throws IllegalArgumentException if the element is not contained in this data structure
+     */
+    public T find(T element)
+    {
+        return mapping.getIndexList().get(uf.find(indexOf(element)));
+    }
+
+    /**
+     * Merges the sets which contain element1 and element2. No guarantees are given as to which
+     * element becomes the representative of the resulting (merged) set.
+     *
+     * @param element1 the first element to union
+     * @param element2 the second element to union
+     * @return true if the two sets were merged by this call, false if the elements were already in
+     *         the same set
+     * @throws IllegalArgumentException if an element is not contained in this data structure
+     */
+    public boolean union(T element1, T element2)
+    {
+        return uf.union(indexOf(element1), indexOf(element2));
+    }
+
+    /**
+     * Tests whether two elements are contained in the same set.
+     *
+     * @param element1 first element
+     * @param element2 second element
+     * @return true if element1 and element2 are contained in the same set, false otherwise
+     * @throws IllegalArgumentException if an element is not contained in this data structure
+     */
+    public boolean inSameSet(T element1, T element2)
+    {
+        return uf.inSameSet(indexOf(element1), indexOf(element2));
+    }
+
+    /**
+     * Returns the number of sets. Initially, all items are in their own set.
+     *
+     * @return the number of sets
+     */
+    public int numberOfSets()
+    {
+        return uf.numberOfSets();
+    }
+
+    /**
+     * Returns the total number of elements in this data structure.
+     *
+     * @return the total number of elements in this data structure
+     */
+    public int size()
+    {
+        return uf.size();
+    }
+
+    /**
+     * Resets the data structure: each element is placed in its own singleton set. This method must
+     * not be called concurrently with any other operation.
+     */
+    public void reset()
+    {
+        uf.reset();
+    }
+
+    /**
+     * Get the mapping between elements and the integers used by the underlying integer union find.
+     *
+     * @return the element to integer mapping
+     */
+    public VertexToIntegerMapping<T> getMapping()
+    {
+        return mapping;
+    }
+
+    /**
+     * Get the underlying integer union find.
+     *
+     * @return the underlying integer union find
+     */
+    public AtomicIntegerUnionFind getIntegerUnionFind()
+    {
+        return uf;
+    }
+
+    /**
+     * Returns a string representation of this data structure. Each component is represented as
+     * $\left{v_i:v_1,v_2,v_3,...v_n\right}$, where $v_i$ is the representative of the set.
+     *
+     * @return string representation of this data structure
+     */
+    @Override
+    public String toString()
+    {
+        List<T> elements = mapping.getIndexList();
+        Map<Integer, List<T>> setRep = new LinkedHashMap<>();
+        for (int i = 0; i < elements.size(); i++) {
+            setRep.computeIfAbsent(uf.find(i), k -> new ArrayList<>()).add(elements.get(i));
+        }
+        return setRep
+            .entrySet().stream()
+            .map(
+                e -> "{" + elements.get(e.getKey()) + ":"
+                    + e.getValue().stream().map(Objects::toString).collect(Collectors.joining(","))
+                    + "}")
+            .collect(Collectors.joining(", ", "{", "}"));
+    }
+
+    private int indexOf(T element)
+    {
+        Integer index = mapping.getVertexMap().get(element);
+        if (index == null) {
+            throw new IllegalArgumentException(
+                "element is not contained in this UnionFind data structure: " + element);
+        }
+        return index;
+    }
+}
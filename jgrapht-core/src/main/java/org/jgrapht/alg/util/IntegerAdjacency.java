@@ -0,0 +1,433 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.util;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * An immutable snapshot of the adjacency structure of a graph over the integer vertices $[0, n)$,
+ * stored in compressed sparse row (CSR) format.
+ *
+ * <p>
+ * The neighbors of vertex $i$ are {@code getTargets()[j]} for $j$ in
+ * {@code [getOffsets()[i], getOffsets()[i+1])}, and the edge which induced that entry is
+ * {@code getEdgeList().get(getEdgeIndices()[j])}. Vertices are numbered using a
+ * {@link VertexToIntegerMapping} and edges are numbered by their position in the iteration order of
+ * {@link Graph#edgeSet()}, so two snapshots of the same unmodified graph agree on both numberings.
+ *
+ * <p>
+ * The snapshot is meant to be used by algorithms which scan the adjacency structure many times, or
+ * from many threads concurrently. It uses three integer arrays and is therefore much more compact
+ * and cache friendly than the graph itself. The snapshot does not track changes of the graph.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class IntegerAdjacency<V, E>
+{
+    /**
+     * Which edges of a vertex are included in its adjacency.
+     */
+    public enum Direction
+    {
+        /**
+         * Outgoing edges. In undirected graphs these are all edges touching a vertex.
+         */
+        OUTGOING,
+        /**
+         * Incoming edges. In undirected graphs these are all edges touching a vertex.
+         */
+        INCOMING,
+        /**
+         * All edges touching a vertex, regardless of their direction.
+         */
+        ALL
+    }
+
+    private final VertexToIntegerMapping<V> mapping;
+    private final List<E> edgeList;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] edgeIndices;
+
+    private IntegerAdjacency(
+        VertexToIntegerMapping<V> mapping, List<E> edgeList, int[] offsets, int[] targets,
+        int[] edgeIndices)
+    {
+        this.mapping = mapping;
+        this.edgeList = edgeList;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.edgeIndices = edgeIndices;
+    }
+
+    /**
+     * Create the adjacency snapshot of a graph, including self-loops and multiple edges.
+     *
+     * @param graph the graph
+     * @param direction which edges to include
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @return the adjacency snapshot
+     */
+    public static <V, E> IntegerAdjacency<V, E> of(Graph<V, E> graph, Direction direction)
+    {
+        return of(graph, Graphs.getVertexToIntegerMapping(graph), direction, true);
+    }
+
+    /**
+     * Create the adjacency snapshot of a graph using a given vertex numbering. Self-loops are
+     * included at most once in the adjacency of their vertex, regardless of the direction.
+     *
+     * @param graph the graph
+     * @param mapping the vertex numbering, which must contain exactly the vertices of the graph
+     * @param direction which edges to include
+     * @param includeSelfLoops whether to include self-loops
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @return the adjacency snapshot
+     */
+    public static <V, E> IntegerAdjacency<V, E> of(
+        Graph<V, E> graph, VertexToIntegerMapping<V> mapping, Direction direction,
+        boolean includeSelfLoops)
+    {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        Objects.requireNonNull(mapping, "Mapping cannot be null");
+        Objects.requireNonNull(direction, "Direction cannot be null");
+
+        List<V> vertices = mapping.getIndexList();
+        Map<V, Integer> vertexMap = mapping.getVertexMap();
+        int n = vertices.size();
+        if (n != graph.vertexSet().size()) {
+            throw new IllegalArgumentException("Mapping does not match graph vertices");
+        }
+
+        List<E> edgeList = new ArrayList<>(graph.edgeSet());
+        Map<E, Integer> edgeMap = CollectionUtil.newHashMapWithExpectedSize(edgeList.size());
+        for (E e : edgeList) {
+            edgeMap.put(e, edgeMap.size());
+        }
+
+        boolean undirected = graph.getType().isUndirected();
+        boolean outgoing = undirected || direction != Direction.INCOMING;
+        boolean incoming = !undirected && direction != Direction.OUTGOING;
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            int count = 0;
+            if (outgoing) {
+                count += countEntries(graph, v, graph.outgoingEdgesOf(v), includeSelfLoops);
+            }
+            if (incoming) {
+                count += countEntries(
+                    graph, v, graph.incomingEdgesOf(v),
+                    includeSelfLoops && direction == Direction.INCOMING);
+            }
+            offsets[i + 1] = offsets[i] + count;
+        }
+
+        int[] targets = new int[offsets[n]];
+        int[] edgeIndices = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            int pos = offsets[i];
+            if (outgoing) {
+                for (E e : graph.outgoingEdgesOf(v)) {
+                    V u = Graphs.getOppositeVertex(graph, e, v);
+                    if (!u.equals(v) || includeSelfLoops) {
+                        targets[pos] = vertexMap.get(u);
+                        edgeIndices[pos++] = edgeMap.get(e);
+                    }
+                }
+            }
+            if (incoming) {
+                for (E e : graph.incomingEdgesOf(v)) {
+                    V u = Graphs.getOppositeVertex(graph, e, v);
+                    if (!u.equals(v) || (includeSelfLoops && direction == Direction.INCOMING)) {
+                        targets[pos] = vertexMap.get(u);
+                        edgeIndices[pos++] = edgeMap.get(e);
+                    }
+                }
+            }
+        }
+
+        return new IntegerAdjacency<>(mapping, edgeList, offsets, targets, edgeIndices);
+    }
+
+    private static <V, E> int countEntries(
+        Graph<V, E> graph, V v, Set<E> edges, boolean includeSelfLoops)
+    {
+        if (includeSelfLoops) {
+            return edges.size();
+        }
+        int count = 0;
+        for (E e : edges) {
+            if (!Graphs.getOppositeVertex(graph, e, v).equals(v)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Create the adjacency snapshot of the simple undirected graph underlying a graph. Edge
+     * directions are ignored, self-loops are removed and multiple edges between the same pair of
+     * vertices are collapsed into a single entry. The neighbors of every vertex are sorted in
+     * increasing order, which allows merge-based intersections and binary searches.
+     *
+     * @param graph the graph
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @return the adjacency snapshot
+     */
+    public static <V, E> IntegerAdjacency<V, E> simple(Graph<V, E> graph)
+    {
+        return of(graph, Graphs.getVertexToIntegerMapping(graph), Direction.ALL, false)
+            .toSorted(true);
+    }
+
+    /**
+     * Create a copy of this snapshot with sorted neighbor lists.
+     *
+     * @param unique whether to keep only the first entry of every neighbor
+     * @return a copy with sorted neighbor lists
+     */
+    public IntegerAdjacency<V, E> toSorted(boolean unique)
+    {
+        int n = vertexCount();
+        int[] newOffsets = new int[n + 1];
+        int[] newTargets = new int[targets.length];
+        int[] newEdgeIndices = new int[edgeIndices.length];
+
+        long[] buffer = new long[0];
+        int pos = 0;
+        for (int v = 0; v < n; v++) {
+            int start = offsets[v];
+            int degree = offsets[v + 1] - start;
+            if (buffer.length < degree) {
+                buffer = new long[Math.max(degree, buffer.length * 2)];
+            }
+            // sort target and position together, keeping the first edge of each target
+            for (int j = 0; j < degree; j++) {
+                buffer[j] = ((long) targets[start + j] << 32) | j;
+            }
+            Arrays.sort(buffer, 0, degree);
+            newOffsets[v] = pos;
+            int last = -1;
+            for (int j = 0; j < degree; j++) {
+                int t = (int) (buffer[j] >>> 32);
+                if (unique && t == last) {
+                    continue;
+                }
+                last = t;
+                newTargets[pos] = t;
+                newEdgeIndices[pos++] = edgeIndices[start + (int) buffer[j]];
+            }
+        }
+        newOffsets[n] = pos;
+
+        if (pos < newTargets.length) {
+            newTargets = Arrays.copyOf(newTargets, pos);
+            newEdgeIndices = Arrays.copyOf(newEdgeIndices, pos);
+        }
+        return new IntegerAdjacency<>(mapping, edgeList, newOffsets, newTargets, newEdgeIndices);
+    }
+
+    /**
+     * Compute a degeneracy ordering of the vertices, that is an ordering in which every vertex has
+     * the smallest degree among the remaining vertices when removed. Every vertex then has at most
+     * $d$ neighbors later in the ordering, where $d$ is the degeneracy of the graph. The adjacency
+     * is expected to be symmetric, such as the one returned by {@link #simple(Graph)}. The
+     * implementation uses bucket sorting as described in the following paper and runs in
+     * $O(n + m)$ time:
+     * <ul>
+     * <li>Vladimir Batagelj and Matjaz Zaversnik. An O(m) Algorithm for Cores Decomposition of
+     * Networks. arXiv:cs/0310049, 2003.</li>
+     * </ul>
+     *
+     * @return the vertices in degeneracy order
+     */
+    public int[] degeneracyOrdering()
+    {
+        int n = vertexCount();
+        int[] degree = new int[n];
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            degree[v] = degree(v);
+            maxDegree = Math.max(maxDegree, degree[v]);
+        }
+
+        // bucket sort the vertices by degree
+        int[] bucketStart = new int[maxDegree + 1];
+        for (int v = 0; v < n; v++) {
+            bucketStart[degree[v]]++;
+        }
+        int start = 0;
+        for (int d = 0; d <= maxDegree; d++) {
+            int count = bucketStart[d];
+            bucketStart[d] = start;
+            start += count;
+        }
+        int[] order = new int[n];
+        int[] position = new int[n];
+        for (int v = 0; v < n; v++) {
+            position[v] = bucketStart[degree[v]]++;
+            order[position[v]] = v;
+        }
+        for (int d = maxDegree; d > 0; d--) {
+            bucketStart[d] = bucketStart[d - 1];
+        }
+        bucketStart[0] = 0;
+
+        // repeatedly remove the vertex of minimum degree, moving its neighbors one bucket down
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                int u = targets[j];
+                if (degree[u] > degree[v]) {
+                    int du = degree[u];
+                    int pu = position[u];
+                    int pw = bucketStart[du];
+                    int w = order[pw];
+                    if (u != w) {
+                        order[pu] = w;
+                        position[w] = pu;
+                        order[pw] = u;
+                        position[u] = pw;
+                    }
+                    bucketStart[du]++;
+                    degree[u]--;
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Get the number of vertices.
+     *
+     * @return the number of vertices
+     */
+    public int vertexCount()
+    {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Get the total number of adjacency entries.
+     *
+     * @return the total number of adjacency entries
+     */
+    public int size()
+    {
+        return targets.length;
+    }
+
+    /**
+     * Get the number of adjacency entries of a vertex.
+     *
+     * @param v the vertex
+     * @return the number of adjacency entries of the vertex
+     */
+    public int degree(int v)
+    {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Get the offsets array of length $n+1$. The returned array must not be modified.
+     *
+     * @return the offsets array
+     */
+    public int[] getOffsets()
+    {
+        return offsets;
+    }
+
+    /**
+     * Get the targets array. The returned array must not be modified.
+     *
+     * @return the targets array
+     */
+    public int[] getTargets()
+    {
+        return targets;
+    }
+
+    /**
+     * Get the edge indices array. The returned array must not be modified.
+     *
+     * @return the edge indices array
+     */
+    public int[] getEdgeIndices()
+    {
+        return edgeIndices;
+    }
+
+    /**
+     * Get the vertex numbering.
+     *
+     * @return the vertex numbering
+     */
+    public VertexToIntegerMapping<V> getMapping()
+    {
+        return mapping;
+    }
+
+    /**
+     * Get the edge numbering, i.e. the edges of the graph in the iteration order of the edge set
+     * at the time of the snapshot.
+     *
+     * @return the edge numbering
+     */
+    public List<E> getEdgeList()
+    {
+        return edgeList;
+    }
+
+    /**
+     * Get the vertex with a given index.
+     *
+     * @param index the index
+     * @return the vertex
+     */
+    public V getVertex(int index)
+    {
+        return mapping.getIndexList().get(index);
+    }
+
+    /**
+     * Get the index of a vertex.
+     *
+     * @param v the vertex
+     * @return the index of the vertex
+     * @throws IllegalArgumentException if the vertex is not part of the snapshot
+     */
+    public int getIndex(V v)
+    {
+        Integer index = mapping.getVertexMap().get(v);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown vertex: " + v);
+        }
+        return index;
+    }
+}
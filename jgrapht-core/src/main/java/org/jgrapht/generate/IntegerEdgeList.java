@@ -0,0 +1,219 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.generate;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A list of edges between integer vertices, stored in two primitive arrays.
+ *
+ * <p>
+ * The parallel generators of this package produce their edges in this form, which avoids the
+ * overhead of adding edges one at a time to a {@link Graph}. The vertices are the integers
+ * $[0, n)$. The list may be passed to sparse graph representations as a {@link Pair} list view, see
+ * {@link #asPairList()}, or added to any graph using {@link #addTo(Graph)}.
+ */
+public final class IntegerEdgeList
+{
+    private final int numberOfVertices;
+    private final int[] sources;
+    private final int[] targets;
+
+    /**
+     * Create a new edge list. The arrays are not copied.
+     *
+     * @param numberOfVertices the number of vertices
+     * @param sources the source of every edge
+     * @param targets the target of every edge
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public IntegerEdgeList(int numberOfVertices, int[] sources, int[] targets)
+    {
+        if (numberOfVertices < 0) {
+            throw new IllegalArgumentException("Number of vertices cannot be negative");
+        }
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Arrays must have the same length");
+        }
+        this.numberOfVertices = numberOfVertices;
+        this.sources = sources;
+        this.targets = targets;
+    }
+
+    /**
+     * Get the number of vertices.
+     *
+     * @return the number of vertices
+     */
+    public int getNumberOfVertices()
+    {
+        return numberOfVertices;
+    }
+
+    /**
+     * Get the number of edges.
+     *
+     * @return the number of edges
+     */
+    public int size()
+    {
+        return sources.length;
+    }
+
+    /**
+     * Get the source of every edge. The returned array must not be modified.
+     *
+     * @return the source of every edge
+     */
+    public int[] getSources()
+    {
+        return sources;
+    }
+
+    /**
+     * Get the target of every edge. The returned array must not be modified.
+     *
+     * @return the target of every edge
+     */
+    public int[] getTargets()
+    {
+        return targets;
+    }
+
+    /**
+     * Get an unmodifiable view of the edges as a list of pairs. The pairs are created on access.
+     *
+     * @return a list view of the edges
+     */
+    public List<Pair<Integer, Integer>> asPairList()
+    {
+        return new AbstractList<Pair<Integer, Integer>>()
+        {
+            @Override
+            public Pair<Integer, Integer> get(int index)
+            {
+                return Pair.of(sources[index], targets[index]);
+            }
+
+            @Override
+            public int size()
+            {
+                return sources.length;
+            }
+        };
+    }
+
+    /**
+     * Add the vertices and edges to a graph. New vertices are created using the vertex supplier of
+     * the graph. Self-loops are skipped if the graph does not allow them, and multiple edges are
+     * skipped if the graph does not allow them.
+     *
+     * @param target the target graph
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @return the new vertex of every integer vertex
+     * @throws IllegalArgumentException if the vertex supplier does not produce distinct vertices
+     */
+    public <V, E> List<V> addTo(Graph<V, E> target)
+    {
+        int previousVertexSetSize = target.vertexSet().size();
+        List<V> vertices = new ArrayList<>(numberOfVertices);
+        for (int i = 0; i < numberOfVertices; i++) {
+            vertices.add(target.addVertex());
+        }
+        if (target.vertexSet().size() != previousVertexSetSize + numberOfVertices) {
+            throw new IllegalArgumentException(
+                "Vertex factory did not produce " + numberOfVertices + " distinct vertices.");
+        }
+
+        boolean loops = target.getType().isAllowingSelfLoops();
+        boolean multipleEdges = target.getType().isAllowingMultipleEdges();
+        for (int e = 0; e < sources.length; e++) {
+            if (sources[e] == targets[e] && !loops) {
+                continue;
+            }
+            V s = vertices.get(sources[e]);
+            V t = vertices.get(targets[e]);
+            if (multipleEdges || !target.containsEdge(s, t)) {
+                target.addEdge(s, t);
+            }
+        }
+        return vertices;
+    }
+
+    /**
+     * A growable buffer of edges, used by the generators to collect the edges of one part.
+     */
+    static final class Buffer
+    {
+        int[] sources;
+        int[] targets;
+        int size;
+
+        Buffer(int capacity)
+        {
+            capacity = Math.max(capacity, 16);
+            this.sources = new int[capacity];
+            this.targets = new int[capacity];
+        }
+
+        void add(int s, int t)
+        {
+            if (size == sources.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, 2L * size);
+                if (capacity == size) {
+                    throw new IllegalArgumentException("Too many edges");
+                }
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+            }
+            sources[size] = s;
+            targets[size] = t;
+            size++;
+        }
+    }
+
+    /**
+     * Concatenate the edges of several buffers, in order.
+     */
+    static IntegerEdgeList concat(int numberOfVertices, Buffer[] buffers, ForkJoinPool pool)
+    {
+        long total = 0;
+        int[] offsets = new int[buffers.length + 1];
+        for (int i = 0; i < buffers.length; i++) {
+            total += buffers[i].size;
+            if (total > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Too many edges");
+            }
+            offsets[i + 1] = (int) total;
+        }
+        int[] sources = new int[(int) total];
+        int[] targets = new int[(int) total];
+        ConcurrencyUtil.parallelFor(pool, 0, buffers.length, i -> {
+            System.arraycopy(buffers[i].sources, 0, sources, offsets[i], buffers[i].size);
+            System.arraycopy(buffers[i].targets, 0, targets, offsets[i], buffers[i].size);
+            buffers[i] = null;
+        });
+        return new IntegerEdgeList(numberOfVertices, sources, targets);
+    }
+}
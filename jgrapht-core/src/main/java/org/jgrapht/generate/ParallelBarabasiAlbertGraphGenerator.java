@@ -0,0 +1,180 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.generate;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Parallel generator of scale-free graphs by preferential attachment.
+ *
+ * <p>
+ * The generator starts with a complete graph on $m_0$ nodes and adds $n - m_0$ nodes, each one
+ * with $m$ edges whose endpoints are chosen with probability proportional to their degree, like
+ * {@link BarabasiAlbertGraphGenerator}. Preferential attachment is implemented by choosing a
+ * uniform random entry of the list of edge endpoints of the graph before the new node was added.
+ * The endpoints of all edges are computed independently in parallel as proposed in
+ * <ul>
+ * <li>Peter Sanders and Christian Schulz. Scalable generation of scale-free graphs. Information
+ * Processing Letters, 116(7):489–491, 2016.</li>
+ * </ul>
+ * The random choice of every edge is a hash of the seed and the edge index, thus the result only
+ * depends on the seed and not on the number of threads. If the chosen entry is the target of an
+ * earlier edge, the choice of that edge is resolved in the same way, which takes a constant number
+ * of steps in expectation. The generation takes $O(n m)$ expected time.
+ *
+ * <p>
+ * Contrary to {@link BarabasiAlbertGraphGenerator}, the $m$ endpoints of a new node are chosen
+ * independently, thus the generated graph may contain multiple edges. They are skipped when the
+ * edges are added to a graph which does not allow multiple edges. The generated graph never
+ * contains self-loops.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ParallelBarabasiAlbertGraphGenerator<V, E>
+    implements
+    GraphGenerator<V, E, V>
+{
+    private final int m0;
+    private final int m;
+    private final int n;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor which uses the common {@link ForkJoinPool}.
+     *
+     * @param m0 number of initial nodes
+     * @param m number of edges of each new node added during the network growth
+     * @param n final number of nodes
+     * @param seed seed for the random number generator
+     * @throws IllegalArgumentException in case of invalid parameters
+     */
+    public ParallelBarabasiAlbertGraphGenerator(int m0, int m, int n, long seed)
+    {
+        this(m0, m, n, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param m0 number of initial nodes
+     * @param m number of edges of each new node added during the network growth
+     * @param n final number of nodes
+     * @param seed seed for the random number generator
+     * @param pool the pool to use for the parallel generation
+     * @throws IllegalArgumentException in case of invalid parameters
+     */
+    public ParallelBarabasiAlbertGraphGenerator(int m0, int m, int n, long seed, ForkJoinPool pool)
+    {
+        if (m0 < 1) {
+            throw new IllegalArgumentException("invalid initial nodes (" + m0 + " < 1)");
+        }
+        if (m <= 0) {
+            throw new IllegalArgumentException("invalid edges per node (" + m + " <= 0");
+        }
+        if (m > m0) {
+            throw new IllegalArgumentException("invalid edges per node (" + m + " > " + m0 + ")");
+        }
+        if (n < m0) {
+            throw new IllegalArgumentException(
+                "total number of nodes must be at least equal to the initial set");
+        }
+        if ((long) m0 * (m0 - 1) / 2 + (long) (n - m0) * m > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges");
+        }
+        this.m0 = m0;
+        this.m = m;
+        this.n = n;
+        this.seed = seed;
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * Generates scale-free graph.
+     *
+     * @param target the target graph
+     * @param resultMap not used by this generator, can be null
+     */
+    @Override
+    public void generateGraph(Graph<V, E> target, Map<String, V> resultMap)
+    {
+        generateEdges().addTo(target);
+    }
+
+    /**
+     * Generate the edges of a scale-free graph. The source of every edge is the node which added
+     * it, and the first edges form the initial complete graph.
+     *
+     * @return the edges
+     */
+    public IntegerEdgeList generateEdges()
+    {
+        int initialEdges = m0 * (m0 - 1) / 2;
+        int edges = initialEdges + (n - m0) * m;
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        ConcurrencyUtil.parallelFor(pool, 0, edges, e -> {
+            sources[e] = source(e, initialEdges);
+            targets[e] = target(e, initialEdges);
+        });
+        return new IntegerEdgeList(n, sources, targets);
+    }
+
+    private int source(int e, int initialEdges)
+    {
+        if (e < initialEdges) {
+            // edge (a, b) of the initial complete graph with b < a
+            int a = (int) ((1 + Math.sqrt(1 + 8d * e)) / 2);
+            while ((long) a * (a - 1) / 2 > e) {
+                a--;
+            }
+            while ((long) (a + 1) * a / 2 <= e) {
+                a++;
+            }
+            return a;
+        }
+        return m0 + (e - initialEdges) / m;
+    }
+
+    private int target(int e, int initialEdges)
+    {
+        while (true) {
+            if (e < initialEdges) {
+                int a = source(e, initialEdges);
+                return e - a * (a - 1) / 2;
+            }
+            // the edges which existed before the source of the edge was added
+            long earlier = initialEdges + (long) (source(e, initialEdges) - m0) * m;
+            long h = MathUtil.mix64(seed + e * 0x9E3779B97F4A7C15L);
+            if (earlier == 0) {
+                // without initial edges, attach to a uniform initial node
+                return (int) Long.remainderUnsigned(h, m0);
+            }
+            long entry = Long.remainderUnsigned(h, 2 * earlier);
+            if ((entry & 1) == 0) {
+                return source((int) (entry >>> 1), initialEdges);
+            }
+            e = (int) (entry >>> 1);
+        }
+    }
+}
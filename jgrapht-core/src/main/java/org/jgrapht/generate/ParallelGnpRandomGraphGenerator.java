@@ -0,0 +1,211 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.generate;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Parallel generator of random graphs in the $G(n, p)$ model.
+ *
+ * <p>
+ * The generator produces the same distribution as {@link GnpRandomGraphGenerator}, but does not
+ * test every vertex pair. Instead, it draws the gaps between consecutive edges from a geometric
+ * distribution, as described in
+ * <ul>
+ * <li>Vladimir Batagelj and Ulrik Brandes. Efficient generation of large random networks. Physical
+ * Review E, 71(3):036113, 2005.</li>
+ * </ul>
+ * which takes $O(n + m)$ time for $m$ generated edges. The rows of the adjacency matrix are
+ * partitioned into parts with about the same number of vertex pairs, and the parts are generated in
+ * parallel. Every part uses its own stream of a {@link SplittableRandom}, split in part order, thus
+ * the result only depends on the seed and not on the number of threads.
+ *
+ * <p>
+ * The edges can be obtained as primitive arrays using {@link #generateEdges(boolean)}, or added to
+ * a graph using {@link #generateGraph(Graph, Map)}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ParallelGnpRandomGraphGenerator<V, E>
+    implements
+    GraphGenerator<V, E, V>
+{
+    /**
+     * Number of vertex pairs per part
+     */
+    private static final long PAIRS_PER_PART = 1L << 22;
+    private static final int MAX_PARTS = 1 << 16;
+
+    private final int n;
+    private final double p;
+    private final long seed;
+    private final boolean createLoops;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new generator which does not create self-loops and uses the common
+     * {@link ForkJoinPool}.
+     *
+     * @param n the number of nodes
+     * @param p the edge probability
+     * @param seed seed for the random number generator
+     */
+    public ParallelGnpRandomGraphGenerator(int n, double p, long seed)
+    {
+        this(n, p, seed, false, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new generator.
+     *
+     * @param n the number of nodes
+     * @param p the edge probability
+     * @param seed seed for the random number generator
+     * @param createLoops whether the generated graph may create loops
+     * @param pool the pool to use for the parallel generation
+     */
+    public ParallelGnpRandomGraphGenerator(
+        int n, double p, long seed, boolean createLoops, ForkJoinPool pool)
+    {
+        if (n < 0) {
+            throw new IllegalArgumentException("number of vertices must be non-negative");
+        }
+        if (p < 0.0 || p > 1.0) {
+            throw new IllegalArgumentException("not valid probability of edge existence");
+        }
+        this.n = n;
+        this.p = p;
+        this.seed = seed;
+        this.createLoops = createLoops;
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * Generates a random graph based on the $G(n, p)$ model.
+     *
+     * @param target the target graph
+     * @param resultMap not used by this generator, can be null
+     */
+    @Override
+    public void generateGraph(Graph<V, E> target, Map<String, V> resultMap)
+    {
+        if (createLoops && !target.getType().isAllowingSelfLoops()) {
+            throw new IllegalArgumentException("Provided graph does not support self-loops");
+        }
+        generateEdges(target.getType().isDirected()).addTo(target);
+    }
+
+    /**
+     * Generate the edges of a random graph. In the undirected case every edge $(i, j)$ has
+     * $j \le i$.
+     *
+     * @param directed whether to generate a directed graph
+     * @return the edges
+     */
+    public IntegerEdgeList generateEdges(boolean directed)
+    {
+        // partition the rows into parts with about the same number of pairs
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+        long pairs = 0;
+        long perPart = Math.max(PAIRS_PER_PART, rowStart(n, directed) / MAX_PARTS + 1);
+        for (int i = 0; i < n; i++) {
+            pairs += rowLength(i, directed);
+            if (pairs >= perPart) {
+                bounds.add(i + 1);
+                pairs = 0;
+            }
+        }
+        if (bounds.get(bounds.size() - 1) != n) {
+            bounds.add(n);
+        }
+        int parts = bounds.size() - 1;
+        SplittableRandom[] streams = new SplittableRandom[parts];
+        SplittableRandom base = new SplittableRandom(seed);
+        for (int i = 0; i < parts; i++) {
+            streams[i] = base.split();
+        }
+
+        IntegerEdgeList.Buffer[] buffers = new IntegerEdgeList.Buffer[parts];
+        double logQ = Math.log1p(-p);
+        ConcurrencyUtil.parallelFor(pool, 0, parts, part -> {
+            int from = bounds.get(part);
+            int to = bounds.get(part + 1);
+            long total = rowStart(to, directed) - rowStart(from, directed);
+            IntegerEdgeList.Buffer buffer =
+                new IntegerEdgeList.Buffer((int) Math.min(1 << 20, total * p * 1.1));
+            buffers[part] = buffer;
+            if (p == 0d) {
+                return;
+            }
+            SplittableRandom rng = streams[part];
+
+            int row = from;
+            long rowBegin = 0;
+            long rowEnd = rowLength(row, directed);
+            long position = -1;
+            while (true) {
+                // skip a geometrically distributed number of pairs
+                double skip = p == 1d ? 0d : Math.floor(Math.log1p(-rng.nextDouble()) / logQ);
+                if (skip >= total - position - 1) {
+                    break;
+                }
+                position += 1 + (long) skip;
+                while (position >= rowEnd) {
+                    row++;
+                    rowBegin = rowEnd;
+                    rowEnd += rowLength(row, directed);
+                }
+                int column = (int) (position - rowBegin);
+                if (directed && !createLoops && column >= row) {
+                    column++;
+                }
+                buffer.add(row, column);
+            }
+        });
+        return IntegerEdgeList.concat(n, buffers, pool);
+    }
+
+    /**
+     * Number of vertex pairs in a row of the adjacency matrix.
+     */
+    private long rowLength(int row, boolean directed)
+    {
+        if (directed) {
+            return createLoops ? n : n - 1;
+        }
+        return createLoops ? row + 1 : row;
+    }
+
+    /**
+     * Number of vertex pairs in the rows before a row.
+     */
+    private long rowStart(int row, boolean directed)
+    {
+        long r = row;
+        if (directed) {
+            return r * (createLoops ? n : n - 1);
+        }
+        return createLoops ? r * (r + 1) / 2 : r * (r - 1) / 2;
+    }
+}
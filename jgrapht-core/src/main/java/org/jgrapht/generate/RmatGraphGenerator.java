@@ -0,0 +1,183 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.generate;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Parallel generator of R-MAT graphs, as used by the Graph500 benchmark.
+ *
+ * <p>
+ * The generator creates $2^{scale}$ vertices and $edgeFactor \cdot 2^{scale}$ edges. Every edge is
+ * placed by recursively choosing one of the four quadrants of the adjacency matrix with
+ * probabilities $a$, $b$, $c$ and $1 - a - b - c$, see
+ * <ul>
+ * <li>Deepayan Chakrabarti, Yiping Zhan, and Christos Faloutsos. R-MAT: A Recursive Model for Graph
+ * Mining. In Proceedings of the 2004 SIAM International Conference on Data Mining, 442–446,
+ * 2004.</li>
+ * </ul>
+ * The default probabilities and the choice of the quadrants follow the Kronecker generator of the
+ * Graph500 specification, and the vertex labels are randomly permuted afterwards. The generated
+ * graph may contain self-loops and multiple edges, which are skipped when the edges are added to a
+ * graph which does not allow them.
+ *
+ * <p>
+ * The edges are generated in parallel in parts of fixed size. Every part uses its own stream of a
+ * {@link SplittableRandom}, split in part order, thus the result only depends on the seed and not
+ * on the number of threads.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class RmatGraphGenerator<V, E>
+    implements
+    GraphGenerator<V, E, V>
+{
+    /**
+     * Default probability of the upper left quadrant
+     */
+    public static final double DEFAULT_A = 0.57;
+    /**
+     * Default probability of the upper right quadrant
+     */
+    public static final double DEFAULT_B = 0.19;
+    /**
+     * Default probability of the lower left quadrant
+     */
+    public static final double DEFAULT_C = 0.19;
+
+    private static final int EDGES_PER_PART = 1 << 16;
+
+    private final int scale;
+    private final int edgeFactor;
+    private final double a;
+    private final double b;
+    private final double c;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new generator with the Graph500 quadrant probabilities which uses the common
+     * {@link ForkJoinPool}.
+     *
+     * @param scale the logarithm of the number of vertices
+     * @param edgeFactor the ratio of the number of edges to the number of vertices
+     * @param seed seed for the random number generator
+     */
+    public RmatGraphGenerator(int scale, int edgeFactor, long seed)
+    {
+        this(scale, edgeFactor, DEFAULT_A, DEFAULT_B, DEFAULT_C, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new generator.
+     *
+     * @param scale the logarithm of the number of vertices
+     * @param edgeFactor the ratio of the number of edges to the number of vertices
+     * @param a probability of the upper left quadrant
+     * @param b probability of the upper right quadrant
+     * @param c probability of the lower left quadrant
+     * @param seed seed for the random number generator
+     * @param pool the pool to use for the parallel generation
+     */
+    public RmatGraphGenerator(
+        int scale, int edgeFactor, double a, double b, double c, long seed, ForkJoinPool pool)
+    {
+        if (scale < 0 || scale > 30) {
+            throw new IllegalArgumentException("Scale must be in [0, 30]");
+        }
+        if (edgeFactor < 0 || ((long) edgeFactor << scale) > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid edge factor");
+        }
+        if (a <= 0d || b < 0d || c < 0d || a + b >= 1d || a + b + c > 1d) {
+            throw new IllegalArgumentException("Invalid quadrant probabilities");
+        }
+        this.scale = scale;
+        this.edgeFactor = edgeFactor;
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.seed = seed;
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * Generates an R-MAT graph.
+     *
+     * @param target the target graph
+     * @param resultMap not used by this generator, can be null
+     */
+    @Override
+    public void generateGraph(Graph<V, E> target, Map<String, V> resultMap)
+    {
+        generateEdges().addTo(target);
+    }
+
+    /**
+     * Generate the edges of an R-MAT graph.
+     *
+     * @return the edges
+     */
+    public IntegerEdgeList generateEdges()
+    {
+        int n = 1 << scale;
+        int edges = edgeFactor << scale;
+        int parts = (edges + EDGES_PER_PART - 1) / EDGES_PER_PART;
+        SplittableRandom base = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[parts];
+        for (int i = 0; i < parts; i++) {
+            streams[i] = base.split();
+        }
+
+        // random permutation of the vertex labels
+        int[] permutation = new int[n];
+        SplittableRandom shuffle = base.split();
+        for (int i = 0; i < n; i++) {
+            int j = shuffle.nextInt(i + 1);
+            permutation[i] = permutation[j];
+            permutation[j] = i;
+        }
+
+        double ab = a + b;
+        double cNorm = c / (1d - ab);
+        double aNorm = a / ab;
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        ConcurrencyUtil.parallelFor(pool, 0, parts, part -> {
+            SplittableRandom rng = streams[part];
+            int to = (int) Math.min(edges, (long) (part + 1) * EDGES_PER_PART);
+            for (int e = part * EDGES_PER_PART; e < to; e++) {
+                int u = 0;
+                int v = 0;
+                for (int bit = 0; bit < scale; bit++) {
+                    boolean lower = rng.nextDouble() > ab;
+                    boolean right = rng.nextDouble() > (lower ? cNorm : aNorm);
+                    u |= (lower ? 1 : 0) << bit;
+                    v |= (right ? 1 : 0) << bit;
+                }
+                sources[e] = permutation[u];
+                targets[e] = permutation[v];
+            }
+        });
+        return new IntegerEdgeList(n, sources, targets);
+    }
+}
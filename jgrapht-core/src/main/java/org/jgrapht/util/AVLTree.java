@@ -38,10 +38,14 @@ import java.util.*;
  * <li>Node successor/predecessor queries in $\mathcal{O}(1)$ time</li>
  * <li>Tree split in $\mathcal{O}(\log n)$ time</li>
  * <li>Tree merge in $\mathcal{O}(\log n)$ time</li>
+ * <li>Subtree flags queries in $\mathcal{O}(1)$ time</li>
  * </ul>
  * <p>
  * This implementation gives users access to the tree nodes which hold the inserted elements. The
- * user is able to store the tree nodes references but isn't able to modify them.
+ * user is able to store the tree nodes references but isn't able to modify them, except for an
+ * integer bit set of flags stored in every node. The tree maintains for every node the bitwise or
+ * of the flags in its subtree, which allows to find a node with a specific flag in
+ * $\mathcal{O}(\log n)$ time.
  *
  * @param <T> the key data type
  * @author Timofey Chudakov
@@ -773,6 +777,14 @@ public class AVLTree<T>
          * Size of the subtree rooted at this node
          */
         int subtreeSize;
+        /**
+         * User specified flags of this node
+         */
+        int flags;
+        /**
+         * Bitwise or of the flags of the nodes in the subtree rooted at this node
+         */
+        int subtreeFlags;
 
         /**
          * Constructs a new node with the {@code value} stored in it
@@ -849,6 +861,40 @@ public class AVLTree<T>
             return getRoot().getSubtreeMax();
         }
 
+        /**
+         * Returns the flags of this node
+         *
+         * @return the flags of this node
+         */
+        public int getFlags()
+        {
+            return flags;
+        }
+
+        /**
+         * Returns the bitwise or of the flags of all nodes in the subtree rooted at this node
+         *
+         * @return the bitwise or of the flags of all nodes in the subtree rooted at this node
+         */
+        public int getSubtreeFlags()
+        {
+            return subtreeFlags;
+        }
+
+        /**
+         * Updates the flags of this node. The subtree flags of all the ancestors of this node are
+         * updated accordingly. The running time of this method is $\mathcal{O}(\log n)$
+         *
+         * @param flags the new flags
+         */
+        public void setFlags(int flags)
+        {
+            this.flags = flags;
+            for (TreeNode<T> current = this; current != null; current = current.parent) {
+                current.updateSubtreeFlags();
+            }
+        }
+
         /**
          * Returns a parent of this node
          *
@@ -900,12 +946,13 @@ public class AVLTree<T>
         }
 
         /**
-         * Resets this node to the default state
+         * Resets this node to the default state. The flags of this node are preserved
          */
         void reset()
         {
             this.height = 1;
             this.subtreeSize = 1;
+            this.subtreeFlags = flags;
             this.subtreeMin = this;
             this.subtreeMax = this;
             this.left = this.right = this.parent = this.predecessor = this.successor = null;
@@ -952,13 +999,24 @@ public class AVLTree<T>
         }
 
         /**
-         * Updates the height and subtree size of this node according to the values of the left and
-         * right children
+         * Updates the height, subtree size and subtree flags of this node according to the values
+         * of the left and right children
          */
         void updateHeightAndSubtreeSize()
         {
             height = Math.max(getLeftHeight(), getRightHeight()) + 1;
             subtreeSize = getLeftSubtreeSize() + getRightSubtreeSize() + 1;
+            updateSubtreeFlags();
+        }
+
+        /**
+         * Updates the subtree flags of this node according to the values of the left and right
+         * children
+         */
+        void updateSubtreeFlags()
+        {
+            subtreeFlags = flags | (left == null ? 0 : left.subtreeFlags)
+                | (right == null ? 0 : right.subtreeFlags);
         }
 
         /**
@@ -0,0 +1,170 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Utility methods for running data-parallel loops on a {@link ForkJoinPool}.
+ *
+ * <p>
+ * The loops split an integer range recursively into chunks which are executed as
+ * {@link RecursiveAction}s. The body of a loop must be safe to execute concurrently for different
+ * indices. All writes performed by the body are visible to the caller once the loop returns.
+ * Unchecked exceptions thrown by the body are rethrown to the caller.
+ */
+public class ConcurrencyUtil
+{
+    /**
+     * Number of chunks per worker thread. Having more chunks than workers allows the pool to
+     * balance irregular workloads such as skewed vertex degrees.
+     */
+    private static final int CHUNKS_PER_THREAD = 8;
+
+    private ConcurrencyUtil()
+    { // static use only
+    }
+
+    /**
+     * A consumer of a half-open integer range $[from, to)$.
+     */
+    @FunctionalInterface
+    public interface IntRangeConsumer
+    {
+        /**
+         * Process the range $[from, to)$.
+         *
+         * @param from the first index (inclusive)
+         * @param to the last index (exclusive)
+         */
+        void accept(int from, int to);
+    }
+
+    /**
+     * Execute the body for every index in $[from, to)$ in parallel.
+     *
+     * @param pool the pool to use
+     * @param from the first index (inclusive)
+     * @param to the last index (exclusive)
+     * @param body the loop body
+     */
+    public static void parallelFor(ForkJoinPool pool, int from, int to, IntConsumer body)
+    {
+        Objects.requireNonNull(body);
+        parallelForRanges(pool, from, to, (lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                body.accept(i);
+            }
+        });
+    }
+
+    /**
+     * Split the range $[from, to)$ into chunks and execute the body on every chunk in parallel. The
+     * chunk size is chosen based on the parallelism of the pool.
+     *
+     * @param pool the pool to use
+     * @param from the first index (inclusive)
+     * @param to the last index (exclusive)
+     * @param body the chunk body
+     */
+    public static void parallelForRanges(
+        ForkJoinPool pool, int from, int to, IntRangeConsumer body)
+    {
+        parallelForRanges(pool, from, to, grainSize(pool, to - from), body);
+    }
+
+    /**
+     * Split the range $[from, to)$ into chunks of at most grain indices and execute the body on
+     * every chunk in parallel.
+     *
+     * @param pool the pool to use
+     * @param from the first index (inclusive)
+     * @param to the last index (exclusive)
+     * @param grain the maximum chunk size
+     * @param body the chunk body
+     */
+    public static void parallelForRanges(
+        ForkJoinPool pool, int from, int to, int grain, IntRangeConsumer body)
+    {
+        Objects.requireNonNull(pool);
+        Objects.requireNonNull(body);
+        if (grain < 1) {
+            throw new IllegalArgumentException("Grain size must be positive");
+        }
+        if (to <= from) {
+            return;
+        }
+        if (to - from <= grain || pool.getParallelism() == 1) {
+            body.accept(from, to);
+            return;
+        }
+        RangeAction action = new RangeAction(from, to, grain, body);
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            action.invoke();
+        } else {
+            pool.invoke(action);
+        }
+    }
+
+    /**
+     * Compute a grain size which splits a range of the given size into a few chunks per worker
+     * thread of the pool.
+     *
+     * @param pool the pool
+     * @param size the range size
+     * @return the grain size
+     */
+    public static int grainSize(ForkJoinPool pool, int size)
+    {
+        return Math.max(1, size / (CHUNKS_PER_THREAD * pool.getParallelism()));
+    }
+
+    private static class RangeAction
+        extends
+        RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final IntRangeConsumer body;
+
+        RangeAction(int from, int to, int grain, IntRangeConsumer body)
+        {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from <= grain) {
+                body.accept(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new RangeAction(from, mid, grain, body), new RangeAction(mid, to, grain, body));
+        }
+    }
+}
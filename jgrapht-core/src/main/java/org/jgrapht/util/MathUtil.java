@@ -79,4 +79,23 @@ public class MathUtil
         }
         return log + (n >>> 1);
     }
+
+    /**
+     * Mix the bits of a long value by the finalizer of the SplitMix64 generator, a bijection with
+     * good avalanche properties. It is suitable for hashing and for deterministic pseudo-random
+     * values, but not for cryptographic purposes. See the following paper:
+     * <ul>
+     * <li>Guy L. Steele Jr., Doug Lea, and Christine H. Flood. Fast splittable pseudorandom number
+     * generators. In Proceedings of OOPSLA 2014, 453–472, 2014.</li>
+     * </ul>
+     *
+     * @param z the input value
+     * @return the mixed value
+     */
+    public static long mix64(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
 }
@@ -55,6 +55,7 @@ public class AllVariantsBronKerboschCliqueFinderTest
             Iterable<Set<Integer>> alg1 = new BronKerboschCliqueFinder<>(g);
             Iterable<Set<Integer>> alg2 = new PivotBronKerboschCliqueFinder<>(g);
             Iterable<Set<Integer>> alg3 = new DegeneracyBronKerboschCliqueFinder<>(g);
+            Iterable<Set<Integer>> alg4 = new ParallelBronKerboschCliqueFinder<>(g);
 
             Set<Set<Integer>> cliques1 = new HashSet<>();
             for (Set<Integer> c : alg1) {
@@ -71,10 +72,16 @@ public class AllVariantsBronKerboschCliqueFinderTest
                 cliques3.add(c);
             }
 
+            Set<Set<Integer>> cliques4 = new HashSet<>();
+            for (Set<Integer> c : alg4) {
+                cliques4.add(c);
+            }
+
             assertEquals(cliques1.size(), cliques2.size());
             assertEquals(cliques2.size(), cliques3.size());
             assertEquals(cliques1, cliques2);
             assertEquals(cliques2, cliques3);
+            assertEquals(cliques3, cliques4);
         }
     }
 
@@ -0,0 +1,177 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.CliqueAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BranchAndBoundMaxCliqueFinder} and {@link BitsetMaxCliqueSolver}.
+ */
+public class BranchAndBoundMaxCliqueFinderTest
+{
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        Clique<Integer> clique = new BranchAndBoundMaxCliqueFinder<>(graph).getClique();
+        assertTrue(clique.isEmpty());
+        assertEquals(0, new BitsetMaxCliqueSolver(new long[0][]).solve().length);
+    }
+
+    @Test
+    public void testSmallGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(graph, Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+        // a triangle and a clique on four vertices, with loops and multiple edges
+        int[][] edges = { { 1, 2 }, { 2, 3 }, { 3, 1 }, { 3, 4 }, { 4, 5 }, { 4, 6 }, { 4, 7 },
+            { 5, 6 }, { 5, 7 }, { 6, 7 }, { 5, 6 }, { 6, 6 } };
+        for (int[] e : edges) {
+            graph.addEdge(e[0], e[1]);
+        }
+        Clique<Integer> clique = new BranchAndBoundMaxCliqueFinder<>(graph).getClique();
+        assertEquals(new HashSet<>(Arrays.asList(4, 5, 6, 7)), clique);
+        assertEquals(4.0, clique.getWeight(), 0.0);
+    }
+
+    @Test
+    public void testCompleteGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(70).generateGraph(graph);
+        assertEquals(70, new BranchAndBoundMaxCliqueFinder<>(graph).getClique().size());
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        Random rng = new Random(17);
+        for (int i = 0; i < 60; i++) {
+            int n = 10 + rng.nextInt(60);
+            double p = 0.1 + rng.nextDouble() * 0.8;
+            Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(n, p, rng.nextLong())
+                .generateGraph(graph);
+            int expected = new PivotBronKerboschCliqueFinder<>(graph).maximumIterator().next()
+                .size();
+
+            BranchAndBoundMaxCliqueFinder<Integer, DefaultEdge> finder =
+                new BranchAndBoundMaxCliqueFinder<>(graph);
+            assertClique(graph, finder.getClique(), expected);
+            assertFalse(finder.isTimeLimitReached());
+
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                assertClique(
+                    graph, new BranchAndBoundMaxCliqueFinder<>(graph, 0L, TimeUnit.SECONDS, pool)
+                        .getClique(),
+                    expected);
+                assertEquals(
+                    expected, new BitsetMaxCliqueSolver(matrix(graph), 0L, TimeUnit.SECONDS, pool)
+                        .solve().length);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testSolverLowerBound()
+    {
+        // a cycle on five vertices
+        long[][] adjacency = new long[5][1];
+        for (int i = 0; i < 5; i++) {
+            int j = (i + 1) % 5;
+            adjacency[i][0] |= 1L << j;
+            adjacency[j][0] |= 1L << i;
+        }
+        BitsetMaxCliqueSolver solver = new BitsetMaxCliqueSolver(adjacency);
+        int[] clique = solver.solve();
+        assertEquals(2, clique.length);
+        assertTrue(clique[0] < clique[1]);
+        assertEquals(1L << clique[1], adjacency[clique[0]][0] & (1L << clique[1]));
+        assertEquals(2, solver.solve(1).length);
+        assertEquals(0, solver.solve(2).length);
+    }
+
+    @Test
+    public void testTimeout()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(600, 0.9, 7).generateGraph(graph);
+        BranchAndBoundMaxCliqueFinder<Integer, DefaultEdge> finder =
+            new BranchAndBoundMaxCliqueFinder<>(graph, 1, TimeUnit.MILLISECONDS);
+        Clique<Integer> clique = finder.getClique();
+        assertTrue(finder.isTimeLimitReached());
+        // the best clique found so far is still a clique
+        assertClique(graph, clique, clique.size());
+        assertFalse(clique.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTimeout()
+    {
+        new BranchAndBoundMaxCliqueFinder<>(
+            new SimpleGraph<>(DefaultEdge.class), -1, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMatrix()
+    {
+        new BitsetMaxCliqueSolver(new long[65][1]);
+    }
+
+    private static long[][] matrix(Graph<Integer, DefaultEdge> graph)
+    {
+        int n = graph.vertexSet().size();
+        long[][] adjacency = new long[n][(n + 63) >>> 6];
+        for (DefaultEdge e : graph.edgeSet()) {
+            int u = graph.getEdgeSource(e);
+            int v = graph.getEdgeTarget(e);
+            adjacency[u][v >>> 6] |= 1L << v;
+            adjacency[v][u >>> 6] |= 1L << u;
+        }
+        return adjacency;
+    }
+
+    private static void assertClique(
+        Graph<Integer, DefaultEdge> graph, Set<Integer> clique, int expectedSize)
+    {
+        assertEquals(expectedSize, clique.size());
+        for (Integer u : clique) {
+            for (Integer v : clique) {
+                if (!u.equals(v)) {
+                    assertTrue(graph.containsEdge(u, v));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelBronKerboschCliqueFinder}.
+ */
+public class ParallelBronKerboschCliqueFinderTest
+    extends
+    BaseBronKerboschCliqueFinderTest
+{
+
+    @Override
+    protected BaseBronKerboschCliqueFinder<String, DefaultEdge> createFinder1(
+        Graph<String, DefaultEdge> graph)
+    {
+        return new ParallelBronKerboschCliqueFinder<>(graph);
+    }
+
+    @Override
+    protected BaseBronKerboschCliqueFinder<Object, DefaultEdge> createFinder2(
+        Graph<Object, DefaultEdge> graph)
+    {
+        return new ParallelBronKerboschCliqueFinder<>(graph);
+    }
+
+    @Override
+    protected BaseBronKerboschCliqueFinder<Object, DefaultEdge> createFinder2(
+        Graph<Object, DefaultEdge> graph, long timeout, TimeUnit unit)
+    {
+        return new ParallelBronKerboschCliqueFinder<>(graph, timeout, unit);
+    }
+
+    @Test
+    public void testStreaming()
+    {
+        Random rng = new Random(7);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int i = 0; i < 5; i++) {
+                Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+                new GnpRandomGraphGenerator<Integer, DefaultEdge>(150, 0.3, rng, false)
+                    .generateGraph(g);
+                // a few isolated vertices
+                g.addVertex();
+                g.addVertex();
+
+                Set<Set<Integer>> expected = new HashSet<>();
+                new DegeneracyBronKerboschCliqueFinder<>(g).forEach(expected::add);
+
+                ParallelBronKerboschCliqueFinder<Integer, DefaultEdge> finder =
+                    new ParallelBronKerboschCliqueFinder<>(g, 0L, TimeUnit.SECONDS, pool);
+                Set<Set<Integer>> streamed = ConcurrentHashMap.newKeySet();
+                finder.forEachClique(streamed::add);
+                assertEquals(expected, streamed);
+                assertFalse(finder.isTimeLimitReached());
+
+                List<Set<Integer>> stored = new ArrayList<>();
+                finder.forEach(stored::add);
+                assertEquals(expected.size(), stored.size());
+                assertEquals(expected, new HashSet<>(stored));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimeout()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(400, 0.7, new Random(1), false)
+            .generateGraph(g);
+        ParallelBronKerboschCliqueFinder<Integer, DefaultEdge> finder =
+            new ParallelBronKerboschCliqueFinder<>(g, 1, TimeUnit.MILLISECONDS);
+        finder.forEachClique(c -> {
+        });
+        assertTrue(finder.isTimeLimitReached());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTimeout()
+    {
+        new ParallelBronKerboschCliqueFinder<>(
+            new SimpleGraph<>(DefaultEdge.class), -1, TimeUnit.SECONDS);
+    }
+}
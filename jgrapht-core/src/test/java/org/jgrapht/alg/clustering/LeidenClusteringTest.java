@@ -0,0 +1,268 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clustering;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.alg.interfaces.ClusteringAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.jgrapht.alg.clustering.ParallelLabelPropagationClusteringTest.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LeidenClustering}.
+ */
+public class LeidenClusteringTest
+{
+    private static final double EPS = 1e-9;
+
+    @Test
+    public void testTwoCliques()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(8);
+        addClique(g, 0, 4);
+        addClique(g, 4, 8);
+        g.addEdge(3, 4);
+
+        for (boolean refine : new boolean[] { true, false }) {
+            LeidenClustering<Integer, DefaultEdge> alg = new LeidenClustering<>(
+                g, LeidenClustering.DEFAULT_RESOLUTION, refine, new Random(13),
+                ForkJoinPool.commonPool());
+            Clustering<Integer> clustering = alg.getClustering();
+            assertEquals(2, clustering.getNumberClusters());
+            assertEquals(new HashSet<>(Arrays.asList(0, 1, 2, 3)), clustering.getClusters().get(0));
+            assertEquals(new HashSet<>(Arrays.asList(4, 5, 6, 7)), clustering.getClusters().get(1));
+            assertEquals(12d / 13 - 0.5, alg.getModularity(), EPS);
+        }
+    }
+
+    @Test
+    public void testRingOfCliques()
+    {
+        int cliques = 10;
+        Graph<Integer, DefaultEdge> g = createGraph(5 * cliques);
+        for (int c = 0; c < cliques; c++) {
+            addClique(g, 5 * c, 5 * c + 5);
+            g.addEdge(5 * c, (5 * c + 6) % (5 * cliques));
+        }
+
+        LeidenClustering<Integer, DefaultEdge> alg = new LeidenClustering<>(g, new Random(1));
+        int[] ids = alg.getClusterIds();
+        assertEquals(cliques, alg.getClustering().getNumberClusters());
+        for (int v = 0; v < 5 * cliques; v++) {
+            assertEquals(ids[5 * (v / 5)], ids[v]);
+        }
+        assertEquals(modularity(g, alg.getClustering(), 1d), alg.getModularity(), EPS);
+    }
+
+    @Test
+    public void testKarateClub()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(0);
+        new NamedGraphGenerator<Integer, DefaultEdge>().generateZacharyKarateClubGraph(g);
+
+        for (int seed = 0; seed < 10; seed++) {
+            LeidenClustering<Integer, DefaultEdge> alg =
+                new LeidenClustering<>(g, new Random(seed));
+            assertValid(g, alg.getClustering());
+            // the optimum is 0.4198
+            assertTrue(alg.getModularity() > 0.40);
+            assertEquals(modularity(g, alg.getClustering(), 1d), alg.getModularity(), EPS);
+        }
+    }
+
+    @Test
+    public void testResolution()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(0);
+        new PlantedPartitionGraphGenerator<Integer, DefaultEdge>(8, 30, 0.4, 0.01, 5)
+            .generateGraph(g);
+
+        LeidenClustering<Integer, DefaultEdge> zero =
+            new LeidenClustering<>(g, 0d, true, new Random(3), ForkJoinPool.commonPool());
+        assertEquals(1, zero.getClustering().getNumberClusters());
+
+        LeidenClustering<Integer, DefaultEdge> one =
+            new LeidenClustering<>(g, 1d, true, new Random(3), ForkJoinPool.commonPool());
+        assertEquals(8, one.getClustering().getNumberClusters());
+
+        LeidenClustering<Integer, DefaultEdge> high =
+            new LeidenClustering<>(g, 50d, true, new Random(3), ForkJoinPool.commonPool());
+        assertTrue(high.getClustering().getNumberClusters() > 8);
+        assertEquals(modularity(g, high.getClustering(), 50d), high.getModularity(), EPS);
+    }
+
+    @Test
+    public void testWeights()
+    {
+        // a square whose heavy edges define two clusters
+        Graph<Integer, DefaultWeightedEdge> g = new SimpleWeightedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        for (int i = 0; i < 4; i++) {
+            g.addVertex();
+        }
+        g.setEdgeWeight(g.addEdge(0, 1), 10d);
+        g.setEdgeWeight(g.addEdge(1, 2), 1d);
+        g.setEdgeWeight(g.addEdge(2, 3), 10d);
+        g.setEdgeWeight(g.addEdge(3, 0), 1d);
+
+        LeidenClustering<Integer, DefaultWeightedEdge> alg =
+            new LeidenClustering<>(g, new Random(7));
+        assertEquals(2, alg.getClustering().getNumberClusters());
+        assertArrayEquals(new int[] { 0, 0, 1, 1 }, alg.getClusterIds());
+        assertEquals(modularity(g, alg.getClustering(), 1d), alg.getModularity(), EPS);
+
+        g.setEdgeWeight(g.getEdge(0, 1), -1d);
+        try {
+            new LeidenClustering<>(g, new Random(7)).getClustering();
+            fail("Negative weight");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool multiple = new ForkJoinPool(4);
+        try {
+            for (int seed = 0; seed < 5; seed++) {
+                Graph<Integer, DefaultEdge> g = createGraph(0);
+                new GnpRandomGraphGenerator<Integer, DefaultEdge>(400, 0.015, seed, true)
+                    .generateGraph(g);
+
+                LeidenClustering<Integer, DefaultEdge> leiden1 =
+                    new LeidenClustering<>(g, 1d, true, new Random(seed), single);
+                LeidenClustering<Integer, DefaultEdge> leiden2 =
+                    new LeidenClustering<>(g, 1d, true, new Random(seed), multiple);
+                assertArrayEquals(leiden1.getClusterIds(), leiden2.getClusterIds());
+                assertValid(g, leiden1.getClustering());
+                assertEquals(
+                    modularity(g, leiden1.getClustering(), 1d), leiden1.getModularity(), EPS);
+
+                LeidenClustering<Integer, DefaultEdge> louvain =
+                    new LeidenClustering<>(g, 1d, false, new Random(seed), multiple);
+                assertEquals(
+                    modularity(g, louvain.getClustering(), 1d), louvain.getModularity(), EPS);
+                assertTrue(leiden1.getModularity() > 0.3);
+                assertTrue(louvain.getModularity() > 0.3);
+            }
+        } finally {
+            single.shutdown();
+            multiple.shutdown();
+        }
+    }
+
+    @Test
+    public void testConnectedClusters()
+    {
+        for (int seed = 0; seed < 50; seed++) {
+            Graph<Integer, DefaultEdge> g = createGraph(0);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(300, 0.008, seed, true)
+                .generateGraph(g);
+
+            LeidenClustering<Integer, DefaultEdge> alg = new LeidenClustering<>(g, 1d, true,
+                new Random(seed), ForkJoinPool.commonPool());
+            for (Set<Integer> cluster : alg.getClustering()) {
+                assertTrue(
+                    new ConnectivityInspector<>(new AsSubgraph<>(g, cluster)).isConnected());
+            }
+            assertEquals(modularity(g, alg.getClustering(), 1d), alg.getModularity(), EPS);
+        }
+    }
+
+    @Test
+    public void testNoEdges()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(3);
+        LeidenClustering<Integer, DefaultEdge> alg = new LeidenClustering<>(g);
+        assertEquals(3, alg.getClustering().getNumberClusters());
+        assertEquals(0d, alg.getModularity(), EPS);
+
+        assertEquals(0, new LeidenClustering<>(createGraph(0)).getClustering().getNumberClusters());
+    }
+
+    @Test
+    public void testSelfLoops()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(4);
+        g.addEdge(0, 1);
+        g.addEdge(1, 1);
+        g.addEdge(2, 3);
+        g.addEdge(2, 3);
+        g.addEdge(3, 3);
+
+        LeidenClustering<Integer, DefaultEdge> alg = new LeidenClustering<>(g, new Random(1));
+        assertEquals(2, alg.getClustering().getNumberClusters());
+        assertEquals(modularity(g, alg.getClustering(), 1d), alg.getModularity(), EPS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected()
+    {
+        new LeidenClustering<>(new DefaultDirectedGraph<>(DefaultEdge.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeResolution()
+    {
+        new LeidenClustering<>(
+            createGraph(1), -1d, true, new Random(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Modularity computed from its definition.
+     */
+    private static <V, E> double modularity(Graph<V, E> g, Clustering<V> clustering, double gamma)
+    {
+        Map<V, Integer> cluster = new HashMap<>();
+        int c = 0;
+        for (Set<V> set : clustering) {
+            for (V v : set) {
+                cluster.put(v, c);
+            }
+            c++;
+        }
+        double m = 0d;
+        double internal = 0d;
+        double[] strengths = new double[c];
+        for (E e : g.edgeSet()) {
+            double w = g.getEdgeWeight(e);
+            V s = g.getEdgeSource(e);
+            V t = g.getEdgeTarget(e);
+            m += w;
+            strengths[cluster.get(s)] += w;
+            strengths[cluster.get(t)] += w;
+            if (cluster.get(s).equals(cluster.get(t))) {
+                internal += w;
+            }
+        }
+        double expected = 0d;
+        for (double k : strengths) {
+            expected += k * k;
+        }
+        return internal / m - gamma * expected / (4 * m * m);
+    }
+}
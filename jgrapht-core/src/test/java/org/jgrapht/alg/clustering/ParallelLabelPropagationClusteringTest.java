@@ -0,0 +1,194 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clustering;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.clustering.ParallelLabelPropagationClustering.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.alg.interfaces.ClusteringAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.builder.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelLabelPropagationClustering}.
+ */
+public class ParallelLabelPropagationClusteringTest
+{
+    @Test
+    public void testConnected()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(9);
+        int[][] edges = { { 0, 1 }, { 0, 5 }, { 1, 2 }, { 1, 4 }, { 2, 3 }, { 3, 4 }, { 3, 8 },
+            { 4, 5 }, { 4, 7 }, { 5, 6 }, { 6, 7 }, { 7, 8 } };
+        for (int[] e : edges) {
+            g.addEdge(e[0], e[1]);
+        }
+
+        for (Schedule schedule : Schedule.values()) {
+            Clustering<Integer> clustering = new ParallelLabelPropagationClustering<>(
+                g, schedule, 0, 13, ForkJoinPool.commonPool()).getClustering();
+            assertValid(g, clustering);
+        }
+    }
+
+    @Test
+    public void testTwoCliques()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(8);
+        addClique(g, 0, 4);
+        addClique(g, 4, 8);
+        g.addEdge(3, 4);
+
+        for (Schedule schedule : Schedule.values()) {
+            Clustering<Integer> clustering = new ParallelLabelPropagationClustering<>(
+                g, schedule, 0, 13, ForkJoinPool.commonPool()).getClustering();
+            assertEquals(2, clustering.getNumberClusters());
+            List<Set<Integer>> clusters = clustering.getClusters();
+            assertEquals(new HashSet<>(Arrays.asList(0, 1, 2, 3)), clusters.get(0));
+            assertEquals(new HashSet<>(Arrays.asList(4, 5, 6, 7)), clusters.get(1));
+        }
+    }
+
+    @Test
+    public void testIsolatedVerticesAndSelfLoops()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(5);
+        g.addEdge(0, 1);
+        g.addEdge(1, 1);
+        g.addEdge(3, 3);
+
+        ParallelLabelPropagationClustering<Integer, DefaultEdge> alg =
+            new ParallelLabelPropagationClustering<>(g);
+        Clustering<Integer> clustering = alg.getClustering();
+        assertEquals(4, clustering.getNumberClusters());
+        assertEquals(new HashSet<>(Arrays.asList(0, 1)), clustering.getClusters().get(0));
+        assertArrayEquals(new int[] { 0, 0, 1, 2, 3 }, alg.getClusterIds());
+    }
+
+    @Test
+    public void testPlantedPartition()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(0);
+        new PlantedPartitionGraphGenerator<Integer, DefaultEdge>(20, 50, 0.5, 0.002, 17)
+            .generateGraph(g);
+
+        for (Schedule schedule : Schedule.values()) {
+            ParallelLabelPropagationClustering<Integer, DefaultEdge> alg =
+                new ParallelLabelPropagationClustering<>(
+                    g, schedule, 100, 3, ForkJoinPool.commonPool());
+            Clustering<Integer> clustering = alg.getClustering();
+            assertValid(g, clustering);
+            assertEquals(20, clustering.getNumberClusters());
+            for (Set<Integer> cluster : clustering) {
+                int group = cluster.iterator().next() / 50;
+                assertEquals(50, cluster.size());
+                assertTrue(cluster.stream().allMatch(v -> v / 50 == group));
+            }
+        }
+    }
+
+    @Test
+    public void testSemiSynchronousIndependentOfParallelism()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(0);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(2000, 0.003, 7).generateGraph(g);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool multiple = new ForkJoinPool(4);
+        try {
+            ParallelLabelPropagationClustering<Integer, DefaultEdge> alg1 =
+                new ParallelLabelPropagationClustering<>(
+                    g, Schedule.SEMI_SYNCHRONOUS, 0, 5, single);
+            ParallelLabelPropagationClustering<Integer, DefaultEdge> alg2 =
+                new ParallelLabelPropagationClustering<>(
+                    g, Schedule.SEMI_SYNCHRONOUS, 0, 5, multiple);
+            assertArrayEquals(alg1.getClusterIds(), alg2.getClusterIds());
+            assertEquals(alg1.getNumberOfIterations(), alg2.getNumberOfIterations());
+            assertValid(g, alg1.getClustering());
+        } finally {
+            single.shutdown();
+            multiple.shutdown();
+        }
+    }
+
+    @Test
+    public void testMaxIterations()
+    {
+        Graph<Integer, DefaultEdge> g = createGraph(0);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(500, 0.01, 7).generateGraph(g);
+
+        ParallelLabelPropagationClustering<Integer, DefaultEdge> alg =
+            new ParallelLabelPropagationClustering<>(
+                g, Schedule.ASYNCHRONOUS, 1, 5, ForkJoinPool.commonPool());
+        assertEquals(1, alg.getNumberOfIterations());
+        assertValid(g, alg.getClustering());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeIterations()
+    {
+        new ParallelLabelPropagationClustering<>(
+            createGraph(1), Schedule.ASYNCHRONOUS, -1, 5, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Every vertex is in exactly one cluster, clusters are connected and the cluster ids match.
+     */
+    static <V, E> void assertValid(Graph<V, E> g, Clustering<V> clustering)
+    {
+        Set<V> seen = new HashSet<>();
+        for (Set<V> cluster : clustering) {
+            assertFalse(cluster.isEmpty());
+            for (V v : cluster) {
+                assertTrue(seen.add(v));
+            }
+            assertTrue(
+                new ConnectivityInspector<>(new AsSubgraph<>(g, cluster)).isConnected());
+        }
+        assertEquals(g.vertexSet(), seen);
+    }
+
+    static Graph<Integer, DefaultEdge> createGraph(int n)
+    {
+        Graph<Integer, DefaultEdge> g = GraphTypeBuilder
+            .undirected().allowingMultipleEdges(true).allowingSelfLoops(true).weighted(false)
+            .edgeSupplier(SupplierUtil.DEFAULT_EDGE_SUPPLIER)
+            .vertexSupplier(SupplierUtil.createIntegerSupplier()).buildGraph();
+        for (int i = 0; i < n; i++) {
+            g.addVertex();
+        }
+        return g;
+    }
+
+    static void addClique(Graph<Integer, ?> g, int from, int to)
+    {
+        for (int u = from; u < to; u++) {
+            for (int v = u + 1; v < to; v++) {
+                g.addEdge(u, v);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.color;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link DSaturBranchAndBoundColoring}.
+ */
+public class DSaturBranchAndBoundColoringTest
+    extends
+    BaseColoringTest
+{
+    @Override
+    protected VertexColoringAlgorithm<Integer> getAlgorithm(Graph<Integer, DefaultEdge> graph)
+    {
+        return new DSaturBranchAndBoundColoring<>(graph);
+    }
+
+    @Override
+    protected int getExpectedResultOnDSaturNonOptimalGraph()
+    {
+        return 3;
+    }
+
+    @Test
+    public void testCompareWithBrownBacktrackColoring()
+    {
+        Random rng = new Random(23);
+        for (int i = 0; i < 30; i++) {
+            Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(
+                15 + rng.nextInt(10), 0.2 + 0.1 * (i % 5), rng, false).generateGraph(g);
+
+            DSaturBranchAndBoundColoring<Integer, DefaultEdge> alg =
+                new DSaturBranchAndBoundColoring<>(g);
+            int expected = new BrownBacktrackColoring<>(g).getChromaticNumber();
+            assertEquals(expected, alg.getChromaticNumber());
+            assertTrue(alg.isOptimal());
+            assertFalse(alg.isTimeLimitReached());
+            assertEquals(expected, alg.getLowerBound());
+            assertColoring(g, alg.getColoring(), expected);
+        }
+    }
+
+    @Test
+    public void testLowerBoundReachedWithoutTimeLimit()
+    {
+        // the search improves the heuristic coloring and stops at the clique bound
+        Graph<Integer, DefaultEdge> g = createDSaturNonOptimalGraph();
+
+        DSaturBranchAndBoundColoring<Integer, DefaultEdge> alg =
+            new DSaturBranchAndBoundColoring<>(g);
+        assertEquals(3, alg.getColoring().getNumberColors());
+        assertEquals(3, alg.getLowerBound());
+        assertTrue(alg.isOptimal());
+        assertFalse(alg.isTimeLimitReached());
+    }
+
+    @Test
+    public void testTimeLimit()
+    {
+        // the Mycielski graphs are triangle-free, thus the clique bound is weak
+        Graph<Integer, DefaultEdge> g = mycielski(mycielski(createMyciel4Graph()));
+
+        DSaturBranchAndBoundColoring<Integer, DefaultEdge> alg =
+            new DSaturBranchAndBoundColoring<>(g, 200, TimeUnit.MILLISECONDS);
+        Coloring<Integer> coloring = alg.getColoring();
+        assertColoring(g, coloring, coloring.getNumberColors());
+        assertEquals(2, alg.getLowerBound());
+        assertTrue(alg.isTimeLimitReached());
+        assertFalse(alg.isOptimal());
+        assertTrue(coloring.getNumberColors() >= 7);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testChromaticNumberNotProven()
+    {
+        Graph<Integer, DefaultEdge> g = mycielski(mycielski(createMyciel4Graph()));
+        new DSaturBranchAndBoundColoring<>(g, 50, TimeUnit.MILLISECONDS).getChromaticNumber();
+    }
+
+    @Test
+    public void testBipartiteAndEmpty()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GridGraphGenerator<Integer, DefaultEdge>(10, 10).generateGraph(g);
+        assertEquals(2, new DSaturBranchAndBoundColoring<>(g).getChromaticNumber());
+
+        Graph<Integer, DefaultEdge> empty = new SimpleGraph<>(DefaultEdge.class);
+        assertEquals(0, new DSaturBranchAndBoundColoring<>(empty).getChromaticNumber());
+        empty.addVertex(1);
+        assertEquals(1, new DSaturBranchAndBoundColoring<>(empty).getChromaticNumber());
+    }
+
+    @Test
+    public void testLargeStar()
+    {
+        // the maximum degree is large, but the graph only needs two colors
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new StarGraphGenerator<Integer, DefaultEdge>(50001).generateGraph(g);
+
+        DSaturBranchAndBoundColoring<Integer, DefaultEdge> alg =
+            new DSaturBranchAndBoundColoring<>(g);
+        assertEquals(2, alg.getChromaticNumber());
+        assertFalse(alg.isTimeLimitReached());
+        assertColoring(g, alg.getColoring(), 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelfLoops()
+    {
+        Graph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        g.addVertex(0);
+        g.addEdge(0, 0);
+        new DSaturBranchAndBoundColoring<>(g).getColoring();
+    }
+
+    /**
+     * The Mycielski construction, which increases the chromatic number by one without creating
+     * triangles.
+     */
+    private static Graph<Integer, DefaultEdge> mycielski(Graph<Integer, DefaultEdge> g)
+    {
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        int n = vertices.size();
+        Map<Integer, Integer> index = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            index.put(vertices.get(i), i);
+        }
+        Graph<Integer, DefaultEdge> result = new SimpleGraph<>(DefaultEdge.class);
+        for (int i = 0; i <= 2 * n; i++) {
+            result.addVertex(i);
+        }
+        for (DefaultEdge e : g.edgeSet()) {
+            int u = index.get(g.getEdgeSource(e));
+            int v = index.get(g.getEdgeTarget(e));
+            result.addEdge(u, v);
+            result.addEdge(u, n + v);
+            result.addEdge(n + u, v);
+        }
+        for (int i = 0; i < n; i++) {
+            result.addEdge(n + i, 2 * n);
+        }
+        return result;
+    }
+}
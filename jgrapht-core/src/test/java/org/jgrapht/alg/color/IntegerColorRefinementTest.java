@@ -0,0 +1,165 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.color;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IntegerColorRefinement}.
+ */
+public class IntegerColorRefinementTest
+{
+    @Test
+    public void testPath()
+    {
+        Graph<Integer, DefaultEdge> path = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new LinearGraphGenerator<Integer, DefaultEdge>(7).generateGraph(path);
+
+        IntegerAdjacency<Integer, DefaultEdge> adjacency =
+            IntegerAdjacency.of(path, IntegerAdjacency.Direction.INCOMING);
+        int[] colors = new int[7];
+        assertEquals(4, new IntegerColorRefinement(adjacency).refine(colors, 1));
+
+        // vertices at the same distance from the center share a color
+        int[] index = new int[7];
+        for (int v = 0; v < 7; v++) {
+            index[v] = adjacency.getIndex(v);
+        }
+        for (int v = 0; v < 3; v++) {
+            assertEquals(colors[index[v]], colors[index[6 - v]]);
+            assertNotEquals(colors[index[v]], colors[index[v + 1]]);
+        }
+    }
+
+    @Test
+    public void testRandomGraphsAreStable()
+    {
+        Random rng = new Random(5);
+        for (int i = 0; i < 50; i++) {
+            Graph<Integer, DefaultEdge> g = i % 2 == 0
+                ? new Pseudograph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false)
+                : new DirectedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+            int n = 1 + rng.nextInt(40);
+            for (int v = 0; v < n; v++) {
+                g.addVertex();
+            }
+            int m = rng.nextInt(3 * n);
+            for (int j = 0; j < m; j++) {
+                g.addEdge(rng.nextInt(n), rng.nextInt(n));
+            }
+            IntegerAdjacency<Integer, DefaultEdge> adjacency =
+                IntegerAdjacency.of(g, IntegerAdjacency.Direction.INCOMING).toSorted(true);
+            IntegerColorRefinement refinement = new IntegerColorRefinement(adjacency);
+
+            // reuse the instance with different initial colorings
+            for (int k = 1; k <= Math.min(3, n); k++) {
+                int[] initial = new int[n];
+                for (int v = 0; v < n; v++) {
+                    initial[v] = v < k ? v : rng.nextInt(k);
+                }
+                int[] colors = initial.clone();
+                int numberOfColors = refinement.refine(colors, k);
+                assertStableRefinement(adjacency, initial, colors, numberOfColors);
+            }
+        }
+    }
+
+    @Test
+    public void testCanonical()
+    {
+        Random rng = new Random(11);
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(100, 0.05, rng, false).generateGraph(g);
+
+        // the same graph with reversed vertex numbering
+        List<Integer> reversed = new ArrayList<>(g.vertexSet());
+        Collections.reverse(reversed);
+        VertexToIntegerMapping<Integer> mapping = new VertexToIntegerMapping<>(reversed);
+
+        IntegerAdjacency<Integer, DefaultEdge> a1 =
+            IntegerAdjacency.of(g, IntegerAdjacency.Direction.INCOMING);
+        IntegerAdjacency<Integer, DefaultEdge> a2 =
+            IntegerAdjacency.of(g, mapping, IntegerAdjacency.Direction.INCOMING, true);
+        int[] c1 = new int[100];
+        int[] c2 = new int[100];
+        assertEquals(
+            new IntegerColorRefinement(a1).refine(c1, 1),
+            new IntegerColorRefinement(a2).refine(c2, 1));
+        for (Integer v : g.vertexSet()) {
+            assertEquals(c1[a1.getIndex(v)], c2[a2.getIndex(v)]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidColor()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(g, 0, 1);
+        new IntegerColorRefinement(IntegerAdjacency.of(g, IntegerAdjacency.Direction.INCOMING))
+            .refine(new int[] { 0, 1 }, 1);
+    }
+
+    private static void assertStableRefinement(
+        IntegerAdjacency<Integer, DefaultEdge> adjacency, int[] initial, int[] colors,
+        int numberOfColors)
+    {
+        int n = colors.length;
+        Set<Integer> used = new HashSet<>();
+        for (int v = 0; v < n; v++) {
+            assertTrue(colors[v] >= 0 && colors[v] < numberOfColors);
+            used.add(colors[v]);
+        }
+        assertEquals(numberOfColors, used.size());
+
+        // same color implies same initial color and same color degrees
+        Map<Integer, Integer> initialOf = new HashMap<>();
+        Map<Integer, Map<Integer, Integer>> degreesOf = new HashMap<>();
+        for (int v = 0; v < n; v++) {
+            Map<Integer, Integer> degrees = new HashMap<>();
+            for (int u = 0; u < n; u++) {
+                for (int j = adjacency.getOffsets()[u]; j < adjacency.getOffsets()[u + 1]; j++) {
+                    if (adjacency.getTargets()[j] == v) {
+                        degrees.merge(colors[u], 1, Integer::sum);
+                    }
+                }
+            }
+            Integer previousInitial = initialOf.putIfAbsent(colors[v], initial[v]);
+            if (previousInitial != null) {
+                assertEquals(previousInitial.intValue(), initial[v]);
+            }
+            Map<Integer, Integer> previous = degreesOf.putIfAbsent(colors[v], degrees);
+            if (previous != null) {
+                assertEquals(previous, degrees);
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.color;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.color.ParallelColoring.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelColoring}.
+ */
+public class ParallelColoringTest
+    extends
+    BaseColoringTest
+{
+    private static ForkJoinPool pool;
+    private static ForkJoinPool sequential;
+
+    @BeforeClass
+    public static void setUp()
+    {
+        pool = new ForkJoinPool(4);
+        sequential = new ForkJoinPool(1);
+    }
+
+    @AfterClass
+    public static void tearDown()
+    {
+        pool.shutdown();
+        sequential.shutdown();
+    }
+
+    @Override
+    protected VertexColoringAlgorithm<Integer> getAlgorithm(Graph<Integer, DefaultEdge> graph)
+    {
+        // sequential speculative coloring is the greedy coloring
+        return new ParallelColoring<>(graph, Strategy.SPECULATIVE, 0, sequential);
+    }
+
+    @Override
+    protected int getExpectedResultOnDSaturNonOptimalGraph()
+    {
+        return 4;
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        Random rng = new Random(13);
+        for (int i = 0; i < 20; i++) {
+            Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(300, 0.05 * (1 + i % 4), rng, false)
+                .generateGraph(g);
+            int maxDegree = 0;
+            for (Integer v : g.vertexSet()) {
+                maxDegree = Math.max(maxDegree, g.degreeOf(v));
+            }
+            for (Strategy strategy : Strategy.values()) {
+                for (ForkJoinPool p : Arrays.asList(pool, ForkJoinPool.commonPool())) {
+                    IntArrayColoringImpl<Integer> coloring =
+                        new ParallelColoring<>(g, strategy, i, p).getColoring();
+                    assertProper(g, coloring);
+                    assertTrue(coloring.getNumberColors() <= maxDegree + 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testJonesPlassmannIsDeterministic()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new BarabasiAlbertGraphGenerator<Integer, DefaultEdge>(5, 3, 2000, new Random(1))
+            .generateGraph(g);
+        Map<Integer, Integer> c1 = new ParallelColoring<>(g, Strategy.JONES_PLASSMANN, 42, pool)
+            .getColoring().getColors();
+        Map<Integer, Integer> c2 =
+            new ParallelColoring<>(g, Strategy.JONES_PLASSMANN, 42, sequential)
+                .getColoring().getColors();
+        assertEquals(c1, c2);
+    }
+
+    @Test
+    public void testSequentialSpeculativeIsGreedy()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(200, 0.1, new Random(3), false)
+            .generateGraph(g);
+        Coloring<Integer> c1 = getAlgorithm(g).getColoring();
+        Coloring<Integer> c2 = new GreedyColoring<>(g).getColoring();
+        assertEquals(c2.getColors(), c1.getColors());
+        assertEquals(c2.getNumberColors(), c1.getNumberColors());
+    }
+
+    @Test
+    public void testColoringView()
+    {
+        Graph<String, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(g, "a", "b");
+        Graphs.addEdgeWithVertices(g, "b", "c");
+        g.addEdge("a", "b");
+        g.addVertex("d");
+
+        IntArrayColoringImpl<String> coloring = new ParallelColoring<>(g).getColoring();
+        assertEquals(2, coloring.getNumberColors());
+        Map<String, Integer> colors = coloring.getColors();
+        assertEquals(4, colors.size());
+        assertEquals(colors.get("a"), colors.get("c"));
+        assertNotEquals(colors.get("a"), colors.get("b"));
+        assertNull(colors.get("x"));
+        assertEquals(new HashMap<>(colors), colors);
+        assertEquals(2, coloring.getColorClasses().size());
+        int[] array = coloring.getColorArray();
+        assertEquals(
+            colors.get("b").intValue(),
+            array[coloring.getVertexToIntegerMapping().getVertexMap().get("b")]);
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        Coloring<Integer> coloring =
+            new ParallelColoring<>(new SimpleGraph<Integer, DefaultEdge>(DefaultEdge.class))
+                .getColoring();
+        assertEquals(0, coloring.getNumberColors());
+        assertTrue(coloring.getColors().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelfLoops()
+    {
+        Graph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        g.addVertex(0);
+        g.addEdge(0, 0);
+        new ParallelColoring<>(g).getColoring();
+    }
+
+    private static <V, E> void assertProper(Graph<V, E> g, Coloring<V> coloring)
+    {
+        Map<V, Integer> colors = coloring.getColors();
+        assertEquals(g.vertexSet().size(), colors.size());
+        for (E e : g.edgeSet()) {
+            assertNotEquals(
+                colors.get(g.getEdgeSource(e)), colors.get(g.getEdgeTarget(e)));
+        }
+        for (Integer c : colors.values()) {
+            assertTrue(c >= 0 && c < coloring.getNumberColors());
+        }
+    }
+}
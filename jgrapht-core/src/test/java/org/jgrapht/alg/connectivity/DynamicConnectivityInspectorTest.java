@@ -0,0 +1,142 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link DynamicConnectivityInspector}.
+ */
+public class DynamicConnectivityInspectorTest
+{
+    @Test
+    public void testCycle()
+    {
+        ListenableGraph<Integer, DefaultEdge> g =
+            new DefaultListenableGraph<>(new SimpleGraph<>(DefaultEdge.class));
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3));
+        DynamicConnectivityInspector<Integer, DefaultEdge> inspector =
+            new DynamicConnectivityInspector<>(g);
+        g.addGraphListener(inspector);
+        assertEquals(4, inspector.getNumberOfComponents());
+
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        DefaultEdge closing = g.addEdge(3, 0);
+        assertTrue(inspector.isConnected());
+        assertEquals(4, inspector.getComponentSize(2));
+
+        // removing any single edge of the cycle keeps the graph connected
+        g.removeEdge(1, 2);
+        assertTrue(inspector.isConnected());
+        assertTrue(inspector.pathExists(1, 2));
+
+        g.removeEdge(closing);
+        assertFalse(inspector.isConnected());
+        assertEquals(2, inspector.getNumberOfComponents());
+        assertFalse(inspector.pathExists(0, 3));
+        assertTrue(inspector.pathExists(2, 3));
+        assertEquals(2, inspector.getComponentSize(0));
+
+        g.removeVertex(3);
+        assertEquals(2, inspector.getNumberOfComponents());
+        g.addVertex(4);
+        g.addEdge(4, 2);
+        g.addEdge(4, 1);
+        assertTrue(inspector.isConnected());
+        assertTrue(inspector.pathExists(0, 4));
+    }
+
+    @Test
+    public void testInitialGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3, 4));
+        g.addEdge(0, 1);
+        g.addEdge(1, 0);
+        g.addEdge(2, 2);
+        g.addEdge(3, 4);
+        DynamicConnectivityInspector<Integer, DefaultEdge> inspector =
+            new DynamicConnectivityInspector<>(g);
+        assertEquals(3, inspector.getNumberOfComponents());
+        assertTrue(inspector.pathExists(4, 3));
+        assertTrue(inspector.pathExists(2, 2));
+        assertFalse(inspector.pathExists(2, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVertex()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex(0);
+        new DynamicConnectivityInspector<>(g).pathExists(0, 1);
+    }
+
+    @Test
+    public void testRandomUpdates()
+    {
+        Random rng = new Random(33);
+        for (int run = 0; run < 5; run++) {
+            int n = 30 + 10 * run;
+            ListenableGraph<Integer, DefaultEdge> g =
+                new DefaultListenableGraph<>(new Pseudograph<>(DefaultEdge.class));
+            for (int v = 0; v < n; v++) {
+                g.addVertex(v);
+            }
+            DynamicConnectivityInspector<Integer, DefaultEdge> inspector =
+                new DynamicConnectivityInspector<>(g);
+            g.addGraphListener(inspector);
+
+            List<DefaultEdge> edges = new ArrayList<>();
+            for (int step = 0; step < 3000; step++) {
+                // keep the graph around the connectivity threshold
+                boolean insert = edges.isEmpty() || rng.nextInt(2 * n) > edges.size();
+                if (insert) {
+                    edges.add(g.addEdge(rng.nextInt(n), rng.nextInt(n)));
+                } else {
+                    DefaultEdge e = edges.remove(rng.nextInt(edges.size()));
+                    g.removeEdge(e);
+                }
+
+                if (step % 50 == 0) {
+                    ConnectivityInspector<Integer, DefaultEdge> expected =
+                        new ConnectivityInspector<>(g);
+                    assertEquals(
+                        expected.connectedSets().size(), inspector.getNumberOfComponents());
+                    for (int v = 0; v < n; v++) {
+                        int u = rng.nextInt(n);
+                        assertEquals(expected.pathExists(u, v), inspector.pathExists(u, v));
+                        assertEquals(
+                            expected.connectedSetOf(v).size(), inspector.getComponentSize(v));
+                    }
+                } else {
+                    assertEquals(
+                        new ConnectivityInspector<>(g).connectedSets().size(),
+                        inspector.getNumberOfComponents());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IncrementalConnectivityInspector}.
+ */
+public class IncrementalConnectivityInspectorTest
+{
+    @Test
+    public void testUpdates()
+    {
+        ListenableGraph<Integer, DefaultEdge> g =
+            new DefaultListenableGraph<>(new Multigraph<>(DefaultEdge.class));
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3));
+        IncrementalConnectivityInspector<Integer, DefaultEdge> inspector =
+            new IncrementalConnectivityInspector<>(g);
+        g.addGraphListener(inspector);
+        assertEquals(4, inspector.getNumberOfComponents());
+        assertFalse(inspector.isConnected());
+
+        g.addEdge(0, 1);
+        DefaultEdge parallel = g.addEdge(0, 1);
+        g.addEdge(2, 3);
+        assertEquals(2, inspector.getNumberOfComponents());
+        assertTrue(inspector.pathExists(1, 0));
+        assertFalse(inspector.pathExists(1, 2));
+
+        // removing a parallel edge keeps the endpoints adjacent
+        g.removeEdge(parallel);
+        assertTrue(inspector.pathExists(1, 0));
+
+        g.addVertex(4);
+        g.addEdge(1, 4);
+        g.addEdge(4, 2);
+        assertTrue(inspector.isConnected());
+        assertEquals(1, inspector.connectedSets().size());
+
+        g.removeEdge(4, 2);
+        assertEquals(2, inspector.getNumberOfComponents());
+        assertEquals(
+            new HashSet<>(Arrays.asList(0, 1, 4)), inspector.connectedSets().stream()
+                .filter(s -> s.contains(0)).findFirst().get());
+
+        g.removeVertex(1);
+        assertEquals(3, inspector.getNumberOfComponents());
+        assertFalse(inspector.pathExists(0, 4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVertex()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex(0);
+        new IncrementalConnectivityInspector<>(g).pathExists(0, 1);
+    }
+
+    @Test
+    public void testRandomUpdates()
+    {
+        Random rng = new Random(17);
+        int n = 40;
+        ListenableGraph<Integer, DefaultEdge> g =
+            new DefaultListenableGraph<>(new DirectedPseudograph<>(DefaultEdge.class));
+        for (int v = 0; v < n; v++) {
+            g.addVertex(v);
+        }
+        IncrementalConnectivityInspector<Integer, DefaultEdge> inspector =
+            new IncrementalConnectivityInspector<>(g);
+        g.addGraphListener(inspector);
+
+        List<DefaultEdge> edges = new ArrayList<>();
+        for (int step = 0; step < 2000; step++) {
+            boolean insert = edges.isEmpty() || rng.nextInt(2 * n) > edges.size();
+            if (insert) {
+                edges.add(g.addEdge(rng.nextInt(n), rng.nextInt(n)));
+            } else {
+                g.removeEdge(edges.remove(rng.nextInt(edges.size())));
+            }
+
+            ConnectivityInspector<Integer, DefaultEdge> expected = new ConnectivityInspector<>(g);
+            assertEquals(expected.connectedSets().size(), inspector.getNumberOfComponents());
+            int u = rng.nextInt(n);
+            int v = rng.nextInt(n);
+            assertEquals(expected.pathExists(u, v), inspector.pathExists(u, v));
+        }
+    }
+}
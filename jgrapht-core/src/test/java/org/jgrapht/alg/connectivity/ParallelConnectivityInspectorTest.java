@@ -0,0 +1,102 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelConnectivityInspector}.
+ */
+public class ParallelConnectivityInspectorTest
+{
+    @Test
+    public void testRandomGraphs()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random rng = new Random(11);
+            for (int i = 0; i < 20; i++) {
+                boolean directed = i % 2 == 0;
+                Graph<Integer, DefaultEdge> g = directed
+                    ? new DirectedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                        false)
+                    : new Pseudograph<>(
+                        SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                        false);
+                new GnpRandomGraphGenerator<Integer, DefaultEdge>(
+                    2000, 0.0002 * (i + 1), rng.nextLong(), true).generateGraph(g);
+
+                ParallelConnectivityInspector<Integer, DefaultEdge> inspector =
+                    new ParallelConnectivityInspector<>(g, pool);
+                ConnectivityInspector<Integer, DefaultEdge> expected =
+                    new ConnectivityInspector<>(g);
+
+                assertEquals(
+                    new HashSet<>(expected.connectedSets()),
+                    new HashSet<>(inspector.connectedSets()));
+                assertEquals(expected.connectedSets().size(), inspector.getNumberOfComponents());
+                assertEquals(expected.isConnected(), inspector.isConnected());
+                for (int v = 0; v < 10; v++) {
+                    assertEquals(expected.connectedSetOf(v), inspector.connectedSetOf(v));
+                    assertEquals(expected.pathExists(v, v + 1), inspector.pathExists(v, v + 1));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testComponentIds()
+    {
+        Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d", "e"));
+        g.addEdge("a", "c");
+        g.addEdge("b", "d");
+        g.addEdge("d", "e");
+
+        ParallelConnectivityInspector<String, DefaultEdge> inspector =
+            new ParallelConnectivityInspector<>(g);
+        assertFalse(inspector.isConnected());
+        assertEquals(2, inspector.getNumberOfComponents());
+        assertArrayEquals(new int[] { 0, 1, 0, 1, 1 }, inspector.getComponentIds());
+        assertEquals(new HashSet<>(Arrays.asList("b", "d", "e")), inspector.connectedSetOf("e"));
+        assertTrue(inspector.pathExists("b", "e"));
+        assertFalse(inspector.pathExists("a", "e"));
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        ParallelConnectivityInspector<String, DefaultEdge> inspector =
+            new ParallelConnectivityInspector<>(g);
+        assertFalse(inspector.isConnected());
+        assertTrue(inspector.connectedSets().isEmpty());
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.connectivity;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelStrongConnectivityInspector}.
+ */
+public class ParallelStrongConnectivityInspectorTest
+{
+    @Test
+    public void testAllPhasesOnRandomGraphs()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random rng = new Random(7);
+            for (int i = 0; i < 20; i++) {
+                Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+                new GnpRandomGraphGenerator<Integer, DefaultEdge>(
+                    200, 0.003 + 0.002 * i, rng.nextLong(), true).generateGraph(g);
+
+                // threshold zero forces trimming, forward-backward and coloring
+                assertSameComponents(g, new ParallelStrongConnectivityInspector<>(g, pool, 0));
+                assertSameComponents(g, new ParallelStrongConnectivityInspector<>(g, pool, 50));
+                assertSameComponents(g, new ParallelStrongConnectivityInspector<>(g, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testCycleWithTail()
+    {
+        Graph<Integer, DefaultEdge> g = new DefaultDirectedGraph<>(DefaultEdge.class);
+        for (int i = 0; i < 6; i++) {
+            g.addVertex(i);
+        }
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(2, 0);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(4, 3);
+        g.addEdge(5, 5);
+
+        ParallelStrongConnectivityInspector<Integer, DefaultEdge> inspector =
+            new ParallelStrongConnectivityInspector<>(g, ForkJoinPool.commonPool(), 0);
+        assertEquals(3, inspector.getNumberOfComponents());
+        assertFalse(inspector.isStronglyConnected());
+
+        int[] ids = inspector.getComponentIds();
+        Map<Integer, Integer> index = inspector.getVertexToIntegerMapping().getVertexMap();
+        assertEquals(ids[index.get(0)], ids[index.get(2)]);
+        assertEquals(ids[index.get(3)], ids[index.get(4)]);
+        assertNotEquals(ids[index.get(0)], ids[index.get(3)]);
+        assertEquals(
+            inspector.stronglyConnectedSets().get(ids[index.get(5)]),
+            Collections.singleton(5));
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new DefaultDirectedGraph<>(DefaultEdge.class);
+        ParallelStrongConnectivityInspector<Integer, DefaultEdge> inspector =
+            new ParallelStrongConnectivityInspector<>(g);
+        assertEquals(0, inspector.getNumberOfComponents());
+        assertTrue(inspector.stronglyConnectedSets().isEmpty());
+    }
+
+    private static <V, E> void assertSameComponents(
+        Graph<V, E> g, ParallelStrongConnectivityInspector<V, E> inspector)
+    {
+        Set<Set<V>> expected =
+            new HashSet<>(new KosarajuStrongConnectivityInspector<>(g).stronglyConnectedSets());
+        assertEquals(expected, new HashSet<>(inspector.stronglyConnectedSets()));
+        assertEquals(expected.size(), inspector.getNumberOfComponents());
+
+        int[] ids = inspector.getComponentIds();
+        List<V> vertices = inspector.getVertexToIntegerMapping().getIndexList();
+        for (int i = 0; i < ids.length; i++) {
+            assertTrue(inspector.stronglyConnectedSets().get(ids[i]).contains(vertices.get(i)));
+        }
+    }
+}
@@ -53,7 +53,8 @@ public class StrongConnectivityAlgorithmTest
     public void testStrongConnectivityClasses()
     {
         Class<?>[] strongConnectivityAlgorithmClasses =
-            { GabowStrongConnectivityInspector.class, KosarajuStrongConnectivityInspector.class };
+            { GabowStrongConnectivityInspector.class, KosarajuStrongConnectivityInspector.class,
+                ParallelStrongConnectivityInspector.class };
         for (Class<?> strongConnectivityAlgorithm : strongConnectivityAlgorithmClasses) {
             this.testStronglyConnected1(strongConnectivityAlgorithm);
             this.testStronglyConnected2(strongConnectivityAlgorithm);
@@ -293,6 +294,8 @@ public class StrongConnectivityAlgorithmTest
             return new GabowStrongConnectivityInspector<>(graph);
         else if (strongConnectivityAlgorithm == KosarajuStrongConnectivityInspector.class)
             return new KosarajuStrongConnectivityInspector<>(graph);
+        else if (strongConnectivityAlgorithm == ParallelStrongConnectivityInspector.class)
+            return new ParallelStrongConnectivityInspector<>(graph);
         else
             throw new IllegalArgumentException("Unknown strongConnectivityInspectorClass");
     }
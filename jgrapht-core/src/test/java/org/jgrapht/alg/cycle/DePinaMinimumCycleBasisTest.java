@@ -0,0 +1,260 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.cycle;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.alg.interfaces.CycleBasisAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link DePinaMinimumCycleBasis}.
+ */
+public class DePinaMinimumCycleBasisTest
+{
+    @Test
+    public void testCompleteGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(6).generateGraph(graph);
+
+        CycleBasis<Integer, DefaultEdge> basis =
+            new DePinaMinimumCycleBasis<>(graph).getCycleBasis();
+        assertBasis(graph, basis);
+        // all cycles of the basis are triangles
+        assertEquals(10, basis.getCycles().size());
+        assertEquals(30, basis.getLength());
+        assertEquals(30d, basis.getWeight(), 1e-9);
+    }
+
+    @Test
+    public void testGrid()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GridGraphGenerator<Integer, DefaultEdge>(8, 9).generateGraph(graph);
+
+        CycleBasis<Integer, DefaultEdge> basis =
+            new DePinaMinimumCycleBasis<>(graph).getCycleBasis();
+        assertBasis(graph, basis);
+        // the faces of the grid
+        assertEquals(56, basis.getCycles().size());
+        assertEquals(4 * 56, basis.getLength());
+    }
+
+    @Test
+    public void testWeightedCycles()
+    {
+        // a square with a heavy diagonal
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(graph, Arrays.asList(0, 1, 2, 3));
+        Graphs.addEdge(graph, 0, 1, 1d);
+        Graphs.addEdge(graph, 1, 2, 1d);
+        Graphs.addEdge(graph, 2, 3, 1d);
+        Graphs.addEdge(graph, 3, 0, 1d);
+        Graphs.addEdge(graph, 0, 2, 10d);
+
+        CycleBasis<Integer, DefaultWeightedEdge> basis =
+            new DePinaMinimumCycleBasis<>(graph).getCycleBasis();
+        assertBasis(graph, basis);
+        assertEquals(4d + 12d, basis.getWeight(), 1e-9);
+        assertEquals(7, basis.getLength());
+    }
+
+    @Test
+    public void testPseudograph()
+    {
+        Graph<Integer, DefaultEdge> graph = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(graph, Arrays.asList(0, 1, 2, 3, 4));
+        graph.addEdge(0, 0);
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 1);
+        graph.addEdge(3, 4);
+
+        CycleBasis<Integer, DefaultEdge> basis =
+            new DePinaMinimumCycleBasis<>(graph).getCycleBasis();
+        assertEquals(3, basis.getCycles().size());
+        assertEquals(1 + 2 + 3, basis.getLength());
+        assertBasis(graph, basis);
+    }
+
+    @Test
+    public void testRandomGraphsAgainstBruteForce()
+    {
+        ForkJoinPool sequentialPool = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random rng = new Random(7);
+            for (int t = 0; t < 60; t++) {
+                Graph<Integer, DefaultWeightedEdge> graph = new SimpleWeightedGraph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+                new GnpRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    4 + rng.nextInt(7), t % 2 == 0 ? 0.3 : 0.5, rng, false).generateGraph(graph);
+                boolean unit = t % 3 == 0;
+                for (DefaultWeightedEdge e : graph.edgeSet()) {
+                    graph.setEdgeWeight(e, unit ? 1d : 1 + rng.nextInt(5));
+                }
+
+                double expected = bruteForceWeight(graph);
+                CycleBasis<Integer, DefaultWeightedEdge> sequential =
+                    new DePinaMinimumCycleBasis<>(graph, sequentialPool).getCycleBasis();
+                assertBasis(graph, sequential);
+                assertEquals(expected, sequential.getWeight(), 1e-9);
+
+                CycleBasis<Integer, DefaultWeightedEdge> parallel =
+                    new DePinaMinimumCycleBasis<>(graph, pool).getCycleBasis();
+                assertBasis(graph, parallel);
+                assertEquals(expected, parallel.getWeight(), 1e-9);
+            }
+        } finally {
+            sequentialPool.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(graph, Arrays.asList(0, 1));
+        Graphs.addEdge(graph, 0, 1, -1d);
+        new DePinaMinimumCycleBasis<>(graph).getCycleBasis();
+    }
+
+    /**
+     * Check that the cycles are simple, independent, and as many as the cyclomatic number.
+     */
+    private static <V, E> void assertBasis(Graph<V, E> graph, CycleBasis<V, E> basis)
+    {
+        List<E> edges = new ArrayList<>(graph.edgeSet());
+        Map<E, Integer> index = new HashMap<>();
+        for (E e : edges) {
+            index.put(e, index.size());
+        }
+        int components = new ConnectivityInspector<>(graph).connectedSets().size();
+        int dimension = graph.edgeSet().size() - graph.vertexSet().size() + components;
+        assertEquals(dimension, basis.getCycles().size());
+
+        int length = 0;
+        double weight = 0d;
+        List<BitSet> rows = new ArrayList<>();
+        for (List<E> cycle : basis.getCycles()) {
+            GraphPath<V, E> path = Cycles.simpleCycleToGraphPath(graph, cycle);
+            assertEquals(path.getStartVertex(), path.getEndVertex());
+            assertEquals(cycle.size(), path.getLength());
+            BitSet row = new BitSet();
+            for (E e : cycle) {
+                row.set(index.get(e));
+                weight += graph.getEdgeWeight(e);
+            }
+            length += cycle.size();
+            assertTrue(reduce(rows, row));
+        }
+        assertEquals(length, basis.getLength());
+        assertEquals(weight, basis.getWeight(), 1e-9);
+    }
+
+    /**
+     * Add a row to a GF(2) basis in echelon form, returning false if the row is dependent.
+     */
+    private static boolean reduce(List<BitSet> rows, BitSet row)
+    {
+        for (BitSet other : rows) {
+            int pivot = other.nextSetBit(0);
+            if (row.get(pivot)) {
+                row.xor(other);
+            }
+        }
+        if (row.isEmpty()) {
+            return false;
+        }
+        // keep the rows sorted by pivot, with distinct pivots
+        int pivot = row.nextSetBit(0);
+        for (BitSet other : rows) {
+            if (other.get(pivot)) {
+                other.xor(row);
+            }
+        }
+        rows.add(row);
+        return true;
+    }
+
+    /**
+     * The weight of a minimum cycle basis, by the greedy algorithm over all simple cycles.
+     */
+    private static <V, E> double bruteForceWeight(Graph<V, E> graph)
+    {
+        Graph<V, DefaultEdge> directed = new DefaultDirectedGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(directed, graph.vertexSet());
+        for (E e : graph.edgeSet()) {
+            directed.addEdge(graph.getEdgeSource(e), graph.getEdgeTarget(e));
+            directed.addEdge(graph.getEdgeTarget(e), graph.getEdgeSource(e));
+        }
+        List<E> edges = new ArrayList<>(graph.edgeSet());
+        Map<E, Integer> index = new HashMap<>();
+        for (E e : edges) {
+            index.put(e, index.size());
+        }
+
+        List<BitSet> cycles = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (List<V> cycle : new JohnsonSimpleCycles<>(directed).findSimpleCycles()) {
+            if (cycle.size() < 3) {
+                continue;
+            }
+            BitSet set = new BitSet();
+            double weight = 0d;
+            for (int i = 0; i < cycle.size(); i++) {
+                E e = graph.getEdge(cycle.get(i), cycle.get((i + 1) % cycle.size()));
+                set.set(index.get(e));
+                weight += graph.getEdgeWeight(e);
+            }
+            cycles.add(set);
+            weights.add(weight);
+        }
+
+        Integer[] order = new Integer[cycles.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(weights::get));
+        List<BitSet> rows = new ArrayList<>();
+        double total = 0d;
+        for (int i : order) {
+            if (reduce(rows, (BitSet) cycles.get(i).clone())) {
+                total += weights.get(i);
+            }
+        }
+        return total;
+    }
+}
@@ -39,6 +39,7 @@ public class DirectedSimpleCyclesTest
         testAlgorithm(g -> new JohnsonSimpleCycles<Integer, DefaultEdge>(g));
         testAlgorithm(g -> new SzwarcfiterLauerSimpleCycles<Integer, DefaultEdge>(g));
         testAlgorithm(g -> new HawickJamesSimpleCycles<Integer, DefaultEdge>(g));
+        testAlgorithm(g -> new GuptaSuzumuraSimpleCycles<Integer, DefaultEdge>(g));
 
         testAlgorithmWithWeightedGraph(
             g -> new TiernanSimpleCycles<Integer, DefaultWeightedEdge>(g));
@@ -50,6 +51,8 @@ public class DirectedSimpleCyclesTest
             g -> new SzwarcfiterLauerSimpleCycles<Integer, DefaultWeightedEdge>(g));
         testAlgorithmWithWeightedGraph(
             g -> new HawickJamesSimpleCycles<Integer, DefaultWeightedEdge>(g));
+        testAlgorithmWithWeightedGraph(
+            g -> new GuptaSuzumuraSimpleCycles<Integer, DefaultWeightedEdge>(g));
     }
 
     private void testAlgorithm(
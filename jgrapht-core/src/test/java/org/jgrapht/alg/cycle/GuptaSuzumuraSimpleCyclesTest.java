@@ -0,0 +1,146 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.cycle;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link GuptaSuzumuraSimpleCycles}.
+ */
+public class GuptaSuzumuraSimpleCyclesTest
+{
+    @Test
+    public void testRandomGraphsAgainstJohnson()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random rng = new Random(17);
+            for (int t = 0; t < 40; t++) {
+                Graph<Integer, DefaultEdge> graph = randomGraph(5 + rng.nextInt(10), 0.25, rng);
+                Set<List<Integer>> expected =
+                    normalize(new JohnsonSimpleCycles<>(graph).findSimpleCycles(), 0);
+                for (int maxLength : new int[] { 0, 1, 2, 3, 5, 8 }) {
+                    Set<List<Integer>> bounded = normalize(expected, maxLength);
+                    List<List<Integer>> sequential =
+                        new GuptaSuzumuraSimpleCycles<>(graph, maxLength).findSimpleCycles();
+                    assertEquals(bounded.size(), sequential.size());
+                    assertEquals(bounded, normalize(sequential, 0));
+
+                    List<List<Integer>> parallel =
+                        new GuptaSuzumuraSimpleCycles<>(graph, maxLength, pool)
+                            .findSimpleCycles();
+                    assertEquals(bounded.size(), parallel.size());
+                    assertEquals(bounded, normalize(parallel, 0));
+
+                    assertEquals(
+                        bounded.size(),
+                        new GuptaSuzumuraSimpleCycles<>(graph, maxLength, pool)
+                            .countSimpleCycles());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testCompleteGraphCounts()
+    {
+        // a complete digraph on n vertices has sum over k of C(n,k)(k-1)! cycles of length k
+        Graph<Integer, DefaultEdge> graph = new SimpleDirectedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(8).generateGraph(graph);
+
+        assertEquals(28, new GuptaSuzumuraSimpleCycles<>(graph, 2).countSimpleCycles());
+        assertEquals(28 + 112, new GuptaSuzumuraSimpleCycles<>(graph, 3).countSimpleCycles());
+        assertEquals(
+            28 + 112 + 420 + 1344 + 3360 + 5760 + 5040,
+            new GuptaSuzumuraSimpleCycles<>(graph).countSimpleCycles());
+        assertEquals(
+            28 + 112 + 420 + 1344 + 3360 + 5760 + 5040,
+            new GuptaSuzumuraSimpleCycles<>(graph, 0, ForkJoinPool.commonPool())
+                .countSimpleCycles());
+    }
+
+    @Test
+    public void testStreaming()
+    {
+        Graph<Integer, DefaultEdge> graph = new DirectedPseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(graph, Arrays.asList(0, 1, 2, 3));
+        graph.addEdge(0, 0);
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 2);
+
+        List<List<Integer>> cycles = new ArrayList<>();
+        new GuptaSuzumuraSimpleCycles<>(graph).findSimpleCycles(cycles::add);
+        assertEquals(
+            new HashSet<>(
+                Arrays.asList(
+                    Collections.singletonList(0), Arrays.asList(0, 1, 2), Arrays.asList(2, 3))),
+            new HashSet<>(cycles));
+        assertEquals(3, cycles.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUndirected()
+    {
+        new GuptaSuzumuraSimpleCycles<>(new SimpleGraph<>(DefaultEdge.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLength()
+    {
+        new GuptaSuzumuraSimpleCycles<>(new SimpleDirectedGraph<>(DefaultEdge.class), -1);
+    }
+
+    private static Graph<Integer, DefaultEdge> randomGraph(int n, double p, Random rng)
+    {
+        Graph<Integer, DefaultEdge> graph = new DefaultDirectedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(n, p, rng, true).generateGraph(graph);
+        return graph;
+    }
+
+    /**
+     * Rotate every cycle to start at its smallest vertex and drop cycles longer than the maximum
+     * length.
+     */
+    private static Set<List<Integer>> normalize(Collection<List<Integer>> cycles, int maxLength)
+    {
+        return cycles.stream().filter(c -> maxLength == 0 || c.size() <= maxLength).map(c -> {
+            int min = c.indexOf(Collections.min(c));
+            List<Integer> rotated = new ArrayList<>(c.subList(min, c.size()));
+            rotated.addAll(c.subList(0, min));
+            return rotated;
+        }).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.densesubgraph;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link GreedyPeelingMaximumDensitySubgraphAlgorithm}.
+ */
+public class GreedyPeelingMaximumDensitySubgraphAlgorithmTest
+{
+    private static final double EPS = 1e-9;
+
+    @Test
+    public void testEmpty()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        GreedyPeelingMaximumDensitySubgraphAlgorithm<Integer, DefaultEdge> alg =
+            new GreedyPeelingMaximumDensitySubgraphAlgorithm<>(g);
+        assertTrue(alg.calculateDensest().vertexSet().isEmpty());
+        assertEquals(0d, alg.getDensity(), EPS);
+        assertEquals(0d, alg.getUpperBound(), EPS);
+    }
+
+    @Test
+    public void testCliqueWithPendantPath()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(5).generateGraph(g);
+        for (int v = 5; v < 10; v++) {
+            g.addVertex(v);
+            g.addEdge(v - 1, v);
+        }
+
+        for (double epsilon : new double[] { 0d, 0.1d }) {
+            GreedyPeelingMaximumDensitySubgraphAlgorithm<Integer, DefaultEdge> alg =
+                new GreedyPeelingMaximumDensitySubgraphAlgorithm<>(
+                    g, 1, epsilon, ForkJoinPool.commonPool());
+            assertEquals(Set.of(0, 1, 2, 3, 4), alg.calculateDensest().vertexSet());
+            assertEquals(2d, alg.getDensity(), EPS);
+            assertTrue(alg.getUpperBound() >= 2d - EPS);
+        }
+    }
+
+    @Test
+    public void testWeightedWithLoops()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        for (int v = 0; v < 4; v++) {
+            g.addVertex(v);
+        }
+        g.setEdgeWeight(g.addEdge(0, 1), 1.5);
+        g.setEdgeWeight(g.addEdge(1, 2), 0.5);
+        g.setEdgeWeight(g.addEdge(2, 3), 0.5);
+        g.setEdgeWeight(g.addEdge(3, 3), 4.25);
+
+        GreedyPeelingMaximumDensitySubgraphAlgorithm<Integer, DefaultWeightedEdge> alg =
+            new GreedyPeelingMaximumDensitySubgraphAlgorithm<>(g, 10);
+        assertEquals(Set.of(3), alg.calculateDensest().vertexSet());
+        assertEquals(4.25, alg.getDensity(), EPS);
+        assertEquals(4.25, alg.getUpperBound(), EPS);
+    }
+
+    @Test
+    public void testApproximationAgainstGoldberg()
+    {
+        for (int seed = 0; seed < 10; seed++) {
+            Graph<Integer, DefaultEdge> g = createRandomGraph(40, 0.15, seed);
+            double optimum = new GoldbergMaximumDensitySubgraphAlgorithm<>(g, -1, -2, 1e-5)
+                .getDensity();
+
+            for (double epsilon : new double[] { 0d, 0.5d }) {
+                GreedyPeelingMaximumDensitySubgraphAlgorithm<Integer, DefaultEdge> alg =
+                    new GreedyPeelingMaximumDensitySubgraphAlgorithm<>(
+                        g, 1, epsilon, ForkJoinPool.commonPool());
+                Graph<Integer, DefaultEdge> densest = alg.calculateDensest();
+                assertEquals(
+                    (double) densest.edgeSet().size() / densest.vertexSet().size(),
+                    alg.getDensity(), EPS);
+                assertTrue(alg.getDensity() >= optimum / (2 * (1 + epsilon)) - 1e-4);
+                assertTrue(alg.getDensity() <= optimum + 1e-4);
+                assertTrue(alg.getUpperBound() >= optimum - 1e-4);
+            }
+        }
+    }
+
+    @Test
+    public void testGreedyPlusPlusConverges()
+    {
+        for (int seed = 0; seed < 5; seed++) {
+            Graph<Integer, DefaultEdge> g = createRandomGraph(60, 0.1, seed);
+            double optimum = new GoldbergMaximumDensitySubgraphAlgorithm<>(g, -1, -2, 1e-5)
+                .getDensity();
+
+            GreedyPeelingMaximumDensitySubgraphAlgorithm<Integer, DefaultEdge> alg =
+                new GreedyPeelingMaximumDensitySubgraphAlgorithm<>(g, 100);
+            assertEquals(optimum, alg.getDensity(), 1e-4);
+            assertTrue(alg.getUpperBound() >= optimum - 1e-4);
+            assertTrue(alg.getUpperBound() <= 1.1 * optimum);
+        }
+    }
+
+    @Test
+    public void testPoolSizes()
+    {
+        Graph<Integer, DefaultEdge> g = createRandomGraph(200, 0.05, 7);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            GreedyPeelingMaximumDensitySubgraphAlgorithm<Integer, DefaultEdge> expected =
+                new GreedyPeelingMaximumDensitySubgraphAlgorithm<>(g, 5, 0.2, single);
+            GreedyPeelingMaximumDensitySubgraphAlgorithm<Integer, DefaultEdge> actual =
+                new GreedyPeelingMaximumDensitySubgraphAlgorithm<>(g, 5, 0.2, pool);
+            assertEquals(
+                expected.calculateDensest().vertexSet(), actual.calculateDensest().vertexSet());
+            assertEquals(expected.getDensity(), actual.getDensity(), 1e-9);
+            assertEquals(expected.getUpperBound(), actual.getUpperBound(), 1e-9);
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testRoundingErrorsInRounds()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        for (int v = 0; v < 8; v++) {
+            g.addVertex(v);
+        }
+        g.setEdgeWeight(g.addEdge(0, 4), 1.3872748843398202);
+        g.setEdgeWeight(g.addEdge(7, 6), 0.39280544289467134);
+        g.setEdgeWeight(g.addEdge(7, 0), 2.84570594324906);
+        g.setEdgeWeight(g.addEdge(5, 7), 2.428630366604621);
+        g.setEdgeWeight(g.addEdge(6, 5), 1.3036453415820053);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (ForkJoinPool p : Arrays.asList(single, pool)) {
+                for (int iterations = 1; iterations <= 3; iterations++) {
+                    GreedyPeelingMaximumDensitySubgraphAlgorithm<Integer, DefaultWeightedEdge> alg =
+                        new GreedyPeelingMaximumDensitySubgraphAlgorithm<>(g, iterations, 0.3, p);
+                    assertTrue(alg.getDensity() > 0d);
+                    assertTrue(alg.getUpperBound() >= alg.getDensity());
+                }
+            }
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        g.addVertex(0);
+        g.addVertex(1);
+        g.setEdgeWeight(g.addEdge(0, 1), -1d);
+        new GreedyPeelingMaximumDensitySubgraphAlgorithm<>(g).getDensity();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidIterations()
+    {
+        new GreedyPeelingMaximumDensitySubgraphAlgorithm<>(
+            new SimpleGraph<>(DefaultEdge.class), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidEpsilon()
+    {
+        new GreedyPeelingMaximumDensitySubgraphAlgorithm<>(
+            new SimpleGraph<>(DefaultEdge.class), 1, -0.5, ForkJoinPool.commonPool());
+    }
+
+    private static Graph<Integer, DefaultEdge> createRandomGraph(int n, double p, long seed)
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(n, p, seed).generateGraph(g);
+        return g;
+    }
+}
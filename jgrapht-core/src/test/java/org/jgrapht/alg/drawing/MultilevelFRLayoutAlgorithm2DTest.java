@@ -0,0 +1,184 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.drawing;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.drawing.model.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test {@link MultilevelFRLayoutAlgorithm2D}.
+ */
+public class MultilevelFRLayoutAlgorithm2DTest
+{
+
+    @Test
+    public void testGrid()
+    {
+        int side = 30;
+        Graph<Integer, DefaultEdge> graph = gridGraph(side);
+        MapLayoutModel2D<Integer> model = new MapLayoutModel2D<>(Box2D.of(0d, 0d, 100d, 100d));
+        new MultilevelFRLayoutAlgorithm2D<Integer, DefaultEdge>(50, 0.5, new Random(17))
+            .layout(graph, model);
+
+        assertInside(graph, model);
+
+        // edges are much shorter than the distances of random pairs
+        double edgeLength = 0d;
+        for (DefaultEdge e : graph.edgeSet()) {
+            edgeLength += distance(model, graph.getEdgeSource(e), graph.getEdgeTarget(e));
+        }
+        edgeLength /= graph.edgeSet().size();
+        Random rng = new Random(7);
+        double pairDistance = 0d;
+        for (int i = 0; i < 1000; i++) {
+            pairDistance += distance(model, rng.nextInt(side * side), rng.nextInt(side * side));
+        }
+        pairDistance /= 1000;
+        assertTrue(pairDistance > side / 4d * edgeLength);
+
+        // the corners of the grid are far apart
+        double diagonal = distance(model, 0, side * side - 1);
+        assertTrue(diagonal > 0.5 * side * edgeLength);
+    }
+
+    @Test
+    public void testIndependentOfParallelism()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(500, 1500, 3).generateGraph(graph);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool multiple = new ForkJoinPool(4);
+        try {
+            MapLayoutModel2D<Integer> model1 =
+                new MapLayoutModel2D<>(Box2D.of(0d, 0d, 100d, 100d));
+            new MultilevelFRLayoutAlgorithm2D<Integer, DefaultEdge>(
+                30, 0.7, new Random(5), 0, single).layout(graph, model1);
+            MapLayoutModel2D<Integer> model2 =
+                new MapLayoutModel2D<>(Box2D.of(0d, 0d, 100d, 100d));
+            new MultilevelFRLayoutAlgorithm2D<Integer, DefaultEdge>(
+                30, 0.7, new Random(5), 0, multiple).layout(graph, model2);
+            assertEquals(model1.collect(), model2.collect());
+            assertInside(graph, model1);
+        } finally {
+            single.shutdown();
+            multiple.shutdown();
+        }
+    }
+
+    @Test
+    public void testPublishing()
+    {
+        Graph<Integer, DefaultEdge> graph = gridGraph(20);
+        ListenableLayoutModel2D<Integer> model =
+            new ListenableLayoutModel2D<>(new MapLayoutModel2D<>(Box2D.of(0d, 0d, 100d, 100d)));
+        int[] updates = new int[1];
+        model.addListener((v, p) -> updates[0]++);
+
+        new MultilevelFRLayoutAlgorithm2D<Integer, DefaultEdge>(
+            20, 0.5, new Random(1), 5, ForkJoinPool.commonPool()).layout(graph, model);
+
+        // several coarse levels plus three intermediate and one final layout of the finest level
+        assertTrue(updates[0] >= 6 * graph.vertexSet().size());
+        assertInside(graph, model);
+    }
+
+    @Test
+    public void testInitializer()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new LinearGraphGenerator<Integer, DefaultEdge>(10).generateGraph(graph);
+
+        MultilevelFRLayoutAlgorithm2D<Integer, DefaultEdge> alg =
+            new MultilevelFRLayoutAlgorithm2D<>(50, 0.5, new Random(3));
+        alg.setInitializer(v -> Point2D.of(v, v % 2));
+        MapLayoutModel2D<Integer> model = new MapLayoutModel2D<>(Box2D.of(0d, 0d, 100d, 100d));
+        alg.layout(graph, model);
+
+        // the path stays ordered along its initial direction
+        for (int v = 0; v + 1 < 10; v++) {
+            assertTrue(model.get(v).getX() < model.get(v + 1).getX());
+        }
+        assertInside(graph, model);
+    }
+
+    @Test
+    public void testSmallGraphs()
+    {
+        Graph<String, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        MapLayoutModel2D<String> model = new MapLayoutModel2D<>(Box2D.of(0d, 0d, 10d, 10d));
+        MultilevelFRLayoutAlgorithm2D<String, DefaultEdge> alg =
+            new MultilevelFRLayoutAlgorithm2D<>(10, 0.5, new Random(1));
+
+        alg.layout(graph, model);
+        assertTrue(model.collect().isEmpty());
+
+        graph.addVertex("a");
+        alg.layout(graph, model);
+        assertEquals(Point2D.of(5d, 5d), model.get("a"));
+
+        graph.addVertex("b");
+        graph.addEdge("a", "b");
+        alg.layout(graph, model);
+        assertInside(graph, model);
+        assertTrue(distance(model, "a", "b") > 0d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalTheta()
+    {
+        new MultilevelFRLayoutAlgorithm2D<String, DefaultEdge>(10, 1.5, new Random(1));
+    }
+
+    private static Graph<Integer, DefaultEdge> gridGraph(int side)
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GridGraphGenerator<Integer, DefaultEdge>(side, side).generateGraph(graph);
+        return graph;
+    }
+
+    private static <V, E> void assertInside(Graph<V, E> graph, LayoutModel2D<V> model)
+    {
+        Box2D area = model.getDrawableArea();
+        for (V v : graph.vertexSet()) {
+            Point2D p = model.get(v);
+            assertTrue(p.getX() >= area.getMinX() - 1e-9 && p.getX() <= area.getMaxX() + 1e-9);
+            assertTrue(p.getY() >= area.getMinY() - 1e-9 && p.getY() <= area.getMaxY() + 1e-9);
+        }
+    }
+
+    private static <V> double distance(LayoutModel2D<V> model, V u, V v)
+    {
+        Point2D p = model.get(u);
+        Point2D q = model.get(v);
+        return Math.hypot(p.getX() - q.getX(), p.getY() - q.getY());
+    }
+}
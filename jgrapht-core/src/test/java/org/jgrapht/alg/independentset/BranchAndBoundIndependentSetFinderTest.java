@@ -0,0 +1,140 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.independentset;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BranchAndBoundIndependentSetFinder}.
+ */
+public class BranchAndBoundIndependentSetFinderTest
+{
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        assertTrue(new BranchAndBoundIndependentSetFinder<>(graph).getIndependentSet().isEmpty());
+    }
+
+    @Test
+    public void testCycles()
+    {
+        for (int n = 3; n < 12; n++) {
+            Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new RingGraphGenerator<Integer, DefaultEdge>(n).generateGraph(graph);
+            Set<Integer> set = new BranchAndBoundIndependentSetFinder<>(graph).getIndependentSet();
+            assertIndependentSet(graph, set, n / 2);
+        }
+    }
+
+    @Test
+    public void testTree()
+    {
+        // a star with three leaves, one of which has a path of length two attached
+        int[][] edges = { { 0, 1 }, { 0, 2 }, { 0, 3 }, { 3, 4 }, { 4, 5 } };
+        Graph<Integer, DefaultEdge> graph = TestUtil.createUndirected(edges);
+        Set<Integer> set = new BranchAndBoundIndependentSetFinder<>(graph).getIndependentSet();
+        assertIndependentSet(graph, set, 4);
+        assertEquals(4.0, new BranchAndBoundIndependentSetFinder<>(graph)
+            .getIndependentSet().getWeight(), 0.0);
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        Random rng = new Random(33);
+        for (int i = 0; i < 100; i++) {
+            int n = 1 + rng.nextInt(16);
+            double p = rng.nextDouble();
+            Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(n, p, rng.nextLong())
+                .generateGraph(graph);
+            int expected = bruteForce(graph);
+
+            assertIndependentSet(
+                graph, new BranchAndBoundIndependentSetFinder<>(graph).getIndependentSet(),
+                expected);
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                assertIndependentSet(
+                    graph, new BranchAndBoundIndependentSetFinder<>(
+                        graph, 0L, TimeUnit.SECONDS, pool).getIndependentSet(),
+                    expected);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testLargeSparseGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(2000, 0.0005, 5).generateGraph(graph);
+        BranchAndBoundIndependentSetFinder<Integer, DefaultEdge> finder =
+            new BranchAndBoundIndependentSetFinder<>(graph);
+        Set<Integer> set = finder.getIndependentSet();
+        assertIndependentSet(graph, set, set.size());
+        assertFalse(finder.isTimeLimitReached());
+        assertTrue(set.size() > 1000);
+    }
+
+    private static int bruteForce(Graph<Integer, DefaultEdge> graph)
+    {
+        int n = graph.vertexSet().size();
+        int best = 0;
+        for (int mask = 0; mask < (1 << n); mask++) {
+            boolean independent = true;
+            for (DefaultEdge e : graph.edgeSet()) {
+                int u = graph.getEdgeSource(e);
+                int v = graph.getEdgeTarget(e);
+                if ((mask >>> u & 1) != 0 && (mask >>> v & 1) != 0) {
+                    independent = false;
+                    break;
+                }
+            }
+            if (independent) {
+                best = Math.max(best, Integer.bitCount(mask));
+            }
+        }
+        return best;
+    }
+
+    private static void assertIndependentSet(
+        Graph<Integer, DefaultEdge> graph, Set<Integer> set, int expectedSize)
+    {
+        assertEquals(expectedSize, set.size());
+        for (Integer u : set) {
+            for (Integer v : set) {
+                assertFalse(graph.containsEdge(u, v));
+            }
+        }
+    }
+}
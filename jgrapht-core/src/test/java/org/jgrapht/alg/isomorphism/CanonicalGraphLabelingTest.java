@@ -0,0 +1,262 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CanonicalGraphLabeling}.
+ */
+public class CanonicalGraphLabelingTest
+{
+    @Test
+    public void testAllUndirectedGraphsOnFiveVertices()
+    {
+        // there are 34 non-isomorphic graphs on five vertices
+        assertEquals(34, countClasses(5, false));
+        assertEquals(11, countClasses(4, false));
+    }
+
+    @Test
+    public void testAllDirectedGraphsOnThreeVertices()
+    {
+        // there are 16 non-isomorphic directed graphs on three vertices
+        assertEquals(16, countClasses(3, true));
+    }
+
+    @Test
+    public void testRandomPermutations()
+    {
+        Random rng = new Random(17);
+        for (int i = 0; i < 20; i++) {
+            boolean directed = i % 2 == 1;
+            Graph<Integer, DefaultEdge> g = createGraph(directed);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(20, 0.2, rng, false)
+                .generateGraph(g);
+            Graph<Integer, DefaultEdge> h = permute(g, rng);
+
+            CanonicalGraphLabeling<Integer, DefaultEdge> cg = new CanonicalGraphLabeling<>(g);
+            CanonicalGraphLabeling<Integer, DefaultEdge> ch = new CanonicalGraphLabeling<>(h);
+            assertArrayEquals(cg.getCertificate(), ch.getCertificate());
+            assertArrayEquals(cg.getHash(), ch.getHash());
+            assertEquals(canonicalEdges(g, cg), canonicalEdges(h, ch));
+        }
+    }
+
+    @Test
+    public void testSymmetricGraphs()
+    {
+        Random rng = new Random(7);
+        List<Graph<Integer, DefaultEdge>> graphs = new ArrayList<>();
+        Graph<Integer, DefaultEdge> complete = createGraph(false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(12).generateGraph(complete);
+        graphs.add(complete);
+        Graph<Integer, DefaultEdge> cube = createGraph(false);
+        new HyperCubeGraphGenerator<Integer, DefaultEdge>(5).generateGraph(cube);
+        graphs.add(cube);
+        Graph<Integer, DefaultEdge> empty = createGraph(false);
+        new EmptyGraphGenerator<Integer, DefaultEdge>(15).generateGraph(empty);
+        graphs.add(empty);
+
+        for (Graph<Integer, DefaultEdge> g : graphs) {
+            CanonicalGraphLabeling<Integer, DefaultEdge> cg = new CanonicalGraphLabeling<>(g);
+            Graph<Integer, DefaultEdge> h = permute(g, rng);
+            assertEquals(
+                cg.getHashString(), new CanonicalGraphLabeling<>(h).getHashString());
+            for (Map<Integer, Integer> gamma : cg.getAutomorphisms()) {
+                for (DefaultEdge e : g.edgeSet()) {
+                    assertTrue(
+                        g.containsEdge(
+                            gamma.get(g.getEdgeSource(e)), gamma.get(g.getEdgeTarget(e))));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRegularGraphsNotDistinguishedByColorRefinement()
+    {
+        // the Petersen graph and the pentagonal prism are both 3-regular on ten vertices
+        Graph<Integer, DefaultEdge> petersen = createGraph(false);
+        new GeneralizedPetersenGraphGenerator<Integer, DefaultEdge>(5, 2).generateGraph(petersen);
+        Graph<Integer, DefaultEdge> prism = createGraph(false);
+        new GeneralizedPetersenGraphGenerator<Integer, DefaultEdge>(5, 1).generateGraph(prism);
+
+        CanonicalGraphLabeling<Integer, DefaultEdge> c1 = new CanonicalGraphLabeling<>(petersen);
+        CanonicalGraphLabeling<Integer, DefaultEdge> c2 = new CanonicalGraphLabeling<>(prism);
+        assertFalse(Arrays.equals(c1.getCertificate(), c2.getCertificate()));
+        assertNotEquals(c1.getHashString(), c2.getHashString());
+        assertEquals(32, c1.getHashString().length());
+        assertEquals(10, c1.getCanonicalOrdering().size());
+    }
+
+    @Test
+    public void testInitialColoring()
+    {
+        // path a-b-c with a colored end or a colored center
+        Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(g, "a", "b");
+        Graphs.addEdgeWithVertices(g, "b", "c");
+
+        Map<String, Integer> end = new HashMap<>();
+        end.put("a", 1);
+        end.put("b", 0);
+        end.put("c", 0);
+        Map<String, Integer> otherEnd = new HashMap<>();
+        otherEnd.put("a", 0);
+        otherEnd.put("b", 0);
+        otherEnd.put("c", 1);
+        Map<String, Integer> center = new HashMap<>();
+        center.put("a", 0);
+        center.put("b", 1);
+        center.put("c", 0);
+
+        long[] c1 = new CanonicalGraphLabeling<>(g, new ColoringImpl<>(end, 2)).getCertificate();
+        long[] c2 =
+            new CanonicalGraphLabeling<>(g, new ColoringImpl<>(otherEnd, 2)).getCertificate();
+        long[] c3 = new CanonicalGraphLabeling<>(g, new ColoringImpl<>(center, 2)).getCertificate();
+        assertArrayEquals(c1, c2);
+        assertFalse(Arrays.equals(c1, c3));
+    }
+
+    @Test
+    public void testPseudograph()
+    {
+        Graph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(g, 0, 1);
+        g.addEdge(0, 1);
+        Graphs.addEdgeWithVertices(g, 1, 2);
+        g.addEdge(2, 2);
+
+        Graph<Integer, DefaultEdge> h = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(h, 5, 4);
+        h.addEdge(4, 5);
+        Graphs.addEdgeWithVertices(h, 4, 3);
+        h.addEdge(3, 3);
+
+        Graph<Integer, DefaultEdge> other = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(other, 0, 1);
+        other.addEdge(0, 1);
+        Graphs.addEdgeWithVertices(other, 1, 2);
+        other.addEdge(0, 0);
+
+        assertArrayEquals(
+            new CanonicalGraphLabeling<>(g).getHash(), new CanonicalGraphLabeling<>(h).getHash());
+        assertFalse(
+            Arrays.equals(
+                new CanonicalGraphLabeling<>(g).getHash(),
+                new CanonicalGraphLabeling<>(other).getHash()));
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        CanonicalGraphLabeling<Integer, DefaultEdge> c =
+            new CanonicalGraphLabeling<>(new SimpleGraph<>(DefaultEdge.class));
+        assertTrue(c.getCanonicalOrdering().isEmpty());
+        assertEquals(3, c.getCertificate().length);
+    }
+
+    private static int countClasses(int n, boolean directed)
+    {
+        List<int[]> pairs = new ArrayList<>();
+        for (int u = 0; u < n; u++) {
+            for (int v = directed ? 0 : u + 1; v < n; v++) {
+                if (u != v) {
+                    pairs.add(new int[] { u, v });
+                }
+            }
+        }
+        Set<String> hashes = new HashSet<>();
+        Set<List<Long>> certificates = new HashSet<>();
+        for (int mask = 0; mask < 1 << pairs.size(); mask++) {
+            Graph<Integer, DefaultEdge> g = createGraph(directed);
+            for (int v = 0; v < n; v++) {
+                g.addVertex(v);
+            }
+            for (int j = 0; j < pairs.size(); j++) {
+                if ((mask & (1 << j)) != 0) {
+                    g.addEdge(pairs.get(j)[0], pairs.get(j)[1]);
+                }
+            }
+            CanonicalGraphLabeling<Integer, DefaultEdge> c = new CanonicalGraphLabeling<>(g);
+            hashes.add(c.getHashString());
+            List<Long> certificate = new ArrayList<>();
+            for (long x : c.getCertificate()) {
+                certificate.add(x);
+            }
+            certificates.add(certificate);
+        }
+        assertEquals(certificates.size(), hashes.size());
+        return certificates.size();
+    }
+
+    private static Set<List<Integer>> canonicalEdges(
+        Graph<Integer, DefaultEdge> g, CanonicalGraphLabeling<Integer, DefaultEdge> c)
+    {
+        Map<Integer, Integer> labels = c.getCanonicalLabeling();
+        Set<List<Integer>> result = new HashSet<>();
+        for (DefaultEdge e : g.edgeSet()) {
+            int s = labels.get(g.getEdgeSource(e));
+            int t = labels.get(g.getEdgeTarget(e));
+            if (g.getType().isUndirected() && s > t) {
+                int tmp = s;
+                s = t;
+                t = tmp;
+            }
+            result.add(Arrays.asList(s, t));
+        }
+        return result;
+    }
+
+    private static Graph<Integer, DefaultEdge> permute(Graph<Integer, DefaultEdge> g, Random rng)
+    {
+        List<Integer> images = new ArrayList<>(g.vertexSet());
+        Collections.shuffle(images, rng);
+        Map<Integer, Integer> perm = new HashMap<>();
+        int i = 0;
+        for (Integer v : g.vertexSet()) {
+            perm.put(v, images.get(i++));
+        }
+        Graph<Integer, DefaultEdge> h = createGraph(g.getType().isDirected());
+        images.sort(Comparator.reverseOrder());
+        images.forEach(h::addVertex);
+        for (DefaultEdge e : g.edgeSet()) {
+            h.addEdge(perm.get(g.getEdgeSource(e)), perm.get(g.getEdgeTarget(e)));
+        }
+        return h;
+    }
+
+    private static Graph<Integer, DefaultEdge> createGraph(boolean directed)
+    {
+        return directed
+            ? new SimpleDirectedGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false)
+            : new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link VF2ppSubgraphIsomorphismInspector}.
+ */
+public class VF2ppSubgraphIsomorphismInspectorTest
+{
+    @Test
+    public void testSquareInCube()
+    {
+        Graph<Integer, DefaultEdge> cube = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new HyperCubeGraphGenerator<Integer, DefaultEdge>(3).generateGraph(cube);
+        Graph<Integer, DefaultEdge> square = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new RingGraphGenerator<Integer, DefaultEdge>(4).generateGraph(square);
+
+        // six faces with eight automorphisms of the square each
+        assertEquals(48, count(new VF2ppSubgraphIsomorphismInspector<>(cube, square)));
+
+        // the complete graph has no induced squares
+        Graph<Integer, DefaultEdge> k5 = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(5).generateGraph(k5);
+        assertFalse(new VF2ppSubgraphIsomorphismInspector<>(k5, square).isomorphismExists());
+    }
+
+    @Test
+    public void testEmptyPattern()
+    {
+        Graph<Integer, DefaultEdge> host = new SimpleGraph<>(DefaultEdge.class);
+        host.addVertex(1);
+        Graph<Integer, DefaultEdge> pattern = new SimpleGraph<>(DefaultEdge.class);
+        VF2ppSubgraphIsomorphismInspector<Integer, DefaultEdge> inspector =
+            new VF2ppSubgraphIsomorphismInspector<>(host, pattern);
+        assertEquals(1, count(inspector));
+        assertEquals(1, inspector.forEachMapping(m -> {
+        }));
+
+        // the pattern is larger than the host
+        assertFalse(new VF2ppSubgraphIsomorphismInspector<>(pattern, host).isomorphismExists());
+    }
+
+    @Test
+    public void testSelfLoops()
+    {
+        Graph<Integer, DefaultEdge> host = new DefaultDirectedGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(host, Arrays.asList(0, 1, 2));
+        host.addEdge(0, 1);
+        host.addEdge(1, 2);
+        host.addEdge(2, 2);
+        Graph<Integer, DefaultEdge> pattern = new DefaultDirectedGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(pattern, Arrays.asList(0, 1));
+        pattern.addEdge(0, 1);
+        pattern.addEdge(1, 1);
+
+        Iterator<GraphMapping<Integer, DefaultEdge>> it =
+            new VF2ppSubgraphIsomorphismInspector<>(host, pattern).getMappings();
+        assertTrue(it.hasNext());
+        GraphMapping<Integer, DefaultEdge> mapping = it.next();
+        assertEquals(Integer.valueOf(1), mapping.getVertexCorrespondence(0, false));
+        assertEquals(Integer.valueOf(2), mapping.getVertexCorrespondence(1, false));
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testRandomDirected()
+    {
+        for (int i = 0; i < 40; i++) {
+            Graph<Integer, DefaultEdge> host =
+                SubgraphIsomorphismTestUtils.randomGraph(15, 40 + i, i);
+            Graph<Integer, DefaultEdge> pattern =
+                SubgraphIsomorphismTestUtils.randomSubgraph(host, 3 + i % 3, i);
+            assertSameMappings(host, pattern, null, null);
+        }
+    }
+
+    @Test
+    public void testRandomUndirectedWithLabels()
+    {
+        Random rng = new Random(7);
+        Comparator<Integer> vertexComparator = Comparator.comparingInt(v -> v % 3);
+        for (int i = 0; i < 40; i++) {
+            Graph<Integer, DefaultEdge> host = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(15, 0.3, rng.nextLong())
+                .generateGraph(host);
+            Graph<Integer, DefaultEdge> pattern = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(
+                3 + rng.nextInt(2), 0.6, rng.nextLong()).generateGraph(pattern);
+
+            assertSameMappings(host, pattern, null, null);
+            assertSameMappings(host, pattern, vertexComparator, null);
+        }
+    }
+
+    @Test
+    public void testLabelsSharedByPatterns()
+    {
+        Comparator<Integer> vertexComparator = Comparator.comparingInt(v -> v % 3);
+        Graph<Integer, DefaultEdge> host = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(30, 0.3, 5).generateGraph(host);
+
+        VF2ppSubgraphIsomorphismInspector<Integer, DefaultEdge> inspector = null;
+        for (int i = 0; i < 10; i++) {
+            Graph<Integer, DefaultEdge> pattern = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(4, 0.6, i).generateGraph(pattern);
+            inspector = inspector == null
+                ? new VF2ppSubgraphIsomorphismInspector<>(host, pattern, vertexComparator, null)
+                : inspector.withPattern(pattern);
+
+            Set<List<Integer>> expected = new HashSet<>();
+            new VF2SubgraphIsomorphismInspector<>(host, pattern, vertexComparator, null)
+                .getMappings().forEachRemaining(m -> expected.add(forward(m, pattern)));
+            Set<List<Integer>> actual = new HashSet<>();
+            inspector.getMappings().forEachRemaining(m -> actual.add(forward(m, pattern)));
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testComparatorNotTotalOrder()
+    {
+        Graph<Integer, DefaultEdge> host = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(6).generateGraph(host);
+        Graph<Integer, DefaultEdge> pattern = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(2).generateGraph(pattern);
+
+        // an equality test is not a total order
+        Comparator<Integer> vertexComparator = (a, b) -> a % 3 == b % 3 ? 0 : 1;
+        new VF2ppSubgraphIsomorphismInspector<>(host, pattern, vertexComparator, null)
+            .isomorphismExists();
+    }
+
+    @Test
+    public void testEdgeComparator()
+    {
+        Graph<Integer, DefaultWeightedEdge> host =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graph<Integer, DefaultWeightedEdge> pattern =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(host, Arrays.asList(0, 1, 2, 3));
+        Graphs.addEdge(host, 0, 1, 1.0);
+        Graphs.addEdge(host, 1, 2, 2.0);
+        Graphs.addEdge(host, 2, 3, 1.0);
+        Graphs.addAllVertices(pattern, Arrays.asList(0, 1));
+        Graphs.addEdge(pattern, 0, 1, 1.0);
+
+        Comparator<DefaultWeightedEdge> edgeComparator = (a, b) -> Double
+            .compare(host.containsEdge(a) ? host.getEdgeWeight(a) : pattern.getEdgeWeight(a),
+                host.containsEdge(b) ? host.getEdgeWeight(b) : pattern.getEdgeWeight(b));
+        VF2ppSubgraphIsomorphismInspector<Integer, DefaultWeightedEdge> inspector =
+            new VF2ppSubgraphIsomorphismInspector<>(host, pattern, null, edgeComparator);
+        // the edges {0,1} and {2,3} in both orientations
+        assertEquals(4, count(inspector));
+        assertEquals(
+            6, count(new VF2ppSubgraphIsomorphismInspector<>(host, pattern, null, null)));
+    }
+
+    @Test
+    public void testParallelStreaming()
+    {
+        Graph<Integer, DefaultEdge> host = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(200, 0.05, 3).generateGraph(host);
+        Graph<Integer, DefaultEdge> path = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new LinearGraphGenerator<Integer, DefaultEdge>(4).generateGraph(path);
+
+        long expected = count(new VF2ppSubgraphIsomorphismInspector<>(host, path));
+        assertTrue(expected > 0);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            VF2ppSubgraphIsomorphismInspector<Integer, DefaultEdge> inspector =
+                new VF2ppSubgraphIsomorphismInspector<>(host, path, null, null, pool);
+            Set<List<Integer>> mappings = ConcurrentHashMap.newKeySet();
+            long count = inspector.forEachMapping(m -> mappings.add(forward(m, path)));
+            assertEquals(expected, count);
+            assertEquals(expected, mappings.size());
+            assertFalse(inspector.isTimeLimitReached());
+
+            // a cap on the number of mappings
+            AtomicLong reported = new AtomicLong();
+            assertEquals(
+                10, inspector.forEachMapping(
+                    m -> reported.incrementAndGet(), 10, 0, TimeUnit.SECONDS));
+            assertEquals(10, reported.get());
+
+            // the host preprocessing is shared with another pattern
+            Graph<Integer, DefaultEdge> triangle = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new CompleteGraphGenerator<Integer, DefaultEdge>(3).generateGraph(triangle);
+            assertEquals(
+                count(new VF2ppSubgraphIsomorphismInspector<>(host, triangle)),
+                inspector.withPattern(triangle).forEachMapping(m -> {
+                }));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimeout()
+    {
+        Graph<Integer, DefaultEdge> host = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(300, 0.5, 3).generateGraph(host);
+        Graph<Integer, DefaultEdge> pattern = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new RingGraphGenerator<Integer, DefaultEdge>(8).generateGraph(pattern);
+        VF2ppSubgraphIsomorphismInspector<Integer, DefaultEdge> inspector =
+            new VF2ppSubgraphIsomorphismInspector<>(host, pattern);
+        inspector.forEachMapping(m -> {
+        }, Long.MAX_VALUE, 10, TimeUnit.MILLISECONDS);
+        assertTrue(inspector.isTimeLimitReached());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirectedWithUndirected()
+    {
+        new VF2ppSubgraphIsomorphismInspector<>(
+            new SimpleGraph<>(DefaultEdge.class), new SimpleDirectedGraph<>(DefaultEdge.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultipleEdges()
+    {
+        new VF2ppSubgraphIsomorphismInspector<>(
+            new Multigraph<>(DefaultEdge.class), new Multigraph<>(DefaultEdge.class));
+    }
+
+    private static <E> void assertSameMappings(
+        Graph<Integer, E> host, Graph<Integer, E> pattern, Comparator<Integer> vertexComparator,
+        Comparator<E> edgeComparator)
+    {
+        Set<List<Integer>> expected = new HashSet<>();
+        new VF2SubgraphIsomorphismInspector<>(host, pattern, vertexComparator, edgeComparator)
+            .getMappings().forEachRemaining(m -> expected.add(forward(m, pattern)));
+        Set<List<Integer>> actual = new HashSet<>();
+        VF2ppSubgraphIsomorphismInspector<Integer, E> inspector =
+            new VF2ppSubgraphIsomorphismInspector<>(
+                host, pattern, vertexComparator, edgeComparator);
+        inspector.getMappings().forEachRemaining(m -> assertTrue(actual.add(forward(m, pattern))));
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), inspector.forEachMapping(m -> {
+        }));
+    }
+
+    private static <E> List<Integer> forward(
+        GraphMapping<Integer, E> mapping, Graph<Integer, E> pattern)
+    {
+        List<Integer> result = new ArrayList<>();
+        for (Integer v : pattern.vertexSet()) {
+            result.add(mapping.getVertexCorrespondence(v, false));
+        }
+        return result;
+    }
+
+    private static <V, E> long count(IsomorphismInspector<V, E> inspector)
+    {
+        long count = 0;
+        for (Iterator<GraphMapping<V, E>> it = inspector.getMappings(); it.hasNext(); it.next()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.lca;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the {@link BlockRMQLCAFinder}
+ */
+public class BlockRMQLCAFinderTest
+    extends
+    LCATreeTestBase
+{
+
+    @Override
+    <V, E> LowestCommonAncestorAlgorithm<V> createSolver(Graph<V, E> graph, Set<V> roots)
+    {
+        return new BlockRMQLCAFinder<>(graph, roots);
+    }
+
+    @Test
+    public void testIntegerQueries()
+    {
+        Random random = new Random(17);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int test = 0; test < 20; test++) {
+                int n = 1 + random.nextInt(3000);
+                // random forests of deep trees, which span many blocks of the tour
+                Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+                Set<Integer> roots = new LinkedHashSet<>();
+                for (int v = 0; v < n; v++) {
+                    g.addVertex(v);
+                    if (v == 0 || random.nextInt(100) == 0) {
+                        roots.add(v);
+                    } else {
+                        int parent = Math.max(0, v - 1 - random.nextInt(test % 2 == 0 ? 3 : v));
+                        g.addEdge(parent, v);
+                    }
+                }
+
+                BlockRMQLCAFinder<Integer, DefaultEdge> finder =
+                    new BlockRMQLCAFinder<>(g, roots, pool);
+                EulerTourRMQLCAFinder<Integer, DefaultEdge> expected =
+                    new EulerTourRMQLCAFinder<>(g, roots);
+
+                List<Integer> vertices = finder.getVertexToIntegerMapping().getIndexList();
+                int q = 2000;
+                int[] a = new int[q];
+                int[] b = new int[q];
+                int[] lcas = new int[q];
+                for (int i = 0; i < q; i++) {
+                    a[i] = random.nextInt(n);
+                    b[i] = random.nextInt(n);
+                    Integer lca = expected.getLCA(vertices.get(a[i]), vertices.get(b[i]));
+                    lcas[i] = lca == null ? -1
+                        : finder.getVertexToIntegerMapping().getVertexMap().get(lca);
+                    assertEquals(lcas[i], finder.getLCA(a[i], b[i]));
+                }
+                assertArrayEquals(lcas, finder.getLCAs(a, b));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentBatchLengths()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(g, 0, 1);
+        new BlockRMQLCAFinder<>(g, 0).getLCAs(new int[2], new int[1]);
+    }
+}
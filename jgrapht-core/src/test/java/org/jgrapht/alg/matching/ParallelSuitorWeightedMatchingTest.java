@@ -0,0 +1,172 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.matching;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.interfaces.MatchingAlgorithm.*;
+import org.jgrapht.alg.matching.blossom.v5.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the ParallelSuitorWeightedMatching algorithm.
+ */
+public class ParallelSuitorWeightedMatchingTest
+    extends
+    ApproximateWeightedMatchingTest
+{
+
+    @Override
+    public MatchingAlgorithm<Integer, DefaultWeightedEdge> getApproximationAlgorithm(
+        Graph<Integer, DefaultWeightedEdge> graph)
+    {
+        return new ParallelSuitorWeightedMatching<>(graph);
+    }
+
+    @Test
+    public void testSameAsGreedy()
+    {
+        for (int seed = 0; seed < 10; seed++) {
+            Graph<Integer, DefaultWeightedEdge> g = createRandomGraph(100, 0.2, seed);
+
+            Matching<Integer, DefaultWeightedEdge> expected =
+                new GreedyWeightedMatching<>(g, false).getMatching();
+            Matching<Integer, DefaultWeightedEdge> actual =
+                new ParallelSuitorWeightedMatching<>(g).getMatching();
+
+            assertTrue(isMatching(g, actual));
+            assertEquals(expected.getEdges(), actual.getEdges());
+            assertEquals(expected.getWeight(), actual.getWeight(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testTiesBrokenByEndpoints()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3));
+        Graphs.addEdge(g, 1, 2, 1.0);
+        Graphs.addEdge(g, 0, 1, 1.0);
+        Graphs.addEdge(g, 2, 3, 1.0);
+
+        // (2,3) precedes (1,2) and (0,1) in the order, unlike in the edge set
+        Set<DefaultWeightedEdge> expected = new HashSet<>();
+        expected.add(g.getEdge(0, 1));
+        expected.add(g.getEdge(2, 3));
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (ForkJoinPool p : Arrays.asList(single, pool)) {
+                Matching<Integer, DefaultWeightedEdge> m =
+                    new ParallelSuitorWeightedMatching<>(g, 0, new Random(), p).getMatching();
+                assertEquals(expected, m.getEdges());
+                assertEquals(2.0, m.getWeight(), 0d);
+            }
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testAugmentations()
+    {
+        for (int seed = 0; seed < 10; seed++) {
+            Graph<Integer, DefaultWeightedEdge> g = createRandomGraph(100, 0.1, seed);
+            double optimum = new KolmogorovWeightedMatching<>(g).getMatching().getWeight();
+
+            Matching<Integer, DefaultWeightedEdge> suitor =
+                new ParallelSuitorWeightedMatching<>(g).getMatching();
+            Matching<Integer, DefaultWeightedEdge> augmented =
+                new ParallelSuitorWeightedMatching<>(
+                    g, 5, new Random(seed), ForkJoinPool.commonPool()).getMatching();
+
+            assertTrue(isMatching(g, augmented));
+            assertTrue(suitor.getWeight() >= optimum / 2);
+            assertTrue(augmented.getWeight() >= suitor.getWeight());
+            assertTrue(augmented.getWeight() <= optimum + 1e-9);
+        }
+    }
+
+    @Test
+    public void testAugmentationOnPath()
+    {
+        WeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3));
+        Graphs.addEdge(g, 0, 1, 2.0);
+        Graphs.addEdge(g, 1, 2, 3.0);
+        Graphs.addEdge(g, 2, 3, 2.0);
+
+        assertEquals(3.0, new ParallelSuitorWeightedMatching<>(g).getMatching().getWeight(), 0d);
+
+        Matching<Integer, DefaultWeightedEdge> m =
+            new ParallelSuitorWeightedMatching<>(g, 1).getMatching();
+        assertEquals(2, m.getEdges().size());
+        assertEquals(4.0, m.getWeight(), MatchingAlgorithm.DEFAULT_EPSILON);
+    }
+
+    @Test
+    public void testPoolSizes()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = createRandomGraph(300, 0.05, 17);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            Matching<Integer, DefaultWeightedEdge> expected =
+                new ParallelSuitorWeightedMatching<>(g, 2, new Random(5), single).getMatching();
+            Matching<Integer, DefaultWeightedEdge> actual =
+                new ParallelSuitorWeightedMatching<>(g, 2, new Random(5), pool).getMatching();
+            assertEquals(expected.getEdges(), actual.getEdges());
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeAugmentationRounds()
+    {
+        new ParallelSuitorWeightedMatching<>(
+            new WeightedPseudograph<>(DefaultWeightedEdge.class), -1);
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> createRandomGraph(
+        int n, double p, long seed)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new SimpleWeightedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnpRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, p, seed).generateGraph(g);
+        Random rng = new Random(seed);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1 + 99 * rng.nextDouble());
+        }
+        return g;
+    }
+}
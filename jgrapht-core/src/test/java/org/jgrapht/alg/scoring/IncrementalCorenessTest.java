@@ -0,0 +1,105 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IncrementalCoreness}.
+ */
+public class IncrementalCorenessTest
+{
+    @Test
+    public void testClique()
+    {
+        ListenableGraph<Integer, DefaultEdge> g =
+            new DefaultListenableGraph<>(new SimpleGraph<>(DefaultEdge.class));
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3, 4));
+        IncrementalCoreness<Integer, DefaultEdge> coreness = new IncrementalCoreness<>(g);
+        g.addGraphListener(coreness);
+        assertEquals(0, coreness.getDegeneracy());
+
+        for (int u = 0; u < 4; u++) {
+            for (int v = u + 1; v < 4; v++) {
+                g.addEdge(u, v);
+            }
+        }
+        assertEquals(3, coreness.getDegeneracy());
+        assertEquals(0, coreness.getVertexScore(4).intValue());
+        g.addEdge(4, 0);
+        assertEquals(1, coreness.getVertexScore(4).intValue());
+        assertEquals(3, coreness.getVertexScore(0).intValue());
+
+        g.removeEdge(1, 2);
+        assertEquals(2, coreness.getDegeneracy());
+        g.removeVertex(0);
+        assertEquals(1, coreness.getDegeneracy());
+        assertEquals(0, coreness.getVertexScore(4).intValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonSimple()
+    {
+        Graph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        g.addVertex(0);
+        g.addEdge(0, 0);
+        new IncrementalCoreness<>(g);
+    }
+
+    @Test
+    public void testRandomUpdates()
+    {
+        Random rng = new Random(5);
+        for (int run = 0; run < 3; run++) {
+            int n = 20 + 10 * run;
+            ListenableGraph<Integer, DefaultEdge> g =
+                new DefaultListenableGraph<>(new SimpleGraph<>(DefaultEdge.class));
+            for (int v = 0; v < n; v++) {
+                g.addVertex(v);
+            }
+            IncrementalCoreness<Integer, DefaultEdge> coreness = new IncrementalCoreness<>(g);
+            g.addGraphListener(coreness);
+
+            for (int step = 0; step < 1500; step++) {
+                int op = rng.nextInt(20);
+                int u = rng.nextInt(n);
+                int v = rng.nextInt(n);
+                if (op < 12) {
+                    if (u != v) {
+                        g.addEdge(u, v);
+                    }
+                } else if (op < 19) {
+                    g.removeEdge(u, v);
+                } else {
+                    g.removeVertex(u);
+                    g.addVertex(u);
+                }
+
+                Coreness<Integer, DefaultEdge> expected = new Coreness<>(g);
+                assertEquals(expected.getScores(), coreness.getScores());
+                assertEquals(expected.getDegeneracy(), coreness.getDegeneracy());
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IncrementalDegreeDistribution}.
+ */
+public class IncrementalDegreeDistributionTest
+{
+    @Test
+    public void testUpdates()
+    {
+        ListenableGraph<Integer, DefaultEdge> g =
+            new DefaultListenableGraph<>(new Pseudograph<>(DefaultEdge.class));
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2));
+        g.addEdge(0, 1);
+        IncrementalDegreeDistribution<Integer, DefaultEdge> dd =
+            new IncrementalDegreeDistribution<>(g);
+        g.addGraphListener(dd);
+        assertEquals(Arrays.asList(1, 2), dd.getDistribution());
+        assertEquals(0, dd.getMinDegree());
+        assertEquals(1, dd.getMaxDegree());
+
+        g.addEdge(2, 2);
+        assertEquals(2, dd.getVertexScore(2).intValue());
+        assertEquals(Arrays.asList(0, 2, 1), dd.getDistribution());
+        assertEquals(1, dd.getMinDegree());
+        assertEquals(2, dd.getMaxDegree());
+        assertEquals(4d / 3, dd.getAverageDegree(), 1e-9);
+
+        g.removeVertex(2);
+        assertEquals(Arrays.asList(0, 2), dd.getDistribution());
+        assertEquals(1, dd.getMinDegree());
+        assertEquals(1, dd.getMaxDegree());
+        assertEquals(0, dd.getNumberOfVerticesWithDegree(5));
+
+        g.removeVertex(0);
+        g.removeVertex(1);
+        assertTrue(dd.getDistribution().isEmpty());
+        assertEquals(0, dd.getMaxDegree());
+        g.addVertex(7);
+        assertEquals(Collections.singletonList(1), dd.getDistribution());
+    }
+
+    @Test
+    public void testRandomUpdates()
+    {
+        Random rng = new Random(7);
+        int n = 30;
+        ListenableGraph<Integer, DefaultEdge> g =
+            new DefaultListenableGraph<>(new DirectedPseudograph<>(DefaultEdge.class));
+        for (int v = 0; v < n; v++) {
+            g.addVertex(v);
+        }
+        IncrementalDegreeDistribution<Integer, DefaultEdge> dd =
+            new IncrementalDegreeDistribution<>(g);
+        g.addGraphListener(dd);
+
+        List<DefaultEdge> edges = new ArrayList<>();
+        for (int step = 0; step < 1000; step++) {
+            int op = rng.nextInt(10);
+            if (op < 6 || edges.isEmpty()) {
+                edges.add(g.addEdge(rng.nextInt(n), rng.nextInt(n)));
+            } else if (op < 9) {
+                g.removeEdge(edges.remove(rng.nextInt(edges.size())));
+            } else {
+                int v = rng.nextInt(n);
+                edges.removeAll(g.edgesOf(v));
+                g.removeVertex(v);
+                g.addVertex(v);
+            }
+
+            int min = Integer.MAX_VALUE;
+            int max = 0;
+            for (int v = 0; v < n; v++) {
+                int d = g.degreeOf(v);
+                assertEquals(d, dd.getVertexScore(v).intValue());
+                min = Math.min(min, d);
+                max = Math.max(max, d);
+            }
+            assertEquals(min, dd.getMinDegree());
+            assertEquals(max, dd.getMaxDegree());
+            List<Integer> distribution = dd.getDistribution();
+            assertEquals(max + 1, distribution.size());
+            for (int d = 0; d <= max; d++) {
+                final int degree = d;
+                assertEquals(
+                    g.vertexSet().stream().filter(v -> g.degreeOf(v) == degree).count(),
+                    distribution.get(d).longValue());
+            }
+        }
+    }
+}
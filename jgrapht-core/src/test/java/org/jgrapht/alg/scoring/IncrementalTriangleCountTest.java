@@ -0,0 +1,138 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IncrementalTriangleCount}.
+ */
+public class IncrementalTriangleCountTest
+{
+    @Test
+    public void testInitialCounts()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(6).generateGraph(g);
+        IncrementalTriangleCount<Integer, DefaultEdge> tc = new IncrementalTriangleCount<>(g);
+        assertEquals(20, tc.getNumberOfTriangles());
+        for (int v : g.vertexSet()) {
+            assertEquals(10L, tc.getVertexScore(v).longValue());
+        }
+    }
+
+    @Test
+    public void testMultigraph()
+    {
+        ListenableGraph<Integer, DefaultEdge> g =
+            new DefaultListenableGraph<>(new Pseudograph<>(DefaultEdge.class));
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2));
+        IncrementalTriangleCount<Integer, DefaultEdge> tc = new IncrementalTriangleCount<>(g);
+        g.addGraphListener(tc);
+
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(1, 1);
+        g.addEdge(2, 0);
+        assertEquals(1, tc.getNumberOfTriangles());
+        DefaultEdge parallel = g.addEdge(2, 0);
+        assertEquals(1, tc.getNumberOfTriangles());
+        g.removeEdge(parallel);
+        assertEquals(1, tc.getNumberOfTriangles());
+        g.removeEdge(0, 2);
+        assertEquals(0, tc.getNumberOfTriangles());
+        assertEquals(0L, tc.getVertexScore(1).longValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected()
+    {
+        new IncrementalTriangleCount<>(new SimpleDirectedGraph<>(DefaultEdge.class));
+    }
+
+    @Test
+    public void testRandomUpdates()
+    {
+        Random rng = new Random(11);
+        int n = 25;
+        ListenableGraph<Integer, DefaultEdge> g =
+            new DefaultListenableGraph<>(new Multigraph<>(DefaultEdge.class));
+        for (int v = 0; v < n; v++) {
+            g.addVertex(v);
+        }
+        IncrementalTriangleCount<Integer, DefaultEdge> tc = new IncrementalTriangleCount<>(g);
+        g.addGraphListener(tc);
+
+        List<DefaultEdge> edges = new ArrayList<>();
+        for (int step = 0; step < 1500; step++) {
+            int op = rng.nextInt(10);
+            if (op < 6 || edges.isEmpty()) {
+                int u = rng.nextInt(n);
+                int v = rng.nextInt(n);
+                if (u != v) {
+                    edges.add(g.addEdge(u, v));
+                }
+            } else if (op < 9) {
+                g.removeEdge(edges.remove(rng.nextInt(edges.size())));
+            } else {
+                int v = rng.nextInt(n);
+                edges.removeAll(g.edgesOf(v));
+                g.removeVertex(v);
+                g.addVertex(v);
+            }
+
+            if (step % 10 == 0) {
+                IncrementalTriangleCount<Integer, DefaultEdge> expected =
+                    new IncrementalTriangleCount<>(g);
+                assertEquals(expected.getScores(), tc.getScores());
+                assertEquals(expected.getNumberOfTriangles(), tc.getNumberOfTriangles());
+                assertEquals(naiveCount(g), tc.getNumberOfTriangles());
+            }
+        }
+    }
+
+    private static long naiveCount(Graph<Integer, DefaultEdge> g)
+    {
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        long count = 0;
+        for (int i = 0; i < vertices.size(); i++) {
+            for (int j = i + 1; j < vertices.size(); j++) {
+                if (!g.containsEdge(vertices.get(i), vertices.get(j))) {
+                    continue;
+                }
+                for (int k = j + 1; k < vertices.size(); k++) {
+                    if (g.containsEdge(vertices.get(i), vertices.get(k))
+                        && g.containsEdge(vertices.get(j), vertices.get(k)))
+                    {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+}
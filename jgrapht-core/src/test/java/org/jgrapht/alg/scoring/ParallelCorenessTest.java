@@ -0,0 +1,140 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelCoreness}.
+ */
+public class ParallelCorenessTest
+{
+    @Test
+    public void testCompleteGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(7).generateGraph(g);
+
+        ParallelCoreness<Integer, DefaultEdge> pc = new ParallelCoreness<>(g);
+        assertEquals(6, pc.getDegeneracy());
+        for (int c : pc.getCoreNumbers()) {
+            assertEquals(6, c);
+        }
+        assertEquals(g.vertexSet(), pc.getCore(6));
+        assertTrue(pc.getCore(7).isEmpty());
+    }
+
+    @Test
+    public void testCliqueWithTail()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(4).generateGraph(g);
+        Graphs.addEdgeWithVertices(g, 3, 4);
+        Graphs.addEdgeWithVertices(g, 4, 5);
+        g.addVertex(6);
+
+        ParallelCoreness<Integer, DefaultEdge> pc = new ParallelCoreness<>(g);
+        assertEquals(3, pc.getDegeneracy());
+        assertEquals(
+            Map.of(0, 3, 1, 3, 2, 3, 3, 3, 4, 1, 5, 1, 6, 0), new HashMap<>(pc.getScores()));
+        assertEquals(Set.of(0, 1, 2, 3, 4, 5), pc.getCore(1));
+        assertEquals(1, pc.getVertexScore(4).intValue());
+    }
+
+    @Test
+    public void testMultipleEdgesAndSelfLoops()
+    {
+        Graph<Integer, DefaultEdge> g = new Pseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        Graphs.addEdgeWithVertices(g, 0, 1);
+        g.addEdge(0, 1);
+        g.addEdge(1, 1);
+        Graphs.addEdgeWithVertices(g, 1, 2);
+
+        ParallelCoreness<Integer, DefaultEdge> pc = new ParallelCoreness<>(g);
+        assertEquals(1, pc.getDegeneracy());
+        for (int c : pc.getCoreNumbers()) {
+            assertEquals(1, c);
+        }
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool multiple = new ForkJoinPool(4);
+        try {
+            for (int seed = 0; seed < 10; seed++) {
+                Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+                if (seed % 2 == 0) {
+                    new GnpRandomGraphGenerator<Integer, DefaultEdge>(
+                        500, 0.02 + seed * 0.005, seed).generateGraph(g);
+                } else {
+                    new BarabasiAlbertGraphGenerator<Integer, DefaultEdge>(
+                        3 + seed, 3 + seed, 600, seed).generateGraph(g);
+                }
+
+                Coreness<Integer, DefaultEdge> expected = new Coreness<>(g);
+                for (ForkJoinPool pool : new ForkJoinPool[] { single, multiple }) {
+                    ParallelCoreness<Integer, DefaultEdge> pc = new ParallelCoreness<>(g, pool);
+                    assertEquals(expected.getScores(), pc.getScores());
+                    assertEquals(expected.getDegeneracy(), pc.getDegeneracy());
+                }
+            }
+        } finally {
+            single.shutdown();
+            multiple.shutdown();
+        }
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        ParallelCoreness<Integer, DefaultEdge> pc = new ParallelCoreness<>(g);
+        assertEquals(0, pc.getDegeneracy());
+        assertTrue(pc.getScores().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVertex()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex(1);
+        new ParallelCoreness<>(g).getVertexScore(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected()
+    {
+        new ParallelCoreness<>(new SimpleDirectedGraph<>(DefaultEdge.class));
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelTriangleCount}.
+ */
+public class ParallelTriangleCountTest
+{
+    private static final double EPS = 1e-9;
+
+    @Test
+    public void testCompleteGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(7).generateGraph(g);
+
+        ParallelTriangleCount<Integer, DefaultEdge> tc = new ParallelTriangleCount<>(g);
+        assertEquals(35, tc.getNumberOfTriangles());
+        for (int v : g.vertexSet()) {
+            assertEquals(15L, tc.getVertexScore(v).longValue());
+        }
+        for (int s : tc.getEdgeSupports()) {
+            assertEquals(5, s);
+        }
+        assertEquals(1d, tc.getGlobalTransitivity(), EPS);
+        for (double c : tc.getLocalClusteringCoefficients()) {
+            assertEquals(1d, c, EPS);
+        }
+    }
+
+    @Test
+    public void testPseudograph()
+    {
+        Graph<Integer, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3, 4));
+        g.addEdge(0, 1);
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(2, 0);
+        g.addEdge(2, 2);
+        g.addEdge(2, 3);
+        g.addEdge(3, 1);
+
+        ParallelTriangleCount<Integer, DefaultEdge> tc = new ParallelTriangleCount<>(g);
+        assertEquals(2, tc.getNumberOfTriangles());
+        assertEquals(Long.valueOf(1), tc.getVertexScore(0));
+        assertEquals(Long.valueOf(2), tc.getVertexScore(1));
+        assertEquals(Long.valueOf(2), tc.getVertexScore(2));
+        assertEquals(Long.valueOf(1), tc.getVertexScore(3));
+        assertEquals(Long.valueOf(0), tc.getVertexScore(4));
+        assertEquals(2, tc.getEdgeSupport(1, 2));
+        assertEquals(2, tc.getEdgeSupport(2, 1));
+        assertEquals(1, tc.getEdgeSupport(0, 1));
+        assertEquals(5, tc.getScores().size());
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random rng = new Random(17);
+            for (int iteration = 0; iteration < 30; iteration++) {
+                int n = 10 + rng.nextInt(60);
+                double p = 0.05 + 0.5 * rng.nextDouble();
+                Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+                new GnpRandomGraphGenerator<Integer, DefaultEdge>(n, p, rng.nextLong())
+                    .generateGraph(g);
+
+                assertMatchesNaive(g, new ParallelTriangleCount<>(g, new ForkJoinPool(1)));
+                assertMatchesNaive(g, new ParallelTriangleCount<>(g, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSkewedDegrees()
+    {
+        // high degree vertices with skewed neighbor list lengths
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new WheelGraphGenerator<Integer, DefaultEdge>(200).generateGraph(g);
+        for (int i = 0; i < 3; i++) {
+            int u = g.addVertex();
+            for (int v = 1; v < 100; v++) {
+                g.addEdge(u, v);
+            }
+        }
+        assertMatchesNaive(g, new ParallelTriangleCount<>(g));
+    }
+
+    @Test
+    public void testClusteringCoefficient()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnpRandomGraphGenerator<Integer, DefaultEdge>(80, 0.15, 5).generateGraph(g);
+
+        ParallelTriangleCount<Integer, DefaultEdge> tc = new ParallelTriangleCount<>(g);
+        IntegerAdjacency<Integer, DefaultEdge> adjacency = tc.getAdjacency();
+        double[] local = tc.getLocalClusteringCoefficients();
+        double average = 0d;
+        for (int i = 0; i < local.length; i++) {
+            int v = adjacency.getVertex(i);
+            Set<Integer> neighbors = new HashSet<>(Graphs.neighborListOf(g, v));
+            double pairs = 0;
+            for (int x : neighbors) {
+                for (int y : neighbors) {
+                    if (g.containsEdge(x, y)) {
+                        pairs++;
+                    }
+                }
+            }
+            double k = neighbors.size();
+            assertEquals(k <= 1 ? 0d : pairs / (k * (k - 1)), local[i], EPS);
+            average += local[i];
+        }
+        average /= local.length;
+
+        ClusteringCoefficient<Integer, DefaultEdge> cc = new ClusteringCoefficient<>(g);
+        assertEquals(average, cc.getAverageClusteringCoefficient(), EPS);
+        assertEquals(cc.getGlobalClusteringCoefficient(), tc.getGlobalTransitivity(), EPS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected()
+    {
+        new ParallelTriangleCount<>(new DefaultDirectedGraph<>(DefaultEdge.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAdjacent()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1));
+        new ParallelTriangleCount<>(g).getEdgeSupport(0, 1);
+    }
+
+    private static void assertMatchesNaive(
+        Graph<Integer, DefaultEdge> g, ParallelTriangleCount<Integer, DefaultEdge> tc)
+    {
+        long total = 0;
+        for (int v : g.vertexSet()) {
+            List<Integer> neighbors = Graphs.neighborListOf(g, v);
+            long count = 0;
+            for (int i = 0; i < neighbors.size(); i++) {
+                for (int j = i + 1; j < neighbors.size(); j++) {
+                    if (g.containsEdge(neighbors.get(i), neighbors.get(j))) {
+                        count++;
+                    }
+                }
+            }
+            assertEquals(Long.valueOf(count), tc.getVertexScore(v));
+            total += count;
+        }
+        assertEquals(total / 3, tc.getNumberOfTriangles());
+
+        for (DefaultEdge e : g.edgeSet()) {
+            int u = g.getEdgeSource(e);
+            int v = g.getEdgeTarget(e);
+            Set<Integer> common = new HashSet<>(Graphs.neighborListOf(g, u));
+            common.retainAll(Graphs.neighborListOf(g, v));
+            assertEquals(common.size(), tc.getEdgeSupport(u, v));
+            assertEquals(common.size(), tc.getEdgeSupport(v, u));
+        }
+    }
+}
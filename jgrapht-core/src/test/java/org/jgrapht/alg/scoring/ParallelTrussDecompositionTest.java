@@ -0,0 +1,158 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelTrussDecomposition}.
+ */
+public class ParallelTrussDecompositionTest
+{
+    @Test
+    public void testCompleteGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(6).generateGraph(g);
+
+        ParallelTrussDecomposition<Integer, DefaultEdge> td = new ParallelTrussDecomposition<>(g);
+        assertEquals(6, td.getMaxTrussNumber());
+        for (int t : td.getTrussNumbers()) {
+            assertEquals(6, t);
+        }
+        assertEquals(g.edgeSet(), td.getTruss(6));
+    }
+
+    @Test
+    public void testSmallGraph()
+    {
+        // K4 on 0..3, a triangle 3-4-5 and a pendant edge 5-6
+        Graph<Integer, DefaultEdge> g = new Pseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(4).generateGraph(g);
+        Graphs.addEdgeWithVertices(g, 3, 4);
+        Graphs.addEdgeWithVertices(g, 4, 5);
+        Graphs.addEdgeWithVertices(g, 5, 3);
+        Graphs.addEdgeWithVertices(g, 5, 6);
+        DefaultEdge parallel = g.addEdge(6, 5);
+        DefaultEdge loop = g.addEdge(6, 6);
+
+        ParallelTrussDecomposition<Integer, DefaultEdge> td = new ParallelTrussDecomposition<>(g);
+        assertEquals(4, td.getMaxTrussNumber());
+        assertEquals(4, td.getEdgeTrussNumber(0, 3));
+        assertEquals(3, td.getEdgeTrussNumber(3, 4));
+        assertEquals(3, td.getEdgeTrussNumber(5, 3));
+        assertEquals(2, td.getEdgeTrussNumber(6, 5));
+        assertEquals(2, td.getScores().get(parallel).intValue());
+        assertFalse(td.getScores().containsKey(loop));
+        assertEquals(6, td.getTruss(4).size());
+        assertEquals(9, td.getTruss(3).size());
+        assertEquals(11, td.getTruss(2).size());
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool multiple = new ForkJoinPool(4);
+        try {
+            for (int seed = 0; seed < 8; seed++) {
+                Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+                if (seed % 2 == 0) {
+                    new GnpRandomGraphGenerator<Integer, DefaultEdge>(120, 0.1 + seed * 0.02, seed)
+                        .generateGraph(g);
+                } else {
+                    new BarabasiAlbertGraphGenerator<Integer, DefaultEdge>(
+                        4 + seed, 4 + seed, 200, seed).generateGraph(g);
+                }
+
+                Map<DefaultEdge, Integer> expected = naiveTrussNumbers(g);
+                for (ForkJoinPool pool : new ForkJoinPool[] { single, multiple }) {
+                    ParallelTrussDecomposition<Integer, DefaultEdge> td =
+                        new ParallelTrussDecomposition<>(g, pool);
+                    assertEquals(expected, td.getScores());
+                    assertEquals(
+                        Collections.max(expected.values()).intValue(), td.getMaxTrussNumber());
+                }
+            }
+        } finally {
+            single.shutdown();
+            multiple.shutdown();
+        }
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex(1);
+        ParallelTrussDecomposition<Integer, DefaultEdge> td = new ParallelTrussDecomposition<>(g);
+        assertEquals(0, td.getMaxTrussNumber());
+        assertTrue(td.getScores().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAdjacent()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex(1);
+        g.addVertex(2);
+        new ParallelTrussDecomposition<>(g).getEdgeTrussNumber(1, 2);
+    }
+
+    /**
+     * Truss numbers by repeatedly deleting the edges with too small support from a copy of the
+     * graph.
+     */
+    private static <V, E> Map<E, Integer> naiveTrussNumbers(Graph<V, E> g)
+    {
+        Map<E, Integer> result = new HashMap<>();
+        Graph<V, E> h = new SimpleGraph<>(null, null, false);
+        Graphs.addGraph(h, g);
+        for (int k = 3; !h.edgeSet().isEmpty(); k++) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (E e : new ArrayList<>(h.edgeSet())) {
+                    V s = h.getEdgeSource(e);
+                    V t = h.getEdgeTarget(e);
+                    long support = Graphs
+                        .neighborListOf(h, s).stream().filter(x -> h.containsEdge(x, t)).count();
+                    if (support < k - 2) {
+                        h.removeEdge(e);
+                        result.put(e, k - 1);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
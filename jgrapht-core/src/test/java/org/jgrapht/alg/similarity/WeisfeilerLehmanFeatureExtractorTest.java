@@ -0,0 +1,147 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.similarity;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.similarity.WeisfeilerLehmanFeatureExtractor.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link WeisfeilerLehmanFeatureExtractor}.
+ */
+public class WeisfeilerLehmanFeatureExtractorTest
+{
+    @Test
+    public void testPath()
+    {
+        Graph<Integer, DefaultEdge> path = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(path, 0, 1);
+        Graphs.addEdgeWithVertices(path, 1, 2);
+
+        SparseHistogram h =
+            new WeisfeilerLehmanFeatureExtractor<Integer, DefaultEdge>(1).getFeatures(path);
+        // one initial label, the end vertices and the center vertex
+        assertEquals(3, h.size());
+        List<Integer> counts = new ArrayList<>();
+        for (int i = 0; i < h.size(); i++) {
+            counts.add(h.getCount(i));
+            if (i > 0) {
+                assertTrue(h.getFeature(i - 1) < h.getFeature(i));
+            }
+        }
+        Collections.sort(counts);
+        assertEquals(Arrays.asList(1, 2, 3), counts);
+        assertEquals(14, h.dotProduct(h));
+        assertEquals(1d, h.cosineSimilarity(h), 1e-9);
+        assertEquals(3, h.getCountOf(h.getFeature(maxIndex(h))));
+
+        SparseHistogram h0 =
+            new WeisfeilerLehmanFeatureExtractor<Integer, DefaultEdge>(0).getFeatures(path);
+        assertEquals(Collections.singletonMap(h.getFeature(maxIndex(h)), 3), h0.toMap());
+    }
+
+    @Test
+    public void testIsomorphicGraphs()
+    {
+        Random rng = new Random(3);
+        WeisfeilerLehmanFeatureExtractor<Integer, DefaultEdge> extractor =
+            new WeisfeilerLehmanFeatureExtractor<>(3);
+        for (int i = 0; i < 10; i++) {
+            Graph<Integer, DefaultEdge> g = i % 2 == 0
+                ? new SimpleGraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false)
+                : new SimpleDirectedGraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(30, 0.1, rng, false)
+                .generateGraph(g);
+
+            // relabel by reversing the vertex numbers
+            Graph<Integer, DefaultEdge> h = g.getType().isDirected()
+                ? new SimpleDirectedGraph<>(DefaultEdge.class)
+                : new SimpleGraph<>(DefaultEdge.class);
+            for (int v = 29; v >= 0; v--) {
+                h.addVertex(100 - v);
+            }
+            for (DefaultEdge e : g.edgeSet()) {
+                h.addEdge(100 - g.getEdgeSource(e), 100 - g.getEdgeTarget(e));
+            }
+            assertEquals(extractor.getFeatures(g), extractor.getFeatures(h));
+        }
+    }
+
+    @Test
+    public void testDirectionsAndLabels()
+    {
+        Graph<Integer, DefaultEdge> chain = new SimpleDirectedGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(chain, 0, 1);
+        Graphs.addEdgeWithVertices(chain, 1, 2);
+        Graph<Integer, DefaultEdge> fork = new SimpleDirectedGraph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(fork, 1, 0);
+        Graphs.addEdgeWithVertices(fork, 1, 2);
+
+        WeisfeilerLehmanFeatureExtractor<Integer, DefaultEdge> extractor =
+            new WeisfeilerLehmanFeatureExtractor<>(2);
+        SparseHistogram h1 = extractor.getFeatures(chain);
+        SparseHistogram h2 = extractor.getFeatures(fork);
+        assertNotEquals(h1, h2);
+        double similarity = h1.cosineSimilarity(h2);
+        assertTrue(similarity > 0d && similarity < 1d);
+
+        // labeling the center vertex differently changes all features after the first iteration
+        WeisfeilerLehmanFeatureExtractor<Integer, DefaultEdge> labeled =
+            new WeisfeilerLehmanFeatureExtractor<>(2, v -> v == 1 ? 1L : 0L);
+        assertNotEquals(h1, labeled.getFeatures(chain));
+    }
+
+    @Test
+    public void testRegularGraphsAreIndistinguishable()
+    {
+        // two triangles and a hexagon are both 2-regular on six vertices
+        Graph<Integer, DefaultEdge> triangles = new SimpleGraph<>(DefaultEdge.class);
+        Graph<Integer, DefaultEdge> hexagon = new SimpleGraph<>(DefaultEdge.class);
+        for (int i = 0; i < 6; i++) {
+            Graphs.addEdgeWithVertices(triangles, i, i / 3 * 3 + (i + 1) % 3);
+            Graphs.addEdgeWithVertices(hexagon, i, (i + 1) % 6);
+        }
+        WeisfeilerLehmanFeatureExtractor<Integer, DefaultEdge> extractor =
+            new WeisfeilerLehmanFeatureExtractor<>(4);
+        assertEquals(extractor.getFeatures(triangles), extractor.getFeatures(hexagon));
+        SparseHistogram empty = extractor.getFeatures(new SimpleGraph<>(DefaultEdge.class));
+        assertEquals(0, empty.size());
+        assertEquals(0d, empty.cosineSimilarity(extractor.getFeatures(hexagon)), 0d);
+    }
+
+    private static int maxIndex(SparseHistogram h)
+    {
+        int best = 0;
+        for (int i = 1; i < h.size(); i++) {
+            if (h.getCount(i) > h.getCount(best)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
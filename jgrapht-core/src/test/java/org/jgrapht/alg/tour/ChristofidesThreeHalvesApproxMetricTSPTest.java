@@ -18,9 +18,15 @@
 package org.jgrapht.alg.tour;
 
 import org.jgrapht.*;
+import org.jgrapht.alg.drawing.model.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.matching.blossom.v5.*;
+import org.jgrapht.alg.spanning.*;
 import org.jgrapht.graph.*;
 import org.junit.*;
 
+import java.util.*;
+
 import static org.jgrapht.alg.tour.TwoApproxMetricTSPTest.assertHamiltonian;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -177,4 +183,171 @@ public class ChristofidesThreeHalvesApproxMetricTSPTest
         assertHamiltonian(graph, path);
         assertTrue(path.getWeight() <= 1.5 * optWeight);
     }
+
+    @Test
+    public void testEuclideanMinimumSpanningTree()
+    {
+        for (int seed = 0; seed < 5; seed++) {
+            double[][] points = clusteredPoints(300, seed);
+            double[] x = points[0];
+            double[] y = points[1];
+            int[] tree = ChristofidesThreeHalvesApproxMetricTSP.euclideanMinimumSpanningTree(x, y);
+
+            assertEquals(2 * (x.length - 1), tree.length);
+            double weight = 0;
+            for (int e = 0; e < tree.length; e += 2) {
+                weight += distance(x, y, tree[e], tree[e + 1]);
+            }
+            double expected = new KruskalMinimumSpanningTree<>(completeGraph(x, y))
+                .getSpanningTree().getWeight();
+            assertEquals(expected, weight, 1e-9);
+        }
+    }
+
+    @Test
+    public void testEuclideanMinimumPerfectMatching()
+    {
+        for (int seed = 0; seed < 5; seed++) {
+            double[][] points = clusteredPoints(200, seed);
+            double[] x = points[0];
+            double[] y = points[1];
+            int[] mate =
+                ChristofidesThreeHalvesApproxMetricTSP.euclideanMinimumPerfectMatching(x, y);
+
+            double weight = 0;
+            for (int u = 0; u < x.length; u++) {
+                assertEquals(u, mate[mate[u]]);
+                assertTrue(mate[u] != u);
+                weight += distance(x, y, u, mate[u]) / 2;
+            }
+            double expected = new KolmogorovWeightedPerfectMatching<>(completeGraph(x, y))
+                .getMatching().getWeight();
+            assertEquals(expected, weight, 1e-9);
+        }
+    }
+
+    @Test
+    public void testGetTourFromCoordinates()
+    {
+        for (int seed = 0; seed < 5; seed++) {
+            double[][] points = clusteredPoints(150, seed);
+            double[] x = points[0];
+            double[] y = points[1];
+            Graph<Integer, DefaultWeightedEdge> graph = completeGraph(x, y);
+
+            List<Integer> tour = new ChristofidesThreeHalvesApproxMetricTSP<Integer,
+                DefaultWeightedEdge>().getTour(graph.vertexSet(), v -> new Point2D(x[v], y[v]));
+            GraphPath<Integer, DefaultWeightedEdge> path =
+                new RandomTourTSP<Integer, DefaultWeightedEdge>().vertexListToTour(tour, graph);
+            assertHamiltonian(graph, path);
+
+            // the tour is not longer than the spanning tree and the matching on its odd vertices
+            Graph<Integer, DefaultWeightedEdge> odd =
+                new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+            SpanningTreeAlgorithm.SpanningTree<DefaultWeightedEdge> tree =
+                new KruskalMinimumSpanningTree<>(graph).getSpanningTree();
+            Map<Integer, Integer> degrees = new HashMap<>();
+            for (DefaultWeightedEdge e : tree) {
+                degrees.merge(graph.getEdgeSource(e), 1, Integer::sum);
+                degrees.merge(graph.getEdgeTarget(e), 1, Integer::sum);
+            }
+            degrees.forEach((v, d) -> {
+                if (d % 2 == 1) {
+                    odd.addVertex(v);
+                }
+            });
+            for (Integer u : odd.vertexSet()) {
+                for (Integer v : odd.vertexSet()) {
+                    if (u < v) {
+                        Graphs.addEdge(odd, u, v, distance(x, y, u, v));
+                    }
+                }
+            }
+            double bound = tree.getWeight()
+                + new KolmogorovWeightedPerfectMatching<>(odd).getMatching().getWeight();
+            assertTrue(path.getWeight() <= bound + 1e-9);
+        }
+    }
+
+    @Test
+    public void testGetTourFromCoordinatesLarge()
+    {
+        Random rng = new Random(7);
+        int n = 20000;
+        List<Integer> vertices = new ArrayList<>();
+        Point2D[] points = new Point2D[n];
+        for (int i = 0; i < n; i++) {
+            vertices.add(i);
+            points[i] = new Point2D(rng.nextDouble(), rng.nextDouble());
+        }
+
+        List<Integer> tour = new ChristofidesThreeHalvesApproxMetricTSP<Integer, DefaultEdge>()
+            .getTour(vertices, v -> points[v]);
+        assertEquals(n, tour.size());
+        assertEquals(n, new HashSet<>(tour).size());
+
+        // optimal tours of uniform random points have length about 0.7124 sqrt(n)
+        double length = 0;
+        for (int i = 0; i < n; i++) {
+            Point2D p = points[tour.get(i)];
+            Point2D q = points[tour.get((i + 1) % n)];
+            length += Math.hypot(p.getX() - q.getX(), p.getY() - q.getY());
+        }
+        assertTrue(length < 1.5 * 0.7124 * Math.sqrt(n));
+    }
+
+    @Test
+    public void testGetTourFromCoordinatesSmall()
+    {
+        ChristofidesThreeHalvesApproxMetricTSP<String, DefaultEdge> tsp =
+            new ChristofidesThreeHalvesApproxMetricTSP<>();
+        assertEquals(
+            Collections.singletonList("a"),
+            tsp.getTour(Collections.singletonList("a"), v -> new Point2D(0, 0)));
+        assertEquals(4, tsp.getTour(Arrays.asList("a", "b", "c", "d"), v -> new Point2D(0, 0))
+            .size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetTourFromCoordinatesDuplicates()
+    {
+        new ChristofidesThreeHalvesApproxMetricTSP<String, DefaultEdge>()
+            .getTour(Arrays.asList("a", "b", "a"), v -> new Point2D(0, 0));
+    }
+
+    /**
+     * Points in a few dense clusters, such that nearest neighbors rarely leave their cluster.
+     */
+    private static double[][] clusteredPoints(int n, long seed)
+    {
+        Random rng = new Random(seed);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            int cluster = rng.nextInt(6);
+            x[i] = (cluster % 3) * 10 + rng.nextGaussian() * (1 + cluster % 2);
+            y[i] = (cluster / 3) * 10 + rng.nextGaussian();
+        }
+        return new double[][] { x, y };
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> completeGraph(double[] x, double[] y)
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        for (int u = 0; u < x.length; u++) {
+            graph.addVertex(u);
+        }
+        for (int u = 0; u < x.length; u++) {
+            for (int v = u + 1; v < x.length; v++) {
+                Graphs.addEdge(graph, u, v, distance(x, y, u, v));
+            }
+        }
+        return graph;
+    }
+
+    private static double distance(double[] x, double[] y, int u, int v)
+    {
+        return Math.hypot(x[u] - x[v], y[u] - y[v]);
+    }
 }
@@ -0,0 +1,219 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.tour;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.drawing.model.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.jgrapht.alg.tour.TwoApproxMetricTSPTest.assertHamiltonian;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LinKernighanHeuristicTSP}.
+ */
+public class LinKernighanHeuristicTSPTest
+{
+    @Test
+    public void testWikiExampleSymmetric4Cities()
+    {
+        SimpleWeightedGraph<String, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("A", "B", "C", "D"));
+        g.setEdgeWeight(g.addEdge("A", "B"), 20d);
+        g.setEdgeWeight(g.addEdge("A", "C"), 42d);
+        g.setEdgeWeight(g.addEdge("A", "D"), 35d);
+        g.setEdgeWeight(g.addEdge("B", "C"), 30d);
+        g.setEdgeWeight(g.addEdge("B", "D"), 34d);
+        g.setEdgeWeight(g.addEdge("C", "D"), 12d);
+
+        GraphPath<String, DefaultWeightedEdge> tour =
+            new LinKernighanHeuristicTSP<String, DefaultWeightedEdge>(new RandomTourTSP<>(new Random(1)))
+                .getTour(g);
+        assertHamiltonian(g, tour);
+        assertEquals(97d, tour.getWeight(), 1e-9);
+    }
+
+    @Test
+    public void testComplete()
+    {
+        for (int i = 1; i < 30; i++) {
+            SimpleGraph<Object, DefaultEdge> g = new SimpleGraph<>(
+                SupplierUtil.OBJECT_SUPPLIER, SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new CompleteGraphGenerator<Object, DefaultEdge>(i).generateGraph(g);
+
+            GraphPath<Object, DefaultEdge> tour =
+                new LinKernighanHeuristicTSP<Object, DefaultEdge>().getTour(g);
+            assertHamiltonian(g, tour);
+        }
+    }
+
+    @Test
+    public void testSmallInstancesOptimal()
+    {
+        Random rng = new Random(7);
+        for (int iteration = 0; iteration < 20; iteration++) {
+            int n = 5 + rng.nextInt(4);
+            Graph<Integer, DefaultWeightedEdge> g = randomEuclideanGraph(n, rng);
+            double optimal = new HeldKarpTSP<Integer, DefaultWeightedEdge>().getTour(g).getWeight();
+            GraphPath<Integer, DefaultWeightedEdge> tour =
+                new LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge>(
+                    new RandomTourTSP<>(rng)).getTour(g);
+            assertHamiltonian(g, tour);
+            assertTrue(tour.getWeight() <= 1.1 * optimal);
+        }
+    }
+
+    @Test
+    public void testRandomEuclidean()
+    {
+        Random rng = new Random(17);
+        Graph<Integer, DefaultWeightedEdge> g = randomEuclideanGraph(300, rng);
+
+        GraphPath<Integer, DefaultWeightedEdge> initial =
+            new RandomTourTSP<Integer, DefaultWeightedEdge>(rng).getTour(g);
+        GraphPath<Integer, DefaultWeightedEdge> tour =
+            new LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge>().improveTour(initial);
+        assertHamiltonian(g, tour);
+        assertEquals(initial.getStartVertex(), tour.getStartVertex());
+
+        GraphPath<Integer, DefaultWeightedEdge> twoOpt =
+            new TwoOptHeuristicTSP<Integer, DefaultWeightedEdge>(new GreedyHeuristicTSP<>())
+                .getTour(g);
+        assertTrue(tour.getWeight() < initial.getWeight());
+        assertTrue(tour.getWeight() <= 1.05 * twoOpt.getWeight());
+    }
+
+    @Test
+    public void testCoordinatesMatchGraph()
+    {
+        Random rng = new Random(3);
+        int n = 200;
+        Map<Integer, Point2D> points = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            points.put(i, new Point2D(rng.nextDouble(), rng.nextDouble()));
+        }
+        Graph<Integer, DefaultWeightedEdge> g = euclideanGraph(points);
+        List<Integer> initial = new ArrayList<>(points.keySet());
+        Collections.shuffle(initial, rng);
+
+        LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge> lk =
+            new LinKernighanHeuristicTSP<>();
+        List<Integer> fromPoints = lk.improveTour(initial, points::get);
+        List<Integer> closed = new ArrayList<>(initial);
+        closed.add(initial.get(0));
+        GraphPath<Integer, DefaultWeightedEdge> fromGraph =
+            lk.improveTour(new GraphWalk<>(g, closed, 0d));
+
+        assertEquals(new HashSet<>(initial), new HashSet<>(fromPoints));
+        assertEquals(n, fromPoints.size());
+        assertEquals(initial.get(0), fromPoints.get(0));
+        assertEquals(fromGraph.getWeight(), length(fromPoints, points), 1e-9);
+    }
+
+    @Test
+    public void testLargeCoordinates()
+    {
+        Random rng = new Random(11);
+        int n = 20000;
+        Map<Integer, Point2D> points = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            points.put(i, new Point2D(rng.nextDouble(), rng.nextDouble()));
+        }
+        List<Integer> initial = new ArrayList<>(points.keySet());
+        Collections.shuffle(initial, rng);
+
+        List<Integer> tour =
+            new LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge>().improveTour(
+                initial, points::get);
+        assertEquals(n, new HashSet<>(tour).size());
+        // the expected optimal tour length of uniform random points is about 0.7124 sqrt(n)
+        assertTrue(length(tour, points) < 1.15 * 0.7124 * Math.sqrt(n));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateVertex()
+    {
+        new LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge>()
+            .improveTour(Arrays.asList(0, 1, 2, 1), v -> new Point2D(v, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidNeighbors()
+    {
+        new LinKernighanHeuristicTSP<Integer, DefaultWeightedEdge>(new RandomTourTSP<>(), 0, 0d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidInstanceNotComplete()
+    {
+        SimpleWeightedGraph<String, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("A", "B", "C"));
+        g.setEdgeWeight(g.addEdge("A", "B"), 20d);
+        g.setEdgeWeight(g.addEdge("A", "C"), 42d);
+
+        new LinKernighanHeuristicTSP<String, DefaultWeightedEdge>().getTour(g);
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> randomEuclideanGraph(int n, Random rng)
+    {
+        Map<Integer, Point2D> points = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            points.put(i, new Point2D(rng.nextDouble(), rng.nextDouble()));
+        }
+        return euclideanGraph(points);
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> euclideanGraph(Map<Integer, Point2D> points)
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, points.keySet());
+        for (int u : points.keySet()) {
+            for (int v : points.keySet()) {
+                if (u < v) {
+                    g.setEdgeWeight(g.addEdge(u, v), distance(points.get(u), points.get(v)));
+                }
+            }
+        }
+        return g;
+    }
+
+    private static double length(List<Integer> tour, Map<Integer, Point2D> points)
+    {
+        double length = 0d;
+        for (int i = 0; i < tour.size(); i++) {
+            length += distance(
+                points.get(tour.get(i)), points.get(tour.get((i + 1) % tour.size())));
+        }
+        return length;
+    }
+
+    private static double distance(Point2D p, Point2D q)
+    {
+        double dx = p.getX() - q.getX();
+        double dy = p.getY() - q.getY();
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.tour;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.jgrapht.alg.tour.TwoApproxMetricTSPTest.assertHamiltonian;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelMultiStartTSP}.
+ */
+public class ParallelMultiStartTSPTest
+{
+    @Test
+    public void testBestOfStarts()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = randomEuclideanGraph(60, new Random(5));
+        int starts = 12;
+
+        double expected = Double.POSITIVE_INFINITY;
+        SplittableRandom rng = new SplittableRandom(42L);
+        for (int i = 0; i < starts; i++) {
+            long seed = rng.split().nextLong();
+            expected = Math.min(
+                expected,
+                new TwoOptHeuristicTSP<Integer, DefaultWeightedEdge>(1, seed).getTour(g).getWeight());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (ForkJoinPool p : Arrays.asList(new ForkJoinPool(1), pool)) {
+                ParallelMultiStartTSP<Integer, DefaultWeightedEdge> multiStart =
+                    new ParallelMultiStartTSP<>(
+                        seed -> new TwoOptHeuristicTSP<>(1, seed), starts, 42L, 0L,
+                        TimeUnit.SECONDS, p);
+                GraphPath<Integer, DefaultWeightedEdge> tour = multiStart.getTour(g);
+                assertHamiltonian(g, tour);
+                assertEquals(expected, tour.getWeight(), 1e-9);
+                assertEquals(starts, multiStart.getCompletedStarts());
+                assertFalse(multiStart.isTimeLimitReached());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimeLimit()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = randomEuclideanGraph(40, new Random(7));
+        ParallelMultiStartTSP<Integer, DefaultWeightedEdge> multiStart =
+            new ParallelMultiStartTSP<>(
+                seed -> new NearestNeighborHeuristicTSP<>(seed), 100000, 1L, 1L,
+                TimeUnit.NANOSECONDS, ForkJoinPool.commonPool());
+        assertHamiltonian(g, multiStart.getTour(g));
+        assertTrue(multiStart.isTimeLimitReached());
+        assertTrue(multiStart.getCompletedStarts() >= 1);
+        assertTrue(multiStart.getCompletedStarts() < 100000);
+    }
+
+    @Test
+    public void testSingleton()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = randomEuclideanGraph(1, new Random(1));
+        GraphPath<Integer, DefaultWeightedEdge> tour =
+            new ParallelMultiStartTSP<Integer, DefaultWeightedEdge>(RandomTourTSP::new, 3, 1L)
+                .getTour(g);
+        assertEquals(1, tour.getVertexList().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidStarts()
+    {
+        new ParallelMultiStartTSP<Integer, DefaultWeightedEdge>(RandomTourTSP::new, 0, 1L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidInstanceNotComplete()
+    {
+        SimpleWeightedGraph<String, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("A", "B", "C"));
+        g.setEdgeWeight(g.addEdge("A", "B"), 20d);
+
+        new ParallelMultiStartTSP<String, DefaultWeightedEdge>(RandomTourTSP::new, 2, 1L)
+            .getTour(g);
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> randomEuclideanGraph(int n, Random rng)
+    {
+        double[] x = new double[n];
+        double[] y = new double[n];
+        Graph<Integer, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        for (int i = 0; i < n; i++) {
+            x[i] = rng.nextDouble();
+            y[i] = rng.nextDouble();
+            g.addVertex(i);
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                g.setEdgeWeight(g.addEdge(i, j), Math.hypot(x[i] - x[j], y[i] - y[j]));
+            }
+        }
+        return g;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.tour;
+
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TwoLevelTour}.
+ */
+public class TwoLevelTourTest
+{
+    @Test
+    public void testRandomReversals()
+    {
+        Random rng = new Random(3);
+        for (int iteration = 0; iteration < 300; iteration++) {
+            int n = 1 + rng.nextInt(iteration < 200 ? 40 : 400);
+            List<Integer> cities = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                cities.add(i);
+            }
+            Collections.shuffle(cities, rng);
+            int[] expected = cities.stream().mapToInt(Integer::intValue).toArray();
+            TwoLevelTour tour = new TwoLevelTour(expected.clone());
+
+            for (int op = 0; op < 200; op++) {
+                int x = rng.nextInt(n);
+                int y = rng.nextInt(n);
+                // the tour may reverse the complement, which flips its direction
+                boolean forward = n < 3 || tour.next(expected[0]) == expected[1];
+                tour.reverse(x, y);
+                expected = forward ? reverse(expected, x, y) : reverse(expected, y, x);
+                assertSameTour(expected, tour, rng);
+            }
+        }
+    }
+
+    private static int[] reverse(int[] order, int x, int y)
+    {
+        int n = order.length;
+        int[] position = positions(order);
+        int i = position[x];
+        int length = (position[y] - i + n) % n + 1;
+        int[] result = order.clone();
+        for (int k = 0; k < length; k++) {
+            result[(i + k) % n] = order[(position[y] - k + n) % n];
+        }
+        return result;
+    }
+
+    private static int[] positions(int[] order)
+    {
+        int[] position = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+        return position;
+    }
+
+    private static void assertSameTour(int[] expected, TwoLevelTour tour, Random rng)
+    {
+        int n = expected.length;
+        boolean forward = n < 3 || tour.next(expected[0]) == expected[1];
+        for (int i = 0; i < n; i++) {
+            int succ = expected[(i + 1) % n];
+            int pred = expected[(i - 1 + n) % n];
+            assertEquals(forward ? succ : pred, tour.next(expected[i]));
+            assertEquals(forward ? pred : succ, tour.prev(expected[i]));
+        }
+
+        int[] position = positions(expected);
+        for (int k = 0; k < 5; k++) {
+            int a = rng.nextInt(n);
+            int b = rng.nextInt(n);
+            int c = rng.nextInt(n);
+            boolean between = forward
+                ? (position[b] - position[a] + n) % n <= (position[c] - position[a] + n) % n
+                : (position[a] - position[b] + n) % n <= (position[a] - position[c] + n) % n;
+            assertEquals(between, tour.between(a, b, c));
+        }
+        assertEquals(n, Arrays.stream(tour.toArray()).distinct().count());
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.util;
+
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link AtomicIntegerUnionFind} and {@link ConcurrentUnionFind}.
+ */
+public class AtomicIntegerUnionFindTest
+{
+
+    @Test
+    public void testSequential()
+    {
+        AtomicIntegerUnionFind uf = new AtomicIntegerUnionFind(5);
+        assertEquals(5, uf.size());
+        assertEquals(5, uf.numberOfSets());
+
+        assertTrue(uf.union(0, 1));
+        assertEquals(4, uf.numberOfSets());
+        assertTrue(uf.inSameSet(0, 1));
+        assertFalse(uf.inSameSet(1, 2));
+
+        assertTrue(uf.union(2, 3));
+        assertTrue(uf.union(2, 4));
+        assertFalse(uf.union(3, 4));
+        assertEquals(2, uf.numberOfSets());
+        assertEquals(uf.find(3), uf.find(4));
+
+        assertTrue(uf.union(0, 4));
+        assertEquals(1, uf.numberOfSets());
+        int root = uf.find(0);
+        for (int r : uf.toRepresentativeArray()) {
+            assertEquals(root, r);
+        }
+
+        uf.reset();
+        assertEquals(5, uf.numberOfSets());
+        assertFalse(uf.inSameSet(0, 1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfRange()
+    {
+        new AtomicIntegerUnionFind(3).find(3);
+    }
+
+    @Test
+    public void testConcurrentUnions()
+        throws Exception
+    {
+        final int n = 10000;
+        final int threads = 4;
+        AtomicIntegerUnionFind uf = new AtomicIntegerUnionFind(n);
+        UnionFind<Integer> expected = new UnionFind<>(new HashSet<>());
+        for (int i = 0; i < n; i++) {
+            expected.addElement(i);
+        }
+
+        Random rng = new Random(17);
+        int[][] pairs = new int[n][2];
+        for (int i = 0; i < n; i++) {
+            pairs[i][0] = rng.nextInt(n);
+            pairs[i][1] = rng.nextInt(n);
+            expected.union(pairs[i][0], pairs[i][1]);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < n; i += threads) {
+                        uf.union(pairs[i][0], pairs[i][1]);
+                        uf.find(pairs[(i * 7) % n][0]);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(expected.numberOfSets(), uf.numberOfSets());
+        for (int i = 0; i < n; i++) {
+            int j = pairs[i][1];
+            assertEquals(expected.inSameSet(i, j), uf.inSameSet(i, j));
+            assertEquals(expected.inSameSet(i, (i + 1) % n), uf.inSameSet(i, (i + 1) % n));
+        }
+    }
+
+    @Test
+    public void testAdapter()
+    {
+        List<String> elements = Arrays.asList("aaa", "bbb", "ccc", "ddd");
+        ConcurrentUnionFind<String> uf = new ConcurrentUnionFind<>(elements);
+        assertEquals(4, uf.size());
+        assertEquals(4, uf.numberOfSets());
+
+        assertTrue(uf.union("aaa", "ccc"));
+        assertFalse(uf.union("ccc", "aaa"));
+        assertEquals(3, uf.numberOfSets());
+        assertTrue(uf.inSameSet("aaa", "ccc"));
+        assertFalse(uf.inSameSet("aaa", "bbb"));
+        assertEquals(uf.find("aaa"), uf.find("ccc"));
+        assertTrue(uf.find("aaa").equals("aaa") || uf.find("aaa").equals("ccc"));
+        assertEquals(3, uf.toString().split("\\{").length - 2);
+
+        uf.reset();
+        assertEquals(4, uf.numberOfSets());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAdapterUnknownElement()
+    {
+        new ConcurrentUnionFind<>(Arrays.asList(1, 2, 3)).find(4);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.util;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.scoring.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IntegerAdjacency}.
+ */
+public class IntegerAdjacencyTest
+{
+    private Graph<String, DefaultEdge> createDirected()
+    {
+        Graph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        g.addEdge("a", "b");
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "a");
+        g.addEdge("c", "c");
+        return g;
+    }
+
+    @Test
+    public void testDirections()
+    {
+        Graph<String, DefaultEdge> g = createDirected();
+
+        IntegerAdjacency<String, DefaultEdge> out =
+            IntegerAdjacency.of(g, IntegerAdjacency.Direction.OUTGOING);
+        assertEquals(3, out.vertexCount());
+        assertEquals(5, out.size());
+        assertEquals(2, out.degree(out.getIndex("a")));
+        assertEquals(2, out.degree(out.getIndex("c")));
+
+        IntegerAdjacency<String, DefaultEdge> in =
+            IntegerAdjacency.of(g, IntegerAdjacency.Direction.INCOMING);
+        assertEquals(2, in.degree(in.getIndex("b")));
+        assertEquals(2, in.degree(in.getIndex("c")));
+
+        IntegerAdjacency<String, DefaultEdge> all = IntegerAdjacency
+            .of(g, out.getMapping(), IntegerAdjacency.Direction.ALL, true);
+        // self-loop only once
+        assertEquals(3, all.degree(all.getIndex("c")));
+        assertEquals(9, all.size());
+
+        for (int v = 0; v < out.vertexCount(); v++) {
+            for (int j = out.getOffsets()[v]; j < out.getOffsets()[v + 1]; j++) {
+                DefaultEdge e = out.getEdgeList().get(out.getEdgeIndices()[j]);
+                assertEquals(out.getVertex(v), g.getEdgeSource(e));
+                assertEquals(out.getVertex(out.getTargets()[j]), g.getEdgeTarget(e));
+            }
+        }
+    }
+
+    @Test
+    public void testSimple()
+    {
+        IntegerAdjacency<String, DefaultEdge> simple = IntegerAdjacency.simple(createDirected());
+        assertEquals(6, simple.size());
+        for (int v = 0; v < simple.vertexCount(); v++) {
+            assertEquals(2, simple.degree(v));
+            int[] targets = simple.getTargets();
+            int start = simple.getOffsets()[v];
+            assertTrue(targets[start] < targets[start + 1]);
+            assertNotEquals(v, targets[start]);
+        }
+    }
+
+    @Test
+    public void testDegeneracyOrdering()
+    {
+        Random rng = new Random(3);
+        for (int i = 0; i < 10; i++) {
+            Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(60, 0.1 * (i + 1), rng, false)
+                .generateGraph(g);
+            IntegerAdjacency<Integer, DefaultEdge> adjacency = IntegerAdjacency.simple(g);
+            int[] order = adjacency.degeneracyOrdering();
+
+            int n = adjacency.vertexCount();
+            int[] position = new int[n];
+            Arrays.fill(position, -1);
+            for (int k = 0; k < n; k++) {
+                assertEquals(-1, position[order[k]]);
+                position[order[k]] = k;
+            }
+            int maxLater = 0;
+            for (int v = 0; v < n; v++) {
+                int later = 0;
+                for (int j = adjacency.getOffsets()[v]; j < adjacency.getOffsets()[v + 1]; j++) {
+                    if (position[adjacency.getTargets()[j]] > position[v]) {
+                        later++;
+                    }
+                }
+                maxLater = Math.max(maxLater, later);
+            }
+            assertEquals(new Coreness<>(g).getDegeneracy(), maxLater);
+        }
+        assertEquals(0, IntegerAdjacency.simple(new SimpleGraph<>(DefaultEdge.class))
+            .degeneracyOrdering().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVertex()
+    {
+        IntegerAdjacency.simple(createDirected()).getIndex("d");
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.generate;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelBarabasiAlbertGraphGenerator}.
+ */
+public class ParallelBarabasiAlbertGraphGeneratorTest
+{
+
+    @Test
+    public void testBadParameters()
+    {
+        try {
+            new ParallelBarabasiAlbertGraphGenerator<>(0, 1, 10, 1);
+            fail("Bad parameter");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new ParallelBarabasiAlbertGraphGenerator<>(3, 4, 10, 1);
+            fail("Bad parameter");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new ParallelBarabasiAlbertGraphGenerator<>(3, 2, 2, 1);
+            fail("Bad parameter");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testEdges()
+    {
+        int m0 = 5;
+        int m = 3;
+        int n = 20000;
+        IntegerEdgeList edges = new ParallelBarabasiAlbertGraphGenerator<>(m0, m, n, 11)
+            .generateEdges();
+        assertEquals(m0 * (m0 - 1) / 2 + (n - m0) * m, edges.size());
+
+        Set<Long> initial = new HashSet<>();
+        int[] degree = new int[n];
+        for (int e = 0; e < edges.size(); e++) {
+            int s = edges.getSources()[e];
+            int t = edges.getTargets()[e];
+            assertNotEquals(s, t);
+            degree[s]++;
+            degree[t]++;
+            if (e < m0 * (m0 - 1) / 2) {
+                assertTrue(s < m0 && t < m0);
+                initial.add((long) Math.min(s, t) * n + Math.max(s, t));
+            } else {
+                // new nodes attach to earlier nodes
+                assertEquals(m0 + (e - m0 * (m0 - 1) / 2) / m, s);
+                assertTrue(t < s);
+            }
+        }
+        assertEquals(m0 * (m0 - 1) / 2, initial.size());
+
+        // preferential attachment creates hubs
+        int maxDegree = Arrays.stream(degree).max().getAsInt();
+        assertTrue(maxDegree > 20 * m);
+        assertTrue(Arrays.stream(degree).allMatch(d -> d >= m));
+    }
+
+    @Test
+    public void testIndependentOfParallelism()
+    {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool multiple = new ForkJoinPool(4);
+        try {
+            IntegerEdgeList edges1 =
+                new ParallelBarabasiAlbertGraphGenerator<>(4, 2, 10000, 3, single).generateEdges();
+            IntegerEdgeList edges2 = new ParallelBarabasiAlbertGraphGenerator<>(
+                4, 2, 10000, 3, multiple).generateEdges();
+            assertArrayEquals(edges1.getSources(), edges2.getSources());
+            assertArrayEquals(edges1.getTargets(), edges2.getTargets());
+        } finally {
+            single.shutdown();
+            multiple.shutdown();
+        }
+    }
+
+    @Test
+    public void testGenerateGraph()
+    {
+        ParallelBarabasiAlbertGraphGenerator<Integer, DefaultEdge> gen =
+            new ParallelBarabasiAlbertGraphGenerator<>(3, 3, 500, 5);
+        IntegerEdgeList edges = gen.generateEdges();
+
+        Graph<Integer, DefaultEdge> multigraph = new Multigraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        gen.generateGraph(multigraph);
+        assertEquals(500, multigraph.vertexSet().size());
+        assertEquals(edges.size(), multigraph.edgeSet().size());
+
+        Graph<Integer, DefaultEdge> simple = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        gen.generateGraph(simple);
+        assertTrue(GraphTests.isSimple(simple));
+        assertTrue(GraphTests.isConnected(simple));
+        assertTrue(simple.edgeSet().size() <= edges.size());
+    }
+
+    @Test
+    public void testSingleInitialNode()
+    {
+        IntegerEdgeList edges =
+            new ParallelBarabasiAlbertGraphGenerator<>(1, 1, 100, 5).generateEdges();
+        assertEquals(99, edges.size());
+        assertEquals(0, edges.getTargets()[0]);
+    }
+}
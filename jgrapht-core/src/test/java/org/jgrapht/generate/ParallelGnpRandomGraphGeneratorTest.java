@@ -0,0 +1,142 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.generate;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelGnpRandomGraphGenerator}.
+ */
+public class ParallelGnpRandomGraphGeneratorTest
+{
+
+    @Test
+    public void testBadParameters()
+    {
+        try {
+            new ParallelGnpRandomGraphGenerator<>(-10, 0, 1);
+            fail("Bad parameter");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new ParallelGnpRandomGraphGenerator<>(10, 2.0, 1);
+            fail("Bad parameter");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testExtremeProbabilities()
+    {
+        assertEquals(
+            0, new ParallelGnpRandomGraphGenerator<>(100, 0d, 1).generateEdges(false).size());
+        assertEquals(
+            100 * 99 / 2,
+            new ParallelGnpRandomGraphGenerator<>(100, 1d, 1).generateEdges(false).size());
+        assertEquals(
+            100 * 99, new ParallelGnpRandomGraphGenerator<>(100, 1d, 1).generateEdges(true).size());
+        assertEquals(
+            100 * 100,
+            new ParallelGnpRandomGraphGenerator<>(100, 1d, 1, true, ForkJoinPool.commonPool())
+                .generateEdges(true).size());
+    }
+
+    @Test
+    public void testEdges()
+    {
+        int n = 3000;
+        double p = 0.01;
+        for (boolean directed : new boolean[] { false, true }) {
+            for (boolean loops : new boolean[] { false, true }) {
+                IntegerEdgeList edges = new ParallelGnpRandomGraphGenerator<>(
+                    n, p, 7, loops, ForkJoinPool.commonPool()).generateEdges(directed);
+
+                Set<Long> pairs = new HashSet<>();
+                for (int e = 0; e < edges.size(); e++) {
+                    int s = edges.getSources()[e];
+                    int t = edges.getTargets()[e];
+                    assertTrue(s >= 0 && s < n && t >= 0 && t < n);
+                    assertTrue(loops || s != t);
+                    assertTrue(directed || t <= s);
+                    assertTrue(pairs.add((long) s * n + t));
+                }
+
+                // within six standard deviations of the expected number of edges
+                double pairsTotal = directed ? (double) n * (loops ? n : n - 1)
+                    : (double) n * (loops ? n + 1 : n - 1) / 2;
+                double expected = pairsTotal * p;
+                assertEquals(expected, edges.size(), 6 * Math.sqrt(expected));
+            }
+        }
+    }
+
+    @Test
+    public void testIndependentOfParallelism()
+    {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool multiple = new ForkJoinPool(4);
+        try {
+            IntegerEdgeList edges1 =
+                new ParallelGnpRandomGraphGenerator<>(5000, 0.002, 3, false, single)
+                    .generateEdges(false);
+            IntegerEdgeList edges2 =
+                new ParallelGnpRandomGraphGenerator<>(5000, 0.002, 3, false, multiple)
+                    .generateEdges(false);
+            assertArrayEquals(edges1.getSources(), edges2.getSources());
+            assertArrayEquals(edges1.getTargets(), edges2.getTargets());
+        } finally {
+            single.shutdown();
+            multiple.shutdown();
+        }
+    }
+
+    @Test
+    public void testGenerateGraph()
+    {
+        ParallelGnpRandomGraphGenerator<Integer, DefaultEdge> gen =
+            new ParallelGnpRandomGraphGenerator<>(200, 0.1, 5);
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        gen.generateGraph(g);
+
+        IntegerEdgeList edges = gen.generateEdges(false);
+        assertEquals(200, g.vertexSet().size());
+        assertEquals(edges.size(), g.edgeSet().size());
+        for (int e = 0; e < edges.size(); e++) {
+            assertTrue(g.containsEdge(edges.getSources()[e], edges.getTargets()[e]));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoopsInSimpleGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new ParallelGnpRandomGraphGenerator<Integer, DefaultEdge>(
+            10, 0.5, 5, true, ForkJoinPool.commonPool()).generateGraph(g);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * (C) Copyright 2020-2020, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.generate;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link RmatGraphGenerator}.
+ */
+public class RmatGraphGeneratorTest
+{
+
+    @Test
+    public void testBadParameters()
+    {
+        try {
+            new RmatGraphGenerator<>(31, 16, 1);
+            fail("Bad parameter");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new RmatGraphGenerator<>(10, 16, 0.6, 0.5, 0.1, 1, ForkJoinPool.commonPool());
+            fail("Bad parameter");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testEdges()
+    {
+        int scale = 14;
+        IntegerEdgeList edges = new RmatGraphGenerator<>(scale, 16, 9).generateEdges();
+        int n = 1 << scale;
+        assertEquals(n, edges.getNumberOfVertices());
+        assertEquals(16 * n, edges.size());
+
+        int[] degree = new int[n];
+        for (int e = 0; e < edges.size(); e++) {
+            degree[edges.getSources()[e]]++;
+            degree[edges.getTargets()[e]]++;
+        }
+        // the degree distribution is heavily skewed
+        int maxDegree = Arrays.stream(degree).max().getAsInt();
+        assertTrue(maxDegree > 50 * 32);
+        assertTrue(Arrays.stream(degree).filter(d -> d == 0).count() > n / 10);
+    }
+
+    @Test
+    public void testUniformQuadrants()
+    {
+        // with equal probabilities all vertex pairs are equally likely
+        int scale = 6;
+        IntegerEdgeList edges = new RmatGraphGenerator<>(
+            scale, 1000, 0.25, 0.25, 0.25, 13, ForkJoinPool.commonPool()).generateEdges();
+        int n = 1 << scale;
+        int[] outDegree = new int[n];
+        for (int s : edges.getSources()) {
+            outDegree[s]++;
+        }
+        for (int d : outDegree) {
+            assertEquals(1000, d, 6 * Math.sqrt(1000));
+        }
+    }
+
+    @Test
+    public void testIndependentOfParallelism()
+    {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool multiple = new ForkJoinPool(4);
+        try {
+            IntegerEdgeList edges1 = new RmatGraphGenerator<>(
+                12, 40, RmatGraphGenerator.DEFAULT_A, RmatGraphGenerator.DEFAULT_B,
+                RmatGraphGenerator.DEFAULT_C, 3, single).generateEdges();
+            IntegerEdgeList edges2 = new RmatGraphGenerator<>(
+                12, 40, RmatGraphGenerator.DEFAULT_A, RmatGraphGenerator.DEFAULT_B,
+                RmatGraphGenerator.DEFAULT_C, 3, multiple).generateEdges();
+            assertArrayEquals(edges1.getSources(), edges2.getSources());
+            assertArrayEquals(edges1.getTargets(), edges2.getTargets());
+        } finally {
+            single.shutdown();
+            multiple.shutdown();
+        }
+    }
+
+    @Test
+    public void testGenerateGraph()
+    {
+        RmatGraphGenerator<Integer, DefaultEdge> gen = new RmatGraphGenerator<>(8, 8, 5);
+        IntegerEdgeList edges = gen.generateEdges();
+
+        Graph<Integer, DefaultEdge> pseudograph = new DirectedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        gen.generateGraph(pseudograph);
+        assertEquals(256, pseudograph.vertexSet().size());
+        assertEquals(edges.size(), pseudograph.edgeSet().size());
+
+        Graph<Integer, DefaultEdge> simple = new SimpleDirectedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        gen.generateGraph(simple);
+        assertTrue(GraphTests.isSimple(simple));
+        assertEquals(
+            edges.asPairList().stream().filter(p -> !p.getFirst().equals(p.getSecond()))
+                .distinct().count(),
+            simple.edgeSet().size());
+    }
+}
@@ -20,6 +20,7 @@ package org.jgrapht.graph;
 import org.jgrapht.*;
 import org.jgrapht.alg.connectivity.*;
 import org.jgrapht.alg.cycle.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.generate.*;
 import org.jgrapht.graph.builder.*;
 import org.jgrapht.traverse.*;
@@ -27,6 +28,7 @@ import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 import static org.junit.Assert.*;
@@ -601,8 +603,140 @@ public class DirectedAcyclicGraphTest
 
     }
 
+    @Test
+    public void testAddEdgesBatch()
+    {
+        DirectedAcyclicGraph<Integer, DefaultEdge> dag =
+            new DirectedAcyclicGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(dag, Arrays.asList(0, 1, 2, 3, 4));
+        dag.addEdge(0, 1);
+
+        // every edge of the batch goes backwards in the current order
+        List<DefaultEdge> edges = dag.addEdges(
+            Arrays.asList(Pair.of(4, 3), Pair.of(3, 2), Pair.of(2, 0), Pair.of(4, 1)));
+        assertEquals(4, edges.size());
+        assertEquals(5, dag.edgeSet().size());
+        assertEquals(edges.get(1), dag.getEdge(3, 2));
+        assertEquals(Arrays.asList(4, 3, 2, 0, 1), new ArrayList<>(dag.vertexSet()).stream()
+            .sorted(Comparator.comparingInt(indexIn(dag))).collect(Collectors.toList()));
+
+        // existing edge in a graph without multiple edges
+        assertNull(dag.addEdges(Collections.singletonList(Pair.of(0, 1))).get(0));
+        assertTrue(dag.addEdges(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testAddEdgesBatchWithCycle()
+    {
+        DirectedAcyclicGraph<Integer, DefaultEdge> dag =
+            new DirectedAcyclicGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(dag, Arrays.asList(0, 1, 2, 3));
+        dag.addEdge(0, 1);
+        dag.addEdge(2, 3);
+        List<Integer> order = new ArrayList<>();
+        dag.forEach(order::add);
+
+        try {
+            dag.addEdges(Arrays.asList(Pair.of(1, 2), Pair.of(3, 0)));
+            fail("Cycle not detected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            dag.addEdges(Collections.singletonList(Pair.of(2, 2)));
+            fail("Self-loop not detected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(2, dag.edgeSet().size());
+        List<Integer> orderAfter = new ArrayList<>();
+        dag.forEach(orderAfter::add);
+        assertEquals(order, orderAfter);
+    }
+
+    @Test
+    public void testAddEdgesRandomBatches()
+    {
+        Random rng = new Random(17);
+        for (int seed = 0; seed < 20; seed++) {
+            Graph<Long, DefaultEdge> sourceGraph = setUpDagWithMultipleEdges(6, 5, 0.3, rng);
+            List<DefaultEdge> edgeList = new ArrayList<>(sourceGraph.edgeSet());
+            Collections.shuffle(edgeList, rng);
+            List<Long> vertexList = new ArrayList<>(sourceGraph.vertexSet());
+            Collections.shuffle(vertexList, rng);
+
+            DirectedAcyclicGraph<Long, DefaultEdge> graph = new DirectedAcyclicGraph<>(
+                SupplierUtil.createLongSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false,
+                true);
+            Graphs.addAllVertices(graph, vertexList);
+
+            int from = 0;
+            while (from < edgeList.size()) {
+                int to = Math.min(edgeList.size(), from + 1 + rng.nextInt(10));
+                List<Pair<Long, Long>> batch = new ArrayList<>();
+                for (DefaultEdge e : edgeList.subList(from, to)) {
+                    batch.add(
+                        Pair.of(sourceGraph.getEdgeSource(e), sourceGraph.getEdgeTarget(e)));
+                }
+                graph.addEdges(batch);
+                assertTopologicalOrder(graph);
+                from = to;
+            }
+            assertEquals(sourceGraph.edgeSet().size(), graph.edgeSet().size());
+        }
+    }
+
+    @Test
+    public void testAddGraph()
+    {
+        Graph<Long, DefaultEdge> sourceGraph =
+            setUpDagWithMultipleEdges(8, 6, 0.4, new Random(7));
+        DirectedAcyclicGraph<Long, DefaultEdge> graph = new DirectedAcyclicGraph<>(
+            SupplierUtil.createLongSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false, true);
+        List<Long> vertexList = new ArrayList<>(sourceGraph.vertexSet());
+        Collections.reverse(vertexList);
+        Graphs.addAllVertices(graph, vertexList);
+
+        assertTrue(graph.addGraph(sourceGraph));
+        assertEquals(sourceGraph.vertexSet(), graph.vertexSet());
+        assertEquals(sourceGraph.edgeSet(), graph.edgeSet());
+        assertTopologicalOrder(graph);
+        assertFalse(graph.addGraph(sourceGraph));
+
+        Graph<Long, DefaultEdge> cyclic = new DirectedPseudograph<>(DefaultEdge.class);
+        Graphs.addEdgeWithVertices(cyclic, 100L, 101L);
+        Graphs.addEdgeWithVertices(cyclic, 101L, 100L);
+        try {
+            graph.addGraph(cyclic);
+            fail("Cycle not detected");
+        } catch (IllegalArgumentException e) {
+            assertEquals(sourceGraph.edgeSet(), graph.edgeSet());
+        }
+    }
+
     // ~ Private Methods ----------------------------------------------------------
 
+    private static <V, E> void assertTopologicalOrder(DirectedAcyclicGraph<V, E> graph)
+    {
+        Map<V, Integer> topo = new HashMap<>();
+        for (V v : graph) {
+            topo.put(v, topo.size());
+        }
+        assertEquals(graph.vertexSet().size(), topo.size());
+        for (E e : graph.edgeSet()) {
+            assertTrue(topo.get(graph.getEdgeSource(e)) < topo.get(graph.getEdgeTarget(e)));
+        }
+    }
+
+    private static <V, E> ToIntFunction<V> indexIn(DirectedAcyclicGraph<V, E> graph)
+    {
+        Map<V, Integer> topo = new HashMap<>();
+        for (V v : graph) {
+            topo.put(v, topo.size());
+        }
+        return topo::get;
+    }
+
     private Graph<Long, DefaultEdge> setUpWithSeed(int vertices, int edges, long seed)
     {
         GraphGenerator<Long, DefaultEdge, Long> randomGraphGenerator =
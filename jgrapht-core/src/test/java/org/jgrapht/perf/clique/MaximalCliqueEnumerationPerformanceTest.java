@@ -109,6 +109,17 @@ public class MaximalCliqueEnumerationPerformanceTest
         }
     }
 
+    public static class ParallelBronKerboschRandomGraphBenchmark
+        extends
+        RandomGraphBenchmarkBase
+    {
+        @Override
+        Iterable<Set<Integer>> createSolver(Graph<Integer, DefaultEdge> graph)
+        {
+            return new ParallelBronKerboschCliqueFinder<>(graph);
+        }
+    }
+
     @Test
     public void testMaximalCliqueRandomGraphBenchmark()
         throws RunnerException
@@ -117,6 +128,7 @@ public class MaximalCliqueEnumerationPerformanceTest
             .include(".*" + BronKerboschRandomGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + PivotBronKerboschRandomGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + DegeneracyBronKerboschRandomGraphBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + ParallelBronKerboschRandomGraphBenchmark.class.getSimpleName() + ".*")
             .mode(Mode.SingleShotTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(5)
             .measurementIterations(10).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
 
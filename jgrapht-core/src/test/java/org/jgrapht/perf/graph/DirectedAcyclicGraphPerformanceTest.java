@@ -17,6 +17,7 @@
  */
 package org.jgrapht.perf.graph;
 
+import org.jgrapht.alg.util.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.graph.DirectedAcyclicGraphTest.*;
 import org.jgrapht.util.*;
@@ -25,11 +26,13 @@ import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.*;
 import org.openjdk.jmh.runner.options.*;
 
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.*;
 
 /**
- * A small benchmark comparing the different dag implementations.
+ * A small benchmark comparing the different dag implementations, as well as single edge, batch
+ * and bulk edge insertion.
  * 
  * @author Peter Giles
  * @author Dimitrios Michail
@@ -136,6 +139,107 @@ public class DirectedAcyclicGraphPerformanceTest
         new Runner(opt).run();
     }
 
+    @State(Scope.Benchmark)
+    private static abstract class BatchBenchmarkBase
+    {
+        static final int NUM_VERTICES = 1 << 13;
+        static final int DEPENDENCIES_PER_VERTEX = 4;
+        static final int BATCH_SIZE = 1024;
+
+        List<Long> vertices;
+        List<Pair<Long, Long>> edges;
+
+        /**
+         * Create the edges of a build graph, where every vertex is declared after the vertices it
+         * depends on and has an edge to each of them. Since the vertices are inserted in
+         * declaration order, every edge goes against the current topological order and single
+         * edge insertion needs to reorder long chains of vertices.
+         */
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            Random rng = new Random(13);
+            vertices = new ArrayList<>(NUM_VERTICES);
+            edges = new ArrayList<>();
+            for (long v = 0; v < NUM_VERTICES; v++) {
+                vertices.add(v);
+                if (v > 0) {
+                    edges.add(Pair.of(v, v - 1));
+                }
+                for (int i = 1; i < DEPENDENCIES_PER_VERTEX && v > 1; i++) {
+                    edges.add(Pair.of(v, (long) rng.nextInt((int) v - 1)));
+                }
+            }
+        }
+
+        DirectedAcyclicGraph<Long, DefaultEdge> createDAG()
+        {
+            DirectedAcyclicGraph<Long, DefaultEdge> dag = new DirectedAcyclicGraph<>(
+                null, SupplierUtil.DEFAULT_EDGE_SUPPLIER, false, true);
+            for (Long v : vertices) {
+                dag.addVertex(v);
+            }
+            return dag;
+        }
+    }
+
+    public static class OneByOneInsertionBenchmark
+        extends
+        BatchBenchmarkBase
+    {
+        @Benchmark
+        public DirectedAcyclicGraph<Long, DefaultEdge> run()
+        {
+            DirectedAcyclicGraph<Long, DefaultEdge> dag = createDAG();
+            for (Pair<Long, Long> e : edges) {
+                dag.addEdge(e.getFirst(), e.getSecond());
+            }
+            return dag;
+        }
+    }
+
+    public static class BatchInsertionBenchmark
+        extends
+        BatchBenchmarkBase
+    {
+        @Benchmark
+        public DirectedAcyclicGraph<Long, DefaultEdge> run()
+        {
+            DirectedAcyclicGraph<Long, DefaultEdge> dag = createDAG();
+            for (int from = 0; from < edges.size(); from += BATCH_SIZE) {
+                dag.addEdges(edges.subList(from, Math.min(edges.size(), from + BATCH_SIZE)));
+            }
+            return dag;
+        }
+    }
+
+    public static class BulkInsertionBenchmark
+        extends
+        BatchBenchmarkBase
+    {
+        @Benchmark
+        public DirectedAcyclicGraph<Long, DefaultEdge> run()
+        {
+            DirectedAcyclicGraph<Long, DefaultEdge> dag = createDAG();
+            dag.addEdges(edges);
+            return dag;
+        }
+    }
+
+    @Test
+    public void testDirectedAcyclicGraphBatchInsertionBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + OneByOneInsertionBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + BatchInsertionBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + BulkInsertionBenchmark.class.getSimpleName() + ".*")
+            .mode(Mode.SingleShotTime).timeUnit(TimeUnit.MILLISECONDS).warmupIterations(3)
+            .measurementIterations(5).forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+
     /**
      * A DAG using the array visited strategy
      */
@@ -107,6 +107,29 @@ public class PathGrowingWeightedMatchingPerformanceTest
         }
     }
 
+    public static class ParallelSuitorWeightedMatchingRandomGraphBenchmark
+        extends
+        RandomGraphBenchmarkBase
+    {
+        @Override
+        MatchingAlgorithm<Integer, DefaultEdge> createSolver(Graph<Integer, DefaultEdge> graph)
+        {
+            return new ParallelSuitorWeightedMatching<>(graph);
+        }
+    }
+
+    public static class ParallelSuitorWeightedMatchingAugmentedRandomGraphBenchmark
+        extends
+        RandomGraphBenchmarkBase
+    {
+        @Override
+        MatchingAlgorithm<Integer, DefaultEdge> createSolver(Graph<Integer, DefaultEdge> graph)
+        {
+            final int augmentationRounds = 3;
+            return new ParallelSuitorWeightedMatching<>(graph, augmentationRounds);
+        }
+    }
+
     public static class EdmondsMaximumCardinalityMatchingRandomGraphBenchmark
         extends
         RandomGraphBenchmarkBase
@@ -129,6 +152,12 @@ public class PathGrowingWeightedMatchingPerformanceTest
                 ".*" + PathGrowingWeightedMatchingNoHeuristicsRandomGraphBenchmark.class
                     .getSimpleName() + ".*")
             .include(".*" + GreedyWeightedMatchingRandomGraphBenchmark.class.getSimpleName() + ".*")
+            .include(
+                ".*" + ParallelSuitorWeightedMatchingRandomGraphBenchmark.class.getSimpleName()
+                    + ".*")
+            .include(
+                ".*" + ParallelSuitorWeightedMatchingAugmentedRandomGraphBenchmark.class
+                    .getSimpleName() + ".*")
             .include(
                 ".*" + EdmondsMaximumCardinalityMatchingRandomGraphBenchmark.class.getSimpleName()
                     + ".*")
@@ -100,6 +100,64 @@ class CSRBooleanMatrix
         Arrays.parallelPrefix(rowOffsets, (x, y) -> x + y);
     }
 
+    /**
+     * Create a new CSR boolean matrix from primitive arrays
+     * 
+     * @param rows the number of rows
+     * @param columns the number of columns
+     * @param entryRows the row of every entry
+     * @param entryColumns the column of every entry
+     */
+    public CSRBooleanMatrix(int rows, int columns, int[] entryRows, int[] entryColumns)
+    {
+        if (rows < 1) {
+            throw new IllegalArgumentException("Rows must be positive");
+        }
+        if (columns < 1) {
+            throw new IllegalArgumentException("Columns must be positive");
+        }
+        if (entryRows == null || entryColumns == null) {
+            throw new IllegalArgumentException("Entries cannot be null");
+        }
+        if (entryRows.length != entryColumns.length) {
+            throw new IllegalArgumentException("Entry arrays must have the same length");
+        }
+
+        this.columns = columns;
+        this.rowOffsets = new int[rows + 1];
+        this.columnIndices = new int[entryRows.length];
+
+        // counting sort by column, followed by a stable counting sort by row
+        int[] columnOffsets = new int[columns + 1];
+        for (int column : entryColumns) {
+            if (column < 0 || column >= columns) {
+                throw new IllegalArgumentException("Entry at invalid column: " + column);
+            }
+            columnOffsets[column + 1]++;
+        }
+        for (int column = 0; column < columns; column++) {
+            columnOffsets[column + 1] += columnOffsets[column];
+        }
+        int[] byColumn = new int[entryColumns.length];
+        for (int i = 0; i < entryColumns.length; i++) {
+            byColumn[columnOffsets[entryColumns[i]]++] = i;
+        }
+
+        for (int row : entryRows) {
+            if (row < 0 || row >= rows) {
+                throw new IllegalArgumentException("Entry at invalid row: " + row);
+            }
+            rowOffsets[row + 1]++;
+        }
+        for (int row = 0; row < rows; row++) {
+            rowOffsets[row + 1] += rowOffsets[row];
+        }
+        int[] next = Arrays.copyOf(rowOffsets, rows);
+        for (int i : byColumn) {
+            columnIndices[next[entryRows[i]]++] = entryColumns[i];
+        }
+    }
+
     /**
      * Get the number of columns of the matrix.
      * 
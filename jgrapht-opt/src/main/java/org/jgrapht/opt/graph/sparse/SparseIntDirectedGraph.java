@@ -107,6 +107,31 @@ public class SparseIntDirectedGraph
         inIncidenceMatrix = new CSRBooleanMatrix(numVertices, m, incoming);
     }
 
+    /**
+     * Create a new graph from an edge list given as primitive arrays. Edge $i$ goes from
+     * sources[i] to targets[i]. The arrays are copied.
+     * 
+     * @param numVertices the number of vertices
+     * @param sources the source of every edge
+     * @param targets the target of every edge
+     */
+    public SparseIntDirectedGraph(int numVertices, int[] sources, int[] targets)
+    {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        final int m = sources.length;
+        source = sources.clone();
+        target = targets.clone();
+
+        int[] edges = new int[m];
+        for (int e = 0; e < m; e++) {
+            edges[e] = e;
+        }
+        outIncidenceMatrix = new CSRBooleanMatrix(numVertices, m, source, edges);
+        inIncidenceMatrix = new CSRBooleanMatrix(numVertices, m, target, edges);
+    }
+
     @Override
     public Supplier<Integer> getVertexSupplier()
     {
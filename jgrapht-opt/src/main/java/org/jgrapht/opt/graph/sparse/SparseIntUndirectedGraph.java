@@ -88,6 +88,32 @@ public class SparseIntUndirectedGraph
         incidenceMatrixT = new CSRBooleanMatrix(edges.size(), numVertices, nonZerosTranspose);
     }
 
+    /**
+     * Create a new graph from an edge list given as primitive arrays. Edge $i$ connects
+     * sources[i] and targets[i].
+     * 
+     * @param numVertices number of vertices
+     * @param sources the first endpoint of every edge
+     * @param targets the second endpoint of every edge
+     */
+    public SparseIntUndirectedGraph(int numVertices, int[] sources, int[] targets)
+    {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        final int m = sources.length;
+        int[] endpoints = new int[2 * m];
+        int[] edges = new int[2 * m];
+        for (int e = 0; e < m; e++) {
+            endpoints[2 * e] = sources[e];
+            endpoints[2 * e + 1] = targets[e];
+            edges[2 * e] = e;
+            edges[2 * e + 1] = e;
+        }
+        incidenceMatrix = new CSRBooleanMatrix(numVertices, m, endpoints, edges);
+        incidenceMatrixT = new CSRBooleanMatrix(m, numVertices, edges, endpoints);
+    }
+
     @Override
     public Supplier<Integer> getVertexSupplier()
     {
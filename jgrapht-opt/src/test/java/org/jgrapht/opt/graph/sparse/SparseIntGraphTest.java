@@ -681,4 +681,31 @@ public class SparseIntGraphTest
 
     }
 
+    @Test
+    public void testPrimitiveEdgeArrays()
+    {
+        int[] sources = { 0, 1, 1, 1, 2, 2, 2, 3, 4, 5, 7, 7 };
+        int[] targets = { 1, 4, 5, 6, 4, 4, 4, 4, 5, 6, 6, 7 };
+        List<Pair<Integer, Integer>> edges = new ArrayList<>();
+        for (int i = 0; i < sources.length; i++) {
+            edges.add(Pair.of(sources[i], targets[i]));
+        }
+
+        Graph<Integer, Integer> undirected = new SparseIntUndirectedGraph(8, sources, targets);
+        Graph<Integer, Integer> expectedUndirected = new SparseIntUndirectedGraph(8, edges);
+        Graph<Integer, Integer> directed = new SparseIntDirectedGraph(8, sources, targets);
+        Graph<Integer, Integer> expectedDirected = new SparseIntDirectedGraph(8, edges);
+
+        for (int e = 0; e < sources.length; e++) {
+            assertEquals(expectedUndirected.getEdgeSource(e), undirected.getEdgeSource(e));
+            assertEquals(expectedUndirected.getEdgeTarget(e), undirected.getEdgeTarget(e));
+            assertEquals(expectedDirected.getEdgeSource(e), directed.getEdgeSource(e));
+            assertEquals(expectedDirected.getEdgeTarget(e), directed.getEdgeTarget(e));
+        }
+        for (int v = 0; v < 8; v++) {
+            assertEquals(expectedUndirected.edgesOf(v), undirected.edgesOf(v));
+            assertEquals(expectedDirected.outgoingEdgesOf(v), directed.outgoingEdgesOf(v));
+            assertEquals(expectedDirected.incomingEdgesOf(v), directed.incomingEdgesOf(v));
+        }
+    }
 }